@@ -6,8 +6,10 @@ import jakarta.annotation.PostConstruct;
 import java.util.TimeZone;
 
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableAsync
+@EnableScheduling
 @SpringBootApplication
 public class BackendApplication {
 
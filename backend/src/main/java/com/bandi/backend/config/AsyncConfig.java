@@ -0,0 +1,101 @@
+package com.bandi.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 채팅 발송 후처리(수신자 조회 + 푸시 대기열 적재) 전용 풀
+     * 큐가 가득 차면 호출 스레드에서 실행하여 유실 대신 역압(backpressure)을 건다.
+     */
+    @Bean(name = "chatFanoutExecutor")
+    public Executor chatFanoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("chat-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 푸시 발송 대기열(MM_PUSH_OUTBOX) 즉시 처리용 풀
+     * 워커는 한 번에 하나만 돌기 때문에 큐가 차면 깨우기 요청은 버려도 된다 (주기 실행이 남은 건을 처리).
+     */
+    @Bean(name = "pushOutboxExecutor")
+    public Executor pushOutboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("push-outbox-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 업로드 이미지 리사이즈 전용 풀 (CPU 사용량 제한)
+     * 큐가 가득 차면 생성을 건너뛴다. 리사이즈본이 없는 첨부는 원본 경로로 응답된다.
+     */
+    @Bean(name = "imageVariantExecutor")
+    public Executor imageVariantExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 다중 파일 업로드 동시 기록용 풀 (LocalStorageServiceImpl.storeFiles)
+     * 디스크 쓰기 동시성을 제한하고, 가득 차면 호출 스레드가 직접 기록한다 (업로드 실패 없이 순차 처리로 전환).
+     */
+    @Bean(name = "fileIoExecutor")
+    public Executor fileIoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("file-io-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 업로드 고아 파일 정리(FileGcService) 전용 스레드
+     * 속도 제한으로 오래 도는 작업이라 기본 스케줄러 스레드(푸시 워커 등과 공유)를 잡지 않도록 분리한다.
+     * 이미 실행 중이면 추가 요청은 버린다.
+     */
+    @Bean(name = "fileGcExecutor")
+    public Executor fileGcExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("file-gc-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
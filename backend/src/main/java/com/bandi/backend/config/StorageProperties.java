@@ -0,0 +1,53 @@
+package com.bandi.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 업로드 저장 볼륨 설정 (application.yml storage.*)
+ * 볼륨을 지정하지 않으면 기존과 같이 FileStorageUtil.getBaseUploadDir() 하나만 사용한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage")
+public class StorageProperties {
+
+    // none(기본 볼륨만) | category(FileCategory 도메인별 지정) | hash(내용 해시로 분산)
+    private String shardBy = "none";
+
+    private String defaultVolume = "v0";
+
+    private List<Volume> volumes = new ArrayList<>();
+
+    // shard-by=category: 도메인 -> 볼륨 ID (없는 도메인은 기본 볼륨)
+    private Map<String, String> categoryVolumes = new HashMap<>();
+
+    // shard-by=hash: 분산 대상 볼륨 ID 목록 (비어 있으면 전체 볼륨)
+    private List<String> hashVolumes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Volume {
+        private String id;
+        private String type = "local"; // local | s3
+
+        // local
+        private String root;
+
+        // s3 (AWS S3 / MinIO 등 S3 호환, path-style 요청)
+        private String endpoint;
+        private String region = "us-east-1";
+        private String bucket;
+        private String accessKey;
+        private String secretKey;
+        private String publicBaseUrl; // 클라이언트가 직접 받을 주소 (CDN 또는 공개 버킷), 없으면 endpoint/bucket
+    }
+}
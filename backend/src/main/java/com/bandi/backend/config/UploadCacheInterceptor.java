@@ -0,0 +1,75 @@
+package com.bandi.backend.config;
+
+import com.bandi.backend.service.UploadCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 정적 파일 캐시 정책
+ * - 저장 시 만들어지는 파일명({domain}_{yyyyMMddHHmmss}_{uuid8}[_w폭].ext)은 내용이 바뀌지 않으므로 immutable 장기 캐시
+ * - 그 밖의 파일(레거시 common_images 등 같은 이름으로 덮어쓸 수 있는 파일)은 매번 ETag 로 재검증 (no-cache)
+ * 304 판정은 ResourceHttpRequestHandler 가 ETag(크기+수정시각)/Last-Modified 로 처리하고, 여기서는 응답 상태만 집계한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadCacheInterceptor implements HandlerInterceptor {
+
+    private static final Pattern GENERATED_NAME_PATTERN =
+            Pattern.compile("^[a-z]+_\\d{14}_[0-9a-f]{8}(_w\\d+)?(\\.[A-Za-z0-9]+)?(\\.gz|\\.br)?$");
+
+    private static final String MEDIA_PATH_PREFIX = "/api/v1/media/";
+
+    private final UploadCacheMetrics uploadCacheMetrics;
+
+    @Value("${upload.cache.immutable-max-age-days:365}")
+    private long immutableMaxAgeDays;
+
+    /**
+     * 강한 ETag: "{크기 16진}-{수정시각 16진}" (MediaStreamController 와 같은 형식)
+     */
+    public static String strongEtag(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    public static String strongEtag(Resource resource) {
+        try {
+            return strongEtag(resource.contentLength(), resource.lastModified());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof ResourceHttpRequestHandler) {
+            String uri = request.getRequestURI();
+            String fileName = uri.substring(uri.lastIndexOf('/') + 1);
+            CacheControl cacheControl = GENERATED_NAME_PATTERN.matcher(fileName).matches()
+                    ? CacheControl.maxAge(immutableMaxAgeDays, TimeUnit.DAYS).cachePublic().immutable()
+                    : CacheControl.noCache().cachePublic();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        // /api/{domain}/** 는 같은 접두어의 API 도 지나가므로 정적 리소스/미디어 스트리밍 응답만 집계
+        if (handler instanceof ResourceHttpRequestHandler || request.getRequestURI().startsWith(MEDIA_PATH_PREFIX)) {
+            uploadCacheMetrics.recordResponse(response.getStatus(), response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        }
+    }
+}
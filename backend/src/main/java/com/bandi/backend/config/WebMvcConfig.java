@@ -1,32 +1,46 @@
 package com.bandi.backend.config;
 
+import com.bandi.backend.service.LocalStorageVolume;
+import com.bandi.backend.service.StorageVolumeRegistry;
 import com.bandi.backend.utils.FileStorageUtil;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final StorageVolumeRegistry storageVolumeRegistry;
+    private final UploadCacheInterceptor uploadCacheInterceptor;
+
+    private static final String[] DOMAINS = {"profile", "board", "shorts", "sns", "chat", "clan", "band", "admin", "ambassador"};
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String baseUploadDir = FileStorageUtil.getBaseUploadDir();
-        String baseUploadPath = Paths.get(baseUploadDir).toAbsolutePath().toUri().toString();
-        if (!baseUploadPath.endsWith("/")) baseUploadPath += "/";
+        // 로컬 저장 볼륨 루트 전체 (기본 볼륨 우선, 없으면 다음 볼륨에서 찾음)
+        List<LocalStorageVolume> localVolumes = storageVolumeRegistry.getLocalVolumes();
+        String[] basePaths = localVolumes.stream().map(v -> toLocation(v.getRoot().toString())).toArray(String[]::new);
 
         // 1. 공통 통합 uploads 핸들러
-        registry.addResourceHandler("/uploads/**").addResourceLocations(baseUploadPath);
-        registry.addResourceHandler("/api/uploads/**").addResourceLocations(baseUploadPath);
+        addUploadHandler(registry, "/uploads/**", basePaths);
+        addUploadHandler(registry, "/api/uploads/**", basePaths);
 
         // 2. 9개 도메인 개별 상대 경로 바로 접근 지원 핸들러 (/shorts/**, /sns/**, /profile/**, /ambassador/** 등)
-        String[] domains = {"profile", "board", "shorts", "sns", "chat", "clan", "band", "admin", "ambassador"};
-        for (String domain : domains) {
-            String domainPath = Paths.get(baseUploadDir, domain).toAbsolutePath().toUri().toString();
-            if (!domainPath.endsWith("/")) domainPath += "/";
-            
-            registry.addResourceHandler("/" + domain + "/**").addResourceLocations(domainPath);
-            registry.addResourceHandler("/api/" + domain + "/**").addResourceLocations(domainPath);
+        for (String domain : DOMAINS) {
+            String[] domainPaths = localVolumes.stream()
+                    .map(v -> toLocation(v.getRoot().resolve(domain).toString()))
+                    .toArray(String[]::new);
+
+            addUploadHandler(registry, "/" + domain + "/**", domainPaths);
+            addUploadHandler(registry, "/api/" + domain + "/**", domainPaths);
         }
 
         // 3. 레거시 경로 호환용 핸들러 (common_images, legacy shorts)
@@ -34,7 +48,34 @@ public class WebMvcConfig implements WebMvcConfigurer {
         String commonPath = Paths.get(commonDir).toAbsolutePath().toUri().toString();
         if (!commonPath.endsWith("/")) commonPath += "/";
 
-        registry.addResourceHandler("/api/common_images/**").addResourceLocations(commonPath);
-        registry.addResourceHandler("/common_images/**").addResourceLocations(commonPath);
+        addUploadHandler(registry, "/api/common_images/**", commonPath);
+        addUploadHandler(registry, "/common_images/**", commonPath);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 업로드 정적 리소스 + 미디어 스트리밍 (캐시 정책/적중률 집계)
+        List<String> patterns = new ArrayList<>(List.of("/uploads/**", "/api/uploads/**",
+                "/common_images/**", "/api/common_images/**", "/api/v1/media/**"));
+        for (String domain : DOMAINS) {
+            patterns.add("/" + domain + "/**");
+            patterns.add("/api/" + domain + "/**");
+        }
+        registry.addInterceptor(uploadCacheInterceptor).addPathPatterns(patterns);
+    }
+
+    /**
+     * 업로드 정적 리소스: 크기+수정시각 강한 ETag(304 처리), 미리 압축한 .br/.gz 사본 우선 서빙
+     * Cache-Control 은 파일명에 따라 UploadCacheInterceptor 에서 정한다.
+     */
+    private void addUploadHandler(ResourceHandlerRegistry registry, String pattern, String... locations) {
+        ResourceHandlerRegistration registration = registry.addResourceHandler(pattern).addResourceLocations(locations);
+        registration.setEtagGenerator(UploadCacheInterceptor::strongEtag);
+        registration.resourceChain(false).addResolver(new EncodedResourceResolver());
+    }
+
+    private static String toLocation(String dir) {
+        String location = Paths.get(dir).toAbsolutePath().toUri().toString();
+        return location.endsWith("/") ? location : location + "/";
     }
 }
@@ -42,6 +42,7 @@ public class ChatController {
         }
     }
 
+    // 신규 메시지는 STOMP(/topic/chat/{roomType}/{roomNo})로 수신하고, afterMsgNo 조회는 재접속 시 누락분 보충용으로만 사용
     @GetMapping("/{roomNo}/messages")
     public ResponseEntity<List<com.bandi.backend.dto.ChatMessageDto>> getChatMessages(
             @org.springframework.web.bind.annotation.PathVariable Long roomNo,
@@ -1,14 +1,23 @@
 package com.bandi.backend.controller;
 
+import com.bandi.backend.dto.ChunkUploadInitDto;
+import com.bandi.backend.dto.ChunkUploadStatusDto;
 import com.bandi.backend.dto.UploadFileResultDto;
 import com.bandi.backend.enums.FileCategory;
+import com.bandi.backend.service.ChunkedUploadService;
+import com.bandi.backend.service.FileGcService;
+import com.bandi.backend.service.FileStorageMetrics;
 import com.bandi.backend.service.FileStorageService;
+import com.bandi.backend.service.StorageVolumeRegistry;
+import com.bandi.backend.service.UploadCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +29,11 @@ import java.util.Map;
 public class FileUploadController {
 
     private final FileStorageService fileStorageService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final FileGcService fileGcService;
+    private final StorageVolumeRegistry storageVolumeRegistry;
+    private final UploadCacheMetrics uploadCacheMetrics;
+    private final FileStorageMetrics fileStorageMetrics;
 
     /**
      * 표준 단일 파일 업로드 API
@@ -83,4 +97,160 @@ public class FileUploadController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 첨부 삭제 API (같은 내용을 공유하는 다른 첨부가 없을 때만 물리 파일 삭제)
+     * DELETE /api/v1/files/attachments/123
+     */
+    @DeleteMapping("/attachments/{attachNo}")
+    public ResponseEntity<Map<String, Object>> deleteAttachment(@PathVariable Long attachNo) {
+
+        boolean deleted = fileStorageService.deleteAttachment(attachNo);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", deleted);
+        response.put("message", deleted ? "첨부가 성공적으로 삭제되었습니다." : "이미 삭제되었거나 존재하지 않는 첨부입니다.");
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 분할 업로드 시작 (대용량 동영상 등)
+     * POST /api/v1/files/chunked/init  {"fileName":"a.mp4","totalSize":123456789,"category":"shorts","userId":"user123"}
+     */
+    @PostMapping("/chunked/init")
+    public ResponseEntity<Map<String, Object>> initChunkedUpload(@RequestBody ChunkUploadInitDto dto) {
+        log.info("분할 업로드 시작 요청: category={}, userId={}, filename={}, size={}",
+                dto.getCategory(), dto.getUserId(), dto.getFileName(), dto.getTotalSize());
+
+        ChunkUploadStatusDto status = chunkedUploadService.init(dto);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", status);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 조각 전송 (본문 = 조각 바이트, application/octet-stream)
+     * PUT /api/v1/files/chunked/{uploadId}/{chunkNo}  (X-Chunk-Sha256: 조각 SHA-256 hex, 선택)
+     */
+    @PutMapping(value = "/chunked/{uploadId}/{chunkNo}", consumes = "application/octet-stream")
+    public ResponseEntity<Map<String, Object>> putChunk(
+            @PathVariable String uploadId,
+            @PathVariable int chunkNo,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String chunkSha256,
+            HttpServletRequest request) throws IOException {
+
+        ChunkUploadStatusDto status = chunkedUploadService.putChunk(uploadId, chunkNo, request.getInputStream(), chunkSha256);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", status);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 분할 업로드 상태 (재개 시 받은 조각 목록 확인)
+     * GET /api/v1/files/chunked/{uploadId}
+     */
+    @GetMapping("/chunked/{uploadId}")
+    public ResponseEntity<Map<String, Object>> getChunkedUploadStatus(@PathVariable String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", chunkedUploadService.getStatus(uploadId));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 분할 업로드 완료 → 표준 저장 경로 등록
+     * POST /api/v1/files/chunked/{uploadId}/complete
+     */
+    @PostMapping("/chunked/{uploadId}/complete")
+    public ResponseEntity<Map<String, Object>> completeChunkedUpload(@PathVariable String uploadId) {
+        UploadFileResultDto result = chunkedUploadService.complete(uploadId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", result);
+        response.put("message", "파일이 성공적으로 업로드되었습니다.");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 분할 업로드 취소
+     * DELETE /api/v1/files/chunked/{uploadId}
+     */
+    @DeleteMapping("/chunked/{uploadId}")
+    public ResponseEntity<Map<String, Object>> abortChunkedUpload(@PathVariable String uploadId) {
+        chunkedUploadService.abort(uploadId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 고아 파일 정리 수동 실행 (백그라운드, 결과는 /gc/report 로 확인)
+     * POST /api/v1/files/gc/run?dryRun=true
+     */
+    @PostMapping("/gc/run")
+    public ResponseEntity<Map<String, Object>> runFileGc(
+            @RequestParam(value = "dryRun", required = false) Boolean dryRun) {
+        fileGcService.runAsync(dryRun);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "파일 정리를 시작했습니다.");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 마지막 고아 파일 정리 결과
+     * GET /api/v1/files/gc/report
+     */
+    @GetMapping("/gc/report")
+    public ResponseEntity<Map<String, Object>> getFileGcReport() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", fileGcService.getLastReport());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 파일을 다른 저장 볼륨으로 재배치 (상대 경로/URL 은 그대로)
+     * POST /api/v1/files/relocate?path=/shorts/202608/shorts_...mp4&volumeId=v1
+     */
+    @PostMapping("/relocate")
+    public ResponseEntity<Map<String, Object>> relocateFile(
+            @RequestParam("path") String path,
+            @RequestParam("volumeId") String volumeId) throws IOException {
+        int moved = storageVolumeRegistry.relocate(path, volumeId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", moved);
+        response.put("message", moved > 0 ? "파일을 재배치했습니다." : "이미 대상 볼륨에 있습니다.");
+        return ResponseEntity.ok(response);
+    }
+
+    // 업로드 처리율/지연/진행 중/임시 공간/실패 누적 지표
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getStorageMetrics() {
+        return ResponseEntity.ok(fileStorageMetrics.snapshot());
+    }
+
+    // 업로드 정적 파일 캐시 적중(304)/압축 전송 누적 건수
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(uploadCacheMetrics.snapshot());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(IllegalArgumentException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
 }
@@ -0,0 +1,213 @@
+package com.bandi.backend.controller;
+
+import com.bandi.backend.config.UploadCacheInterceptor;
+import com.bandi.backend.enums.FileCategory;
+import com.bandi.backend.service.StorageVolume;
+import com.bandi.backend.service.StorageVolumeRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 쇼츠 등 업로드 미디어 스트리밍 (HTTP Range / 206, ETag / 304)
+ * GET /api/v1/media/{domain}/{yyyyMM}/{fileName}
+ *
+ * - 파일명이 {domain}_{dtime}_{uuid8} 로 매번 새로 만들어지므로 내용이 바뀌지 않는다 → immutable 캐시
+ * - Tomcat sendfile 을 지원하면 커널 sendfile 로 전송하고, 아니면 FileChannel.transferTo 로 구간만 전송한다.
+ *   (어느 쪽이든 파일 전체를 힙으로 읽지 않음)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/media")
+@RequiredArgsConstructor
+public class MediaStreamController {
+
+    private static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private static final Pattern RANGE_PATTERN = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    private static final Pattern MONTH_PATTERN = Pattern.compile("^\\d{6}$");
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("^[A-Za-z0-9_\\-]+(\\.[A-Za-z0-9]+)?$");
+
+    // Tomcat sendfile 요청 속성 (NIO/NIO2 커넥터, useSendfile=true 기본값)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StorageVolumeRegistry storageVolumeRegistry;
+
+    @RequestMapping(value = "/{domain}/{month}/{fileName:.+}", method = { RequestMethod.GET, RequestMethod.HEAD })
+    public void stream(@PathVariable String domain, @PathVariable String month, @PathVariable String fileName,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        if (!isValidPath(domain, month, fileName)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String relativePath = "/" + domain + "/" + month + "/" + fileName;
+        StorageVolume volume = storageVolumeRegistry.locate(relativePath);
+        Path file = volume.localPath(relativePath);
+        if (file == null) {
+            // 원격(S3 호환) 볼륨: 볼륨 공개 주소에서 직접 Range 요청하도록 넘긴다.
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_IMMUTABLE);
+            response.sendRedirect(volume.publicUrl(relativePath));
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = UploadCacheInterceptor.strongEtag(length, lastModified);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_IMMUTABLE);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        // 1. 조건부 요청: 같은 파일이면 본문 없이 304
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // 2. Range 해석 (If-Range 가 현재 ETag 와 다르면 전체 전송)
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        boolean partial = rangeHeader != null && (ifRange == null || ifRange.equals(etag));
+        if (partial) {
+            long[] range = parseRange(rangeHeader, length);
+            if (range == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range[0];
+            end = range[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        // 3. 본문 전송
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1); // end 는 exclusive
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        } catch (IOException e) {
+            // 탐색(seek) 시 플레이어가 연결을 끊는 경우가 많아 디버그로만 남긴다.
+            log.debug("미디어 전송 중단 [{}]: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 경로 조작 방지: 도메인/월/파일명을 각각 검증 (볼륨 루트 하위 확인은 LocalStorageVolume 에서)
+     */
+    private static boolean isValidPath(String domain, String month, String fileName) {
+        boolean knownDomain = Arrays.stream(FileCategory.values()).anyMatch(c -> c.getDomain().equals(domain));
+        return knownDomain && MONTH_PATTERN.matcher(month).matches() && FILE_NAME_PATTERN.matcher(fileName).matches();
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 단일 구간만 지원 (bytes=start-end, bytes=start-, bytes=-suffix)
+     * 다중 구간 요청은 첫 구간만 사용한다.
+     *
+     * @return [start, end] (end 포함), 만족할 수 없으면 null
+     */
+    static long[] parseRange(String header, long length) {
+        String first = header.split(",")[0].trim();
+        Matcher matcher = RANGE_PATTERN.matcher(first);
+        if (!matcher.matches() || length == 0) {
+            return null;
+        }
+        String startStr = matcher.group(1);
+        String endStr = matcher.group(2);
+        try {
+            long start;
+            long end;
+            if (startStr.isEmpty()) {
+                if (endStr.isEmpty()) {
+                    return null;
+                }
+                long suffix = Long.parseLong(endStr);
+                if (suffix == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(startStr);
+                end = endStr.isEmpty() ? length - 1 : Math.min(Long.parseLong(endStr), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
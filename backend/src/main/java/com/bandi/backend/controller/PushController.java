@@ -1,17 +1,22 @@
 package com.bandi.backend.controller;
 
+import com.bandi.backend.dto.PushSettingRequestDto;
 import com.bandi.backend.dto.PushTokenRequestDto;
+import com.bandi.backend.service.PushMetrics;
 import com.bandi.backend.service.PushService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/push")
 @RequiredArgsConstructor
 public class PushController {
 
     private final PushService pushService;
+    private final PushMetrics pushMetrics;
 
     @PostMapping("/token")
     public ResponseEntity<String> saveToken(@RequestBody PushTokenRequestDto dto) {
@@ -19,6 +24,12 @@ public class PushController {
         return ResponseEntity.ok("Token saved successfully");
     }
 
+    @PostMapping("/setting")
+    public ResponseEntity<String> updateSetting(@RequestBody PushSettingRequestDto dto) {
+        pushService.updatePushSetting(dto.getUserId(), dto.getPushTypeCd(), dto.getUseYn());
+        return ResponseEntity.ok("Push setting saved successfully");
+    }
+
     // 테스트용 발송 API
     @PostMapping("/test")
     public ResponseEntity<String> testPush(@RequestParam String userId, @RequestParam String title,
@@ -32,4 +43,10 @@ public class PushController {
         pushService.updateReadStatus(logNo);
         return ResponseEntity.ok().build();
     }
+
+    // 발송/실패/토큰 정리 누적 건수
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Long>> getStats() {
+        return ResponseEntity.ok(pushMetrics.snapshot());
+    }
 }
@@ -3,7 +3,11 @@ package com.bandi.backend.controller;
 import com.bandi.backend.dto.PostCreateDto;
 import com.bandi.backend.dto.ShortsCreateDto;
 import com.bandi.backend.dto.SnsCommentCreateDto;
+import com.bandi.backend.service.EngagementCounterService;
+import com.bandi.backend.service.ShortsMediaService;
+import com.bandi.backend.service.SnsFeedRankingService;
 import com.bandi.backend.service.SnsService;
+import com.bandi.backend.service.ViewTrackingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -11,7 +15,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/sns")
@@ -19,6 +25,10 @@ import java.util.List;
 public class SnsController {
 
     private final SnsService snsService;
+    private final ShortsMediaService shortsMediaService;
+    private final EngagementCounterService engagementCounterService;
+    private final ViewTrackingService viewTrackingService;
+    private final SnsFeedRankingService snsFeedRankingService;
 
     @PostMapping(value = "/posts", consumes = { "multipart/form-data" })
     public ResponseEntity<?> createPost(
@@ -38,7 +48,7 @@ public class SnsController {
     @PostMapping(value = "/shorts", consumes = { "multipart/form-data" })
     public ResponseEntity<?> createShorts(
             @RequestPart("data") ShortsCreateDto dto,
-            @RequestPart("video") MultipartFile video,
+            @RequestPart(value = "video", required = false) MultipartFile video,
             @RequestPart(value = "thumbnail", required = false) MultipartFile thumbnail) {
         
         try {
@@ -51,6 +61,21 @@ public class SnsController {
         }
     }
 
+    // 기존 쇼츠 영상 메타데이터/포스터 채우기 (메타데이터가 없는 쇼츠를 최근 순으로 limit 건씩)
+    @PostMapping("/shorts/media/backfill")
+    public ResponseEntity<?> backfillShortsMedia(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(shortsMediaService.backfill(Math.max(1, Math.min(limit, 500))));
+    }
+
+    // 반응 집계 카운터 상태 (반영 대기 증분, 누적 반영 행 수, 실패 수) + 조회 중복 제거 상태
+    @GetMapping("/engagement/stats")
+    public ResponseEntity<?> getEngagementStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(engagementCounterService.snapshot());
+        stats.put("views", viewTrackingService.snapshot());
+        stats.put("feed", snsFeedRankingService.snapshot());
+        return ResponseEntity.ok(stats);
+    }
+
     @GetMapping("/posts/user/{userId}")
     public ResponseEntity<?> getPostsByUser(
             @PathVariable String userId,
@@ -89,6 +114,48 @@ public class SnsController {
         return ResponseEntity.ok(snsService.getPublicShorts(currentUserId, pageable));
     }
 
+    // 키셋 스크롤 (최신순, 다음 페이지는 응답의 nextCursor 전달) + 다음 재생 쇼츠 prefetch 건의 영상 경로/크기
+    @GetMapping("/shorts/scroll")
+    public ResponseEntity<?> getPublicShortsScroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "3") int prefetch,
+            @RequestParam(required = false) String currentUserId) {
+        try {
+            return ResponseEntity.ok(snsService.getPublicShortsScroll(cursor, Math.max(1, Math.min(size, 50)),
+                    Math.max(0, Math.min(prefetch, 10)), currentUserId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 메모리 스냅샷 피드 (mode: latest | trending, 다음 페이지는 응답의 nextCursor 전달)
+    @GetMapping("/posts/feed")
+    public ResponseEntity<?> getPostFeed(
+            @RequestParam(defaultValue = "latest") String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(required = false) String currentUserId) {
+        try {
+            return ResponseEntity.ok(snsFeedRankingService.getPostFeed(mode, cursor, Math.max(1, Math.min(size, 100)), currentUserId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/shorts/feed")
+    public ResponseEntity<?> getShortsFeed(
+            @RequestParam(defaultValue = "latest") String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(required = false) String currentUserId) {
+        try {
+            return ResponseEntity.ok(snsFeedRankingService.getShortsFeed(mode, cursor, Math.max(1, Math.min(size, 100)), currentUserId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/posts/{postId}")
     public ResponseEntity<?> deletePost(@PathVariable Long postId, @RequestParam String userId) {
         try {
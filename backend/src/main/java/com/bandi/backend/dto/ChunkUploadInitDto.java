@@ -0,0 +1,15 @@
+package com.bandi.backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ChunkUploadInitDto {
+    private String userId;
+    private String category;   // FileCategory 도메인 (기본 shorts)
+    private String fileName;   // 원본 파일명
+    private String mimeType;
+    private Long totalSize;    // 전체 파일 바이트 수
+    private String fileSha256; // 전체 파일 SHA-256 hex (선택, 완료 시 검증)
+}
@@ -0,0 +1,22 @@
+package com.bandi.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkUploadStatusDto {
+    private String uploadId;
+    private String statCd;               // U(업로드 중) / C(완료)
+    private Long totalSize;
+    private Integer chunkSize;           // 마지막 조각을 제외한 조각 크기 (바이트)
+    private Integer totalChunks;
+    private List<Integer> receivedChunks; // 확인(ack)된 조각 번호 (재개 시 나머지만 전송)
+    private Long attachNo;               // 완료된 경우 첨부파일 번호
+}
@@ -0,0 +1,26 @@
+package com.bandi.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileGcReportDto {
+    private boolean dryRun;            // true 면 격리/삭제 없이 대상만 집계
+    private String startDtime;
+    private String endDtime;
+    private int scannedDirs;           // 이번 실행에서 훑은 {domain}/{yyyyMM} 디렉토리 수
+    private long scannedFiles;
+    private long orphanFiles;          // 참조 없는 파일 수 (리사이즈본 포함)
+    private long orphanBytes;
+    private long quarantinedFiles;     // 격리 폴더로 옮긴 파일 수
+    private long purgedFiles;          // 격리 기간이 지나 삭제한 파일 수
+    private String nextCursor;         // 다음 실행 시작 디렉토리 (null 이면 처음부터)
+    private List<String> samplePaths;  // 참조 없는 파일 예시 (최대 100건)
+}
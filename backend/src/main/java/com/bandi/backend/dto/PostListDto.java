@@ -5,15 +5,18 @@ import lombok.Data;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class PostListDto {
     private Long postId;
     private String userId;
     private String userNickNm;
     private String userProfileImagePath; // 작성자 프로필 이미지 경로
+    private String userProfileThumbPath; // 작성자 프로필 64px 리사이즈본 (없으면 원본)
     private String contentPreview;
     private String thumbnailPath;   // 첫 번째 이미지 (썸네일용)
+    private String thumbnailVariantPath; // 첫 번째 이미지 360px 리사이즈본 (목록용, 없으면 원본)
     private List<String> imagePaths; // 전체 이미지 리스트 (피드용)
+    private List<String> imageVariantPaths; // 전체 이미지 1080px 리사이즈본 (피드용, 없으면 원본)
     private List<String> editDataList; // 각 이미지별 편집 메타데이터 (JSON)
     private String publicTypeCd;
     private String insDtime;
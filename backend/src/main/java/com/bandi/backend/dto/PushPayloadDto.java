@@ -0,0 +1,18 @@
+package com.bandi.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PushPayloadDto {
+    private String title;
+    private String body;
+    private String link;
+    private String pushType; // MM_USER_PUSH_SETTING.PUSH_TYPE_CD (CN, BN, GP, SN ...)
+    private String threadId; // Android tag / iOS thread-id (알림 묶음)
+}
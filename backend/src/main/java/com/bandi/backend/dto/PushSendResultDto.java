@@ -0,0 +1,20 @@
+package com.bandi.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 토큰 1건 발송 결과 (PushSender 응답)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PushSendResultDto {
+    private boolean success;
+    private String messageId;
+    private String errorCode; // FCM MessagingErrorCode 이름 (실패 시)
+    private String errorMessage;
+}
@@ -0,0 +1,12 @@
+package com.bandi.backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PushSettingRequestDto {
+    private String userId;
+    private String pushTypeCd; // "CN", "BN", "GP", "SN" ...
+    private String useYn; // "Y", "N"
+}
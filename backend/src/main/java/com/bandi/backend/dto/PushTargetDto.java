@@ -0,0 +1,15 @@
+package com.bandi.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PushTargetDto {
+    private String userId;
+    private String token; // MM_USER_DEVICE.FCM_TOKEN
+}
@@ -9,4 +9,5 @@ public class ShortsCreateDto {
     private Integer duration;
     private String publicTypeCd;
     private String overlayData;
+    private Long videoAttachNo; // 분할 업로드로 먼저 올린 동영상 (video 파트 대신 사용)
 }
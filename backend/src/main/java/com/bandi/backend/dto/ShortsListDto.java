@@ -4,14 +4,21 @@ import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ShortsListDto {
     private Long shortsNo;
     private String userId;
     private String userNickNm;
     private String userProfileImagePath; // 작성자 프로필 이미지 경로
+    private String userProfileThumbPath; // 작성자 프로필 64px 리사이즈본 (없으면 원본)
     private String title;
     private String videoPath;
+    private String videoStreamPath; // Range 지원 스트리밍 경로 (/api/v1/media/...), 표준 경로가 아니면 null
+    private String thumbnailPath; // 포스터 이미지 (업로드 썸네일 또는 자동 생성)
+    private String thumbnailThumbPath; // 포스터 360px 리사이즈본 (없으면 원본)
+    private Long videoDurationMs; // 영상 재생 시간 (컨테이너 기준, 확인 불가면 null)
+    private Integer videoWidth; // 영상 표시 폭/높이 (타일 비율용, 확인 불가면 null)
+    private Integer videoHeight;
     private String publicTypeCd;
     private String overlayData;
     private String insDtime;
@@ -0,0 +1,20 @@
+package com.bandi.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 다음에 재생될 쇼츠 미리 받기 정보 (클라이언트가 영상/포스터를 미리 요청하는 용도)
+ */
+@Data
+@Builder
+public class ShortsPrefetchDto {
+    private Long shortsNo;
+    private String videoPath;
+    private String videoStreamPath; // Range 지원 스트리밍 경로, 표준 경로가 아니면 null
+    private Long videoFileSize; // 바이트 (앞부분만 받을 범위 계산용)
+    private Long videoDurationMs;
+    private Long videoBitrate; // bps, 확인 불가면 null
+    private String thumbnailPath;
+    private String thumbnailThumbPath; // 포스터 360px 리사이즈본 (없으면 원본)
+}
@@ -0,0 +1,15 @@
+package com.bandi.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SnsFeedPageDto<T> {
+    private String mode; // latest | trending
+    private List<T> items;
+    private String nextCursor; // 다음 페이지 요청 시 그대로 전달 (마지막이면 null)
+    private boolean hasNext;
+}
@@ -0,0 +1,19 @@
+package com.bandi.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@Builder
+public class VideoMetadataDto {
+    private Long durationMs;   // 컨테이너(mvhd) 재생 시간
+    private Integer width;     // 표시 폭 (회전 반영)
+    private Integer height;    // 표시 높이 (회전 반영)
+    private Integer rotation;  // 트랙 행렬 회전 각도 (0, 90, 180, 270)
+    private Long bitrate;      // 평균 비트레이트 (bps, 파일 크기 / 재생 시간)
+    private String codec;      // 영상 트랙 샘플 형식 (avc1, hvc1 등)
+
+    @ToString.Exclude
+    private byte[] coverImage; // moov/udta/meta/ilst/covr 에 들어 있는 표지 이미지 (없으면 null)
+}
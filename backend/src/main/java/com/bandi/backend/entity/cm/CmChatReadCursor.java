@@ -0,0 +1,35 @@
+package com.bandi.backend.entity.cm;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 채팅방별 사용자 읽음 커서 (마지막으로 읽은 메시지 번호)
+ * 메시지 번호가 커서보다 크면 안 읽은 메시지로 판단한다.
+ */
+@Entity
+@Table(name = "CM_CHAT_READ_CURSOR")
+@IdClass(CmChatReadCursorId.class)
+@Getter
+@Setter
+public class CmChatReadCursor {
+
+    @Id
+    @Column(name = "room_type_cd", length = 20)
+    private String roomTypeCd; // CLAN, BAND, GROUP, PRIVATE
+
+    @Id
+    @Column(name = "room_no")
+    private Long roomNo;
+
+    @Id
+    @Column(name = "user_id", length = 20)
+    private String userId;
+
+    @Column(name = "last_read_msg_no", nullable = false)
+    private Long lastReadMsgNo;
+
+    @Column(name = "upd_dtime", length = 14, nullable = false)
+    private String updDtime;
+}
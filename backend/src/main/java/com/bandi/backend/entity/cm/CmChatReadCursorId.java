@@ -0,0 +1,16 @@
+package com.bandi.backend.entity.cm;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CmChatReadCursorId implements Serializable {
+    private String roomTypeCd;
+    private Long roomNo;
+    private String userId;
+}
@@ -0,0 +1,45 @@
+package com.bandi.backend.entity.cm;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 채팅방 요약 (채팅 목록용 마지막 메시지/시간/메시지 수 비정규화)
+ */
+@Entity
+@Table(name = "CM_CHAT_ROOM_SUMMARY")
+@IdClass(CmChatRoomSummaryId.class)
+@Getter
+@Setter
+public class CmChatRoomSummary {
+
+    @Id
+    @Column(name = "room_type_cd", length = 20)
+    private String roomTypeCd; // CLAN, BAND, GROUP, PRIVATE
+
+    @Id
+    @Column(name = "room_no")
+    private Long roomNo;
+
+    @Column(name = "last_msg_no", nullable = false)
+    private Long lastMsgNo;
+
+    @Column(name = "last_msg_preview", length = 200)
+    private String lastMsgPreview;
+
+    @Column(name = "last_msg_type_cd", length = 20)
+    private String lastMsgTypeCd;
+
+    @Column(name = "last_snd_user_id", length = 20)
+    private String lastSndUserId;
+
+    @Column(name = "last_msg_dtime", length = 14, nullable = false)
+    private String lastMsgDtime;
+
+    @Column(name = "msg_cnt", nullable = false)
+    private Long msgCnt;
+
+    @Column(name = "upd_dtime", length = 14, nullable = false)
+    private String updDtime;
+}
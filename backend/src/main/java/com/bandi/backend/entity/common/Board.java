@@ -50,4 +50,11 @@ public class Board {
 
     @Column(name = "masking_yn", length = 1)
     private String maskingYn;
+
+    // 집계 컬럼은 EngagementCounterService 가 증분 반영 (엔티티 저장 시 덮어쓰지 않도록 읽기 전용)
+    @Column(name = "like_cnt", insertable = false, updatable = false)
+    private Long likeCnt;
+
+    @Column(name = "reply_cnt", insertable = false, updatable = false)
+    private Long replyCnt;
 }
@@ -27,6 +27,14 @@ public class CmAttachment {
     @Column(name = "mime_type", length = 100)
     private String mimeType;
 
+    // 생성 완료된 리사이즈 폭 목록 (예: "360,1080"), 파일명은 원본명_w{폭}.확장자
+    @Column(name = "variant_widths", length = 50)
+    private String variantWidths;
+
+    // 파일 내용 SHA-256 (CM_FILE_BLOB 색인 키, 같은 값이면 물리 파일 공유)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "ins_dtime", nullable = false, length = 14)
     private String insDtime;
 
@@ -33,4 +33,17 @@ public class Post {
     @Column(name = "upd_dtime", nullable = false, length = 14)
     private String updDtime;
 
+    // 집계 컬럼은 EngagementCounterService 가 증분 반영 (엔티티 저장 시 덮어쓰지 않도록 읽기 전용)
+    @Column(name = "view_cnt", insertable = false, updatable = false)
+    private Long viewCnt;
+
+    @Column(name = "like_cnt", insertable = false, updatable = false)
+    private Long likeCnt;
+
+    @Column(name = "dislike_cnt", insertable = false, updatable = false)
+    private Long dislikeCnt;
+
+    @Column(name = "reply_cnt", insertable = false, updatable = false)
+    private Long replyCnt;
+
 }
@@ -33,6 +33,19 @@ public class Shorts {
     @Column(name = "duration", nullable = false)
     private Integer duration;
 
+    // 업로드 시 MP4 컨테이너에서 읽은 값 (VIDEO_DURATION_MS 가 null 이면 아직 확인 전, 0 이면 확인 불가 형식)
+    @Column(name = "video_duration_ms")
+    private Long videoDurationMs;
+
+    @Column(name = "video_width")
+    private Integer videoWidth;
+
+    @Column(name = "video_height")
+    private Integer videoHeight;
+
+    @Column(name = "video_bitrate")
+    private Long videoBitrate;
+
     @Column(name = "public_type_cd", nullable = false, length = 20)
     private String publicTypeCd;
 
@@ -47,4 +60,17 @@ public class Shorts {
 
     @Column(name = "upd_dtime", nullable = false, length = 14)
     private String updDtime;
+
+    // 집계 컬럼은 EngagementCounterService 가 증분 반영 (엔티티 저장 시 덮어쓰지 않도록 읽기 전용)
+    @Column(name = "view_cnt", insertable = false, updatable = false)
+    private Long viewCnt;
+
+    @Column(name = "like_cnt", insertable = false, updatable = false)
+    private Long likeCnt;
+
+    @Column(name = "dislike_cnt", insertable = false, updatable = false)
+    private Long dislikeCnt;
+
+    @Column(name = "reply_cnt", insertable = false, updatable = false)
+    private Long replyCnt;
 }
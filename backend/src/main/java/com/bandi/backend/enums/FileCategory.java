@@ -4,20 +4,23 @@ import lombok.Getter;
 
 @Getter
 public enum FileCategory {
-    PROFILE("profile"),
-    BOARD("board"),
-    SHORTS("shorts"),
-    SNS("sns"),
-    CHAT("chat"),
-    CLAN("clan"),
-    BAND("band"),
-    ADMIN("admin"),
-    AMBASSADOR("ambassador");
+    // 이미지 업로드 시 함께 생성할 리사이즈 폭(px): 64 아바타 / 360 목록 / 1080 상세
+    PROFILE("profile", 64, 360),
+    BOARD("board", 360, 1080),
+    SHORTS("shorts", 360),
+    SNS("sns", 360, 1080),
+    CHAT("chat", 360, 1080),
+    CLAN("clan", 360, 1080),
+    BAND("band", 360, 1080),
+    ADMIN("admin", 360, 1080),
+    AMBASSADOR("ambassador", 64, 360);
 
     private final String domain;
+    private final int[] variantWidths;
 
-    FileCategory(String domain) {
+    FileCategory(String domain, int... variantWidths) {
         this.domain = domain;
+        this.variantWidths = variantWidths;
     }
 
     public static FileCategory fromString(String value) {
@@ -0,0 +1,17 @@
+package com.bandi.backend.event;
+
+import com.bandi.backend.dto.ChatMessageDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 채팅 메시지 저장 이벤트 (트랜잭션 커밋 후 구독자 전달 / 푸시 발송)
+ */
+@Getter
+@AllArgsConstructor
+public class ChatMessageSavedEvent {
+    private final String roomType; // CLAN, BAND, GROUP, PRIVATE
+    private final Long roomNo;
+    private final ChatMessageDto message;
+    private final String pushTitle; // 푸시 알림 제목 (방 종류별 표기)
+}
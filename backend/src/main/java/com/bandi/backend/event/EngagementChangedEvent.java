@@ -0,0 +1,18 @@
+package com.bandi.backend.event;
+
+import com.bandi.backend.service.EngagementCounterService.Metric;
+import com.bandi.backend.service.EngagementCounterService.Target;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 반응 집계 증분 이벤트 (원본 트랜잭션 커밋 후 발행, 피드 순위 갱신용)
+ */
+@Getter
+@AllArgsConstructor
+public class EngagementChangedEvent {
+    private final Target target;
+    private final Long id;
+    private final Metric metric;
+    private final long delta;
+}
@@ -0,0 +1,15 @@
+package com.bandi.backend.event;
+
+import com.bandi.backend.service.EngagementCounterService.Target;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시물/쇼츠 등록, 삭제, 공개 범위 변경 이벤트 (커밋 후 피드 스냅샷에 반영)
+ */
+@Getter
+@AllArgsConstructor
+public class FeedItemChangedEvent {
+    private final Target target;
+    private final Long id;
+}
@@ -0,0 +1,17 @@
+package com.bandi.backend.event;
+
+import com.bandi.backend.enums.FileCategory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 새 물리 파일 저장 이벤트 (중복 내용 재사용은 제외, 커밋 후 후처리)
+ */
+@Getter
+@AllArgsConstructor
+public class FileStoredEvent {
+    private final Long attachNo;
+    private final String relativePath; // /{domain}/{yyyyMM}/{savedFileName}
+    private final FileCategory category;
+    private final String mimeType;
+}
@@ -0,0 +1,16 @@
+package com.bandi.backend.event;
+
+import com.bandi.backend.enums.FileCategory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 이미지 첨부파일 저장 이벤트 (커밋 후 리사이즈 이미지 생성)
+ */
+@Getter
+@AllArgsConstructor
+public class ImageStoredEvent {
+    private final Long attachNo;
+    private final String relativePath; // /{domain}/{yyyyMM}/{savedFileName}
+    private final FileCategory category;
+}
@@ -0,0 +1,13 @@
+package com.bandi.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 푸시 발송 대기열 적재 이벤트 (커밋 후 워커 즉시 실행용)
+ */
+@Getter
+@AllArgsConstructor
+public class PushOutboxEnqueuedEvent {
+    private final int count;
+}
@@ -21,8 +21,8 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
                         "b.insDtime, " +
                         "b.writerUserId, " +
                         "(CASE WHEN b.maskingYn = 'Y' THEN '익명' ELSE u.userNickNm END), " +
-                        "(SELECT COUNT(bl) FROM BoardLike bl WHERE bl.boardNo = b.boardNo), " +
-                        "(SELECT COUNT(bd) FROM BoardDetail bd WHERE bd.boardNo = b.boardNo), " +
+                        "b.likeCnt, " +
+                        "b.replyCnt, " +
                         "(CASE WHEN (SELECT COUNT(bl2) FROM BoardLike bl2 WHERE bl2.boardNo = b.boardNo AND bl2.userId = :userId) > 0 THEN true ELSE false END), " +
                         "b.maskingYn) "
                         +
@@ -42,8 +42,8 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
                         "b.insDtime, " +
                         "b.writerUserId, " +
                         "(CASE WHEN b.maskingYn = 'Y' THEN '익명' ELSE u.userNickNm END), " +
-                        "(SELECT COUNT(bl) FROM BoardLike bl WHERE bl.boardNo = b.boardNo), " +
-                        "(SELECT COUNT(bd) FROM BoardDetail bd WHERE bd.boardNo = b.boardNo), " +
+                        "b.likeCnt, " +
+                        "b.replyCnt, " +
                         "(CASE WHEN (SELECT COUNT(bl2) FROM BoardLike bl2 WHERE bl2.boardNo = b.boardNo AND bl2.userId = :userId) > 0 THEN true ELSE false END), " +
                         "b.maskingYn) "
                         +
@@ -51,7 +51,7 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
                         "LEFT JOIN com.bandi.backend.entity.member.User u ON b.writerUserId = u.userId " +
                         "WHERE b.boardStatCd = 'A' " +
                         "AND (:userId = '' OR b.writerUserId NOT IN (SELECT cb.blockUserId FROM CmBlock cb WHERE cb.userId = :userId)) " +
-                        "ORDER BY (SELECT COUNT(bl) FROM BoardLike bl WHERE bl.boardNo = b.boardNo) DESC")
+                        "ORDER BY b.likeCnt DESC, b.boardNo DESC")
         List<CommunityBoardListDto> findHotBoardList(@Param("userId") String userId, Pageable pageable);
         @Query("SELECT new com.bandi.backend.dto.CommunityBoardListDto(" +
                         "b.boardNo, " +
@@ -60,8 +60,8 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
                         "b.insDtime, " +
                         "b.writerUserId, " +
                         "(CASE WHEN b.maskingYn = 'Y' THEN '익명' ELSE u.userNickNm END), " +
-                        "(SELECT COUNT(bl) FROM BoardLike bl WHERE bl.boardNo = b.boardNo), " +
-                        "(SELECT COUNT(bd) FROM BoardDetail bd WHERE bd.boardNo = b.boardNo), " +
+                        "b.likeCnt, " +
+                        "b.replyCnt, " +
                         "(CASE WHEN (SELECT COUNT(bl2) FROM BoardLike bl2 WHERE bl2.boardNo = b.boardNo AND bl2.userId = :userId) > 0 THEN true ELSE false END), " +
                         "b.maskingYn) "
                         +
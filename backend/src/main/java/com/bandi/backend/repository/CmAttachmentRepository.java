@@ -2,6 +2,19 @@ package com.bandi.backend.repository;
 
 import com.bandi.backend.entity.common.CmAttachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface CmAttachmentRepository extends JpaRepository<CmAttachment, Long> {
+
+    // 같은 물리 파일을 공유하는 첨부 전체에 반영 (내용 중복 업로드 포함)
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE CM_ATTACHMENT SET VARIANT_WIDTHS = :variantWidths WHERE FILE_PATH = :filePath", nativeQuery = true)
+    int updateVariantWidths(@Param("filePath") String filePath, @Param("variantWidths") String variantWidths);
+
+    @Query(value = "SELECT VARIANT_WIDTHS FROM CM_ATTACHMENT WHERE FILE_PATH = :filePath AND VARIANT_WIDTHS IS NOT NULL LIMIT 1", nativeQuery = true)
+    String findVariantWidthsByFilePath(@Param("filePath") String filePath);
 }
@@ -0,0 +1,31 @@
+package com.bandi.backend.repository;
+
+import com.bandi.backend.entity.cm.CmChatReadCursor;
+import com.bandi.backend.entity.cm.CmChatReadCursorId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CmChatReadCursorRepository extends JpaRepository<CmChatReadCursor, CmChatReadCursorId> {
+
+    /**
+     * 읽음 커서를 앞으로만 이동 (이전 페이지 조회 시 커서가 뒤로 가지 않도록 GREATEST 처리)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO CM_CHAT_READ_CURSOR (ROOM_TYPE_CD, ROOM_NO, USER_ID, LAST_READ_MSG_NO, UPD_DTIME)
+            VALUES (:roomTypeCd, :roomNo, :userId, :msgNo, :now)
+            ON CONFLICT (ROOM_TYPE_CD, ROOM_NO, USER_ID) DO UPDATE
+            SET LAST_READ_MSG_NO = EXCLUDED.LAST_READ_MSG_NO,
+                UPD_DTIME = EXCLUDED.UPD_DTIME
+            WHERE CM_CHAT_READ_CURSOR.LAST_READ_MSG_NO < EXCLUDED.LAST_READ_MSG_NO
+            """, nativeQuery = true)
+    int advanceCursor(@Param("roomTypeCd") String roomTypeCd,
+                      @Param("roomNo") Long roomNo,
+                      @Param("userId") String userId,
+                      @Param("msgNo") Long msgNo,
+                      @Param("now") String now);
+}
@@ -0,0 +1,51 @@
+package com.bandi.backend.repository;
+
+import com.bandi.backend.entity.cm.CmChatRoomSummary;
+import com.bandi.backend.entity.cm.CmChatRoomSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CmChatRoomSummaryRepository extends JpaRepository<CmChatRoomSummary, CmChatRoomSummaryId> {
+
+    /**
+     * 메시지 저장 시 방 요약 갱신 (메시지 수 +1, 더 최신 메시지일 때만 마지막 메시지 정보 교체)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO CM_CHAT_ROOM_SUMMARY (ROOM_TYPE_CD, ROOM_NO, LAST_MSG_NO, LAST_MSG_PREVIEW, LAST_MSG_TYPE_CD,
+                                              LAST_SND_USER_ID, LAST_MSG_DTIME, MSG_CNT, UPD_DTIME)
+            VALUES (
+                :roomTypeCd, :roomNo, :msgNo,
+                LEFT(CASE
+                    WHEN CAST(:msgTypeCd AS VARCHAR) = 'IMAGE' THEN '[사진]'
+                    WHEN CAST(:msgTypeCd AS VARCHAR) = 'FILE' THEN '[파일]'
+                    WHEN CAST(:msgTypeCd AS VARCHAR) = 'VOTE' THEN '[투표]'
+                    ELSE CAST(:msg AS TEXT)
+                END, 200),
+                :msgTypeCd, :sndUserId, :sndDtime, 1, :sndDtime
+            )
+            ON CONFLICT (ROOM_TYPE_CD, ROOM_NO) DO UPDATE
+            SET MSG_CNT = CM_CHAT_ROOM_SUMMARY.MSG_CNT + 1,
+                LAST_MSG_PREVIEW = CASE WHEN EXCLUDED.LAST_MSG_NO > CM_CHAT_ROOM_SUMMARY.LAST_MSG_NO
+                                        THEN EXCLUDED.LAST_MSG_PREVIEW ELSE CM_CHAT_ROOM_SUMMARY.LAST_MSG_PREVIEW END,
+                LAST_MSG_TYPE_CD = CASE WHEN EXCLUDED.LAST_MSG_NO > CM_CHAT_ROOM_SUMMARY.LAST_MSG_NO
+                                        THEN EXCLUDED.LAST_MSG_TYPE_CD ELSE CM_CHAT_ROOM_SUMMARY.LAST_MSG_TYPE_CD END,
+                LAST_SND_USER_ID = CASE WHEN EXCLUDED.LAST_MSG_NO > CM_CHAT_ROOM_SUMMARY.LAST_MSG_NO
+                                        THEN EXCLUDED.LAST_SND_USER_ID ELSE CM_CHAT_ROOM_SUMMARY.LAST_SND_USER_ID END,
+                LAST_MSG_DTIME = CASE WHEN EXCLUDED.LAST_MSG_NO > CM_CHAT_ROOM_SUMMARY.LAST_MSG_NO
+                                      THEN EXCLUDED.LAST_MSG_DTIME ELSE CM_CHAT_ROOM_SUMMARY.LAST_MSG_DTIME END,
+                LAST_MSG_NO = GREATEST(CM_CHAT_ROOM_SUMMARY.LAST_MSG_NO, EXCLUDED.LAST_MSG_NO),
+                UPD_DTIME = EXCLUDED.UPD_DTIME
+            """, nativeQuery = true)
+    int applyNewMessage(@Param("roomTypeCd") String roomTypeCd,
+                        @Param("roomNo") Long roomNo,
+                        @Param("msgNo") Long msgNo,
+                        @Param("msgTypeCd") String msgTypeCd,
+                        @Param("msg") String msg,
+                        @Param("sndUserId") String sndUserId,
+                        @Param("sndDtime") String sndDtime);
+}
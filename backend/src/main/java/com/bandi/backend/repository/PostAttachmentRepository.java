@@ -10,4 +10,5 @@ import java.util.List;
 @Repository
 public interface PostAttachmentRepository extends JpaRepository<PostAttachment, PostAttachmentId> {
     List<PostAttachment> findByPostId(Long postId);
+    List<PostAttachment> findByPostIdInOrderByPostIdAscAttachNoAsc(List<Long> postIds);
 }
@@ -4,11 +4,41 @@ import com.bandi.backend.entity.sns.Shorts;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ShortsRepository extends JpaRepository<Shorts, Long> {
     Page<Shorts> findByUserIdOrderByInsDtimeDesc(String userId, Pageable pageable);
     Page<Shorts> findByUserIdAndShortsStatCdOrderByInsDtimeDesc(String userId, String shortsStatCd, Pageable pageable);
     Page<Shorts> findByPublicTypeCdAndShortsStatCdOrderByInsDtimeDesc(String publicTypeCd, String shortsStatCd, Pageable pageable);
+    List<Shorts> findByVideoDurationMsIsNullAndShortsStatCdOrderByShortsNoDesc(String shortsStatCd, Pageable pageable);
+
+    /**
+     * 공개 쇼츠 키셋 스크롤 첫 페이지 (IX_MM_SHORTS_PUBLIC_SCROLL 인덱스만 읽는다)
+     */
+    @Query(value = """
+            SELECT CAST(SHORTS_NO AS BIGINT) FROM MM_SHORTS
+            WHERE PUBLIC_TYPE_CD = 'A' AND SHORTS_STAT_CD = 'A'
+            ORDER BY INS_DTIME DESC, SHORTS_NO DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPublicShortsNos(@Param("limit") int limit);
+
+    /**
+     * 공개 쇼츠 키셋 스크롤 다음 페이지 — (등록 시각, 번호)가 커서보다 작은 것부터, 깊이와 무관하게 인덱스 탐색 1회
+     */
+    @Query(value = """
+            SELECT CAST(SHORTS_NO AS BIGINT) FROM MM_SHORTS
+            WHERE PUBLIC_TYPE_CD = 'A' AND SHORTS_STAT_CD = 'A'
+              AND (INS_DTIME, SHORTS_NO) < (:insDtime, :shortsNo)
+            ORDER BY INS_DTIME DESC, SHORTS_NO DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPublicShortsNosBefore(@Param("insDtime") String insDtime,
+                                         @Param("shortsNo") Long shortsNo,
+                                         @Param("limit") int limit);
 }
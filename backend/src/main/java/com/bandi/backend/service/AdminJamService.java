@@ -1,6 +1,7 @@
 package com.bandi.backend.service;
 
 import com.bandi.backend.dto.AdminJamDto;
+import com.bandi.backend.dto.PushPayloadDto;
 import com.bandi.backend.entity.band.BnGroup;
 import com.bandi.backend.entity.band.BnSession;
 import com.bandi.backend.repository.BnGroupRepository;
@@ -119,12 +120,19 @@ public class AdminJamService {
         }
 
         // Send push to all participants (BN_SESSION) in the jam
-        List<BnSession> sessions = bnSessionRepository.findByBnNo(bnNo);
-        
-        for (BnSession session : sessions) {
-            if (session.getBnSessionJoinUserId() != null) {
-                pushService.sendPush(session.getBnSessionJoinUserId(), adminNickNm, pushMessage, "/main/jam/chat/" + bnNo, "SN", "BN_" + bnNo);
-            }
-        }
+        List<String> recipients = bnSessionRepository.findByBnNo(bnNo).stream()
+                .map(BnSession::getBnSessionJoinUserId)
+                .filter(java.util.Objects::nonNull)
+                .distinct()
+                .toList();
+
+        pushService.sendPushToUsers(recipients, PushPayloadDto.builder()
+                .title(adminNickNm)
+                .body(pushMessage)
+                .link("/main/jam/chat/" + bnNo)
+                // 관리자 공지는 합주 채팅 알림(BN_ 스레드)과 묶이거나 기기 알림을 덮어쓰지 않도록 별도 유형/스레드
+                .pushType("ADMIN_JAM")
+                .threadId("ADMIN_BN_" + bnNo)
+                .build());
     }
 }
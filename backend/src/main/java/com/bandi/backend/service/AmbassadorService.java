@@ -1,5 +1,6 @@
 package com.bandi.backend.service;
 
+import com.bandi.backend.dto.PushPayloadDto;
 import com.bandi.backend.entity.band.*;
 import com.bandi.backend.entity.member.User;
 import com.bandi.backend.repository.*;
@@ -88,17 +89,14 @@ public class AmbassadorService {
         try {
             User applicant = userRepository.findByUserId(userId);
             String applicantNm = applicant != null ? (applicant.getUserNickNm() != null && !applicant.getUserNickNm().isEmpty() ? applicant.getUserNickNm() : applicant.getUserNm()) : userId;
-            List<User> admins = userRepository.findByAdminYn("Y");
-            for (User admin : admins) {
-                pushService.sendPush(
-                    admin.getUserId(),
-                    "엠버서더 신청 알림",
-                    applicantNm + "님이 엠버서더 신청을 등록했습니다. 승인 검토 부탁드립니다.",
-                    "/main/admin/ambassadors",
-                    "AMBASSADOR_REQ",
-                    "AMBASSADOR"
-                );
-            }
+            List<String> adminIds = userRepository.findByAdminYn("Y").stream().map(User::getUserId).toList();
+            pushService.sendPushToUsers(adminIds, PushPayloadDto.builder()
+                    .title("엠버서더 신청 알림")
+                    .body(applicantNm + "님이 엠버서더 신청을 등록했습니다. 승인 검토 부탁드립니다.")
+                    .link("/main/admin/ambassadors")
+                    .pushType("AMBASSADOR_REQ")
+                    .threadId("AMBASSADOR")
+                    .build());
         } catch (Exception e) {
             log.error("Failed to send ambassador registration push to admins", e);
         }
@@ -6,6 +6,8 @@ import com.bandi.backend.dto.CommunityBoardCommentDto;
 import com.bandi.backend.dto.CommunityBoardCreateDto;
 import com.bandi.backend.entity.common.*;
 import com.bandi.backend.repository.*;
+import com.bandi.backend.service.EngagementCounterService.Metric;
+import com.bandi.backend.service.EngagementCounterService.Target;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -41,23 +43,38 @@ public class BoardService {
     private final CmBlockRepository cmBlockRepository;
     private final com.bandi.backend.repository.UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final EngagementCounterService engagementCounterService;
 
     @Transactional(readOnly = true)
     public Page<CommunityBoardListDto> getBoardList(String boardTypeFg, int page, int size, String userId) {
         Pageable pageable = PageRequest.of(page, size);
-        return boardRepository.findBoardList(boardTypeFg, userId, pageable);
+        Page<CommunityBoardListDto> result = boardRepository.findBoardList(boardTypeFg, userId, pageable);
+        result.forEach(this::applyPendingCounts);
+        return result;
     }
 
     @Transactional(readOnly = true)
     public List<CommunityBoardListDto> getHotBoardList(String userId) {
         Pageable pageable = PageRequest.of(0, 5); // Limit to 5
-        return boardRepository.findHotBoardList(userId, pageable);
+        List<CommunityBoardListDto> result = boardRepository.findHotBoardList(userId, pageable);
+        result.forEach(this::applyPendingCounts);
+        return result;
     }
 
     @Transactional(readOnly = true)
     public Page<CommunityBoardListDto> getRecentBoardList(int page, int size, String userId) {
         Pageable pageable = PageRequest.of(page, size);
-        return boardRepository.findRecentBoardList(userId, pageable);
+        Page<CommunityBoardListDto> result = boardRepository.findRecentBoardList(userId, pageable);
+        result.forEach(this::applyPendingCounts);
+        return result;
+    }
+
+    /**
+     * 목록 쿼리는 저장된 집계 컬럼을 읽으므로 아직 반영 전인 증분을 더한다
+     */
+    private void applyPendingCounts(CommunityBoardListDto dto) {
+        dto.setLikeCnt(engagementCounterService.current(Target.BOARD, dto.getBoardNo(), Metric.LIKE, dto.getLikeCnt()));
+        dto.setCommentCnt(engagementCounterService.current(Target.BOARD, dto.getBoardNo(), Metric.REPLY, dto.getCommentCnt()));
     }
 
     @Transactional(readOnly = true)
@@ -95,8 +112,8 @@ public class BoardService {
 
         List<com.bandi.backend.dto.BandiTalkPostDto> result = new ArrayList<>();
         for (Board b : selectedBoards) {
-            long likeCnt = boardLikeRepository.countByBoardNo(b.getBoardNo());
-            long commentCnt = boardDetailRepository.countByBoardNo(b.getBoardNo());
+            long likeCnt = engagementCounterService.current(Target.BOARD, b.getBoardNo(), Metric.LIKE, b.getLikeCnt());
+            long commentCnt = engagementCounterService.current(Target.BOARD, b.getBoardNo(), Metric.REPLY, b.getReplyCnt());
 
             String userNickNm = "익명";
             String profileImg = null;
@@ -180,7 +197,7 @@ public class BoardService {
         Board board = boardRepository.findById(boardNo)
                 .orElseThrow(() -> new RuntimeException("Board not found"));
 
-        long likeCnt = boardLikeRepository.countByBoardNo(boardNo);
+        long likeCnt = engagementCounterService.current(Target.BOARD, boardNo, Metric.LIKE, board.getLikeCnt());
         boolean isLiked = !userId.isEmpty() && boardLikeRepository.existsByBoardNoAndUserId(boardNo, userId);
 
         long scrapCnt = cmScrapRepository.countByScrapTableNmAndScrapTablePkNo("CM_BOARD", boardNo);
@@ -293,12 +310,14 @@ public class BoardService {
         }
 
         boardDetailRepository.save(comment);
+        engagementCounterService.increment(Target.BOARD, boardNo, Metric.REPLY);
     }
 
     @Transactional
     public void addBoardLike(Long boardNo, String userId) {
         if (boardLikeRepository.existsByBoardNoAndUserId(boardNo, userId)) {
             boardLikeRepository.deleteByBoardNoAndUserId(boardNo, userId);
+            engagementCounterService.decrement(Target.BOARD, boardNo, Metric.LIKE);
             return;
         }
 
@@ -312,6 +331,7 @@ public class BoardService {
         like.setUpdId(userId);
 
         boardLikeRepository.save(like);
+        engagementCounterService.increment(Target.BOARD, boardNo, Metric.LIKE);
     }
 
     @Transactional
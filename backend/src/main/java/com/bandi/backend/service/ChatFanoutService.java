@@ -0,0 +1,99 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PushPayloadDto;
+import com.bandi.backend.event.ChatMessageSavedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 채팅 메시지 푸시 적재 단계
+ * 메시지 저장 트랜잭션이 커밋된 뒤 chatFanoutExecutor 에서 수신자를 조회해 발송 대기열(MM_PUSH_OUTBOX)에 적재한다.
+ * - 수신자 조회/묶기/적재 SQL 이 보낸 사람의 요청 스레드를 잡지 않는다.
+ * - 수신자 조회와 적재는 한 트랜잭션이라 함께 커밋된다. 실패해도 이미 저장된 메시지는 롤백되지 않는다. (로그만 남김)
+ * 실제 발송(수신 설정/토큰 조회 포함)은 PushOutboxWorker 가 처리한다.
+ */
+@Slf4j
+@Service
+public class ChatFanoutService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PushService pushService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ChatFanoutService(PushService pushService, PlatformTransactionManager transactionManager) {
+        this.pushService = pushService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 풀이 가득 차면 커밋 이후 단계의 호출 스레드에서 돌 수 있으므로 항상 새 트랜잭션으로 실행
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Async("chatFanoutExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChatMessageSaved(ChatMessageSavedEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> recipients = findRecipients(event.getRoomType(), event.getRoomNo(),
+                        event.getMessage().getSndUserId());
+                if (!recipients.isEmpty()) {
+                    pushService.sendPushToUsers(recipients, buildPayload(event));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("채팅 푸시 적재 실패 (room={}:{})", event.getRoomType(), event.getRoomNo(), e);
+        }
+    }
+
+    private PushPayloadDto buildPayload(ChatMessageSavedEvent event) {
+        Long roomNo = event.getRoomNo();
+        PushPayloadDto.PushPayloadDtoBuilder builder = PushPayloadDto.builder()
+                .title(event.getPushTitle())
+                .body(event.getMessage().getMsg());
+
+        switch (event.getRoomType()) {
+            case "BAND" -> builder.link("/main/jam/chat/" + roomNo).pushType("BN").threadId("BN_" + roomNo);
+            case "GROUP" -> builder.link("/main/chat/room/" + roomNo + "?type=GROUP").pushType("GP").threadId("GP_" + roomNo);
+            case "PRIVATE" -> builder.link("/main/chat/private/" + roomNo).pushType("SN").threadId("SN_" + roomNo);
+            default -> builder.link("/main/chat/room/" + roomNo + "?type=CLAN").pushType("CN").threadId("CN_" + roomNo);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 방 참여자(발신자 제외)
+     */
+    private List<String> findRecipients(String roomType, Long roomNo, String senderId) {
+        String recipientSql = switch (roomType) {
+            case "BAND" -> "SELECT BN_USER_ID FROM BN_USER WHERE BN_NO = :roomNo AND BN_USER_STAT_CD = 'A' AND BN_USER_ID <> :senderId";
+            case "GROUP" -> "SELECT USER_ID FROM CM_GRP_CHAT_USER WHERE GRP_CHAT_NO = :roomNo AND USER_ID <> :senderId";
+            case "PRIVATE" -> """
+                    SELECT R.USER_ID FROM (
+                        SELECT USER_ID FROM MM_CHAT_ROOM WHERE MM_ROOM_NO = :roomNo
+                        UNION
+                        SELECT FRIEND_USER_ID FROM MM_CHAT_ROOM WHERE MM_ROOM_NO = :roomNo
+                    ) R
+                    WHERE R.USER_ID <> :senderId
+                    """;
+            default -> "SELECT CN_USER_ID FROM CN_USER WHERE CN_NO = :roomNo AND CN_USER_STAT_CD = 'A' AND CN_USER_APPR_STAT_CD = 'CN' AND CN_USER_ID <> :senderId";
+        };
+
+        @SuppressWarnings("unchecked")
+        List<String> recipients = entityManager.createNativeQuery(recipientSql)
+                .setParameter("roomNo", roomNo)
+                .setParameter("senderId", senderId)
+                .getResultList();
+        return recipients;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.ChatMessageDto;
+import com.bandi.backend.event.ChatMessageSavedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessagePublisher {
+
+    public static final String TOPIC_PREFIX = "/topic/chat/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * 메시지 저장 트랜잭션이 커밋된 뒤에만 방 구독자에게 전달한다.
+     * (롤백된 메시지가 화면에 노출되지 않도록 하고, 재접속 시에는 afterMsgNo 조회로 누락분을 보충)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChatMessageSaved(ChatMessageSavedEvent event) {
+        String destination = TOPIC_PREFIX + event.getRoomType() + "/" + event.getRoomNo();
+        try {
+            // isMyMessage 는 수신자 기준으로 클라이언트가 sndUserId 로 판단
+            ChatMessageDto payload = event.getMessage().toBuilder().isMyMessage(false).build();
+            messagingTemplate.convertAndSend(destination, payload);
+        } catch (Exception e) {
+            log.error("채팅 메시지 실시간 전송 실패 [{}]", destination, e);
+        }
+    }
+}
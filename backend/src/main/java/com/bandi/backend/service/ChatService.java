@@ -4,7 +4,11 @@ import com.bandi.backend.dto.ChatMessageDto;
 import com.bandi.backend.dto.ChatMessageCreateDto;
 import com.bandi.backend.dto.ChatRoomListDto;
 import com.bandi.backend.dto.UploadFileResultDto;
+import com.bandi.backend.entity.cm.CmChatRoomSummary;
+import com.bandi.backend.entity.cm.CmChatRoomSummaryId;
 import com.bandi.backend.enums.FileCategory;
+import com.bandi.backend.event.ChatMessageSavedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,9 +34,31 @@ public class ChatService {
   private final com.bandi.backend.repository.BandChatMessageRepository bandChatMessageRepository;
   private final com.bandi.backend.repository.CmGrpChatMessageRepository cmGrpChatMessageRepository;
   private final FileStorageService fileStorageService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final com.bandi.backend.repository.CmChatReadCursorRepository cmChatReadCursorRepository;
+  private final com.bandi.backend.repository.CmChatRoomSummaryRepository cmChatRoomSummaryRepository;
+  private final UnreadCounterService unreadCounterService;
 
-  @org.springframework.beans.factory.annotation.Autowired
-  private com.bandi.backend.service.PushService pushService;
+  // 밴드 채팅 푸시 제목 (snyun 닉네임, 최초 1회 조회)
+  private volatile String bandPushTitle;
+
+  private String getBandPushTitle() {
+    String title = bandPushTitle;
+    if (title == null) {
+      try {
+        // USER_ID가 대소문자 구분될 수 있으므로 LOWER로 검색
+        Object adminResult = entityManager
+            .createNativeQuery("SELECT USER_NICK_NM FROM MM_USER WHERE LOWER(USER_ID) = 'snyun'")
+            .getSingleResult();
+        title = adminResult != null ? (String) adminResult : "관리자";
+      } catch (Exception e) {
+        // snyun 사용자를 찾지 못할 경우 '관리자' 사용
+        title = "관리자";
+      }
+      bandPushTitle = title;
+    }
+    return title;
+  }
 
   public List<ChatRoomListDto> getUnifiedChatList(String userId, int offset, int limit) {
     String sql = """
@@ -41,46 +67,16 @@ public class ChatService {
                 SELECT
                     CNR.CN_NO        AS ROOM_NO,
                     CNG.CN_NM        AS ROOM_NM,
-                    (
-                      SELECT 
-                        CASE 
-                            WHEN MSG.MSG_TYPE_CD = 'IMAGE' THEN '[사진]'
-                            WHEN MSG.MSG_TYPE_CD = 'FILE' THEN '[파일]'
-                            WHEN MSG.MSG_TYPE_CD = 'VOTE' THEN '[투표]'
-                            ELSE MSG.MSG 
-                        END
-                      FROM CN_CHAT_MESSAGE MSG
-                      WHERE MSG.CN_NO = CNR.CN_NO
-                        AND MSG.CHAT_STAT_CD = 'A'
-                      ORDER BY MSG.SND_DTIME DESC
-                      LIMIT 1
-                    ) AS NEW_MSG,
-                    (
-                      SELECT COUNT(1)
-                      FROM CN_CHAT_MESSAGE MSG
-                      WHERE MSG.CN_NO = CNR.CN_NO
-                        AND MSG.SND_USER_ID <> :userId
-                        AND MSG.CHAT_STAT_CD = 'A'
-                        AND NOT EXISTS (
-                            SELECT 1
-                            FROM CN_CHAT_MESSAGE_READ MSR
-                            WHERE MSR.CN_MSG_NO = MSG.CN_MSG_NO
-                              AND MSR.READ_USER_ID = :userId
-                        )
-                    ) AS NEW_MSG_READ_CNT,
+                    RS.LAST_MSG_PREVIEW AS NEW_MSG,
                     'CLAN' AS ROOM_TYPE,
                     CMA.FILE_PATH AS ATTACH_FILE_PATH,
-                    (
-                      SELECT MAX(MSG.SND_DTIME)
-                      FROM CN_CHAT_MESSAGE MSG
-                      WHERE MSG.CN_NO = CNR.CN_NO
-                        AND MSG.CHAT_STAT_CD = 'A'
-                    ) AS LAST_MSG_DTIME
+                    RS.LAST_MSG_DTIME AS LAST_MSG_DTIME
                 FROM
                     CN_USER CNU
                 INNER JOIN CN_GROUP CNG ON CNG.CN_NO = CNU.CN_NO
                 INNER JOIN CN_CHAT_ROOM CNR ON CNR.CN_NO = CNU.CN_NO
                 LEFT JOIN CM_ATTACHMENT CMA ON CMA.ATTACH_NO = CNG.ATTACH_NO
+                LEFT JOIN CM_CHAT_ROOM_SUMMARY RS ON RS.ROOM_TYPE_CD = 'CLAN' AND RS.ROOM_NO = CNR.CN_NO
                 WHERE
                     CNU.CN_USER_ID = :userId
                     AND CNU.CN_USER_STAT_CD = 'A'
@@ -94,45 +90,16 @@ public class ChatService {
                 SELECT
                     CNR.BN_NO        AS ROOM_NO,
                     BNG.BN_NM        AS ROOM_NM,
-                    (
-                      SELECT 
-                        CASE 
-                            WHEN MSG.BN_CHAT_MSG_TYPE_CD = 'IMAGE' THEN '[사진]'
-                            WHEN MSG.BN_CHAT_MSG_TYPE_CD = 'FILE' THEN '[파일]'
-                            ELSE MSG.BN_CHAT_MSG 
-                        END
-                      FROM BN_CHAT_MESSAGE MSG
-                      WHERE MSG.BN_NO = CNR.BN_NO
-                        AND MSG.BN_CHAT_STAT_CD = 'A'
-                      ORDER BY MSG.BN_CHAT_SND_DTIME DESC
-                      LIMIT 1
-                    ) AS NEW_MSG,
-                    (
-                      SELECT COUNT(1)
-                      FROM BN_CHAT_MESSAGE MSG
-                      WHERE MSG.BN_NO = CNR.BN_NO
-                        AND MSG.BN_CHAT_SND_USER_ID <> :userId
-                        AND MSG.BN_CHAT_STAT_CD = 'A'
-                        AND NOT EXISTS (
-                            SELECT 1
-                            FROM BN_CHAT_MESSAGE_READ MSR
-                            WHERE MSR.BN_CHAT_MSG_NO = MSG.BN_CHAT_MSG_NO
-                              AND MSR.BN_CHAT_READ_USER_ID = :userId
-                        )
-                    ) AS NEW_MSG_READ_CNT,
+                    RS.LAST_MSG_PREVIEW AS NEW_MSG,
                     'BAND' AS ROOM_TYPE,
                     CMA.FILE_PATH AS ATTACH_FILE_PATH,
-                    (
-                      SELECT MAX(MSG.BN_CHAT_SND_DTIME)
-                      FROM BN_CHAT_MESSAGE MSG
-                      WHERE MSG.BN_NO = CNR.BN_NO
-                        AND MSG.BN_CHAT_STAT_CD = 'A'
-                    ) AS LAST_MSG_DTIME
+                    RS.LAST_MSG_DTIME AS LAST_MSG_DTIME
                 FROM
                     BN_USER BNU
                 INNER JOIN BN_GROUP BNG ON BNG.BN_NO = BNU.BN_NO
                 INNER JOIN BN_CHAT_ROOM CNR ON CNR.BN_NO = BNU.BN_NO
                 LEFT JOIN CM_ATTACHMENT CMA ON CMA.ATTACH_NO = BNG.ATTACH_NO
+                LEFT JOIN CM_CHAT_ROOM_SUMMARY RS ON RS.ROOM_TYPE_CD = 'BAND' AND RS.ROOM_NO = CNR.BN_NO
                 WHERE
                     BNU.BN_USER_ID = :userId
                     AND BNU.BN_USER_STAT_CD = 'A'
@@ -158,43 +125,14 @@ public class ChatService {
                 SELECT
                     CNR.GRP_CHAT_NO AS ROOM_NO,
                     CNR.GRP_CHAT_ROOM_NM AS ROOM_NM,
-                    (
-                      SELECT 
-                        CASE 
-                            WHEN MSG.GRP_CHAT_MSG_TYPE_CD = 'IMAGE' THEN '[사진]'
-                            WHEN MSG.GRP_CHAT_MSG_TYPE_CD = 'FILE' THEN '[파일]'
-                            ELSE MSG.GRP_CHAT_MSG 
-                        END
-                      FROM CM_GRP_CHAT_MESSAGE MSG
-                      WHERE MSG.GRP_CHAT_NO = CNR.GRP_CHAT_NO
-                        AND MSG.GRP_CHAT_STAT_CD = 'A'
-                      ORDER BY MSG.GRP_CHAT_SND_DTIME DESC
-                      LIMIT 1
-                    ) AS NEW_MSG,
-                    (
-                      SELECT COUNT(1)
-                      FROM CM_GRP_CHAT_MESSAGE MSG
-                      WHERE MSG.GRP_CHAT_NO = CNR.GRP_CHAT_NO
-                        AND MSG.GRP_CHAT_SND_USER_ID <> :userId
-                        AND MSG.GRP_CHAT_STAT_CD = 'A'
-                        AND NOT EXISTS (
-                            SELECT 1
-                            FROM CM_GRP_CHAT_MESSAGE_READ MSR
-                            WHERE MSR.GRP_CHAT_MSG_NO = MSG.GRP_CHAT_MSG_NO
-                              AND MSR.GRP_CHAT_READ_USER_ID = :userId
-                        )
-                    ) AS NEW_MSG_READ_CNT,
+                    RS.LAST_MSG_PREVIEW AS NEW_MSG,
                     'GROUP' AS ROOM_TYPE,
                     NULL AS ATTACH_FILE_PATH,
-                    (
-                      SELECT MAX(MSG.GRP_CHAT_SND_DTIME)
-                      FROM CM_GRP_CHAT_MESSAGE MSG
-                      WHERE MSG.GRP_CHAT_NO = CNR.GRP_CHAT_NO
-                        AND MSG.GRP_CHAT_STAT_CD = 'A'
-                    ) AS LAST_MSG_DTIME
+                    RS.LAST_MSG_DTIME AS LAST_MSG_DTIME
                 FROM
                     CM_GRP_CHAT_USER CGU
                 INNER JOIN CM_GRP_CHAT_ROOM CNR ON CNR.GRP_CHAT_NO = CGU.GRP_CHAT_NO
+                LEFT JOIN CM_CHAT_ROOM_SUMMARY RS ON RS.ROOM_TYPE_CD = 'GROUP' AND RS.ROOM_NO = CNR.GRP_CHAT_NO
                 WHERE
                     CGU.USER_ID = :userId
 
@@ -204,44 +142,15 @@ public class ChatService {
                 SELECT
                     CR.MM_ROOM_NO AS ROOM_NO,
                     U.USER_NICK_NM AS ROOM_NM,
-                    (
-                      SELECT 
-                        CASE 
-                            WHEN MSG.MSG_TYPE_CD = 'IMAGE' THEN '[사진]'
-                            WHEN MSG.MSG_TYPE_CD = 'FILE' THEN '[파일]'
-                            ELSE MSG.MSG 
-                        END
-                      FROM MM_CHAT_MESSAGE MSG
-                      WHERE MSG.MM_ROOM_NO = CR.MM_ROOM_NO
-                        AND MSG.CHAT_STAT_CD = 'A'
-                      ORDER BY MSG.SND_DTIME DESC
-                      LIMIT 1
-                    ) AS NEW_MSG,
-                    (
-                      SELECT COUNT(1)
-                      FROM MM_CHAT_MESSAGE MSG
-                      WHERE MSG.MM_ROOM_NO = CR.MM_ROOM_NO
-                        AND MSG.SND_USER_ID <> :userId
-                        AND MSG.CHAT_STAT_CD = 'A'
-                        AND NOT EXISTS (
-                            SELECT 1
-                            FROM MM_CHAT_MESSAGE_READ MSR
-                            WHERE MSR.MM_MSG_NO = MSG.MM_MSG_NO
-                              AND MSR.READ_USER_ID = :userId
-                        )
-                    ) AS NEW_MSG_READ_CNT,
+                    RS.LAST_MSG_PREVIEW AS NEW_MSG,
                     'PRIVATE' AS ROOM_TYPE,
                     CMA.FILE_PATH AS ATTACH_FILE_PATH,
-                    (
-                      SELECT MAX(MSG.SND_DTIME)
-                      FROM MM_CHAT_MESSAGE MSG
-                      WHERE MSG.MM_ROOM_NO = CR.MM_ROOM_NO
-                        AND MSG.CHAT_STAT_CD = 'A'
-                    ) AS LAST_MSG_DTIME
+                    RS.LAST_MSG_DTIME AS LAST_MSG_DTIME
                 FROM
                     MM_CHAT_ROOM CR
                 INNER JOIN MM_USER U ON U.USER_ID = CASE WHEN CR.USER_ID = :userId THEN CR.FRIEND_USER_ID ELSE CR.USER_ID END
                 LEFT JOIN CM_ATTACHMENT CMA ON CMA.ATTACH_NO = U.ATTACH_NO
+                LEFT JOIN CM_CHAT_ROOM_SUMMARY RS ON RS.ROOM_TYPE_CD = 'PRIVATE' AND RS.ROOM_NO = CR.MM_ROOM_NO
                 WHERE
                     CR.USER_ID = :userId OR CR.FRIEND_USER_ID = :userId
             ) T
@@ -259,14 +168,16 @@ public class ChatService {
     List<ChatRoomListDto> chatRooms = new ArrayList<>();
 
     for (Object[] result : results) {
+      Long roomNo = ((Number) result[0]).longValue();
+      String roomType = (String) result[3];
       ChatRoomListDto dto = ChatRoomListDto.builder()
-          .roomNo(((Number) result[0]).longValue())
+          .roomNo(roomNo)
           .roomNm((String) result[1])
           .newMsg((String) result[2])
-          .newMsgReadCnt(((Number) result[3]).intValue())
-          .roomType((String) result[4])
-          .attachFilePath((String) result[5])
-          .lastMsgDtime((String) result[6])
+          .newMsgReadCnt(unreadCounterService.getRoomUnreadCount(userId, roomType, roomNo))
+          .roomType(roomType)
+          .attachFilePath((String) result[4])
+          .lastMsgDtime((String) result[5])
           .build();
       chatRooms.add(dto);
     }
@@ -391,9 +302,12 @@ public class ChatService {
                   MSG.BN_CHAT_SND_DTIME,
                   (SELECT CMA2.FILE_PATH FROM CM_ATTACHMENT CMA2 WHERE CMA2.ATTACH_NO = USR.ATTACH_NO) AS PROFILE_URL,
                   (
-                    (SELECT COUNT(1) FROM BN_USER WHERE BN_NO = MSG.BN_NO AND BN_USER_STAT_CD = 'A')
-                    -
-                    (SELECT COUNT(1) FROM BN_CHAT_MESSAGE_READ WHERE BN_CHAT_MSG_NO = MSG.BN_CHAT_MSG_NO)
+                    SELECT COUNT(1)
+                    FROM BN_USER BU
+                    LEFT JOIN CM_CHAT_READ_CURSOR RC ON RC.ROOM_TYPE_CD = 'BAND' AND RC.ROOM_NO = BU.BN_NO AND RC.USER_ID = BU.BN_USER_ID
+                    WHERE BU.BN_NO = MSG.BN_NO
+                      AND BU.BN_USER_STAT_CD = 'A'
+                      AND COALESCE(RC.LAST_READ_MSG_NO, 0) < MSG.BN_CHAT_MSG_NO
                   ) AS UNREAD_CNT,
                   MSG.ATTACH_NO,
                   CMA.FILE_PATH AS ATTACH_FILE_PATH,
@@ -422,9 +336,11 @@ public class ChatService {
                   MSG.GRP_CHAT_SND_DTIME,
                   (SELECT CMA2.FILE_PATH FROM CM_ATTACHMENT CMA2 WHERE CMA2.ATTACH_NO = USR.ATTACH_NO) AS PROFILE_URL,
                   (
-                    (SELECT COUNT(1) FROM CM_GRP_CHAT_USER WHERE GRP_CHAT_NO = MSG.GRP_CHAT_NO)
-                    -
-                    (SELECT COUNT(1) FROM CM_GRP_CHAT_MESSAGE_READ WHERE GRP_CHAT_MSG_NO = MSG.GRP_CHAT_MSG_NO)
+                    SELECT COUNT(1)
+                    FROM CM_GRP_CHAT_USER GU
+                    LEFT JOIN CM_CHAT_READ_CURSOR RC ON RC.ROOM_TYPE_CD = 'GROUP' AND RC.ROOM_NO = GU.GRP_CHAT_NO AND RC.USER_ID = GU.USER_ID
+                    WHERE GU.GRP_CHAT_NO = MSG.GRP_CHAT_NO
+                      AND COALESCE(RC.LAST_READ_MSG_NO, 0) < MSG.GRP_CHAT_MSG_NO
                   ) AS UNREAD_CNT,
                   MSG.ATTACH_NO,
                   CMA.FILE_PATH AS ATTACH_FILE_PATH,
@@ -454,9 +370,13 @@ public class ChatService {
                       MSG.SND_DTIME,
                       (SELECT CMA2.FILE_PATH FROM CM_ATTACHMENT CMA2 WHERE CMA2.ATTACH_NO = USR.ATTACH_NO) AS PROFILE_URL,
                       (
-                        (SELECT COUNT(1) FROM CN_USER WHERE CN_NO = MSG.CN_NO AND CN_USER_STAT_CD = 'A' AND CN_USER_APPR_STAT_CD = 'CN')
-                        -
-                        (SELECT COUNT(1) FROM CN_CHAT_MESSAGE_READ WHERE CN_MSG_NO = MSG.CN_MSG_NO)
+                        SELECT COUNT(1)
+                        FROM CN_USER CU
+                        LEFT JOIN CM_CHAT_READ_CURSOR RC ON RC.ROOM_TYPE_CD = 'CLAN' AND RC.ROOM_NO = CU.CN_NO AND RC.USER_ID = CU.CN_USER_ID
+                        WHERE CU.CN_NO = MSG.CN_NO
+                          AND CU.CN_USER_STAT_CD = 'A'
+                          AND CU.CN_USER_APPR_STAT_CD = 'CN'
+                          AND COALESCE(RC.LAST_READ_MSG_NO, 0) < MSG.CN_MSG_NO
                       ) AS UNREAD_CNT,
                       MSG.ATTACH_NO,
                       CMA.FILE_PATH AS ATTACH_FILE_PATH,
@@ -553,43 +473,15 @@ public class ChatService {
           .parentMsgUserNickNm(parentMsgUserNickNm)
           .build();
       messages.add(dto);
+    }
 
-      // Mark as read if not my message
-      if (!senderId.equals(userId)) {
-        if ("BAND".equals(roomType)) {
-          try {
-            entityManager.createNativeQuery(
-                "INSERT INTO BN_CHAT_MESSAGE_READ (BN_CHAT_MSG_NO, BN_CHAT_READ_USER_ID, BN_CHAT_READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (BN_CHAT_MSG_NO, BN_CHAT_READ_USER_ID) DO NOTHING")
-                .setParameter("msgNo", msgNo)
-                .setParameter("userId", userId)
-                .setParameter("readDtime", currentDateTime)
-                .executeUpdate();
-          } catch (Exception e) {
-            // Ignore unique constraint violation or multiple reads
-          }
-        } else if ("GROUP".equals(roomType)) {
-          try {
-            entityManager.createNativeQuery(
-                "INSERT INTO CM_GRP_CHAT_MESSAGE_READ (GRP_CHAT_MSG_NO, GRP_CHAT_READ_USER_ID, GRP_CHAT_READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (GRP_CHAT_MSG_NO, GRP_CHAT_READ_USER_ID) DO NOTHING")
-                .setParameter("msgNo", msgNo)
-                .setParameter("userId", userId)
-                .setParameter("readDtime", currentDateTime)
-                .executeUpdate();
-          } catch (Exception e) {
-            // Ignore unique constraint violation or multiple reads
-          }
-        } else {
-          try {
-            entityManager.createNativeQuery(
-                "INSERT INTO CN_CHAT_MESSAGE_READ (CN_MSG_NO, READ_USER_ID, READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (CN_MSG_NO, READ_USER_ID) DO NOTHING")
-                .setParameter("msgNo", msgNo)
-                .setParameter("userId", userId)
-                .setParameter("readDtime", currentDateTime)
-                .executeUpdate();
-          } catch (Exception e) {
-            // Ignore unique constraint violation or multiple reads
-          }
-        }
+    // 조회한 가장 최신 메시지까지 읽음 커서 이동 (메시지별 읽음 INSERT 대신 1건 UPSERT)
+    if (!messages.isEmpty()) {
+      String cursorRoomType = "BAND".equals(roomType) || "GROUP".equals(roomType) ? roomType : "CLAN";
+      cmChatReadCursorRepository.advanceCursor(cursorRoomType, roomNo, userId, messages.get(0).getCnMsgNo(),
+          currentDateTime);
+      if (lastMsgNo == null) {
+        unreadCounterService.markRead(userId, cursorRoomType, roomNo, messages.get(0).getCnMsgNo());
       }
     }
     return messages;
@@ -620,15 +512,10 @@ public class ChatService {
       com.bandi.backend.entity.band.BandChatMessage savedMessage = bandChatMessageRepository.save(message);
 
       // Mark sender as read
-      try {
-        entityManager.createNativeQuery(
-            "INSERT INTO BN_CHAT_MESSAGE_READ (BN_CHAT_MSG_NO, BN_CHAT_READ_USER_ID, BN_CHAT_READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (BN_CHAT_MSG_NO, BN_CHAT_READ_USER_ID) DO NOTHING")
-            .setParameter("msgNo", savedMessage.getBnMsgNo())
-            .setParameter("userId", dto.getSndUserId())
-            .setParameter("readDtime", currentDateTime)
-            .executeUpdate();
-      } catch (Exception e) {
-      }
+      cmChatReadCursorRepository.advanceCursor("BAND", savedMessage.getBnNo(), dto.getSndUserId(),
+          savedMessage.getBnMsgNo(), currentDateTime);
+      cmChatRoomSummaryRepository.applyNewMessage("BAND", savedMessage.getBnNo(), savedMessage.getBnMsgNo(),
+          savedMessage.getMsgTypeCd(), savedMessage.getMsg(), savedMessage.getSndUserId(), currentDateTime);
 
       String userNickNm = "Unknown";
       String userProfileUrl = null;
@@ -709,37 +596,8 @@ public class ChatService {
           .attachFileName(attachFileName)
           .build();
 
-      // Send Push Notification to all active members except sender
-      try {
-        String pushSql = "SELECT DISTINCT BN_SESSION_JOIN_USER_ID FROM BN_SESSION WHERE BN_NO = :roomNo AND BN_SESSION_JOIN_USER_ID IS NOT NULL AND BN_SESSION_JOIN_USER_ID <> :senderId";
-        @SuppressWarnings("unchecked")
-        java.util.List<String> recipients = entityManager.createNativeQuery(pushSql)
-            .setParameter("roomNo", dto.getCnNo())
-            .setParameter("senderId", dto.getSndUserId())
-            .getResultList();
-
-        // 닉네임 고정 (사용자 요청: snyun의 닉네임을 제목으로 사용)
-        String pushTitle = userNickNm;
-        try {
-          // USER_ID가 대소문자 구분될 수 있으므로 LOWER로 검색
-          jakarta.persistence.Query adminQuery = entityManager.createNativeQuery("SELECT USER_NICK_NM FROM MM_USER WHERE LOWER(USER_ID) = 'snyun'");
-          Object adminResult = adminQuery.getSingleResult();
-          if (adminResult != null) {
-            pushTitle = (String) adminResult;
-          }
-        } catch (Exception e) {
-          // snyun 사용자를 찾지 못할 경우 '관리자' 또는 기존 닉네임 사용
-          pushTitle = "관리자"; 
-        }
-
-        for (String recipientId : recipients) {
-          pushService.sendPush(recipientId, pushTitle, dto.getMsg(),
-              "/main/jam/chat/" + dto.getCnNo(), "BN", "BN_" + dto.getCnNo());
-        }
-      } catch (Exception e) {
-        e.printStackTrace();
-      }
-
+      // 푸시는 ChatFanoutService 에서 발송 대기열에 함께 적재 (제목: snyun 닉네임 고정)
+      eventPublisher.publishEvent(new ChatMessageSavedEvent("BAND", savedMessage.getBnNo(), resultDto, getBandPushTitle()));
       return resultDto;
     } else if ("GROUP".equals(roomType)) { // GROUP section
       com.bandi.backend.entity.cm.CmGrpChatMessage message = new com.bandi.backend.entity.cm.CmGrpChatMessage();
@@ -757,15 +615,11 @@ public class ChatService {
       com.bandi.backend.entity.cm.CmGrpChatMessage savedMessage = cmGrpChatMessageRepository.save(message);
 
       // Mark sender as read
-      try {
-        entityManager.createNativeQuery(
-            "INSERT INTO CM_GRP_CHAT_MESSAGE_READ (GRP_CHAT_MSG_NO, GRP_CHAT_READ_USER_ID, GRP_CHAT_READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (GRP_CHAT_MSG_NO, GRP_CHAT_READ_USER_ID) DO NOTHING")
-            .setParameter("msgNo", savedMessage.getGrpChatMsgNo())
-            .setParameter("userId", dto.getSndUserId())
-            .setParameter("readDtime", currentDateTime)
-            .executeUpdate();
-      } catch (Exception e) {
-      }
+      cmChatReadCursorRepository.advanceCursor("GROUP", savedMessage.getGrpChatNo(), dto.getSndUserId(),
+          savedMessage.getGrpChatMsgNo(), currentDateTime);
+      cmChatRoomSummaryRepository.applyNewMessage("GROUP", savedMessage.getGrpChatNo(), savedMessage.getGrpChatMsgNo(),
+          savedMessage.getGrpChatMsgTypeCd(), savedMessage.getGrpChatMsg(), savedMessage.getGrpChatSndUserId(),
+          currentDateTime);
 
       String userNickNm = "Unknown";
       String userProfileUrl = null;
@@ -843,22 +697,7 @@ public class ChatService {
           .attachFileName(attachFileName)
           .build();
 
-      // Send Push Notification
-      try {
-        String pushSql = "SELECT USER_ID FROM CM_GRP_CHAT_USER WHERE GRP_CHAT_NO = :roomNo AND USER_ID <> :senderId";
-        @SuppressWarnings("unchecked")
-        java.util.List<String> recipients = entityManager.createNativeQuery(pushSql)
-            .setParameter("roomNo", dto.getCnNo())
-            .setParameter("senderId", dto.getSndUserId())
-            .getResultList();
-
-        for (String recipientId : recipients) {
-          pushService.sendPush(recipientId, "그룹 " + userNickNm, dto.getMsg(),
-              "/main/chat/room/" + dto.getCnNo() + "?type=GROUP", "GP", "GP_" + dto.getCnNo());
-        }
-      } catch (Exception e) {
-      }
-
+      eventPublisher.publishEvent(new ChatMessageSavedEvent("GROUP", savedMessage.getGrpChatNo(), resultDto, "그룹 " + userNickNm));
       return resultDto;
     } else { // CLAN section
       com.bandi.backend.entity.clan.ClanChatMessage message = new com.bandi.backend.entity.clan.ClanChatMessage();
@@ -877,16 +716,10 @@ public class ChatService {
       com.bandi.backend.entity.clan.ClanChatMessage savedMessage = clanChatMessageRepository.save(message);
 
       // Mark sender as read
-      try {
-        entityManager.createNativeQuery(
-            "INSERT INTO CN_CHAT_MESSAGE_READ (CN_MSG_NO, READ_USER_ID, READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (CN_MSG_NO, READ_USER_ID) DO NOTHING")
-            .setParameter("msgNo", savedMessage.getCnMsgNo())
-            .setParameter("userId", dto.getSndUserId())
-            .setParameter("readDtime", currentDateTime)
-            .executeUpdate();
-      } catch (Exception e) {
-        // Ignore
-      }
+      cmChatReadCursorRepository.advanceCursor("CLAN", savedMessage.getCnNo(), dto.getSndUserId(),
+          savedMessage.getCnMsgNo(), currentDateTime);
+      cmChatRoomSummaryRepository.applyNewMessage("CLAN", savedMessage.getCnNo(), savedMessage.getCnMsgNo(),
+          savedMessage.getMsgTypeCd(), savedMessage.getMsg(), savedMessage.getSndUserId(), currentDateTime);
 
       String userNickNm = "Unknown";
       String userProfileUrl = null;
@@ -976,23 +809,7 @@ public class ChatService {
           .attachFileName(attachFileName)
           .build();
 
-      // Send Push Notification
-      try {
-        String pushSql = "SELECT CN_USER_ID FROM CN_USER WHERE CN_NO = :roomNo AND CN_USER_STAT_CD = 'A' AND CN_USER_APPR_STAT_CD = 'CN' AND CN_USER_ID <> :senderId";
-        @SuppressWarnings("unchecked")
-        java.util.List<String> recipients = entityManager.createNativeQuery(pushSql)
-            .setParameter("roomNo", dto.getCnNo())
-            .setParameter("senderId", dto.getSndUserId())
-            .getResultList();
-
-        for (String recipientId : recipients) {
-          pushService.sendPush(recipientId, "클랜 " + userNickNm, dto.getMsg(),
-              "/main/chat/room/" + dto.getCnNo() + "?type=CLAN", "CN", "CN_" + dto.getCnNo());
-        }
-      } catch (Exception e) {
-        e.printStackTrace();
-      }
-
+      eventPublisher.publishEvent(new ChatMessageSavedEvent("CLAN", savedMessage.getCnNo(), returnDto, "클랜 " + userNickNm));
       return returnDto;
     }
   }
@@ -1027,15 +844,13 @@ public class ChatService {
                     MSG.SND_DTIME,
                     (SELECT CMA2.FILE_PATH FROM CM_ATTACHMENT CMA2 WHERE CMA2.ATTACH_NO = USR.ATTACH_NO) AS PROFILE_URL,
                     (
-                      (
-                        CASE WHEN EXISTS (
-                            SELECT 1 FROM MM_CHAT_ROOM CR
-                            WHERE CR.MM_ROOM_NO = MSG.MM_ROOM_NO
-                            AND (CR.USER_ID = MSG.SND_USER_ID OR CR.FRIEND_USER_ID = MSG.SND_USER_ID)
-                        ) THEN 2 ELSE 1 END
-                      )
-                      -
-                      (SELECT COUNT(1) FROM MM_CHAT_MESSAGE_READ WHERE MM_MSG_NO = MSG.MM_MSG_NO)
+                      -- 1:1 채팅은 수신자의 읽음 커서가 메시지 번호보다 작으면 1
+                      CASE WHEN COALESCE((
+                          SELECT RC.LAST_READ_MSG_NO FROM CM_CHAT_READ_CURSOR RC
+                          WHERE RC.ROOM_TYPE_CD = 'PRIVATE'
+                            AND RC.ROOM_NO = MSG.MM_ROOM_NO
+                            AND RC.USER_ID = MSG.RCV_USER_ID
+                      ), 0) < MSG.MM_MSG_NO THEN 1 ELSE 0 END
                     ) AS UNREAD_CNT,
                     MSG.ATTACH_NO,
                     CMA.FILE_PATH AS ATTACH_FILE_PATH,
@@ -1080,20 +895,8 @@ public class ChatService {
       String senderId = (String) row[2];
       Long msgNo = ((Number) row[0]).longValue();
 
-      // Unread Count Logic Adjustment for 1:1 Chat
-      // Total participants = 2. If read count = 2 (sender + receiver), unread = 0.
-      // If read count = 1 (sender only), unread = 1.
-      // SQL returns (2 - read_count). So:
-      // read_count=1 -> 2-1-1 = 0? No wait.
-      // Let's rely on backend logic. Usually 1 means unread by receiver. 0 means read
-      // by everyone.
-      // In 1:1 chat, it's either 0 or 1.
-      // Let's simplify: check if there is a READ entry for the OTHER user.
-
+      // 1:1 채팅의 안 읽음 수는 수신자 읽음 커서 기준으로 0 또는 1
       int unreadCnt = ((Number) row[8]).intValue();
-      // Ensure specific logic constraints if needed, but SQL calc seems intended.
-      // If sender reads -> count 1. Total needed 2. Unread = 1.
-      // If receiver reads -> count 2. Unread = 0.
 
       Long attachNo = row[9] != null ? ((Number) row[9]).longValue() : null;
       String attachFilePath = (String) row[10];
@@ -1123,19 +926,14 @@ public class ChatService {
           .parentMsgUserNickNm(parentMsgUserNickNm)
           .build();
       messages.add(dto);
+    }
 
-      // Mark as read if not my message
-      if (!senderId.equals(userId)) {
-        try {
-          entityManager.createNativeQuery(
-              "INSERT INTO MM_CHAT_MESSAGE_READ (MM_MSG_NO, READ_USER_ID, READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (MM_MSG_NO, READ_USER_ID) DO NOTHING")
-              .setParameter("msgNo", msgNo)
-              .setParameter("userId", userId)
-              .setParameter("readDtime", currentDateTime)
-              .executeUpdate();
-        } catch (Exception e) {
-          // Ignore
-        }
+    // 조회한 가장 최신 메시지까지 읽음 커서 이동
+    if (!messages.isEmpty()) {
+      cmChatReadCursorRepository.advanceCursor("PRIVATE", roomNo, userId, messages.get(0).getCnMsgNo(),
+          currentDateTime);
+      if (lastMsgNo == null) {
+        unreadCounterService.markRead(userId, "PRIVATE", roomNo, messages.get(0).getCnMsgNo());
       }
     }
     return messages;
@@ -1170,16 +968,10 @@ public class ChatService {
     com.bandi.backend.entity.member.ChatMessage savedMessage = chatMessageRepository.save(message);
 
     // Mark sender as read immediately
-    try {
-      entityManager.createNativeQuery(
-          "INSERT INTO MM_CHAT_MESSAGE_READ (MM_MSG_NO, READ_USER_ID, READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (MM_MSG_NO, READ_USER_ID) DO NOTHING")
-          .setParameter("msgNo", savedMessage.getMmMsgNo())
-          .setParameter("userId", dto.getSndUserId())
-          .setParameter("readDtime", currentDateTime)
-          .executeUpdate();
-    } catch (Exception e) {
-      // Ignore
-    }
+    cmChatReadCursorRepository.advanceCursor("PRIVATE", savedMessage.getMmRoomNo(), dto.getSndUserId(),
+        savedMessage.getMmMsgNo(), currentDateTime);
+    cmChatRoomSummaryRepository.applyNewMessage("PRIVATE", savedMessage.getMmRoomNo(), savedMessage.getMmMsgNo(),
+        savedMessage.getMsgTypeCd(), savedMessage.getMsg(), savedMessage.getSndUserId(), currentDateTime);
 
     String userNickNm = "Unknown";
     try {
@@ -1196,13 +988,6 @@ public class ChatService {
 
     int unreadCount = 1; // Default 1 for private chat until read by other
 
-    // Send Push Notification to receiver
-    try {
-      pushService.sendPush(rcvUserId, userNickNm, dto.getMsg(), "/main/chat/private/" + dto.getCnNo(), "SN", "SN_" + dto.getCnNo());
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
-
     String parentMsgContent = null;
     String parentMsgUserNickNm = null;
 
@@ -1255,6 +1040,8 @@ public class ChatService {
         .attachFilePath(attachFilePath)
         .attachFileName(attachFileName)
         .build();
+
+    eventPublisher.publishEvent(new ChatMessageSavedEvent("PRIVATE", savedMessage.getMmRoomNo(), returnDto, userNickNm));
     return returnDto;
   }
 
@@ -1278,8 +1065,8 @@ public class ChatService {
     }
 
     String sql = "SELECT COUNT(*) FROM mm_chat_message m " +
-        "LEFT JOIN mm_chat_message_read r ON m.mm_msg_no = r.mm_msg_no AND r.read_user_id = :userId " +
-        "WHERE m.mm_room_no = :roomId AND r.mm_msg_no IS NULL";
+        "LEFT JOIN cm_chat_read_cursor rc ON rc.room_type_cd = 'PRIVATE' AND rc.room_no = m.mm_room_no AND rc.user_id = :userId " +
+        "WHERE m.mm_room_no = :roomId AND m.snd_user_id <> :userId AND m.mm_msg_no > COALESCE(rc.last_read_msg_no, 0)";
 
     Query query = entityManager.createNativeQuery(sql);
     query.setParameter("userId", userId);
@@ -1294,110 +1081,12 @@ public class ChatService {
       return null;
     }
 
-    String sql = "SELECT MAX(snd_dtime) FROM mm_chat_message WHERE mm_room_no = :roomId";
-    Query query = entityManager.createNativeQuery(sql);
-    query.setParameter("roomId", roomId);
-
-    Object result = query.getSingleResult();
-    return result != null ? (String) result : null;
+    return cmChatRoomSummaryRepository.findById(new CmChatRoomSummaryId("PRIVATE", roomId))
+        .map(CmChatRoomSummary::getLastMsgDtime)
+        .orElse(null);
   }
 
   public long getTotalUnreadCount(String userId) {
-    String sql = """
-        SELECT (
-          -- Clan Chat Unread
-          SELECT COUNT(1)
-          FROM CN_CHAT_MESSAGE MSG
-          INNER JOIN CN_USER CNU ON CNU.CN_NO = MSG.CN_NO
-          INNER JOIN CN_GROUP CNG ON CNG.CN_NO = CNU.CN_NO
-          WHERE CNU.CN_USER_ID = :userId
-            AND CNU.CN_USER_STAT_CD = 'A'
-            AND CNU.CN_USER_APPR_STAT_CD = 'CN'
-            AND CNG.CN_STAT_CD = 'A'
-            AND CNG.CN_APPR_STAT_CD = 'CN'
-            AND MSG.SND_USER_ID <> :userId
-            AND MSG.SND_DTIME BETWEEN TO_CHAR(NOW() - INTERVAL '30 days', 'YYYYMMDD') || '000000'
-                                          AND TO_CHAR(NOW(), 'YYYYMMDD') || '999999'
-            AND MSG.CHAT_STAT_CD = 'A'
-            AND NOT EXISTS (
-                SELECT 1
-                FROM CN_CHAT_MESSAGE_READ MSR
-                WHERE MSR.CN_MSG_NO = MSG.CN_MSG_NO
-                  AND MSR.READ_USER_ID = :userId
-            )
-        ) + (
-          -- Band Chat Unread
-          SELECT COUNT(1)
-          FROM BN_CHAT_MESSAGE MSG
-          INNER JOIN BN_USER BNU ON BNU.BN_NO = MSG.BN_NO
-          INNER JOIN BN_GROUP BNG ON BNG.BN_NO = BNU.BN_NO
-          WHERE BNU.BN_USER_ID = :userId
-            AND BNU.BN_USER_STAT_CD = 'A'
-            AND BNG.BN_STAT_CD = 'A'
-            AND BNG.BN_CONF_FG IN ('N', 'Y')
-            AND (
-                BNG.CN_NO IS NULL
-                OR EXISTS (
-                    SELECT 1 FROM CN_USER CU
-                    INNER JOIN CN_GROUP CG ON CG.CN_NO = CU.CN_NO
-                    WHERE CU.CN_NO = BNG.CN_NO
-                      AND CU.CN_USER_ID = :userId
-                      AND CU.CN_USER_STAT_CD = 'A'
-                      AND CU.CN_USER_APPR_STAT_CD = 'CN'
-                      AND CG.CN_STAT_CD = 'A'
-                      AND CG.CN_APPR_STAT_CD = 'CN'
-                )
-            )
-            AND MSG.BN_CHAT_SND_USER_ID <> :userId
-            AND MSG.BN_CHAT_SND_DTIME BETWEEN TO_CHAR(NOW() - INTERVAL '30 days', 'YYYYMMDD') || '000000'
-                                          AND TO_CHAR(NOW(), 'YYYYMMDD') || '999999'
-            AND MSG.BN_CHAT_STAT_CD = 'A'
-            AND NOT EXISTS (
-                SELECT 1
-                FROM BN_CHAT_MESSAGE_READ MSR
-                WHERE MSR.BN_CHAT_MSG_NO = MSG.BN_CHAT_MSG_NO
-                  AND MSR.BN_CHAT_READ_USER_ID = :userId
-            )
-        ) + (
-          -- Private Chat Unread
-          SELECT COUNT(1)
-          FROM MM_CHAT_MESSAGE MSG
-          WHERE MSG.MM_ROOM_NO IN (
-              SELECT MM_ROOM_NO FROM MM_CHAT_ROOM
-              WHERE USER_ID = :userId OR FRIEND_USER_ID = :userId
-          )
-            AND MSG.SND_USER_ID <> :userId
-            AND MSG.SND_DTIME BETWEEN TO_CHAR(NOW() - INTERVAL '30 days', 'YYYYMMDD') || '000000'
-                                          AND TO_CHAR(NOW(), 'YYYYMMDD') || '999999'
-            AND MSG.CHAT_STAT_CD = 'A'
-            AND NOT EXISTS (
-                SELECT 1
-                FROM MM_CHAT_MESSAGE_READ MSR
-                WHERE MSR.MM_MSG_NO = MSG.MM_MSG_NO
-                  AND MSR.READ_USER_ID = :userId
-            )
-        ) + (
-          -- Group Chat Unread
-          SELECT COUNT(1)
-          FROM CM_GRP_CHAT_MESSAGE MSG
-          INNER JOIN CM_GRP_CHAT_USER CGU ON CGU.GRP_CHAT_NO = MSG.GRP_CHAT_NO
-          WHERE CGU.USER_ID = :userId
-            AND MSG.GRP_CHAT_SND_USER_ID <> :userId
-            AND MSG.GRP_CHAT_SND_DTIME BETWEEN TO_CHAR(NOW() - INTERVAL '30 days', 'YYYYMMDD') || '000000'
-                                          AND TO_CHAR(NOW(), 'YYYYMMDD') || '999999'
-            AND MSG.GRP_CHAT_STAT_CD = 'A'
-            AND NOT EXISTS (
-                SELECT 1
-                FROM CM_GRP_CHAT_MESSAGE_READ MSR
-                WHERE MSR.GRP_CHAT_MSG_NO = MSG.GRP_CHAT_MSG_NO
-                  AND MSR.GRP_CHAT_READ_USER_ID = :userId
-            )
-        ) AS TOTAL_COUNT
-        """;
-
-    Query query = entityManager.createNativeQuery(sql);
-    query.setParameter("userId", userId);
-
-    return ((Number) query.getSingleResult()).longValue();
+    return unreadCounterService.getTotalUnreadCount(userId);
   }
 }
@@ -0,0 +1,492 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.ChunkUploadInitDto;
+import com.bandi.backend.dto.ChunkUploadStatusDto;
+import com.bandi.backend.dto.UploadFileResultDto;
+import com.bandi.backend.enums.FileCategory;
+import com.bandi.backend.utils.FileStorageUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 대용량 미디어 분할(재개 가능) 업로드
+ * 1. init      : 세션 생성 (조각 크기/개수 안내)
+ * 2. PUT chunk : 조각을 조각 임시 파일로 받아 크기/SHA-256 검증 후, .part 파일의 제 위치에 복사하고 확인(ack) 기록
+ * 3. complete  : 전체 조각 확인 후 FileStorageService 표준 경로에 등록 (내용 중복 제거/리사이즈 등 동일 처리)
+ * 중간에 끊기면 상태 조회로 받은 조각 목록을 확인해 나머지만 다시 보낸다.
+ * 임시 파일은 uploads/.chunks/{uploadId}.part (조각 수신 중에는 {uploadId}.{chunkNo}.{임의값}.chunk) 에 두고, 만료된 세션은 주기적으로 정리한다.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    private static final DateTimeFormatter DTIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final Pattern UPLOAD_ID_PATTERN = Pattern.compile("^[0-9a-f]{32}$");
+    private static final Pattern SHA256_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final FileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${upload.chunked.chunk-size-kb:5120}")
+    private int chunkSizeKb;
+
+    @Value("${upload.chunked.max-file-size-mb:1024}")
+    private long maxFileSizeMb;
+
+    @Value("${upload.chunked.expire-hours:24}")
+    private int expireHours;
+
+    public ChunkedUploadService(FileStorageService fileStorageService, PlatformTransactionManager transactionManager) {
+        this.fileStorageService = fileStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private static class Session {
+        private final String uploadId;
+        private final String userId;
+        private final String categoryCd;
+        private final String fileName;
+        private final String mimeType;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int totalChunks;
+        private final String fileSha256;
+        private final String statCd;
+        private final Long attachNo;
+
+        Session(Object[] row) {
+            this.uploadId = (String) row[0];
+            this.userId = (String) row[1];
+            this.categoryCd = (String) row[2];
+            this.fileName = (String) row[3];
+            this.mimeType = (String) row[4];
+            this.totalSize = ((Number) row[5]).longValue();
+            this.chunkSize = ((Number) row[6]).intValue();
+            this.totalChunks = ((Number) row[7]).intValue();
+            this.fileSha256 = row[8] != null ? ((String) row[8]).trim() : null;
+            this.statCd = (String) row[9];
+            this.attachNo = row[10] != null ? ((Number) row[10]).longValue() : null;
+        }
+
+        long expectedLength(int chunkNo) {
+            return Math.min(chunkSize, totalSize - (long) chunkNo * chunkSize);
+        }
+    }
+
+    @Transactional
+    public ChunkUploadStatusDto init(ChunkUploadInitDto dto) {
+        if (dto.getFileName() == null || dto.getFileName().isBlank()) {
+            throw new IllegalArgumentException("파일명이 없습니다.");
+        }
+        if (dto.getTotalSize() == null || dto.getTotalSize() <= 0) {
+            throw new IllegalArgumentException("파일 크기가 올바르지 않습니다.");
+        }
+        if (dto.getTotalSize() > maxFileSizeMb * 1024 * 1024) {
+            throw new IllegalArgumentException("업로드 가능한 최대 크기(" + maxFileSizeMb + "MB)를 초과했습니다.");
+        }
+        String fileSha256 = dto.getFileSha256() != null ? dto.getFileSha256().toLowerCase() : null;
+        if (fileSha256 != null && !SHA256_PATTERN.matcher(fileSha256).matches()) {
+            throw new IllegalArgumentException("파일 해시 형식이 올바르지 않습니다.");
+        }
+
+        FileCategory category = FileCategory.fromString(dto.getCategory() != null ? dto.getCategory() : "shorts");
+        int chunkSize = chunkSizeKb * 1024;
+        int totalChunks = (int) ((dto.getTotalSize() + chunkSize - 1) / chunkSize);
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        String now = LocalDateTime.now().format(DTIME_FORMAT);
+
+        try {
+            Files.createDirectories(chunkDir());
+            Files.createFile(tempFile(uploadId));
+        } catch (IOException e) {
+            log.error("분할 업로드 임시 파일 생성 실패: ", e);
+            throw new RuntimeException("업로드 준비 중 오류가 발생했습니다: " + e.getMessage());
+        }
+
+        entityManager.createNativeQuery("""
+                INSERT INTO CM_UPLOAD_SESSION
+                    (UPLOAD_ID, USER_ID, CATEGORY_CD, FILE_NAME, MIME_TYPE, TOTAL_SIZE, CHUNK_SIZE, TOTAL_CHUNKS,
+                     FILE_SHA256, STAT_CD, INS_DTIME, UPD_DTIME)
+                VALUES (:uploadId, :userId, :categoryCd, :fileName, :mimeType, :totalSize, :chunkSize, :totalChunks,
+                        :fileSha256, 'U', :now, :now)
+                """)
+                .setParameter("uploadId", uploadId)
+                .setParameter("userId", dto.getUserId())
+                .setParameter("categoryCd", category.getDomain())
+                .setParameter("fileName", dto.getFileName())
+                .setParameter("mimeType", dto.getMimeType())
+                .setParameter("totalSize", dto.getTotalSize())
+                .setParameter("chunkSize", chunkSize)
+                .setParameter("totalChunks", totalChunks)
+                .setParameter("fileSha256", fileSha256)
+                .setParameter("now", now)
+                .executeUpdate();
+
+        log.info("분할 업로드 시작 [{}]: file={}, size={}, chunks={}", uploadId, dto.getFileName(), dto.getTotalSize(), totalChunks);
+        return ChunkUploadStatusDto.builder()
+                .uploadId(uploadId)
+                .statCd("U")
+                .totalSize(dto.getTotalSize())
+                .chunkSize(chunkSize)
+                .totalChunks(totalChunks)
+                .receivedChunks(List.of())
+                .build();
+    }
+
+    /**
+     * 조각 기록
+     * 1. 트랜잭션 밖에서 요청 본문을 조각 전용 임시 파일로 받으며 길이와 SHA-256 (chunkSha256 을 보낸 경우) 을 확인한다.
+     *    느린 클라이언트가 본문을 보내는 동안 DB 커넥션을 잡지 않고, 검증에 실패한 조각은 .part 파일을 건드리지 않는다.
+     * 2. 짧은 트랜잭션에서 세션 행을 FOR SHARE 로 잠그고 아직 U 인지 확인한 뒤, 기존 확인 행을 지우고 제 위치에 복사하고 확인 행을 다시 남긴다.
+     *    complete 의 U → C 변경은 이 잠금이 풀릴 때까지 기다리므로, 조각을 쓰는 도중에 완료 검증이 시작되지 않는다.
+     */
+    public ChunkUploadStatusDto putChunk(String uploadId, int chunkNo, InputStream body, String chunkSha256) {
+        Session session = transactionTemplate.execute(status -> findSession(uploadId));
+        if (!"U".equals(session.statCd)) {
+            throw new IllegalArgumentException("이미 완료된 업로드입니다.");
+        }
+        if (chunkNo < 0 || chunkNo >= session.totalChunks) {
+            throw new IllegalArgumentException("조각 번호가 올바르지 않습니다: " + chunkNo);
+        }
+
+        long expected = session.expectedLength(chunkNo);
+        Path staged = chunkDir().resolve(uploadId + "." + chunkNo + "." + UUID.randomUUID().toString().replace("-", "") + ".chunk");
+        try {
+            String actualSha256 = stageChunk(uploadId, chunkNo, body, expected, staged);
+            if (chunkSha256 != null && !chunkSha256.isBlank() && !chunkSha256.trim().equalsIgnoreCase(actualSha256)) {
+                throw new IllegalArgumentException("조각 체크섬이 일치하지 않습니다: " + chunkNo);
+            }
+
+            Boolean written = transactionTemplate.execute(status -> {
+                lockOpenSession(uploadId);
+                // 덮어쓰기 전에 이전 확인 행부터 지운다 (복사가 중간에 실패해도 손상된 조각이 확인된 채로 남지 않도록)
+                entityManager.createNativeQuery("DELETE FROM CM_UPLOAD_CHUNK WHERE UPLOAD_ID = :uploadId AND CHUNK_NO = :chunkNo")
+                        .setParameter("uploadId", uploadId)
+                        .setParameter("chunkNo", chunkNo)
+                        .executeUpdate();
+                try {
+                    copyIntoPlace(staged, tempFile(uploadId), (long) chunkNo * session.chunkSize, expected);
+                } catch (IOException e) {
+                    log.warn("분할 업로드 조각 기록 실패 [{}#{}]: {}", uploadId, chunkNo, e.getMessage());
+                    return false; // 확인 행 삭제만 커밋 → 클라이언트가 다시 보낸다
+                }
+
+                String now = LocalDateTime.now().format(DTIME_FORMAT);
+                entityManager.createNativeQuery("""
+                        INSERT INTO CM_UPLOAD_CHUNK (UPLOAD_ID, CHUNK_NO, CHUNK_SIZE, CHUNK_SHA256, INS_DTIME)
+                        VALUES (:uploadId, :chunkNo, :chunkSize, :chunkSha256, :now)
+                        """)
+                        .setParameter("uploadId", uploadId)
+                        .setParameter("chunkNo", chunkNo)
+                        .setParameter("chunkSize", (int) expected)
+                        .setParameter("chunkSha256", actualSha256)
+                        .setParameter("now", now)
+                        .executeUpdate();
+                touchSession(uploadId, now);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(written)) {
+                throw new RuntimeException("조각 저장 중 오류가 발생했습니다: " + chunkNo);
+            }
+        } finally {
+            deleteQuietly(staged);
+        }
+
+        return transactionTemplate.execute(status -> toStatus(session, findReceivedChunks(uploadId)));
+    }
+
+    /**
+     * 요청 본문을 조각 임시 파일로 받는다 (크기 초과 시 바로 중단)
+     *
+     * @return 받은 조각의 SHA-256 hex
+     */
+    private String stageChunk(String uploadId, int chunkNo, InputStream body, long expected, Path staged) {
+        try (FileChannel channel = FileChannel.open(staged, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[IO_BUFFER_SIZE];
+            long written = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (written + read > expected) {
+                    throw new IllegalArgumentException("조각 크기가 예상보다 큽니다: " + chunkNo);
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer src = ByteBuffer.wrap(buffer, 0, read);
+                while (src.hasRemaining()) {
+                    written += channel.write(src);
+                }
+            }
+            if (written != expected) {
+                throw new IllegalArgumentException("조각 크기가 맞지 않습니다: " + chunkNo + " (" + written + "/" + expected + ")");
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("분할 업로드 조각 수신 실패 [{}#{}]: {}", uploadId, chunkNo, e.getMessage());
+            throw new RuntimeException("조각 저장 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 검증된 조각을 .part 파일의 position 위치에 복사하고 디스크에 반영한다.
+     * 확인(ack) 전에 force → 재시작 후에도 확인된 조각은 유효
+     */
+    private static void copyIntoPlace(Path staged, Path part, long position, long length) throws IOException {
+        try (FileChannel source = FileChannel.open(staged, StandardOpenOption.READ);
+                FileChannel target = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            long copied = 0;
+            while (copied < length) {
+                long transferred = target.transferFrom(source, position + copied, length - copied);
+                if (transferred <= 0) {
+                    throw new IOException("조각 복사가 중단되었습니다. (" + copied + "/" + length + ")");
+                }
+                copied += transferred;
+            }
+            target.force(false);
+        }
+    }
+
+    /**
+     * 세션 행을 FOR SHARE 로 잠그고 업로드 중(U)인지 확인 (조각끼리는 동시에 기록 가능, complete 의 상태 변경과는 직렬화)
+     */
+    private void lockOpenSession(String uploadId) {
+        @SuppressWarnings("unchecked")
+        List<String> stat = entityManager.createNativeQuery(
+                "SELECT STAT_CD FROM CM_UPLOAD_SESSION WHERE UPLOAD_ID = :uploadId FOR SHARE")
+                .setParameter("uploadId", uploadId)
+                .getResultList();
+        if (stat.isEmpty()) {
+            throw new IllegalArgumentException("업로드 세션을 찾을 수 없습니다.");
+        }
+        if (!"U".equals(stat.get(0))) {
+            throw new IllegalArgumentException("이미 완료된 업로드입니다.");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ChunkUploadStatusDto getStatus(String uploadId) {
+        Session session = findSession(uploadId);
+        return toStatus(session, findReceivedChunks(uploadId));
+    }
+
+    /**
+     * 전체 조각이 확인되면 임시 파일을 표준 저장 경로에 등록한다.
+     * 1. 짧은 트랜잭션에서 상태를 U → C 로 바꾼 요청만 진행 (complete 중복 호출, 이후 조각 쓰기 차단)
+     * 2. 트랜잭션 밖에서 크기/SHA-256 을 한 번만 확인하고, 그 해시를 등록에 그대로 넘긴다.
+     * 3. 등록 트랜잭션 커밋 후 임시 파일 삭제. 확인/등록이 실패하면 상태를 U 로 되돌려 임시 파일로 다시 시도할 수 있다.
+     */
+    public UploadFileResultDto complete(String uploadId) {
+        Session session = transactionTemplate.execute(status -> claim(uploadId));
+        Path temp = tempFile(uploadId);
+        try {
+            String contentHash = verify(session, temp);
+            UploadFileResultDto result = transactionTemplate.execute(status -> {
+                UploadFileResultDto stored = fileStorageService.storeLocalFile(temp, contentHash, session.fileName,
+                        session.mimeType, FileCategory.fromString(session.categoryCd), session.userId);
+                entityManager.createNativeQuery(
+                        "UPDATE CM_UPLOAD_SESSION SET ATTACH_NO = :attachNo WHERE UPLOAD_ID = :uploadId")
+                        .setParameter("attachNo", stored.getAttachNo())
+                        .setParameter("uploadId", uploadId)
+                        .executeUpdate();
+                entityManager.createNativeQuery("DELETE FROM CM_UPLOAD_CHUNK WHERE UPLOAD_ID = :uploadId")
+                        .setParameter("uploadId", uploadId)
+                        .executeUpdate();
+                return stored;
+            });
+            deleteTempFile(uploadId);
+            log.info("분할 업로드 완료 [{}]: {}", uploadId, result.getRelativePath());
+            return result;
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery(
+                    "UPDATE CM_UPLOAD_SESSION SET STAT_CD = 'U' WHERE UPLOAD_ID = :uploadId AND STAT_CD = 'C' AND ATTACH_NO IS NULL")
+                    .setParameter("uploadId", uploadId)
+                    .executeUpdate());
+            throw e;
+        }
+    }
+
+    /**
+     * 상태를 먼저 C 로 바꿔(진행 중인 조각 기록이 끝날 때까지 대기) 이후 조각 쓰기를 막고, 그 다음 조각 수를 확인한다.
+     * 조각이 모자라면 예외로 트랜잭션이 롤백되어 U 로 남는다.
+     */
+    private Session claim(String uploadId) {
+        Session session = findSession(uploadId);
+
+        String now = LocalDateTime.now().format(DTIME_FORMAT);
+        int claimed = entityManager.createNativeQuery(
+                "UPDATE CM_UPLOAD_SESSION SET STAT_CD = 'C', UPD_DTIME = :now WHERE UPLOAD_ID = :uploadId AND STAT_CD = 'U'")
+                .setParameter("uploadId", uploadId)
+                .setParameter("now", now)
+                .executeUpdate();
+        if (claimed == 0) {
+            throw new IllegalArgumentException("이미 완료된 업로드입니다.");
+        }
+
+        List<Integer> received = findReceivedChunks(uploadId);
+        if (received.size() != session.totalChunks) {
+            throw new IllegalArgumentException("아직 받지 못한 조각이 있습니다. (" + received.size() + "/" + session.totalChunks + ")");
+        }
+        return session;
+    }
+
+    /**
+     * @return 임시 파일의 SHA-256 hex (세션에 체크섬이 있으면 일치 확인)
+     */
+    private String verify(Session session, Path temp) {
+        try {
+            long size = Files.size(temp);
+            if (size != session.totalSize) {
+                throw new IllegalArgumentException("파일 크기가 맞지 않습니다. (" + size + "/" + session.totalSize + ")");
+            }
+            String contentHash = LocalStorageServiceImpl.sha256Hex(temp);
+            if (session.fileSha256 != null && !session.fileSha256.equals(contentHash)) {
+                throw new IllegalArgumentException("파일 체크섬이 일치하지 않습니다.");
+            }
+            return contentHash;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("업로드 파일 확인 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void abort(String uploadId) {
+        findSession(uploadId);
+        deleteSession(uploadId);
+        log.info("분할 업로드 취소 [{}]", uploadId);
+    }
+
+    /**
+     * 마지막 조각 수신 후 expire-hours 가 지난 세션 정리 (완료 세션은 기록만 삭제)
+     */
+    @Scheduled(cron = "0 30 * * * *")
+    @Transactional
+    public void purgeExpiredSessions() {
+        String threshold = LocalDateTime.now().minusHours(expireHours).format(DTIME_FORMAT);
+        @SuppressWarnings("unchecked")
+        List<String> expired = entityManager.createNativeQuery(
+                "SELECT UPLOAD_ID FROM CM_UPLOAD_SESSION WHERE UPD_DTIME < :threshold")
+                .setParameter("threshold", threshold)
+                .getResultList();
+        for (String uploadId : expired) {
+            deleteSession(uploadId);
+        }
+        if (!expired.isEmpty()) {
+            log.info("만료된 분할 업로드 정리: {}건", expired.size());
+        }
+    }
+
+    private void deleteSession(String uploadId) {
+        entityManager.createNativeQuery("DELETE FROM CM_UPLOAD_CHUNK WHERE UPLOAD_ID = :uploadId")
+                .setParameter("uploadId", uploadId)
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM CM_UPLOAD_SESSION WHERE UPLOAD_ID = :uploadId")
+                .setParameter("uploadId", uploadId)
+                .executeUpdate();
+        deleteTempFile(uploadId);
+    }
+
+    /**
+     * .part 파일과 (서버 중단으로 남았을 수 있는) 조각 임시 파일 삭제
+     */
+    private void deleteTempFile(String uploadId) {
+        deleteQuietly(tempFile(uploadId));
+        try (DirectoryStream<Path> staged = Files.newDirectoryStream(chunkDir(), uploadId + ".*.chunk")) {
+            staged.forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("분할 업로드 조각 임시 파일 정리 실패 [{}]: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("분할 업로드 임시 파일 삭제 실패 [{}]: {}", path.getFileName(), e.getMessage());
+        }
+    }
+
+    private Session findSession(String uploadId) {
+        if (uploadId == null || !UPLOAD_ID_PATTERN.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("업로드 ID가 올바르지 않습니다.");
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                SELECT UPLOAD_ID, USER_ID, CATEGORY_CD, FILE_NAME, MIME_TYPE, TOTAL_SIZE, CHUNK_SIZE, TOTAL_CHUNKS,
+                       FILE_SHA256, STAT_CD, ATTACH_NO
+                  FROM CM_UPLOAD_SESSION
+                 WHERE UPLOAD_ID = :uploadId
+                """)
+                .setParameter("uploadId", uploadId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("업로드 세션을 찾을 수 없습니다.");
+        }
+        return new Session(rows.get(0));
+    }
+
+    private List<Integer> findReceivedChunks(String uploadId) {
+        @SuppressWarnings("unchecked")
+        List<Number> rows = entityManager.createNativeQuery(
+                "SELECT CHUNK_NO FROM CM_UPLOAD_CHUNK WHERE UPLOAD_ID = :uploadId ORDER BY CHUNK_NO")
+                .setParameter("uploadId", uploadId)
+                .getResultList();
+        return rows.stream().map(Number::intValue).toList();
+    }
+
+    private void touchSession(String uploadId, String now) {
+        entityManager.createNativeQuery("UPDATE CM_UPLOAD_SESSION SET UPD_DTIME = :now WHERE UPLOAD_ID = :uploadId")
+                .setParameter("uploadId", uploadId)
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+
+    private ChunkUploadStatusDto toStatus(Session session, List<Integer> received) {
+        return ChunkUploadStatusDto.builder()
+                .uploadId(session.uploadId)
+                .statCd(session.statCd)
+                .totalSize(session.totalSize)
+                .chunkSize(session.chunkSize)
+                .totalChunks(session.totalChunks)
+                .receivedChunks(received)
+                .attachNo(session.attachNo)
+                .build();
+    }
+
+    static Path chunkDir() {
+        return Paths.get(FileStorageUtil.getBaseUploadDir(), ".chunks");
+    }
+
+    private static Path tempFile(String uploadId) {
+        return chunkDir().resolve(uploadId + ".part");
+    }
+}
@@ -1,6 +1,7 @@
 package com.bandi.backend.service;
 
 import com.bandi.backend.dto.ClanCreateDto;
+import com.bandi.backend.dto.PushPayloadDto;
 import com.bandi.backend.dto.UploadFileResultDto;
 import com.bandi.backend.entity.clan.ClanGroup;
 import com.bandi.backend.entity.clan.ClanUser;
@@ -141,17 +142,16 @@ public class ClanService {
                     .map(u -> (u.getUserNickNm() != null && !u.getUserNickNm().isEmpty()) ? u.getUserNickNm() : u.getUserNm())
                     .orElse("새로운 회원");
 
-            java.util.List<com.bandi.backend.entity.member.User> admins = userRepository.findByAdminYn("Y");
-            for (com.bandi.backend.entity.member.User admin : admins) {
-                pushService.sendPush(
-                        admin.getUserId(),
-                        applicantNickname, // Title is applicant's nickname as requested
-                        "[" + savedClan.getCnNm() + "] 클랜 개설 신청이 들어왔습니다.",
-                        "", 
-                        "ADMIN_CLAN_REQUEST",
-                        "CLAN_ADMIN"
-                );
-            }
+            java.util.List<String> adminIds = userRepository.findByAdminYn("Y").stream()
+                    .map(com.bandi.backend.entity.member.User::getUserId)
+                    .toList();
+            pushService.sendPushToUsers(adminIds, PushPayloadDto.builder()
+                    .title(applicantNickname) // Title is applicant's nickname as requested
+                    .body("[" + savedClan.getCnNm() + "] 클랜 개설 신청이 들어왔습니다.")
+                    .link("")
+                    .pushType("ADMIN_CLAN_REQUEST")
+                    .threadId("CLAN_ADMIN")
+                    .build());
         } catch (Exception e) {
             System.err.println("Failed to send admin clan request push notification: " + e.getMessage());
         }
@@ -234,16 +234,15 @@ public class ClanService {
 
             java.util.List<com.bandi.backend.entity.clan.ClanUser> admins = clanUserRepository.findAllByCnNoAndCnUserRoleCdIn(
                     dto.getCnNo(), java.util.Arrays.asList("01", "02"));
-            for (com.bandi.backend.entity.clan.ClanUser admin : admins) {
-                pushService.sendPush(
-                        admin.getCnUserId(),
-                        "클랜 신청 알림",
-                        applicantNickname + "님이 클랜 신규 회원 가입을 요청을 했습니다.",
-                        "", // No link as requested
-                        "CLAN_JOIN",
-                        "CLAN_JOIN_" + dto.getCnNo()
-                );
-            }
+            pushService.sendPushToUsers(
+                    admins.stream().map(com.bandi.backend.entity.clan.ClanUser::getCnUserId).toList(),
+                    PushPayloadDto.builder()
+                            .title("클랜 신청 알림")
+                            .body(applicantNickname + "님이 클랜 신규 회원 가입을 요청을 했습니다.")
+                            .link("") // No link as requested
+                            .pushType("CLAN_JOIN")
+                            .threadId("CLAN_JOIN_" + dto.getCnNo())
+                            .build());
         } catch (Exception e) {
             System.err.println("Failed to send clan join push notification: " + e.getMessage());
             // Don't throw exception to avoid rolling back the join request itself
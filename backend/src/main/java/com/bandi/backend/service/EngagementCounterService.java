@@ -0,0 +1,283 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.event.EngagementChangedEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게시물/쇼츠/게시판 반응 집계 (조회/좋아요/별루예요/댓글) 쓰기 지연 카운터
+ * - 반응 저장 트랜잭션이 커밋되면 (대상, ID, 항목)별 LongAdder 에 증분만 더한다. (롤백되면 반영 안 함)
+ * - 주기적으로 모인 증분을 대상 테이블 집계 컬럼(VIEW_CNT 등)에 한 번에 더한다. (db/engagement_counter.sql)
+ * - 목록은 저장된 컬럼 값 + 아직 반영 전 증분을 읽는다 → COUNT(*) 없이 커밋 직후 값과 같다.
+ * 비정상 종료 시 마지막 반영 이후 증분(최대 반영 주기만큼)은 유실될 수 있다. (재집계는 SQL 스크립트의 UPDATE)
+ */
+@Slf4j
+@Service
+public class EngagementCounterService {
+
+    public enum Target {
+        POST("MM_POSTS", "POST_ID"),
+        SHORTS("MM_SHORTS", "SHORTS_NO"),
+        BOARD("CM_BOARD", "BOARD_NO");
+
+        private final String table;
+        private final String idColumn;
+
+        Target(String table, String idColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+        }
+    }
+
+    public enum Metric {
+        VIEW("VIEW_CNT"),
+        LIKE("LIKE_CNT"),
+        DISLIKE("DISLIKE_CNT"),
+        REPLY("REPLY_CNT");
+
+        private final String column;
+
+        Metric(String column) {
+            this.column = column;
+        }
+    }
+
+    // 대상별 집계 컬럼 (게시판은 조회수/별루예요 없음)
+    private static final Map<Target, Metric[]> METRICS = new EnumMap<>(Map.of(
+            Target.POST, Metric.values(),
+            Target.SHORTS, Metric.values(),
+            Target.BOARD, new Metric[] { Metric.LIKE, Metric.REPLY }));
+
+    // UPDATE 1회당 최대 행 수
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private record Key(Target target, long id, Metric metric) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 아직 DB 에 더하지 않은 증분
+    private final Map<Key, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // DB 반영 중(커밋 전)인 증분: 그 사이 조회도 값이 줄어 보이지 않도록 함께 더한다
+    private volatile Map<Key, Long> flushing = Map.of();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    public EngagementCounterService(PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 증분 기록 — 트랜잭션 안이면 커밋 후에 반영 (반영 시 EngagementChangedEvent 발행)
+     */
+    public void add(Target target, Long id, Metric metric, long delta) {
+        if (id == null || delta == 0) {
+            return;
+        }
+        Key key = new Key(target, id, metric);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(key, delta);
+            eventPublisher.publishEvent(new EngagementChangedEvent(target, id, metric, delta));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(key, delta);
+                eventPublisher.publishEvent(new EngagementChangedEvent(target, id, metric, delta));
+            }
+        });
+    }
+
+    public void increment(Target target, Long id, Metric metric) {
+        add(target, id, metric, 1);
+    }
+
+    public void decrement(Target target, Long id, Metric metric) {
+        add(target, id, metric, -1);
+    }
+
+    /**
+     * 더하기는 항목 단위 compute 안에서 한다 → 반영 작업의 빈 항목 제거(computeIfPresent)와 겹치지 않아,
+     * 막 제거된 LongAdder 에 더해져 증분이 사라지는 경우가 없다.
+     */
+    private void apply(Key key, long delta) {
+        pending.compute(key, (k, adder) -> {
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.add(delta);
+            return target;
+        });
+    }
+
+    /**
+     * 저장된 컬럼 값에 아직 반영 전인 증분을 더한 현재 값
+     */
+    public long current(Target target, Long id, Metric metric, Long stored) {
+        Key key = new Key(target, id, metric);
+        LongAdder adder = pending.get(key);
+        long value = (stored != null ? stored : 0L) + (adder != null ? adder.sum() : 0L)
+                + flushing.getOrDefault(key, 0L);
+        return Math.max(0L, value);
+    }
+
+    /**
+     * DB 에서 집계 컬럼을 읽어 현재 값 (단건 응답용: 좋아요 토글/조회 기록 직후 등)
+     */
+    public Map<Metric, Long> read(Target target, Long id) {
+        Metric[] metrics = METRICS.get(target);
+        StringBuilder columns = new StringBuilder();
+        for (Metric metric : metrics) {
+            columns.append(columns.isEmpty() ? "" : ", ").append(metric.column);
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT " + columns + " FROM " + target.table + " WHERE " + target.idColumn + " = :id")
+                .setParameter("id", id)
+                .getResultList();
+
+        Map<Metric, Long> result = new EnumMap<>(Metric.class);
+        Object[] row = rows.isEmpty() ? null : rows.get(0);
+        for (int i = 0; i < metrics.length; i++) {
+            Long stored = row != null ? ((Number) row[i]).longValue() : 0L;
+            result.put(metrics[i], current(target, id, metrics[i], stored));
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.counter.flush-interval-ms:5000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<Key, Long> drained = new ConcurrentHashMap<>();
+            flushing = drained;
+            pending.forEach((key, adder) -> {
+                long delta = adder.sumThenReset();
+                if (delta != 0) {
+                    drained.put(key, delta);
+                } else {
+                    // 확인과 제거를 같은 잠금에서: 그 사이 apply 가 더했으면 남겨 둔다
+                    pending.computeIfPresent(key, (k, current) -> current == adder && current.sum() == 0 ? null : current);
+                }
+            });
+            if (drained.isEmpty()) {
+                flushing = Map.of();
+                return;
+            }
+            try {
+                int rows = transactionTemplate.execute(status -> write(drained));
+                flushedRows.add(rows);
+            } catch (RuntimeException e) {
+                // 다음 주기에 다시 시도
+                flushFailures.increment();
+                drained.forEach(this::apply);
+                log.error("반응 집계 반영 실패 ({}건은 다음 주기에 재시도)", drained.size(), e);
+            } finally {
+                flushing = Map.of();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 대상별로 행 단위 증분을 모아 UPDATE ... FROM (VALUES ...) 로 한 번에 더한다
+     *
+     * @return 반영한 행 수
+     */
+    private int write(Map<Key, Long> drained) {
+        Map<Target, Map<Long, long[]>> byTarget = new EnumMap<>(Target.class);
+        for (Map.Entry<Key, Long> entry : drained.entrySet()) {
+            Key key = entry.getKey();
+            long[] deltas = byTarget.computeIfAbsent(key.target(), t -> new LinkedHashMap<>())
+                    .computeIfAbsent(key.id(), id -> new long[Metric.values().length]);
+            deltas[key.metric().ordinal()] += entry.getValue();
+        }
+
+        int updated = 0;
+        for (Map.Entry<Target, Map<Long, long[]>> entry : byTarget.entrySet()) {
+            Target target = entry.getKey();
+            Metric[] metrics = METRICS.get(target);
+            List<Map.Entry<Long, long[]>> rows = new ArrayList<>(entry.getValue().entrySet());
+            for (int from = 0; from < rows.size(); from += FLUSH_CHUNK_SIZE) {
+                List<Map.Entry<Long, long[]>> chunk = rows.subList(from, Math.min(rows.size(), from + FLUSH_CHUNK_SIZE));
+                updated += entityManager.createNativeQuery(updateSql(target, metrics, chunk)).executeUpdate();
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * 값은 모두 long 이라 VALUES 에 직접 넣는다. 음수 결과는 0 으로 (취소가 반영 순서보다 먼저 들어온 경우)
+     */
+    private static String updateSql(Target target, Metric[] metrics, List<Map.Entry<Long, long[]>> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(target.table).append(" T SET ");
+        for (int i = 0; i < metrics.length; i++) {
+            String column = metrics[i].column;
+            sql.append(i == 0 ? "" : ", ")
+                    .append(column).append(" = GREATEST(0, T.").append(column).append(" + D.").append(column).append(")");
+        }
+        sql.append(" FROM (VALUES ");
+        for (int r = 0; r < chunk.size(); r++) {
+            Map.Entry<Long, long[]> row = chunk.get(r);
+            sql.append(r == 0 ? "(" : ", (").append(row.getKey());
+            for (Metric metric : metrics) {
+                sql.append(", ").append(row.getValue()[metric.ordinal()]);
+            }
+            sql.append(")");
+        }
+        sql.append(") AS D(ID");
+        for (Metric metric : metrics) {
+            sql.append(", ").append(metric.column);
+        }
+        sql.append(") WHERE T.").append(target.idColumn).append(" = D.ID");
+        return sql.toString();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        long pendingDelta = 0;
+        for (LongAdder adder : pending.values()) {
+            pendingDelta += Math.abs(adder.sum());
+        }
+        result.put("pendingKeys", pending.size());
+        result.put("pendingDelta", pendingDelta);
+        result.put("flushedRows", flushedRows.sum());
+        result.put("flushFailures", flushFailures.sum());
+        return result;
+    }
+}
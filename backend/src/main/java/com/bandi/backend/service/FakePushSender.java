@@ -0,0 +1,49 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PushSendResultDto;
+import com.google.firebase.messaging.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 테스트용 발송기 (push.sender: fake)
+ * FCM 을 호출하지 않고 로그만 남긴다. push.fake.fail-rate 비율만큼 UNAVAILABLE 로 실패시켜 재시도 흐름을 확인할 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "push.sender", havingValue = "fake")
+public class FakePushSender implements PushSender {
+
+    @Value("${push.fake.fail-rate:0}")
+    private double failRate;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public List<PushSendResultDto> sendEach(List<Message> messages) {
+        List<PushSendResultDto> results = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            long seq = sequence.incrementAndGet();
+            if (Math.random() < failRate) {
+                results.add(PushSendResultDto.builder()
+                        .success(false)
+                        .errorCode("UNAVAILABLE")
+                        .errorMessage("fake failure #" + seq)
+                        .build());
+            } else {
+                results.add(PushSendResultDto.builder()
+                        .success(true)
+                        .messageId("fake-" + seq)
+                        .build());
+            }
+        }
+        log.info("[FAKE PUSH] {} messages sent", messages.size());
+        return results;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PushSendResultDto;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.SendResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "push.sender", havingValue = "fcm", matchIfMissing = true)
+public class FcmPushSender implements PushSender {
+
+    @Override
+    public List<PushSendResultDto> sendEach(List<Message> messages) throws Exception {
+        BatchResponse response = FirebaseMessaging.getInstance().sendEach(messages);
+        List<PushSendResultDto> results = new ArrayList<>();
+        for (SendResponse sendResponse : response.getResponses()) {
+            if (sendResponse.isSuccessful()) {
+                results.add(PushSendResultDto.builder()
+                        .success(true)
+                        .messageId(sendResponse.getMessageId())
+                        .build());
+            } else {
+                results.add(PushSendResultDto.builder()
+                        .success(false)
+                        .errorCode(sendResponse.getException().getMessagingErrorCode() != null
+                                ? sendResponse.getException().getMessagingErrorCode().name()
+                                : null)
+                        .errorMessage(sendResponse.getException().getMessage())
+                        .build());
+            }
+        }
+        return results;
+    }
+}
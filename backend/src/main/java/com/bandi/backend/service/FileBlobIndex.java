@@ -0,0 +1,128 @@
+package com.bandi.backend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 업로드 파일 내용 해시 색인 (CM_FILE_BLOB)
+ * - acquire: 해시가 없으면 새 경로로 등록(REF_CNT 1), 있으면 REF_CNT + 1 후 기존 경로 반환
+ * - release: 첨부 행을 지우고 같은 경로의 첨부 수로 REF_CNT 를 다시 맞춤, 0 이면 색인 행 삭제
+ * 동시에 같은 내용이 올라와도 PK 충돌(ON CONFLICT)로 한 행에 모이므로 물리 파일은 하나만 남는다.
+ * 호출자의 트랜잭션 안에서 실행된다.
+ */
+@Slf4j
+@Component
+public class FileBlobIndex {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @return 이 내용이 저장된(또는 저장될) 상대 경로. candidatePath 와 같으면 새 파일
+     */
+    public String acquire(String contentHash, String candidatePath, long fileSize, String dtime) {
+        return (String) entityManager.createNativeQuery("""
+                INSERT INTO CM_FILE_BLOB (CONTENT_HASH, FILE_PATH, FILE_SIZE, REF_CNT, INS_DTIME, UPD_DTIME)
+                VALUES (:contentHash, :filePath, :fileSize, 1, :dtime, :dtime)
+                ON CONFLICT (CONTENT_HASH) DO UPDATE
+                   SET REF_CNT = CM_FILE_BLOB.REF_CNT + 1,
+                       UPD_DTIME = EXCLUDED.UPD_DTIME
+                RETURNING FILE_PATH
+                """)
+                .setParameter("contentHash", contentHash)
+                .setParameter("filePath", candidatePath)
+                .setParameter("fileSize", fileSize)
+                .setParameter("dtime", dtime)
+                .getSingleResult();
+    }
+
+    /**
+     * 첨부 해제 결과
+     *
+     * @param remaining 같은 경로를 아직 참조하는 첨부 수 (0 이면 물리 파일 삭제 대상)
+     */
+    public record Released(String filePath, int remaining) {
+    }
+
+    /**
+     * 첨부 행 1건을 지우고 같은 경로를 쓰는 첨부 수를 다시 센다.
+     * 참조 수를 경로 기준으로 1씩 빼지 않으므로 같은 첨부를 여러 번 해제해도(재시도) 다른 첨부의 참조가 줄지 않는다.
+     *
+     * @return 해제 결과, 이미 지워진 첨부면 null
+     */
+    public Released release(Long attachNo, String dtime) {
+        @SuppressWarnings("unchecked")
+        List<String> paths = entityManager.createNativeQuery(
+                "DELETE FROM CM_ATTACHMENT WHERE ATTACH_NO = :attachNo RETURNING FILE_PATH")
+                .setParameter("attachNo", attachNo)
+                .getResultList();
+        if (paths.isEmpty()) {
+            return null;
+        }
+        String filePath = paths.get(0);
+        return new Released(filePath, recount(filePath, dtime));
+    }
+
+    /**
+     * 경로를 참조하는 첨부 수로 REF_CNT 를 맞추고, 0 이면 색인 행 삭제
+     * 색인 행을 먼저 잠가 같은 내용의 동시 업로드(acquire)/해제와 순서를 맞춘다.
+     * (잠금을 기다린 뒤의 COUNT 는 먼저 끝난 트랜잭션의 첨부 추가/삭제를 본다)
+     *
+     * @return 남은 참조 수 (색인에 없는 도입 이전 파일도 CM_ATTACHMENT 기준으로 센다)
+     */
+    public int recount(String filePath, String dtime) {
+        entityManager.createNativeQuery("SELECT 1 FROM CM_FILE_BLOB WHERE FILE_PATH = :filePath FOR UPDATE")
+                .setParameter("filePath", filePath)
+                .getResultList();
+        int refCnt = ((Number) entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM CM_ATTACHMENT WHERE FILE_PATH = :filePath")
+                .setParameter("filePath", filePath)
+                .getSingleResult()).intValue();
+
+        if (refCnt == 0) {
+            entityManager.createNativeQuery("DELETE FROM CM_FILE_BLOB WHERE FILE_PATH = :filePath")
+                    .setParameter("filePath", filePath)
+                    .executeUpdate();
+            return 0;
+        }
+        entityManager.createNativeQuery("""
+                UPDATE CM_FILE_BLOB
+                   SET REF_CNT = :refCnt,
+                       UPD_DTIME = :dtime
+                 WHERE FILE_PATH = :filePath
+                """)
+                .setParameter("refCnt", refCnt)
+                .setParameter("dtime", dtime)
+                .setParameter("filePath", filePath)
+                .executeUpdate();
+        log.info("파일 참조 수 [{}]: {}", filePath, refCnt);
+        return refCnt;
+    }
+
+    /**
+     * 고아 파일 격리 전 색인 분리: idleBefore 이후 참조가 늘지 않은 경우만 행을 지운다.
+     * (지운 뒤 같은 내용이 올라오면 acquire 가 새 경로로 다시 등록)
+     *
+     * @return 격리해도 되면 true (색인에 없던 경로 포함), 방금 다시 참조된 경로면 false
+     */
+    @Transactional
+    public boolean detachIdle(String filePath, String idleBefore) {
+        int deleted = entityManager.createNativeQuery(
+                "DELETE FROM CM_FILE_BLOB WHERE FILE_PATH = :filePath AND UPD_DTIME < :idleBefore")
+                .setParameter("filePath", filePath)
+                .setParameter("idleBefore", idleBefore)
+                .executeUpdate();
+        if (deleted > 0) {
+            return true;
+        }
+        return entityManager.createNativeQuery("SELECT 1 FROM CM_FILE_BLOB WHERE FILE_PATH = :filePath")
+                .setParameter("filePath", filePath)
+                .getResultList()
+                .isEmpty();
+    }
+}
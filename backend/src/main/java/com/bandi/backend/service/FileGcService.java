@@ -0,0 +1,426 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.FileGcReportDto;
+import com.bandi.backend.enums.FileCategory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 업로드 고아 파일 정리
+ * - 로컬 볼륨마다 {root}/{domain}/{yyyyMM} 디렉토리를 순서대로 훑고, 실행당 처리 파일 수를 넘으면 다음 실행에서 이어간다.
+ * - 파일 경로를 배치로 CM_ATTACHMENT 와 이를 참조하는 업무 테이블에 대조해, 어디서도 쓰지 않는 파일을 고른다.
+ *   (첨부 교체/삭제로 버려진 파일, 롤백된 업로드의 파일, 남은 .part/.tmp 임시 파일, 리사이즈본, 압축 사본)
+ *   위치 색인(CM_FILE_LOCATION)상 다른 볼륨에 있는 파일은 재배치 후 남은 사본이므로 함께 고른다.
+ * - 바로 지우지 않고 uploads 밖의 격리 폴더(uploads_quarantine/{yyyyMMdd}/...)로 옮긴 뒤 보관 기간이 지나면 삭제한다.
+ * - dry-run 이면 집계만 하고 아무것도 옮기지 않는다. 초당 처리 파일 수를 제한해 디스크 I/O 를 독점하지 않는다.
+ * - 최근 min-age-hours 안에 만들어진 파일은 업로드 직후 아직 업무 테이블에 연결되지 않았을 수 있어 건너뛴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileGcService {
+
+    private static final DateTimeFormatter DTIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final Pattern MONTH_PATTERN = Pattern.compile("^\\d{6}$");
+    private static final Pattern DATE_PATTERN = Pattern.compile("^\\d{8}$");
+    // 리사이즈본: {원본파일명}_w{폭}.{확장자}
+    private static final Pattern VARIANT_PATTERN = Pattern.compile("^(.+)_w\\d+(\\.[^.]+)?$");
+
+    private static final int CHECK_BATCH_SIZE = 500;
+    private static final int MAX_SAMPLE_PATHS = 100;
+
+    // CM_ATTACHMENT.ATTACH_NO 를 참조하는 업무 테이블 (상태 코드와 무관하게 행이 있으면 사용 중으로 본다)
+    private static final String[][] ATTACH_REFERENCES = {
+            { "MM_USER", "ATTACH_NO" },
+            { "MM_CHAT_MESSAGE", "ATTACH_NO" },
+            { "MM_QA", "ATTACH_NO" },
+            { "MM_POSTS_ATTACHMENT", "ATTACH_NO" },
+            { "MM_SHORTS", "VIDEO_ATTACH_NO" },
+            { "MM_SHORTS", "THUMBNAIL_ATTACH_NO" },
+            { "BN_NOTICE_ATTACHMENT", "ATTACH_NO" },
+            { "BN_CHAT_MESSAGE", "ATTACH_NO" },
+            { "BN_EDU_LESSON", "ATTACH_NO_MOV" },
+            { "BN_EDU_LESSON", "ATTACH_NO_IMG" },
+            { "BN_EDU_COURSE", "ATTACH_NO_MOV" },
+            { "BN_EDU_COURSE", "ATTACH_NO_IMG" },
+            { "BN_STUDIO_ATTACHMENT", "ATTACH_NO" },
+            { "BN_ROOM_ATTACHMENT", "ATTACH_NO" },
+            { "BN_GROUP", "ATTACH_NO" },
+            { "BN_AMBASSADOR", "ATTACH_NO" },
+            { "CM_GRP_CHAT_MESSAGE", "ATTACH_NO" },
+            { "CM_AD_BANNER", "ATTACH_NO" },
+            { "CM_NOTICE_ATTACHMENT", "ATTACH_NO" },
+            { "CM_BOARD_ATTACHMENT", "ATTACH_NO" },
+            { "CN_NOTICE_ATTACHMENT", "ATTACH_NO" },
+            { "CN_CHAT_MESSAGE", "ATTACH_NO" },
+            { "CN_BOARD_ATTACHMENT", "ATTACH_NO" },
+            { "CN_GROUP", "ATTACH_NO" },
+    };
+
+    private static final String LIVE_PATH_SQL = buildLivePathSql();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final FileBlobIndex fileBlobIndex;
+
+    private final StorageVolumeRegistry storageVolumeRegistry;
+
+    @Value("${upload.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${upload.gc.dry-run:true}")
+    private boolean defaultDryRun;
+
+    @Value("${upload.gc.min-age-hours:24}")
+    private int minAgeHours;
+
+    @Value("${upload.gc.quarantine-days:7}")
+    private int quarantineDays;
+
+    @Value("${upload.gc.max-files-per-second:200}")
+    private int maxFilesPerSecond;
+
+    @Value("${upload.gc.max-files-per-run:50000}")
+    private int maxFilesPerRun;
+
+    private final ReentrantLock running = new ReentrantLock();
+
+    // 볼륨 ID -> 다음 실행을 시작할 "{domain}/{yyyyMM}" (없으면 처음부터), 재시작 시 처음부터 다시 돈다.
+    private final Map<String, String> cursors = new ConcurrentHashMap<>();
+
+    private volatile FileGcReportDto lastReport;
+
+    /**
+     * 대조 대상 파일 1건 (리사이즈본/임시 파일은 원본 경로 기준으로 판단)
+     */
+    private static class Candidate {
+        private final Path file;
+        private final String basePath;   // 참조 여부를 확인할 표준 상대 경로
+        private final boolean tempFile;  // .part/.tmp 는 DB 대조 없이 고아
+        private boolean stale;           // 다른 볼륨으로 재배치된 뒤 남은 사본 (색인 분리 없이 격리)
+        private final long size;
+
+        Candidate(Path file, String basePath, boolean tempFile, long size) {
+            this.file = file;
+            this.basePath = basePath;
+            this.tempFile = tempFile;
+            this.size = size;
+        }
+    }
+
+    @Async("fileGcExecutor")
+    @Scheduled(cron = "${upload.gc.cron:0 0 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run(defaultDryRun);
+        }
+    }
+
+    @Async("fileGcExecutor")
+    public void runAsync(Boolean dryRun) {
+        run(dryRun != null ? dryRun : defaultDryRun);
+    }
+
+    public FileGcReportDto getLastReport() {
+        return lastReport;
+    }
+
+    private void run(boolean dryRun) {
+        if (!running.tryLock()) {
+            log.info("업로드 파일 정리가 이미 실행 중입니다.");
+            return;
+        }
+        try {
+            FileGcReportDto report = FileGcReportDto.builder()
+                    .dryRun(dryRun)
+                    .startDtime(LocalDateTime.now().format(DTIME_FORMAT))
+                    .samplePaths(new ArrayList<>())
+                    .build();
+
+            List<String> nextCursors = new ArrayList<>();
+            for (LocalStorageVolume volume : storageVolumeRegistry.getLocalVolumes()) {
+                String next = scan(volume, dryRun, report);
+                if (next != null) {
+                    nextCursors.add(volume.getId() + ":" + next);
+                }
+                if (!dryRun) {
+                    purgeQuarantine(volume.getRoot(), report);
+                }
+            }
+            report.setNextCursor(nextCursors.isEmpty() ? null : String.join(",", nextCursors));
+
+            report.setEndDtime(LocalDateTime.now().format(DTIME_FORMAT));
+            lastReport = report;
+            log.info("업로드 파일 정리 완료 (dryRun={}): dirs={}, files={}, orphans={} ({} bytes), quarantined={}, purged={}, next={}",
+                    dryRun, report.getScannedDirs(), report.getScannedFiles(), report.getOrphanFiles(),
+                    report.getOrphanBytes(), report.getQuarantinedFiles(), report.getPurgedFiles(), report.getNextCursor());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("업로드 파일 정리 중단");
+        } catch (Exception e) {
+            log.error("업로드 파일 정리 실패", e);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * @return 다음 실행에서 이어갈 위치 (끝까지 훑었으면 null)
+     */
+    private String scan(LocalStorageVolume volume, boolean dryRun, FileGcReportDto report)
+            throws IOException, InterruptedException {
+        Path base = volume.getRoot();
+        List<String> dirs = listMonthDirs(base);
+        String startAfter = cursors.get(volume.getId());
+        long minAgeMillis = System.currentTimeMillis() - minAgeHours * 3600_000L;
+        String idleBefore = LocalDateTime.now().minusHours(minAgeHours).format(DTIME_FORMAT);
+        long startNanos = System.nanoTime();
+        long processed = 0;
+        String lastDir = null;
+        String nextCursor = null;
+
+        for (String dir : dirs) {
+            if (startAfter != null && dir.compareTo(startAfter) <= 0) {
+                continue;
+            }
+            if (processed >= maxFilesPerRun) {
+                nextCursor = lastDir; // 남은 디렉토리는 다음 실행에서
+                break;
+            }
+
+            List<Candidate> batch = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(base.resolve(dir))) {
+                for (Path file : files) {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    processed++;
+                    throttle(processed, startNanos);
+                    if (!attrs.isRegularFile()) {
+                        continue;
+                    }
+                    report.setScannedFiles(report.getScannedFiles() + 1);
+                    if (attrs.lastModifiedTime().toMillis() > minAgeMillis) {
+                        continue; // 업로드 직후 아직 연결 전일 수 있음
+                    }
+                    batch.add(toCandidate(dir, file, attrs.size()));
+                    if (batch.size() >= CHECK_BATCH_SIZE) {
+                        handleBatch(volume, batch, dryRun, idleBefore, report);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                handleBatch(volume, batch, dryRun, idleBefore, report);
+            }
+            report.setScannedDirs(report.getScannedDirs() + 1);
+            lastDir = dir;
+        }
+
+        if (nextCursor != null) {
+            cursors.put(volume.getId(), nextCursor);
+        } else {
+            cursors.remove(volume.getId());
+        }
+        return nextCursor;
+    }
+
+    private void handleBatch(LocalStorageVolume volume, List<Candidate> batch, boolean dryRun, String idleBefore,
+            FileGcReportDto report) throws IOException {
+        Path base = volume.getRoot();
+        Set<String> basePaths = batch.stream()
+                .filter(c -> !c.tempFile)
+                .map(c -> c.basePath)
+                .collect(Collectors.toSet());
+        Set<String> live = findLivePaths(basePaths);
+        Set<String> locatedHere = storageVolumeRegistry.filterLocatedOn(volume.getId(), live);
+
+        // 원본 경로별로 묶어 원본과 리사이즈본을 함께 격리
+        Map<String, List<Candidate>> orphans = new LinkedHashMap<>();
+        for (Candidate candidate : batch) {
+            if (!candidate.tempFile && live.contains(candidate.basePath) && !locatedHere.contains(candidate.basePath)) {
+                candidate.stale = true;
+            }
+            if (candidate.tempFile || candidate.stale || !live.contains(candidate.basePath)) {
+                String key = candidate.tempFile ? candidate.file.toString() : candidate.basePath;
+                orphans.computeIfAbsent(key, k -> new ArrayList<>()).add(candidate);
+            }
+        }
+
+        for (List<Candidate> group : orphans.values()) {
+            Candidate first = group.get(0);
+            if (!dryRun && !first.tempFile && !first.stale && !fileBlobIndex.detachIdle(first.basePath, idleBefore)) {
+                continue; // 방금 같은 내용이 다시 업로드되어 참조가 생김
+            }
+            for (Candidate candidate : group) {
+                report.setOrphanFiles(report.getOrphanFiles() + 1);
+                report.setOrphanBytes(report.getOrphanBytes() + candidate.size);
+                if (report.getSamplePaths().size() < MAX_SAMPLE_PATHS) {
+                    report.getSamplePaths().add(base.relativize(candidate.file).toString());
+                }
+                if (!dryRun && quarantine(base, candidate.file)) {
+                    report.setQuarantinedFiles(report.getQuarantinedFiles() + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * 후보 경로 중 CM_ATTACHMENT 행이 있고, 그 첨부를 업무 테이블 한 곳 이상이 참조하는 경로
+     * (같은 물리 파일을 공유하는 첨부가 여럿이면 하나라도 쓰이면 사용 중)
+     */
+    private Set<String> findLivePaths(Set<String> basePaths) {
+        if (basePaths.isEmpty()) {
+            return Set.of();
+        }
+        @SuppressWarnings("unchecked")
+        List<String> rows = entityManager.createNativeQuery(LIVE_PATH_SQL)
+                .setParameter("paths", basePaths)
+                .getResultList();
+        return new HashSet<>(rows);
+    }
+
+    private static String buildLivePathSql() {
+        String references = Arrays.stream(ATTACH_REFERENCES)
+                .map(ref -> "EXISTS (SELECT 1 FROM " + ref[0] + " R WHERE R." + ref[1] + " = A.ATTACH_NO)")
+                .collect(Collectors.joining("\n    OR "));
+        return "SELECT DISTINCT A.FILE_PATH FROM CM_ATTACHMENT A\n"
+                + " WHERE A.FILE_PATH IN (:paths)\n"
+                + "   AND (" + references + ")";
+    }
+
+    private Candidate toCandidate(String dir, Path file, long size) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".part") || name.endsWith(".tmp")) {
+            return new Candidate(file, null, true, size);
+        }
+        // 압축 사본({원본}.gz/.br)은 원본 기준
+        for (String suffix : UploadPrecompressService.ENCODED_SUFFIXES) {
+            if (name.endsWith(suffix)) {
+                name = name.substring(0, name.length() - suffix.length());
+                break;
+            }
+        }
+        Matcher variant = VARIANT_PATTERN.matcher(name);
+        String baseName = variant.matches()
+                ? variant.group(1) + (variant.group(2) != null ? variant.group(2) : "")
+                : name;
+        return new Candidate(file, "/" + dir + "/" + baseName, false, size);
+    }
+
+    /**
+     * {root}/{domain}/{yyyyMM} 목록 ("domain/yyyyMM", 정렬) — FileCategory 도메인만 대상
+     * (레거시 common_images, shorts 바로 아래 파일 등은 건드리지 않는다)
+     */
+    private List<String> listMonthDirs(Path base) throws IOException {
+        List<String> dirs = new ArrayList<>();
+        for (FileCategory category : FileCategory.values()) {
+            Path domainDir = base.resolve(category.getDomain());
+            if (!Files.isDirectory(domainDir)) {
+                continue;
+            }
+            try (DirectoryStream<Path> months = Files.newDirectoryStream(domainDir)) {
+                for (Path month : months) {
+                    if (Files.isDirectory(month) && MONTH_PATTERN.matcher(month.getFileName().toString()).matches()) {
+                        dirs.add(category.getDomain() + "/" + month.getFileName());
+                    }
+                }
+            }
+        }
+        dirs.sort(Comparator.naturalOrder());
+        return dirs;
+    }
+
+    /**
+     * 볼륨 루트 밖(정적 리소스로 노출되지 않는 곳)의 격리 폴더로 이동: {root}_quarantine/{yyyyMMdd}/{domain}/{yyyyMM}/{file}
+     */
+    private boolean quarantine(Path base, Path file) {
+        Path target = quarantineRoot(base).resolve(LocalDate.now().format(DATE_FORMAT)).resolve(base.relativize(file));
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            log.info("고아 파일 격리: {}", base.relativize(file));
+            return true;
+        } catch (IOException e) {
+            log.warn("고아 파일 격리 실패 [{}]: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 격리 폴더(yyyyMMdd) 삭제
+     */
+    private void purgeQuarantine(Path base, FileGcReportDto report) throws IOException {
+        Path root = quarantineRoot(base);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        String threshold = LocalDate.now().minusDays(quarantineDays).format(DATE_FORMAT);
+        try (DirectoryStream<Path> days = Files.newDirectoryStream(root)) {
+            for (Path day : days) {
+                String name = day.getFileName().toString();
+                if (!DATE_PATTERN.matcher(name).matches() || name.compareTo(threshold) >= 0) {
+                    continue;
+                }
+                try (Stream<Path> walk = Files.walk(day)) {
+                    for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                        if (Files.isRegularFile(path)) {
+                            report.setPurgedFiles(report.getPurgedFiles() + 1);
+                        }
+                        Files.deleteIfExists(path);
+                    }
+                }
+                log.info("격리 기간 만료 폴더 삭제: {}", day);
+            }
+        }
+    }
+
+    private static Path quarantineRoot(Path base) {
+        return base.resolveSibling(base.getFileName() + "_quarantine");
+    }
+
+    /**
+     * 초당 maxFilesPerSecond 건을 넘지 않도록 앞서 나간 만큼 쉰다 (10ms 단위로 모아서)
+     */
+    private void throttle(long processed, long startNanos) throws InterruptedException {
+        if (maxFilesPerSecond <= 0) {
+            return;
+        }
+        long expectedNanos = processed * 1_000_000_000L / maxFilesPerSecond;
+        long aheadMillis = (expectedNanos - (System.nanoTime() - startNanos)) / 1_000_000L;
+        if (aheadMillis >= 10) {
+            Thread.sleep(aheadMillis);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.enums.FileCategory;
+import com.bandi.backend.utils.FileStorageUtil;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 업로드 저장소 누적 지표 (애플리케이션 기동 이후)
+ * - 카테고리별 저장 파일 수/바이트/처리율(저장에 걸린 시간 대비 bytes/sec)
+ * - storeFile/storeLocalFile/storeFiles/deleteFile 지연 히스토그램, 실패 건수
+ * - 진행 중 업로드 수/바이트, 임시 공간(분할 업로드 .chunks) 사용량, 디스크 여유 공간
+ */
+@Component
+public class FileStorageMetrics {
+
+    public static final String STORE_FILE = "storeFile";
+    public static final String STORE_LOCAL_FILE = "storeLocalFile";
+    public static final String STORE_FILES = "storeFiles";
+    public static final String DELETE_FILE = "deleteFile";
+
+    private static final String[] OPERATIONS = { STORE_FILE, STORE_LOCAL_FILE, STORE_FILES, DELETE_FILE };
+
+    /**
+     * 고정 구간(ms) 지연 히스토그램 — 백분위는 해당 구간의 상한으로 추정
+     */
+    public static class LatencyHistogram {
+
+        private static final long[] BUCKETS_MS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000 };
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS_MS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        public LatencyHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void record(long nanos) {
+            long millis = nanos / 1_000_000L;
+            int index = 0;
+            while (index < BUCKETS_MS.length && millis > BUCKETS_MS[index]) {
+                index++;
+            }
+            buckets[index].increment();
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        /**
+         * @return 백분위(0~1) 추정값 ms (마지막 구간이면 최대값)
+         */
+        public double percentileMs(double percentile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= threshold) {
+                    return BUCKETS_MS[i];
+                }
+            }
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        public Map<String, Object> snapshot() {
+            long total = count.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("count", total);
+            result.put("avgMs", total == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / total);
+            result.put("maxMs", maxNanos.get() / 1_000_000.0);
+            result.put("p50Ms", percentileMs(0.50));
+            result.put("p95Ms", percentileMs(0.95));
+            result.put("p99Ms", percentileMs(0.99));
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                histogram.put("le_" + BUCKETS_MS[i], buckets[i].sum());
+            }
+            histogram.put("le_inf", buckets[BUCKETS_MS.length].sum());
+            result.put("buckets", histogram);
+            return result;
+        }
+    }
+
+    private static class CategoryStats {
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    private final Map<FileCategory, CategoryStats> categories = new EnumMap<>(FileCategory.class);
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+    private final Map<String, LongAdder> failures = new LinkedHashMap<>();
+
+    private final AtomicInteger inFlightUploads = new AtomicInteger();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final LongAdder deleteMisses = new LongAdder();
+
+    public FileStorageMetrics() {
+        // 기동 시 모두 만들어 두고 이후에는 읽기만 한다 (동기화 불필요)
+        for (FileCategory category : FileCategory.values()) {
+            categories.put(category, new CategoryStats());
+        }
+        for (String operation : OPERATIONS) {
+            latencies.put(operation, new LatencyHistogram());
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * 업로드 시작 (진행 중 게이지 증가)
+     *
+     * @return 시작 시각 (System.nanoTime)
+     */
+    public long beginUpload(long bytes) {
+        inFlightUploads.incrementAndGet();
+        inFlightBytes.addAndGet(bytes);
+        return System.nanoTime();
+    }
+
+    public void endUpload(String operation, FileCategory category, int fileCount, long bytes, long startNanos,
+            boolean success) {
+        long elapsed = System.nanoTime() - startNanos;
+        inFlightUploads.decrementAndGet();
+        inFlightBytes.addAndGet(-bytes);
+        latencies.get(operation).record(elapsed);
+        if (!success) {
+            failures.get(operation).increment();
+            return;
+        }
+        if (category != null) {
+            CategoryStats stats = categories.get(category);
+            stats.files.add(fileCount);
+            stats.bytes.add(bytes);
+            stats.nanos.add(elapsed);
+        }
+    }
+
+    public void recordDelete(long startNanos, Boolean deleted) {
+        latencies.get(DELETE_FILE).record(System.nanoTime() - startNanos);
+        if (deleted == null) {
+            failures.get(DELETE_FILE).increment();
+        } else if (!deleted) {
+            deleteMisses.increment();
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        Map<String, Object> inFlight = new LinkedHashMap<>();
+        inFlight.put("uploads", inFlightUploads.get());
+        inFlight.put("bytes", inFlightBytes.get());
+        result.put("inFlight", inFlight);
+
+        Map<String, Object> byCategory = new LinkedHashMap<>();
+        categories.forEach((category, stats) -> {
+            long bytes = stats.bytes.sum();
+            double seconds = stats.nanos.sum() / 1_000_000_000.0;
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("files", stats.files.sum());
+            item.put("bytes", bytes);
+            item.put("storeSeconds", seconds);
+            item.put("bytesPerSec", seconds > 0 ? (long) (bytes / seconds) : 0L);
+            byCategory.put(category.getDomain(), item);
+        });
+        result.put("categories", byCategory);
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latencies.forEach((operation, histogram) -> latency.put(operation, histogram.snapshot()));
+        result.put("latency", latency);
+
+        Map<String, Long> failed = new LinkedHashMap<>();
+        failures.forEach((operation, counter) -> failed.put(operation, counter.sum()));
+        failed.put("deleteMisses", deleteMisses.sum());
+        result.put("failures", failed);
+
+        result.put("tempSpace", tempSpace());
+        return result;
+    }
+
+    /**
+     * 분할 업로드 임시 파일 사용량과 uploads 디스크 여유 공간
+     */
+    private Map<String, Object> tempSpace() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Path chunkDir = ChunkedUploadService.chunkDir();
+        long files = 0;
+        long bytes = 0;
+        if (Files.isDirectory(chunkDir)) {
+            try (Stream<Path> stream = Files.list(chunkDir)) {
+                for (Path path : stream.toList()) {
+                    if (Files.isRegularFile(path)) {
+                        files++;
+                        bytes += Files.size(path);
+                    }
+                }
+            } catch (IOException e) {
+                // 집계 중 정리된 파일은 건너뛴다
+            }
+        }
+        result.put("chunkFiles", files);
+        result.put("chunkBytes", bytes);
+        result.put("stagingBytes", inFlightBytes.get());
+
+        try {
+            FileStore store = Files.getFileStore(Paths.get(FileStorageUtil.getBaseUploadDir()));
+            result.put("diskUsableBytes", store.getUsableSpace());
+            result.put("diskTotalBytes", store.getTotalSpace());
+        } catch (IOException e) {
+            result.put("diskUsableBytes", null);
+            result.put("diskTotalBytes", null);
+        }
+        return result;
+    }
+}
@@ -4,6 +4,7 @@ import com.bandi.backend.dto.UploadFileResultDto;
 import com.bandi.backend.enums.FileCategory;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
 
 public interface FileStorageService {
@@ -13,6 +14,20 @@ public interface FileStorageService {
      */
     UploadFileResultDto storeFile(MultipartFile file, FileCategory category, String userId);
 
+    /**
+     * 서버에 이미 있는 파일(분할 업로드 조립본 등)을 표준 경로에 복사(가능하면 하드 링크)해 등록
+     * source 는 그대로 남으므로 호출자가 커밋 후 정리한다. (롤백되면 source 로 다시 시도 가능)
+     *
+     * @param contentHash 호출자가 이미 계산한 SHA-256 hex (null 이면 복사하면서 계산)
+     */
+    UploadFileResultDto storeLocalFile(Path source, String contentHash, String originalFilename, String mimeType,
+            FileCategory category, String userId);
+
+    default UploadFileResultDto storeLocalFile(Path source, String originalFilename, String mimeType,
+            FileCategory category, String userId) {
+        return storeLocalFile(source, null, originalFilename, mimeType, category, userId);
+    }
+
     /**
      * 다중 파일 업로드
      */
@@ -20,9 +35,17 @@ public interface FileStorageService {
 
     /**
      * 상대 경로 또는 파일 URL에 해당하는 파일 삭제
+     * 첨부(CM_ATTACHMENT)가 참조 중인 파일은 지우지 않는다. (deleteAttachment 사용)
      */
     boolean deleteFile(String relativePathOrUrl);
 
+    /**
+     * 첨부 1건 삭제, 같은 파일을 참조하는 첨부가 더 없으면 물리 파일도 삭제
+     *
+     * @return 이미 삭제된 첨부면 false
+     */
+    boolean deleteAttachment(Long attachNo);
+
     /**
      * 상대 경로를 프론트엔드용 풀 접근 URL로 변환
      */
@@ -23,16 +23,19 @@ public class FriendService {
     private final com.bandi.backend.repository.ChatRoomRepository chatRoomRepository;
     private final ChatService chatService;
     private final CmAttachmentRepository cmAttachmentRepository;
+    private final ImageVariantService imageVariantService;
 
     public List<com.bandi.backend.dto.FriendResponseDto> searchFriend(String keyword, String userId) {
         List<User> users = userRepository.searchUsersExcludeSelf(keyword, userId);
         return users.stream()
                 .map(user -> {
                     String profileUrl = null;
+                    String profileThumbUrl = null;
                     if (user.getAttachNo() != null) {
                         CmAttachment attachment = cmAttachmentRepository.findById(user.getAttachNo()).orElse(null);
                         if (attachment != null) {
                             profileUrl = attachment.getFilePath();
+                            profileThumbUrl = imageVariantService.resolve(attachment, 64);
                         }
                     }
 
@@ -41,6 +44,7 @@ public class FriendService {
                             .userNm(user.getUserNm())
                             .userNickNm(user.getUserNickNm())
                             .profileUrl(profileUrl)
+                            .profileThumbUrl(profileThumbUrl)
                             .unreadCount(0L) // Unused for basic search display
                             .build();
                 })
@@ -124,10 +128,12 @@ public class FriendService {
         return users.stream()
                 .map(user -> {
                     String profileUrl = null;
+                    String profileThumbUrl = null;
                     if (user.getAttachNo() != null) {
                         CmAttachment attachment = cmAttachmentRepository.findById(user.getAttachNo()).orElse(null);
                         if (attachment != null) {
                             profileUrl = attachment.getFilePath();
+                            profileThumbUrl = imageVariantService.resolve(attachment, 64);
                         }
                     }
 
@@ -136,6 +142,7 @@ public class FriendService {
                             .userNm(user.getUserNm())
                             .userNickNm(user.getUserNickNm())
                             .profileUrl(profileUrl)
+                            .profileThumbUrl(profileThumbUrl)
                             .unreadCount(chatService.getUnreadMessageCount(myUserId, user.getUserId()))
                             .lastMsgDtime(chatService.getPrivateLastMessageTime(myUserId, user.getUserId()))
                             .build();
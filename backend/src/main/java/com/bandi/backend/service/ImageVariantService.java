@@ -0,0 +1,194 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.entity.common.CmAttachment;
+import com.bandi.backend.event.ImageStoredEvent;
+import com.bandi.backend.repository.CmAttachmentRepository;
+import com.bandi.backend.utils.ExifOrientation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 이미지 리사이즈본(아바타/목록/상세) 생성 및 경로 변환
+ * - 업로드 트랜잭션 커밋 후 전용 풀(imageVariantExecutor)에서 생성하므로 업로드 응답은 기다리지 않는다.
+ * - 원본보다 작은 폭만 생성하고, 생성된 폭은 CM_ATTACHMENT.VARIANT_WIDTHS 에 기록한다.
+ * - 목록 DTO 는 resolve() 로 기록된 리사이즈본 경로를, 없으면 원본 경로를 받는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    // 리사이즈본은 원본과 같은 확장자로 저장하므로 ImageIO 로 읽고 쓸 수 있는 포맷만 (gif, webp, heic 등은 원본만 사용)
+    private static final Set<String> SUPPORTED_EXTS = Set.of("jpg", "jpeg", "png");
+
+    private static final Pattern VARIANT_PATH_PATTERN = Pattern.compile("^(.*/[^/]+)_w\\d+(\\.[^./]+)?$");
+
+    // 전 카테고리에서 쓰는 리사이즈 폭 (삭제 시 정리 대상)
+    public static final int[] ALL_WIDTHS = { 64, 360, 1080 };
+
+    private final CmAttachmentRepository cmAttachmentRepository;
+    private final StorageVolumeRegistry storageVolumeRegistry;
+
+    /**
+     * 리사이즈본 상대 경로: /sns/202608/sns_..._ab12cd34.jpg -> /sns/202608/sns_..._ab12cd34_w360.jpg
+     */
+    public static String variantPath(String relativePath, int width) {
+        int slash = relativePath.lastIndexOf('/');
+        int dot = relativePath.lastIndexOf('.');
+        if (dot <= slash) {
+            return relativePath + "_w" + width;
+        }
+        return relativePath.substring(0, dot) + "_w" + width + relativePath.substring(dot);
+    }
+
+    /**
+     * 리사이즈본 경로면 원본 상대 경로, 아니면 그대로
+     * (저장 파일명은 {domain}_{dtime}_{uuid8} 이라 원본 이름이 _w{숫자} 로 끝나지 않는다)
+     */
+    public static String originalPath(String relativePath) {
+        Matcher matcher = VARIANT_PATH_PATTERN.matcher(relativePath);
+        return matcher.matches() ? matcher.group(1) + (matcher.group(2) != null ? matcher.group(2) : "") : relativePath;
+    }
+
+    /**
+     * 요청 폭의 리사이즈본 경로 (생성 전이거나 원본이 더 작으면 원본 경로)
+     */
+    public String resolve(CmAttachment attachment, int width) {
+        if (attachment == null) {
+            return null;
+        }
+        String widths = attachment.getVariantWidths();
+        if (widths != null && Arrays.asList(widths.split(",")).contains(String.valueOf(width))) {
+            return variantPath(attachment.getFilePath(), width);
+        }
+        return attachment.getFilePath();
+    }
+
+    public String resolve(Long attachNo, int width) {
+        if (attachNo == null) {
+            return null;
+        }
+        return resolve(cmAttachmentRepository.findById(attachNo).orElse(null), width);
+    }
+
+    public static boolean isSupportedImage(String fileName, String mimeType) {
+        if (mimeType == null || !mimeType.startsWith("image/") || fileName == null) {
+            return false;
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && SUPPORTED_EXTS.contains(fileName.substring(dot + 1).toLowerCase());
+    }
+
+    @Async("imageVariantExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImageStored(ImageStoredEvent event) {
+        int[] widths = event.getCategory().getVariantWidths();
+        if (widths.length == 0) {
+            return;
+        }
+
+        StorageVolume volume = storageVolumeRegistry.locate(event.getRelativePath());
+        try {
+            BufferedImage source;
+            try (InputStream in = volume.open(event.getRelativePath())) {
+                source = ImageIO.read(in);
+            }
+            if (source == null) {
+                log.warn("리사이즈 불가 이미지 형식: {}", event.getRelativePath());
+                return;
+            }
+
+            String ext = event.getRelativePath().substring(event.getRelativePath().lastIndexOf('.') + 1).toLowerCase();
+            String format = "png".equals(ext) ? "png" : "jpg";
+            if ("jpg".equals(format)) {
+                // 리사이즈본에는 EXIF 가 없으므로 방향을 픽셀에 반영한 뒤 줄인다 (휴대폰 세로 사진)
+                int orientation;
+                try (InputStream in = volume.open(event.getRelativePath())) {
+                    orientation = ExifOrientation.read(in);
+                }
+                source = ExifOrientation.apply(source, orientation);
+            }
+
+            List<String> created = new ArrayList<>();
+            for (int width : widths) {
+                if (source.getWidth() <= width) {
+                    continue; // 원본이 더 작으면 원본 사용
+                }
+                BufferedImage resized = resize(source, width, "png".equals(format));
+                // 임시 파일에 쓴 뒤 볼륨에 저장 (로컬 볼륨은 원자적 이동이라 반쯤 쓰인 파일이 서빙되지 않음)
+                Path temp = Files.createTempFile("variant-", "." + format);
+                try {
+                    if (!ImageIO.write(resized, format, temp.toFile())) {
+                        continue;
+                    }
+                    volume.put(variantPath(event.getRelativePath(), width), temp);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                created.add(String.valueOf(width));
+            }
+
+            if (!created.isEmpty()) {
+                cmAttachmentRepository.updateVariantWidths(event.getRelativePath(), String.join(",", created));
+                log.info("리사이즈 이미지 생성 완료 [{}]: {}", event.getRelativePath(), created);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("리사이즈 이미지 생성 실패 [{}]", event.getRelativePath(), e);
+        }
+    }
+
+    /**
+     * 비율 유지 축소 (큰 배율은 절반씩 나눠 줄여 계단 현상 완화)
+     */
+    private BufferedImage resize(BufferedImage source, int targetWidth, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+
+        do {
+            int nextWidth = Math.max(targetWidth, currentWidth / 2);
+            int nextHeight = nextWidth == targetWidth ? targetHeight : Math.max(1, currentHeight / 2);
+
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!keepAlpha) {
+                    g.setColor(Color.WHITE); // 투명 배경은 흰색으로
+                    g.fillRect(0, 0, nextWidth, nextHeight);
+                }
+                g.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > targetWidth);
+
+        return current;
+    }
+}
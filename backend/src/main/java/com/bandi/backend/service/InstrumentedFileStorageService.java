@@ -0,0 +1,119 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.UploadFileResultDto;
+import com.bandi.backend.enums.FileCategory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * FileStorageService 지표 수집 래퍼 (FileStorageMetrics)
+ * 주입받는 쪽은 모두 이 빈을 받고, 실제 저장은 LocalStorageServiceImpl 이 한다.
+ */
+@Primary
+@Service
+public class InstrumentedFileStorageService implements FileStorageService {
+
+    private final FileStorageService delegate;
+    private final FileStorageMetrics metrics;
+
+    public InstrumentedFileStorageService(@Qualifier("localStorageServiceImpl") FileStorageService delegate,
+            FileStorageMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public UploadFileResultDto storeFile(MultipartFile file, FileCategory category, String userId) {
+        long bytes = file != null ? file.getSize() : 0;
+        long start = metrics.beginUpload(bytes);
+        boolean success = false;
+        try {
+            UploadFileResultDto result = delegate.storeFile(file, category, userId);
+            success = true;
+            return result;
+        } finally {
+            metrics.endUpload(FileStorageMetrics.STORE_FILE, category, 1, bytes, start, success);
+        }
+    }
+
+    @Override
+    public UploadFileResultDto storeLocalFile(Path source, String contentHash, String originalFilename,
+            String mimeType, FileCategory category, String userId) {
+        long bytes = sizeOf(source);
+        long start = metrics.beginUpload(bytes);
+        boolean success = false;
+        try {
+            UploadFileResultDto result = delegate.storeLocalFile(source, contentHash, originalFilename, mimeType,
+                    category, userId);
+            success = true;
+            return result;
+        } finally {
+            metrics.endUpload(FileStorageMetrics.STORE_LOCAL_FILE, category, 1, bytes, start, success);
+        }
+    }
+
+    @Override
+    public List<UploadFileResultDto> storeFiles(List<MultipartFile> files, FileCategory category, String userId) {
+        long bytes = 0;
+        if (files != null) {
+            for (MultipartFile file : files) {
+                bytes += file != null ? file.getSize() : 0;
+            }
+        }
+        long start = metrics.beginUpload(bytes);
+        boolean success = false;
+        int stored = 0;
+        try {
+            List<UploadFileResultDto> results = delegate.storeFiles(files, category, userId);
+            stored = results.size();
+            success = true;
+            return results;
+        } finally {
+            metrics.endUpload(FileStorageMetrics.STORE_FILES, category, stored, bytes, start, success);
+        }
+    }
+
+    @Override
+    public boolean deleteFile(String relativePathOrUrl) {
+        long start = System.nanoTime();
+        Boolean deleted = null;
+        try {
+            deleted = delegate.deleteFile(relativePathOrUrl);
+            return deleted;
+        } finally {
+            metrics.recordDelete(start, deleted);
+        }
+    }
+
+    @Override
+    public boolean deleteAttachment(Long attachNo) {
+        long start = System.nanoTime();
+        Boolean deleted = null;
+        try {
+            deleted = delegate.deleteAttachment(attachNo);
+            return deleted;
+        } finally {
+            metrics.recordDelete(start, deleted);
+        }
+    }
+
+    @Override
+    public String getFullUrl(String relativePath) {
+        return delegate.getFullUrl(relativePath);
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return path != null ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
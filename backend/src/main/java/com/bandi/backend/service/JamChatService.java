@@ -15,6 +15,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.bandi.backend.enums.FileCategory;
 import com.bandi.backend.dto.UploadFileResultDto;
+import com.bandi.backend.event.ChatMessageSavedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 
 @Service
 @Transactional(readOnly = true)
@@ -27,8 +29,11 @@ public class JamChatService {
 
     private final com.bandi.backend.repository.BandChatMessageRepository bandChatMessageRepository;
     private final com.bandi.backend.repository.CmAttachmentRepository cmAttachmentRepository;
-    private final PushService pushService;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final com.bandi.backend.repository.CmChatReadCursorRepository cmChatReadCursorRepository;
+    private final com.bandi.backend.repository.CmChatRoomSummaryRepository cmChatRoomSummaryRepository;
+    private final UnreadCounterService unreadCounterService;
 
     public ChatRoomListDto getChatRoomInfo(Long roomNo) {
         String sql = """
@@ -76,9 +81,12 @@ public class JamChatService {
                                 MSG.BN_CHAT_SND_DTIME,
                                 (SELECT CMA2.FILE_PATH FROM CM_ATTACHMENT CMA2 WHERE CMA2.ATTACH_NO = USR.ATTACH_NO) AS PROFILE_URL,
                                 (
-                                    (SELECT COUNT(1) FROM BN_USER WHERE BN_NO = MSG.BN_NO AND BN_USER_STAT_CD = 'A')
-                                    -
-                                    (SELECT COUNT(1) FROM BN_CHAT_MESSAGE_READ WHERE BN_CHAT_MSG_NO = MSG.BN_CHAT_MSG_NO)
+                                    SELECT COUNT(1)
+                                    FROM BN_USER BU
+                                    LEFT JOIN CM_CHAT_READ_CURSOR RC ON RC.ROOM_TYPE_CD = 'BAND' AND RC.ROOM_NO = BU.BN_NO AND RC.USER_ID = BU.BN_USER_ID
+                                    WHERE BU.BN_NO = MSG.BN_NO
+                                      AND BU.BN_USER_STAT_CD = 'A'
+                                      AND COALESCE(RC.LAST_READ_MSG_NO, 0) < MSG.BN_CHAT_MSG_NO
                                 ) AS UNREAD_CNT,
                                 MSG.ATTACH_NO,
                                 CMA.FILE_PATH AS ATTACH_FILE_PATH,
@@ -149,19 +157,14 @@ public class JamChatService {
                     .parentMsgUserNickNm(parentMsgUserNickNm)
                     .build();
             messages.add(dto);
+        }
 
-            // Mark as read if not my message
-            if (!senderId.equals(userId)) {
-                try {
-                    entityManager.createNativeQuery(
-                            "INSERT INTO BN_CHAT_MESSAGE_READ (BN_CHAT_MSG_NO, BN_CHAT_READ_USER_ID, BN_CHAT_READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (BN_CHAT_MSG_NO, BN_CHAT_READ_USER_ID) DO NOTHING")
-                            .setParameter("msgNo", msgNo)
-                            .setParameter("userId", userId)
-                            .setParameter("readDtime", currentDateTime)
-                            .executeUpdate();
-                } catch (Exception e) {
-                    // Ignore unique constraint violation or multiple reads
-                }
+        // 조회한 가장 최신 메시지까지 읽음 커서 이동
+        if (!messages.isEmpty()) {
+            cmChatReadCursorRepository.advanceCursor("BAND", roomNo, userId, messages.get(0).getCnMsgNo(),
+                    currentDateTime);
+            if (lastMsgNo == null) {
+                unreadCounterService.markRead(userId, "BAND", roomNo, messages.get(0).getCnMsgNo());
             }
         }
         return messages;
@@ -189,17 +192,10 @@ public class JamChatService {
         log.info("Message saved with ID: {}", savedMessage.getBnMsgNo());
 
         // Mark sender as read
-        try {
-            // Updated to insert into BN_CHAT_MESSAGE_READ only
-            entityManager.createNativeQuery(
-                    "INSERT INTO BN_CHAT_MESSAGE_READ (BN_CHAT_MSG_NO, BN_CHAT_READ_USER_ID, BN_CHAT_READ_DTIME) VALUES (:msgNo, :userId, :readDtime) ON CONFLICT (BN_CHAT_MSG_NO, BN_CHAT_READ_USER_ID) DO NOTHING")
-                    .setParameter("msgNo", savedMessage.getBnMsgNo())
-                    .setParameter("userId", dto.getSndUserId())
-                    .setParameter("readDtime", currentDateTime)
-                    .executeUpdate();
-        } catch (Exception e) {
-            log.error("ERROR in saveMessage (INSERT READ)", e);
-        }
+        cmChatReadCursorRepository.advanceCursor("BAND", savedMessage.getBnNo(), dto.getSndUserId(),
+                savedMessage.getBnMsgNo(), currentDateTime);
+        cmChatRoomSummaryRepository.applyNewMessage("BAND", savedMessage.getBnNo(), savedMessage.getBnMsgNo(),
+                savedMessage.getMsgTypeCd(), savedMessage.getMsg(), savedMessage.getSndUserId(), currentDateTime);
 
         String userNickNm = "Unknown";
         String userProfileUrl = null;
@@ -282,29 +278,8 @@ public class JamChatService {
                 .attachFileName(attachFileName)
                 .build();
 
-        // Send Push Notifications
-        try {
-            // Get recipients (active members except sender)
-            String recipientSql = "SELECT BN_USER_ID FROM BN_USER WHERE BN_NO = :roomNo AND BN_USER_STAT_CD = 'A' AND BN_USER_ID <> :senderId";
-            @SuppressWarnings("unchecked")
-            java.util.List<String> recipients = entityManager.createNativeQuery(recipientSql)
-                    .setParameter("roomNo", dto.getCnNo())
-                    .setParameter("senderId", dto.getSndUserId())
-                    .getResultList();
-
-            for (String recipientId : recipients) {
-                pushService.sendPush(
-                        recipientId,
-                        userNickNm,
-                        dto.getMsg(),
-                        "/main/jam/chat/" + dto.getCnNo(),
-                        "BN",
-                        "BN_" + dto.getCnNo());
-            }
-        } catch (Exception e) {
-            log.error("Failed to send push notifications for Jam Chat message", e);
-        }
-
+        // 푸시는 ChatFanoutService 에서 발송 대기열에 함께 적재
+        eventPublisher.publishEvent(new ChatMessageSavedEvent("BAND", savedMessage.getBnNo(), chatMessageDto, userNickNm));
         return chatMessageDto;
     }
 
@@ -1,50 +1,245 @@
 package com.bandi.backend.service;
 
 import com.bandi.backend.dto.UploadFileResultDto;
-import com.bandi.backend.entity.common.CmAttachment;
+import com.bandi.backend.event.FileStoredEvent;
+import com.bandi.backend.event.ImageStoredEvent;
 import com.bandi.backend.enums.FileCategory;
 import com.bandi.backend.repository.CmAttachmentRepository;
 import com.bandi.backend.utils.FileStorageUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
+/**
+ * 로컬 디스크 업로드 저장소
+ * 저장은 두 단계로 나뉜다.
+ * 1. 기록(stage): 임시 파일(.part)에 쓰면서 SHA-256 계산 — 다중 업로드는 fileIoExecutor 에서 동시에 수행
+ * 2. 등록(commit): 호출 스레드(트랜잭션)에서 해시 색인 확인 → 저장 볼륨(StorageVolumeRegistry)에 저장 → CM_ATTACHMENT 다건 INSERT 1회
+ * 하나라도 실패하면 임시 파일을 모두 지우고, 이미 옮긴 새 파일은 트랜잭션 롤백 시 함께 지운다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LocalStorageServiceImpl implements FileStorageService {
 
+    private static final DateTimeFormatter DTIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
     private final CmAttachmentRepository cmAttachmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FileBlobIndex fileBlobIndex;
+    private final StorageVolumeRegistry storageVolumeRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    @Qualifier("fileIoExecutor")
+    private Executor fileIoExecutor;
 
     @Value("${file.base-url:http://localhost:8084}")
     private String baseUrl;
 
+    // 이미 만든(확인한) {domain}/{yyyyMM} 디렉토리 — 업로드마다 exists/createDirectories 를 반복하지 않는다.
+    private final Set<String> knownDirs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 임시 파일(tempPath)에 내용을 기록하고 SHA-256 hex 를 반환
+     */
+    @FunctionalInterface
+    private interface TempWriter {
+        String write(Path tempPath) throws IOException, NoSuchAlgorithmException;
+    }
+
+    /**
+     * 기록 단계를 마친 파일 1건
+     */
+    private static class StagedFile {
+        private final String originalFilename;
+        private final long fileSize;
+        private final String mimeType;
+        private final String domain;
+        private final String dtimeStr;
+        private final Path tempPath;
+        private String savedFileName;
+        private String relativePath;
+        private String contentHash;
+        private boolean newBlob;
+        private String variantWidths;
+        private Long attachNo;
+
+        StagedFile(String originalFilename, long fileSize, String mimeType, String domain, String dtimeStr,
+                String savedFileName, String relativePath, Path tempPath) {
+            this.originalFilename = originalFilename;
+            this.fileSize = fileSize;
+            this.mimeType = mimeType;
+            this.domain = domain;
+            this.dtimeStr = dtimeStr;
+            this.savedFileName = savedFileName;
+            this.relativePath = relativePath;
+            this.tempPath = tempPath;
+        }
+    }
+
     @Override
     @Transactional
     public UploadFileResultDto storeFile(MultipartFile file, FileCategory category, String userId) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("업로드할 파일이 존재하지 않습니다.");
         }
+        StagedFile staged = stage(file, category, LocalDateTime.now());
+        return commit(List.of(staged), category, userId).get(0);
+    }
+
+    @Override
+    @Transactional
+    public UploadFileResultDto storeLocalFile(Path source, String contentHash, String originalFilename,
+            String mimeType, FileCategory category, String userId) {
+        if (source == null || !Files.isRegularFile(source)) {
+            throw new IllegalArgumentException("업로드할 파일이 존재하지 않습니다.");
+        }
+
+        long fileSize;
+        try {
+            fileSize = Files.size(source);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 저장 중 오류가 발생했습니다: " + e.getMessage());
+        }
+
+        // source 는 옮기지 않는다 (등록 트랜잭션이 롤백돼도 호출자가 원본으로 다시 시도할 수 있도록)
+        // 해시를 이미 확인한 경우 같은 파일시스템이면 하드 링크(복사 없음), 아니면 복사
+        StagedFile staged = stage(originalFilename, fileSize, mimeType, category, LocalDateTime.now(), tempPath -> {
+            if (contentHash == null) {
+                try (InputStream in = Files.newInputStream(source)) {
+                    return copyWithSha256(in, tempPath);
+                }
+            }
+            try {
+                Files.deleteIfExists(tempPath);
+                Files.createLink(tempPath, source);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(source, tempPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return contentHash;
+        });
+        return commit(List.of(staged), category, userId).get(0);
+    }
+
+    /**
+     * 다중 파일 업로드: 파일 기록은 fileIoExecutor 에서 동시에, 등록은 한 번에
+     * (풀이 가득 차면 호출 스레드가 직접 기록하므로 느려질 뿐 실패하지 않는다)
+     */
+    @Override
+    @Transactional
+    public List<UploadFileResultDto> storeFiles(List<MultipartFile> files, FileCategory category, String userId) {
+        List<MultipartFile> targets = new ArrayList<>();
+        if (files != null) {
+            for (MultipartFile file : files) {
+                if (file != null && !file.isEmpty()) {
+                    targets.add(file);
+                }
+            }
+        }
+        if (targets.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (targets.size() == 1) {
+            return new ArrayList<>(List.of(storeFile(targets.get(0), category, userId)));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CompletableFuture<StagedFile>> futures = new ArrayList<>();
+        for (MultipartFile file : targets) {
+            futures.add(CompletableFuture.supplyAsync(() -> stage(file, category, now), fileIoExecutor));
+        }
+
+        // 전부 끝날 때까지 기다린 뒤 하나라도 실패했으면 성공한 임시 파일까지 모두 정리
+        List<StagedFile> staged = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<StagedFile> future : futures) {
+            try {
+                staged.add(future.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            staged.forEach(s -> deleteQuietly(s.tempPath));
+            throw failure;
+        }
+        return commit(staged, category, userId);
+    }
+
+    public static String sha256Hex(Path path) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 스트림을 target 에 쓰면서 SHA-256 hex 계산 (파일을 다시 읽지 않음)
+     */
+    public static String copyWithSha256(InputStream source, Path target) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = new DigestInputStream(source, digest)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 
+    private StagedFile stage(MultipartFile file, FileCategory category, LocalDateTime now) {
         String originalFilename = file.getOriginalFilename();
         if (originalFilename == null) {
             originalFilename = "file_" + System.currentTimeMillis();
         }
 
+        // 임시 파일로 쓰면서 SHA-256 계산 (파일을 다시 읽지 않음)
+        return stage(originalFilename, file.getSize(), file.getContentType(), category, now,
+                tempPath -> copyWithSha256(file.getInputStream(), tempPath));
+    }
+
+    /**
+     * 기록 단계: 표준 파일명/경로 결정 후 임시 파일 기록 (DB 접근 없음 → 여러 스레드에서 동시 실행 가능)
+     */
+    private StagedFile stage(String originalFilename, long fileSize, String mimeType,
+            FileCategory category, LocalDateTime now, TempWriter tempWriter) {
         // 확장자 추출
         String ext = "";
         int dotIndex = originalFilename.lastIndexOf(".");
@@ -53,9 +248,8 @@ public class LocalStorageServiceImpl implements FileStorageService {
         }
 
         // 1. 날짜 타임스탬프 계산
-        LocalDateTime now = LocalDateTime.now();
-        String yyyyMM = now.format(DateTimeFormatter.ofPattern("yyyyMM"));
-        String dtimeStr = now.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        String yyyyMM = now.format(MONTH_FORMAT);
+        String dtimeStr = now.format(DTIME_FORMAT);
         String uuid8 = UUID.randomUUID().toString().substring(0, 8);
 
         // 2. 도메인 및 파일명 규격 정립
@@ -65,66 +259,199 @@ public class LocalStorageServiceImpl implements FileStorageService {
         // 3. 표준 상대 경로: /{domain}/{YYYYMM}/{savedFileName}
         String relativePath = String.format("/%s/%s/%s", domain, yyyyMM, savedFileName);
 
-        // 4. 물리적 저장 디렉토리 자동 생성 (없는 경우 생성)
-        String baseUploadDir = FileStorageUtil.getBaseUploadDir();
-        Path targetFolder = Paths.get(baseUploadDir, domain, yyyyMM);
+        // 4. 임시 파일은 기본 uploads 루트의 같은 월 폴더에 기록 (저장 볼륨은 등록 단계에서 결정)
+        Path targetFolder = Paths.get(FileStorageUtil.getBaseUploadDir(), domain, yyyyMM);
+        Path tempPath = targetFolder.resolve(savedFileName + ".part");
 
+        StagedFile staged = new StagedFile(originalFilename, fileSize, mimeType, domain, dtimeStr,
+                savedFileName, relativePath, tempPath);
         try {
-            if (!Files.exists(targetFolder)) {
-                Files.createDirectories(targetFolder);
-                log.info("새로운 미디어 디렉토리 자동 생성 완료: {}", targetFolder.toAbsolutePath());
-            }
+            ensureDirectory(targetFolder);
+            staged.contentHash = tempWriter.write(tempPath);
+            return staged;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("파일 물리 저장 실패: ", e);
+            knownDirs.remove(targetFolder.toString()); // 디렉토리가 외부에서 지워진 경우 다음 업로드에서 다시 생성
+            deleteQuietly(tempPath);
+            throw new RuntimeException("파일 저장 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (RuntimeException e) {
+            deleteQuietly(tempPath);
+            throw e;
+        }
+    }
 
-            // 물리 파일 저장
-            Path targetPath = targetFolder.resolve(savedFileName);
-            file.transferTo(targetPath.toFile());
-            log.info("파일 물리 저장 완료: {}", targetPath.toAbsolutePath());
+    /**
+     * 등록 단계 (호출 트랜잭션 안): 해시 색인 확인 → 새 파일은 표준 경로로 이동, 중복은 기존 경로 공유
+     * → CM_ATTACHMENT 다건 INSERT → 이미지면 커밋 후 리사이즈본 생성
+     */
+    private List<UploadFileResultDto> commit(List<StagedFile> stagedFiles, FileCategory category, String userId) {
+        List<Runnable> undoCreated = new ArrayList<>();
+        deleteOnRollback(undoCreated);
 
-        } catch (IOException e) {
+        int index = 0;
+        try {
+            for (; index < stagedFiles.size(); index++) {
+                StagedFile staged = stagedFiles.get(index);
+
+                // 같은 내용이 이미 있으면 그 경로를 공유하고 임시 파일은 버린다.
+                String storedPath = fileBlobIndex.acquire(staged.contentHash, staged.relativePath, staged.fileSize,
+                        staged.dtimeStr);
+                staged.newBlob = storedPath.equals(staged.relativePath);
+                StorageVolume volume;
+                if (staged.newBlob) {
+                    volume = storageVolumeRegistry.selectForWrite(category, staged.contentHash);
+                } else {
+                    staged.relativePath = storedPath;
+                    staged.savedFileName = storedPath.substring(storedPath.lastIndexOf('/') + 1);
+                    // 공유 파일의 리사이즈본은 이미 만들어졌거나 생성 중 (완료 시 같은 경로 첨부 전체에 반영됨)
+                    staged.variantWidths = cmAttachmentRepository.findVariantWidthsByFilePath(storedPath);
+                    volume = storageVolumeRegistry.locate(storedPath);
+                }
+
+                if (staged.newBlob || !volume.exists(staged.relativePath)) {
+                    // 새 파일이거나, 색인은 있는데 물리 파일이 유실된 경우 이번 업로드로 채운다.
+                    volume.put(staged.relativePath, staged.tempPath);
+                    String createdPath = staged.relativePath;
+                    undoCreated.add(() -> deleteQuietly(volume, createdPath));
+                    if (staged.newBlob) {
+                        storageVolumeRegistry.recordLocation(staged.relativePath, volume.getId());
+                    }
+                    log.info("파일 물리 저장 완료 [{}]: {}", volume.getId(), staged.relativePath);
+                } else {
+                    Files.deleteIfExists(staged.tempPath);
+                    log.info("동일 내용 파일 재사용 [{}]: {}", staged.contentHash, staged.relativePath);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
             log.error("파일 물리 저장 실패: ", e);
-            throw new RuntimeException("파일 저장 중 오류가 발생했습니다: " + e.getMessage());
+            for (int i = index; i < stagedFiles.size(); i++) {
+                deleteQuietly(stagedFiles.get(i).tempPath);
+            }
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                undoCreated.forEach(Runnable::run);
+            }
+            throw e instanceof RuntimeException re ? re
+                    : new RuntimeException("파일 저장 중 오류가 발생했습니다: " + e.getMessage());
         }
 
-        // 5. 공통 첨부파일 DB(CM_ATTACHMENT) 기록
-        CmAttachment attachment = new CmAttachment();
-        attachment.setFileName(originalFilename);
-        attachment.setFilePath(relativePath); // DB에는 표준 상대 경로 저장
-        attachment.setFileSize(file.getSize());
-        attachment.setMimeType(file.getContentType());
-        attachment.setInsDtime(dtimeStr);
-        attachment.setInsId(userId != null ? userId : "SYSTEM");
-        attachment.setUpdDtime(dtimeStr);
-        attachment.setUpdId(userId != null ? userId : "SYSTEM");
+        // 5. 공통 첨부파일 DB(CM_ATTACHMENT) 기록 (다건 INSERT 1회)
+        insertAttachments(stagedFiles, userId != null ? userId : "SYSTEM");
 
-        CmAttachment savedAttachment = cmAttachmentRepository.save(attachment);
+        List<UploadFileResultDto> results = new ArrayList<>();
+        for (StagedFile staged : stagedFiles) {
+            // 새 파일이면 커밋 후 후처리 (압축 사본 등)
+            if (staged.newBlob) {
+                eventPublisher.publishEvent(new FileStoredEvent(staged.attachNo, staged.relativePath, category,
+                        staged.mimeType));
+            }
 
-        // 6. fullUrl 구성 (예: http://localhost:8084/uploads/shorts/202608/shorts_...)
-        String fullUrl = getFullUrl(relativePath);
+            // 새 이미지면 커밋 후 카테고리별 리사이즈본 생성 (ImageVariantService)
+            if (staged.newBlob && category.getVariantWidths().length > 0
+                    && ImageVariantService.isSupportedImage(staged.savedFileName, staged.mimeType)) {
+                eventPublisher.publishEvent(new ImageStoredEvent(staged.attachNo, staged.relativePath, category));
+            }
 
-        return UploadFileResultDto.builder()
-                .attachNo(savedAttachment.getAttachNo())
-                .category(domain)
-                .originalName(originalFilename)
-                .savedName(savedFileName)
-                .relativePath(relativePath)
-                .fullUrl(fullUrl)
-                .fileSize(file.getSize())
-                .mimeType(file.getContentType())
-                .build();
+            // 6. fullUrl 구성 (예: http://localhost:8084/uploads/shorts/202608/shorts_...)
+            results.add(UploadFileResultDto.builder()
+                    .attachNo(staged.attachNo)
+                    .category(staged.domain)
+                    .originalName(staged.originalFilename)
+                    .savedName(staged.savedFileName)
+                    .relativePath(staged.relativePath)
+                    .fullUrl(getFullUrl(staged.relativePath))
+                    .fileSize(staged.fileSize)
+                    .mimeType(staged.mimeType)
+                    .build());
+        }
+        return results;
     }
 
-    @Override
-    @Transactional
-    public List<UploadFileResultDto> storeFiles(List<MultipartFile> files, FileCategory category, String userId) {
-        List<UploadFileResultDto> resultList = new ArrayList<>();
-        if (files != null && !files.isEmpty()) {
-            for (MultipartFile file : files) {
-                if (file != null && !file.isEmpty()) {
-                    resultList.add(storeFile(file, category, userId));
-                }
+    /**
+     * CM_ATTACHMENT 다건 INSERT
+     * 행마다 입력 순번(ORD)을 붙여 CTE 에서 ATTACH_NO 를 먼저 발급하고, RETURNING 으로 (ATTACH_NO, ORD) 를 받아 ORD 로 각 파일에 매핑한다.
+     * 발급 번호의 정렬 순서는 입력 순서와 무관하므로(동시 발급/캐시된 시퀀스) 정렬해서 짝짓지 않는다.
+     */
+    private void insertAttachments(List<StagedFile> stagedFiles, String userId) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < stagedFiles.size(); i++) {
+            if (i > 0) {
+                values.append(", ");
             }
+            values.append("(CAST(:fileName").append(i).append(" AS VARCHAR), CAST(:filePath").append(i)
+                    .append(" AS VARCHAR), CAST(:fileSize").append(i).append(" AS BIGINT), CAST(:mimeType").append(i)
+                    .append(" AS VARCHAR), CAST(:variantWidths").append(i).append(" AS VARCHAR), CAST(:contentHash")
+                    .append(i).append(" AS VARCHAR), ").append(i).append(")");
+        }
+        // RETURNING 은 입력 행 순서를 보장하지 않으므로 번호를 먼저 받아 ORD 와 짝지은 뒤 넣고, (ATTACH_NO, ORD) 를 돌려받는다.
+        String sql = """
+                WITH V AS MATERIALIZED (
+                    SELECT V.*, NEXTVAL(PG_GET_SERIAL_SEQUENCE('cm_attachment', 'attach_no')) AS ATTACH_NO
+                    FROM (VALUES %s) AS V(FILE_NAME, FILE_PATH, FILE_SIZE, MIME_TYPE, VARIANT_WIDTHS, CONTENT_HASH, ORD)
+                ), INS AS (
+                    INSERT INTO CM_ATTACHMENT
+                        (ATTACH_NO, FILE_NAME, FILE_PATH, FILE_SIZE, MIME_TYPE, VARIANT_WIDTHS, CONTENT_HASH,
+                         INS_DTIME, INS_ID, UPD_DTIME, UPD_ID)
+                    OVERRIDING SYSTEM VALUE
+                    SELECT V.ATTACH_NO, V.FILE_NAME, V.FILE_PATH, V.FILE_SIZE, V.MIME_TYPE, V.VARIANT_WIDTHS, V.CONTENT_HASH,
+                           :now, :userId, :now, :userId
+                    FROM V
+                    RETURNING ATTACH_NO
+                )
+                SELECT INS.ATTACH_NO, V.ORD
+                FROM INS
+                JOIN V ON V.ATTACH_NO = INS.ATTACH_NO
+                """.formatted(values);
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("now", stagedFiles.get(0).dtimeStr)
+                .setParameter("userId", userId);
+        for (int i = 0; i < stagedFiles.size(); i++) {
+            StagedFile staged = stagedFiles.get(i);
+            query.setParameter("fileName" + i, staged.originalFilename)
+                    .setParameter("filePath" + i, staged.relativePath) // DB에는 표준 상대 경로 저장
+                    .setParameter("fileSize" + i, staged.fileSize)
+                    .setParameter("mimeType" + i, staged.mimeType)
+                    .setParameter("variantWidths" + i, staged.variantWidths)
+                    .setParameter("contentHash" + i, staged.contentHash);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        if (rows.size() != stagedFiles.size()) {
+            throw new IllegalStateException("첨부 등록 건수가 맞지 않습니다. (" + rows.size() + "/" + stagedFiles.size() + ")");
+        }
+        for (Object[] row : rows) {
+            stagedFiles.get(((Number) row[1]).intValue()).attachNo = ((Number) row[0]).longValue();
+        }
+    }
+
+    private void ensureDirectory(Path dir) throws IOException {
+        String key = dir.toString();
+        if (knownDirs.contains(key)) {
+            return;
+        }
+        if (!Files.exists(dir)) {
+            Files.createDirectories(dir);
+            log.info("새로운 미디어 디렉토리 자동 생성 완료: {}", dir.toAbsolutePath());
         }
-        return resultList;
+        knownDirs.add(key);
+    }
+
+    /**
+     * 이번 업로드로 새로 만든 파일은 트랜잭션이 롤백되면 지운다 (DB 행 없이 디스크에 남지 않도록)
+     */
+    private void deleteOnRollback(List<Runnable> undoCreated) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    undoCreated.forEach(Runnable::run);
+                }
+            }
+        });
     }
 
     @Override
@@ -150,20 +477,97 @@ public class LocalStorageServiceImpl implements FileStorageService {
             relativePath = "/" + relativePath;
         }
 
-        // 물리 파일 삭제
-        String baseUploadDir = FileStorageUtil.getBaseUploadDir();
-        Path physicalPath = Paths.get(baseUploadDir + relativePath);
+        // 첨부가 참조 중인 파일은 경로만으로 지우지 않는다 (같은 내용을 공유하는 다른 첨부 보호, 재시도해도 안전)
+        String nowDtime = LocalDateTime.now().format(DTIME_FORMAT);
+        int remaining = fileBlobIndex.recount(relativePath, nowDtime);
+        if (remaining > 0) {
+            log.warn("첨부가 참조 중인 파일은 경로로 삭제하지 않음 [{}]: 참조 {}", relativePath, remaining);
+            return false;
+        }
 
+        StorageVolume volume = storageVolumeRegistry.locate(relativePath);
         try {
-            boolean deleted = Files.deleteIfExists(physicalPath);
-            log.info("파일 삭제 결과 [{}]: {}", physicalPath.toAbsolutePath(), deleted);
-            return deleted;
-        } catch (IOException e) {
+            boolean exists = volume.exists(relativePath);
+            deleteStoredFileAfterCommit(relativePath);
+            return exists;
+        } catch (IOException | IllegalArgumentException e) {
             log.error("파일 삭제 에러: ", e);
             return false;
         }
     }
 
+    @Override
+    @Transactional
+    public boolean deleteAttachment(Long attachNo) {
+        if (attachNo == null) {
+            return false;
+        }
+        FileBlobIndex.Released released = fileBlobIndex.release(attachNo, LocalDateTime.now().format(DTIME_FORMAT));
+        if (released == null) {
+            return false; // 이미 삭제된 첨부
+        }
+        if (released.remaining() > 0) {
+            log.info("공유 파일 첨부 해제 [{}] {}: 남은 참조 {}", attachNo, released.filePath(), released.remaining());
+        } else {
+            deleteStoredFileAfterCommit(released.filePath());
+        }
+        return true;
+    }
+
+    /**
+     * 물리 파일(리사이즈본, 미리 압축한 사본 포함) 삭제는 커밋 이후에 한다.
+     * (롤백되어 첨부/색인 행이 되살아났는데 파일만 없어지는 일이 없도록)
+     */
+    private void deleteStoredFileAfterCommit(String relativePath) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteStoredFile(relativePath);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteStoredFile(relativePath);
+            }
+        });
+    }
+
+    private void deleteStoredFile(String relativePath) {
+        // 위치 색인의 볼륨에서 삭제
+        StorageVolume volume = storageVolumeRegistry.locate(relativePath);
+        try {
+            boolean deleted = volume.delete(relativePath);
+            log.info("파일 삭제 결과 [{}] {}: {}", volume.getId(), relativePath, deleted);
+
+            // 리사이즈본 함께 정리
+            for (int width : ImageVariantService.ALL_WIDTHS) {
+                volume.delete(ImageVariantService.variantPath(relativePath, width));
+            }
+            // 미리 압축한 사본(.gz/.br) 정리
+            for (String suffix : UploadPrecompressService.ENCODED_SUFFIXES) {
+                volume.delete(relativePath + suffix);
+            }
+            storageVolumeRegistry.forgetLocation(relativePath);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("파일 삭제 에러: ", e);
+        }
+    }
+
+    private void deleteQuietly(StorageVolume volume, String relativePath) {
+        try {
+            volume.delete(relativePath);
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패 [{}]: {}", volume.getId(), relativePath);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패: {}", path);
+        }
+    }
+
     @Override
     public String getFullUrl(String relativePath) {
         if (relativePath == null || relativePath.trim().isEmpty()) {
@@ -173,6 +577,13 @@ public class LocalStorageServiceImpl implements FileStorageService {
             return relativePath;
         }
 
+        // 원격(S3 호환) 볼륨에 있는 파일은 볼륨 공개 주소로
+        String publicUrl = storageVolumeRegistry.locate(relativePath.startsWith("/") ? relativePath : "/" + relativePath)
+                .publicUrl(relativePath);
+        if (publicUrl != null) {
+            return publicUrl;
+        }
+
         String cleanBaseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
         String cleanPath = relativePath.startsWith("/") ? relativePath : "/" + relativePath;
 
@@ -0,0 +1,103 @@
+package com.bandi.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로컬 디렉토리 볼륨: {root}/{domain}/{yyyyMM}/{fileName}
+ * 같은 파일시스템이면 원자적 이동(rename), 다른 디스크면 복사 후 원본 삭제로 저장한다.
+ */
+@Slf4j
+public class LocalStorageVolume implements StorageVolume {
+
+    private final String id;
+    private final Path root;
+
+    // 이미 만든(확인한) 디렉토리 — 저장마다 exists/createDirectories 를 반복하지 않는다.
+    private final Set<Path> knownDirs = ConcurrentHashMap.newKeySet();
+
+    public LocalStorageVolume(String id, String root) {
+        this.id = id;
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public void put(String relativePath, Path source) throws IOException {
+        Path target = localPath(relativePath);
+        ensureDirectory(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // 다른 디스크(볼륨) 간 이동: 임시 이름으로 복사 후 교체
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(source);
+        } catch (IOException e) {
+            knownDirs.remove(target.getParent()); // 디렉토리가 외부에서 지워진 경우 다음 저장에서 다시 생성
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String relativePath) throws IOException {
+        return Files.newInputStream(localPath(relativePath));
+    }
+
+    @Override
+    public boolean exists(String relativePath) {
+        return Files.exists(localPath(relativePath));
+    }
+
+    @Override
+    public boolean delete(String relativePath) throws IOException {
+        return Files.deleteIfExists(localPath(relativePath));
+    }
+
+    /**
+     * 루트 밖을 가리키는 경로(../ 등)는 거부
+     */
+    @Override
+    public Path localPath(String relativePath) {
+        String clean = relativePath.startsWith("/") ? relativePath.substring(1) : relativePath;
+        Path path = root.resolve(clean).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("잘못된 파일 경로입니다: " + relativePath);
+        }
+        return path;
+    }
+
+    @Override
+    public String publicUrl(String relativePath) {
+        return null;
+    }
+
+    private void ensureDirectory(Path dir) throws IOException {
+        if (knownDirs.contains(dir)) {
+            return;
+        }
+        if (!Files.exists(dir)) {
+            Files.createDirectories(dir);
+            log.info("새로운 미디어 디렉토리 자동 생성 완료 [{}]: {}", id, dir);
+        }
+        knownDirs.add(dir);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bandi.backend.service;
 
+import com.bandi.backend.dto.PushPayloadDto;
 import com.bandi.backend.entity.band.*;
 import com.bandi.backend.entity.common.CmAttachment;
 import com.bandi.backend.entity.member.User;
@@ -68,17 +69,14 @@ public class PartnerService {
 
         // 푸시 발송: 관리자(admin_yn = 'Y') 전원에게 알림
         try {
-            List<User> admins = userRepository.findByAdminYn("Y");
-            for (User admin : admins) {
-                pushService.sendPush(
-                    admin.getUserId(),
-                    "합주실 입점 신청 알림",
-                    applyData.getBizNm() + "에서 입점 신청을 등록했습니다. 승인 검토 부탁드립니다.",
-                    "/main/admin/partner-approval",
-                    "PARTNER_REQ",
-                    "PARTNER"
-                );
-            }
+            List<String> adminIds = userRepository.findByAdminYn("Y").stream().map(User::getUserId).toList();
+            pushService.sendPushToUsers(adminIds, PushPayloadDto.builder()
+                    .title("합주실 입점 신청 알림")
+                    .body(applyData.getBizNm() + "에서 입점 신청을 등록했습니다. 승인 검토 부탁드립니다.")
+                    .link("/main/admin/partner-approval")
+                    .pushType("PARTNER_REQ")
+                    .threadId("PARTNER")
+                    .build());
         } catch (Exception e) {
             log.error("Failed to send partner registration push to admins", e);
         }
@@ -289,10 +287,9 @@ public class PartnerService {
         }
 
         if (files != null && !files.isEmpty()) {
-            for (MultipartFile file : files) {
-                if (file == null || file.isEmpty()) continue;
-                UploadFileResultDto uploadResult = fileStorageService.storeFile(file, FileCategory.ADMIN, validUserId);
-
+            // 갤러리 이미지는 동시에 기록하고 첨부 행은 한 번에 등록 (하나라도 실패하면 전체 롤백)
+            List<BnStudioAttachment> links = new ArrayList<>();
+            for (UploadFileResultDto uploadResult : fileStorageService.storeFiles(files, FileCategory.ADMIN, validUserId)) {
                 BnStudioAttachment studioAttachment = new BnStudioAttachment();
                 studioAttachment.setStudioNo(studioNo);
                 studioAttachment.setAttachNo(uploadResult.getAttachNo());
@@ -301,8 +298,9 @@ public class PartnerService {
                 studioAttachment.setInsId(validUserId);
                 studioAttachment.setUpdDtime(now);
                 studioAttachment.setUpdId(validUserId);
-                studioAttachmentRepository.save(studioAttachment);
+                links.add(studioAttachment);
             }
+            studioAttachmentRepository.saveAll(links);
         }
 
         return getStudiosWithAttachments(savedStudio.getPartnerNo()).stream()
@@ -408,10 +406,9 @@ public class PartnerService {
         }
 
         if (files != null && !files.isEmpty()) {
-            for (MultipartFile file : files) {
-                if (file == null || file.isEmpty()) continue;
-                UploadFileResultDto uploadResult = fileStorageService.storeFile(file, FileCategory.ADMIN, validUserId);
-
+            // 갤러리 이미지는 동시에 기록하고 첨부 행은 한 번에 등록 (하나라도 실패하면 전체 롤백)
+            List<BnRoomAttachment> links = new ArrayList<>();
+            for (UploadFileResultDto uploadResult : fileStorageService.storeFiles(files, FileCategory.ADMIN, validUserId)) {
                 BnRoomAttachment roomAttachment = new BnRoomAttachment();
                 roomAttachment.setRoomNo(roomNo);
                 roomAttachment.setAttachNo(uploadResult.getAttachNo());
@@ -420,8 +417,9 @@ public class PartnerService {
                 roomAttachment.setInsId(validUserId);
                 roomAttachment.setUpdDtime(now);
                 roomAttachment.setUpdId(validUserId);
-                roomAttachmentRepository.save(roomAttachment);
+                links.add(roomAttachment);
             }
+            roomAttachmentRepository.saveAll(links);
         }
 
         return getRoomsWithAttachments(savedRoom.getStudioNo()).stream()
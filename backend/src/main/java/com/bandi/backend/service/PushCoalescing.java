@@ -0,0 +1,55 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PushPayloadDto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 알림 묶기 판단 (PushService.applyCoalescing)
+ * DB 조회 결과만 받아 묶을지 여부와 사용자별 발송 예정 시각을 정한다.
+ */
+final class PushCoalescing {
+
+    static final DateTimeFormatter DTIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private PushCoalescing() {
+    }
+
+    /**
+     * 묶음 대상 여부 — 창이 켜져 있고, 스레드가 있고, 묶음 대상 푸시 유형(채팅)인 경우만
+     */
+    static boolean isCoalesced(PushPayloadDto payload, long windowSeconds, Set<String> pushTypes) {
+        return windowSeconds > 0
+                && payload.getThreadId() != null
+                && pushTypes.contains(payload.getPushType());
+    }
+
+    /**
+     * 묶음 대기 건에 합쳐지지 않은 사용자의 발송 예정 시각
+     * - 창 안에 이미 보낸(또는 보낼) 알림이 있으면 그 발송 시각 + 창 (이후 메시지는 이 건에 합쳐짐)
+     * - 없으면 즉시
+     *
+     * @param lastTryByUser 사용자 -> 창 안에서 같은 유형+스레드의 가장 늦은 발송 시각 (yyyyMMddHHmmss)
+     * @return 사용자 -> 발송 예정 시각 (userIds 순서 유지)
+     */
+    static Map<String, String> schedule(Collection<String> userIds, Map<String, String> lastTryByUser,
+            LocalDateTime now, long windowSeconds) {
+        Map<String, String> nextTryByUser = new LinkedHashMap<>();
+        for (String userId : userIds) {
+            String lastTry = lastTryByUser.get(userId);
+            LocalDateTime nextTry = now;
+            if (lastTry != null) {
+                LocalDateTime windowEnd = LocalDateTime.parse(lastTry, DTIME_FORMAT).plusSeconds(windowSeconds);
+                if (windowEnd.isAfter(now))
+                    nextTry = windowEnd;
+            }
+            nextTryByUser.put(userId, nextTry.format(DTIME_FORMAT));
+        }
+        return nextTryByUser;
+    }
+}
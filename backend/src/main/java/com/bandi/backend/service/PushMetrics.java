@@ -0,0 +1,38 @@
+package com.bandi.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 푸시 발송 누적 카운터 (애플리케이션 기동 이후)
+ */
+@Component
+public class PushMetrics {
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder pruned = new LongAdder();
+
+    public void recordSent() {
+        sent.increment();
+    }
+
+    public void recordFailed() {
+        failed.increment();
+    }
+
+    public void recordPruned(int count) {
+        pruned.add(count);
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("sent", sent.sum());
+        result.put("failed", failed.sum());
+        result.put("pruned", pruned.sum());
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.event.PushOutboxEnqueuedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * MM_PUSH_OUTBOX 발송 워커
+ * - 주기 실행(재시도 대상 포함) + 적재 트랜잭션 커밋 직후 즉시 실행, 둘 다 pushOutboxExecutor 에서 돈다.
+ * - 한 인스턴스 안에서는 동시에 하나만 돌고, 인스턴스 간에는 SKIP LOCKED 로 나눠 가져간다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PushOutboxWorker {
+
+    private static final int BATCH_SIZE = 200;
+
+    // 한 번 깨어났을 때 최대 처리 배치 수 (한 실행이 발송 스레드를 오래 잡지 않도록)
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    // 처리 끝난 대기 건 정리 시 한 번에 지우는 행 수
+    private static final int PURGE_BATCH_SIZE = 5000;
+
+    private final PushService pushService;
+
+    @Value("${push.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final ReentrantLock running = new ReentrantLock();
+
+    @Async("pushOutboxExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnqueued(PushOutboxEnqueuedEvent event) {
+        drain();
+    }
+
+    // FCM 호출이 다른 @Scheduled 작업을 막지 않도록 발송 풀에서 실행 (스케줄러 스레드는 깨우기만 한다)
+    @Async("pushOutboxExecutor")
+    @Scheduled(fixedDelay = 5000L)
+    public void poll() {
+        drain();
+    }
+
+    /**
+     * 발송 완료/수신 거부/재시도 초과(S/N/F) 건 중 보관 기간이 지난 행 정리
+     */
+    @Scheduled(cron = "0 30 4 * * *")
+    public void purge() {
+        try {
+            int deleted = pushService.purgeOutbox(retentionDays, PURGE_BATCH_SIZE);
+            log.info("푸시 대기열 정리: {}건 (기준 {}일)", deleted, retentionDays);
+        } catch (Exception e) {
+            log.error("푸시 대기열 정리 실패", e);
+        }
+    }
+
+    private void drain() {
+        if (!running.tryLock()) {
+            // 이미 처리 중이면 그 실행이 새 건까지 가져간다.
+            return;
+        }
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                int processed = pushService.processOutbox(BATCH_SIZE);
+                if (processed < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("푸시 대기열 처리 실패", e);
+        } finally {
+            running.unlock();
+        }
+    }
+}
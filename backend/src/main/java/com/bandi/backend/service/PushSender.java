@@ -0,0 +1,15 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PushSendResultDto;
+import com.google.firebase.messaging.Message;
+
+import java.util.List;
+
+/**
+ * 푸시 발송 채널 (push.sender: fcm | fake)
+ * 결과는 요청 메시지와 같은 순서로 반환한다.
+ */
+public interface PushSender {
+
+    List<PushSendResultDto> sendEach(List<Message> messages) throws Exception;
+}
@@ -1,29 +1,98 @@
 package com.bandi.backend.service;
 
-import com.google.firebase.messaging.FirebaseMessaging;
+import com.bandi.backend.dto.PushPayloadDto;
+import com.bandi.backend.dto.PushSendResultDto;
+import com.bandi.backend.dto.PushTargetDto;
+import com.bandi.backend.event.PushOutboxEnqueuedEvent;
 import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.Notification;
 import com.google.firebase.messaging.WebpushConfig;
 import com.google.firebase.messaging.WebpushFcmOptions;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
-import org.springframework.scheduling.annotation.Async;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Service
 public class PushService {
 
+    // FCM sendEach 1회 호출당 최대 메시지 수
+    private static final int FCM_BATCH_SIZE = 500;
+
+    // 발송 대기열 재시도: 30초, 1분, 2분 ... 최대 1시간 간격, 6회 실패 시 F
+    private static final int OUTBOX_MAX_RETRY = 6;
+    private static final long OUTBOX_BACKOFF_BASE_SECONDS = 30;
+    private static final long OUTBOX_BACKOFF_MAX_SECONDS = 60 * 60;
+
+    // 발송 중(P) 상태로 이 시간 넘게 남은 건은 서버가 중간에 내려간 것으로 보고 다시 대기 건으로 돌린다.
+    private static final long OUTBOX_CLAIM_TIMEOUT_SECONDS = 5 * 60;
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final PushTargetCache pushTargetCache;
+    private final PushSender pushSender;
+    private final PushMetrics pushMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 대기열 적재용 (호출한 업무 트랜잭션에 참여, 없으면 새로 시작)
+    private final TransactionTemplate transactionTemplate;
+
+    // 대기열 선점/기록용 (워커 단계별 짧은 트랜잭션)
+    private final TransactionTemplate requiresNewTransaction;
+
+    // 같은 사용자+스레드 알림 묶음 창 (0 이면 묶지 않음)
+    @Value("${push.coalesce.window-seconds:30}")
+    private long coalesceWindowSeconds;
+
+    // 묶음 대상 푸시 유형 (채팅)
+    @Value("${push.coalesce.push-types:CN,BN,GP,SN}")
+    private Set<String> coalescePushTypes;
+
+    public PushService(PushTargetCache pushTargetCache, PushSender pushSender, PushMetrics pushMetrics,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.pushTargetCache = pushTargetCache;
+        this.pushSender = pushSender;
+        this.pushMetrics = pushMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @Transactional
     public void saveToken(String userId, String token, String deviceType) {
         String currentDateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
 
+        // 다른 계정에서 쓰던 토큰이면 이전 소유자 캐시도 무효화
+        @SuppressWarnings("unchecked")
+        List<String> previousOwners = entityManager
+                .createNativeQuery("SELECT USER_ID FROM MM_USER_DEVICE WHERE FCM_TOKEN = :token")
+                .setParameter("token", token)
+                .getResultList();
+
         // 유저가 보내준 DDL 확인: PK가 FCM_TOKEN 임
         String sql = """
                 INSERT INTO MM_USER_DEVICE (FCM_TOKEN, USER_ID, DEVICE_TYPE, LAST_LOGIN_DTIME, INS_DTIME, UPD_DTIME)
@@ -41,73 +110,617 @@ public class PushService {
                 .setParameter("token", token)
                 .setParameter("now", currentDateTime)
                 .executeUpdate();
+
+        Set<String> owners = new LinkedHashSet<>(previousOwners);
+        owners.add(userId);
+        evictTargets(owners);
     }
 
-    @Async
+    /**
+     * 푸시 유형별 수신 설정 변경 (USE_YN: Y/N)
+     */
     @Transactional
+    public void updatePushSetting(String userId, String pushTypeCd, String useYn) {
+        int updated = entityManager.createNativeQuery(
+                "UPDATE MM_USER_PUSH_SETTING SET USE_YN = :useYn WHERE USER_ID = :userId AND PUSH_TYPE_CD = :pushType")
+                .setParameter("useYn", useYn)
+                .setParameter("userId", userId)
+                .setParameter("pushType", pushTypeCd)
+                .executeUpdate();
+        if (updated == 0) {
+            entityManager.createNativeQuery(
+                    "INSERT INTO MM_USER_PUSH_SETTING (USER_ID, PUSH_TYPE_CD, USE_YN) VALUES (:userId, :pushType, :useYn)")
+                    .setParameter("userId", userId)
+                    .setParameter("pushType", pushTypeCd)
+                    .setParameter("useYn", useYn)
+                    .executeUpdate();
+        }
+        evictTargets(List.of(userId));
+    }
+
+    /**
+     * 수신 대상 캐시 무효화 (지금 + 커밋 이후 한 번 더)
+     * 커밋 전에만 지우면 그 사이 워커가 이전 값을 다시 읽어 캐시에 올려 둘 수 있다.
+     */
+    private void evictTargets(Collection<String> userIds) {
+        userIds.forEach(pushTargetCache::evict);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<String> pending = List.copyOf(userIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.forEach(pushTargetCache::evict);
+                }
+            });
+        }
+    }
+
     public void sendPush(String userId, String title, String body, String link, String pushType, String threadId) {
-        // 1. 수신 설정 확인 (MM_USER_PUSH_SETTING)
-        if (!isPushEnabled(userId, pushType)) {
-            System.out.println("DEBUG: Push disabled for user=" + userId + ", type=" + pushType);
+        sendPushToUsers(List.of(userId), PushPayloadDto.builder()
+                .title(title)
+                .body(body)
+                .link(link)
+                .pushType(pushType)
+                .threadId(threadId)
+                .build());
+    }
+
+    /**
+     * 여러 사용자에게 동일한 알림 발송 요청 (채팅방 참여자, 관리자 전원, 클랜 운영진 등)
+     * MM_PUSH_OUTBOX 에 적재만 하고, 실제 발송은 PushOutboxWorker 가 처리한다.
+     * - 호출한 업무 트랜잭션 안에서 적재하므로 업무 데이터와 알림이 함께 커밋/롤백된다. (커밋 직후 서버가 내려가도 유실 없음)
+     *   적재/묶기 SQL 이 실패하면 업무 트랜잭션도 롤백된다.
+     * - 트랜잭션 밖에서 호출되면 적재만 새 트랜잭션으로 실행한다.
+     * - 워커 깨우기(PushOutboxEnqueuedEvent)는 커밋 이후에만 실행된다.
+     */
+    public void sendPushToUsers(Collection<String> userIds, PushPayloadDto payload) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        if (ids.isEmpty())
             return;
+
+        transactionTemplate.executeWithoutResult(status -> insertOutbox(ids, payload));
+    }
+
+    private void insertOutbox(List<String> ids, PushPayloadDto payload) {
+        LocalDateTime now = LocalDateTime.now();
+        String currentDateTime = now.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        boolean coalesce = PushCoalescing.isCoalesced(payload, coalesceWindowSeconds, coalescePushTypes);
+        for (int from = 0; from < ids.size(); from += FCM_BATCH_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + FCM_BATCH_SIZE, ids.size()));
+
+            // 사용자별 발송 예정 시각 (기본: 즉시)
+            Map<String, String> nextTryByUser;
+            if (coalesce) {
+                nextTryByUser = applyCoalescing(chunk, payload, now);
+                if (nextTryByUser.isEmpty())
+                    continue;
+            } else {
+                nextTryByUser = new LinkedHashMap<>();
+                for (String userId : chunk)
+                    nextTryByUser.put(userId, currentDateTime);
+            }
+
+            List<String> users = new ArrayList<>(nextTryByUser.keySet());
+            StringBuilder values = new StringBuilder();
+            for (int i = 0; i < users.size(); i++) {
+                if (i > 0)
+                    values.append(", ");
+                values.append("(:userId").append(i).append(", :nextTry").append(i).append(")");
+            }
+            String sql = """
+                    INSERT INTO MM_PUSH_OUTBOX (USER_ID, PUSH_TITLE, PUSH_BODY, LINK_URL, PUSH_TYPE_CD, THREAD_ID,
+                                               STAT_CD, RETRY_CNT, MERGE_CNT, NEXT_TRY_DTIME, INS_DTIME, UPD_DTIME)
+                    SELECT U.USER_ID, :title, :body, :link, :pushType, :threadId, 'R', 0, 0, U.NEXT_TRY_DTIME, :now, :now
+                    FROM (VALUES %s) AS U(USER_ID, NEXT_TRY_DTIME)
+                    """.formatted(values);
+            Query query = entityManager.createNativeQuery(sql)
+                    .setParameter("title", payload.getTitle())
+                    .setParameter("body", payload.getBody())
+                    .setParameter("link", payload.getLink())
+                    .setParameter("pushType", payload.getPushType())
+                    .setParameter("threadId", payload.getThreadId())
+                    .setParameter("now", currentDateTime);
+            for (int i = 0; i < users.size(); i++) {
+                query.setParameter("userId" + i, users.get(i));
+                query.setParameter("nextTry" + i, nextTryByUser.get(users.get(i)));
+            }
+            query.executeUpdate();
         }
 
-        // 2. MM_USER_DEVICE에서 해당 사용자의 토큰 조회
-        String sql = "SELECT FCM_TOKEN FROM MM_USER_DEVICE WHERE USER_ID = :userId";
+        // 적재 트랜잭션 커밋 후 워커를 바로 깨워 스케줄 주기만큼 지연되지 않도록 한다. (PushOutboxWorker AFTER_COMMIT)
+        eventPublisher.publishEvent(new PushOutboxEnqueuedEvent(ids.size()));
+    }
+
+    /**
+     * 사용자+스레드 단위 알림 묶기 (같은 푸시 유형끼리만)
+     * - 묶음 대기 중인 알림이 있으면 그 건에 합치고(MERGE_CNT + 1, 본문은 최신 메시지) 새 행은 만들지 않는다.
+     * - 창(window) 안에 이미 보낸(또는 보낼) 첫 시도 알림이 있으면 창이 끝나는 시각으로 미뤄 적재한다.
+     *   재시도 백오프로 미뤄진 건은 기준으로 삼지 않는다.
+     * - 둘 다 없으면 즉시 발송
+     *
+     * @return 새로 적재할 사용자 -> 발송 예정 시각
+     */
+    private Map<String, String> applyCoalescing(List<String> userIds, PushPayloadDto payload, LocalDateTime now) {
+        String currentDateTime = now.format(PushCoalescing.DTIME_FORMAT);
+
+        // 1. 아직 창이 닫히지 않은(발송 예정 시각이 미래인) 묶음 대기 건에 합치기
         @SuppressWarnings("unchecked")
-        java.util.List<String> tokens = entityManager.createNativeQuery(sql)
-                .setParameter("userId", userId)
+        List<String> merged = entityManager.createNativeQuery("""
+                UPDATE MM_PUSH_OUTBOX
+                SET MERGE_CNT = MERGE_CNT + 1,
+                    PUSH_TITLE = :title,
+                    PUSH_BODY = :body,
+                    UPD_DTIME = :now
+                WHERE STAT_CD = 'R'
+                  AND RETRY_CNT = 0
+                  AND THREAD_ID = :threadId
+                  AND PUSH_TYPE_CD = :pushType
+                  AND NEXT_TRY_DTIME > :now
+                  AND USER_ID IN (:userIds)
+                RETURNING USER_ID
+                """)
+                .setParameter("title", payload.getTitle())
+                .setParameter("body", payload.getBody())
+                .setParameter("threadId", payload.getThreadId())
+                .setParameter("pushType", payload.getPushType())
+                .setParameter("now", currentDateTime)
+                .setParameter("userIds", userIds)
                 .getResultList();
 
-        // 3. 알림 발송 전 로그 먼저 생성 (사용자당 1건만 생성)
-        Long logNo = savePushLog(userId, title, body, link, "00"); // 00:발송시도
-        if (logNo == null)
-            return;
+        List<String> remaining = new ArrayList<>(userIds);
+        remaining.removeAll(new HashSet<>(merged));
+        if (remaining.isEmpty())
+            return new LinkedHashMap<>();
 
-        boolean isAnySuccess = false;
+        // 2. 창 안의 첫 시도 건(대기/발송중) 또는 발송 완료 건 중 가장 늦은 발송 시각
+        String windowStart = now.minusSeconds(coalesceWindowSeconds).format(PushCoalescing.DTIME_FORMAT);
+        @SuppressWarnings("unchecked")
+        List<Object[]> recent = entityManager.createNativeQuery("""
+                SELECT USER_ID, MAX(NEXT_TRY_DTIME)
+                FROM MM_PUSH_OUTBOX
+                WHERE THREAD_ID = :threadId
+                  AND PUSH_TYPE_CD = :pushType
+                  AND USER_ID IN (:userIds)
+                  AND NEXT_TRY_DTIME >= :windowStart
+                  AND (RETRY_CNT = 0 OR STAT_CD = 'S')
+                GROUP BY USER_ID
+                """)
+                .setParameter("threadId", payload.getThreadId())
+                .setParameter("pushType", payload.getPushType())
+                .setParameter("userIds", remaining)
+                .setParameter("windowStart", windowStart)
+                .getResultList();
+        Map<String, String> lastTryByUser = new HashMap<>();
+        for (Object[] row : recent) {
+            lastTryByUser.put((String) row[0], (String) row[1]);
+        }
+        return PushCoalescing.schedule(remaining, lastTryByUser, now, coalesceWindowSeconds);
+    }
 
-        for (String token : tokens) {
-            try {
-                Message message = Message.builder()
-                        .setNotification(Notification.builder()
-                                .setTitle(title)
-                                .setBody(body)
-                                .build())
-                        .setToken(token)
-                        .putData("click_action", link)
-                        .putData("logNo", String.valueOf(logNo))
-                        .setAndroidConfig(com.google.firebase.messaging.AndroidConfig.builder()
-                                .setNotification(com.google.firebase.messaging.AndroidNotification.builder()
-                                        .setTag(threadId) // Android 그룹화 (동일 태그 시 묶임)
-                                        .build())
-                                .build())
-                        .setApnsConfig(com.google.firebase.messaging.ApnsConfig.builder()
-                                .setAps(com.google.firebase.messaging.Aps.builder()
-                                        .setThreadId(threadId) // iOS 그룹화
-                                        .build())
-                                .build())
-                        .setWebpushConfig(WebpushConfig.builder()
-                                .setFcmOptions(WebpushFcmOptions.withLink(link))
-                                .build())
-                        .build();
+    /**
+     * 발송 대기열 처리 (PushOutboxWorker 에서 호출)
+     * 1. 선점: 짧은 트랜잭션에서 대기 건을 FOR UPDATE SKIP LOCKED 로 골라 P(발송중)로 바꾼다.
+     *    여러 인스턴스가 같은 건을 중복 발송하지 않고, FCM 호출 동안 행 잠금/커넥션을 잡고 있지 않는다.
+     * 2. 발송: 같은 알림끼리 묶어 사용자당 로그 1건 + sendEach 500건 단위로 발송 (트랜잭션 밖)
+     * 3. 기록: 대기열/로그 상태와 만료 토큰 삭제를 짧은 트랜잭션 1회로 반영
+     * - 실패 건은 지수 백오프로 다음 시도 시각을 미루고, 최대 재시도 초과 시 F 처리
+     * - 발송 도중 서버가 내려가 P 로 남은 건은 OUTBOX_CLAIM_TIMEOUT_SECONDS 이후 다시 대기 건이 된다. (중복 발송 가능)
+     *
+     * @return 이번에 처리한 대기 건 수
+     */
+    public int processOutbox(int limit) {
+        List<OutboxRow> rows = requiresNewTransaction.execute(status -> claimOutbox(limit));
+        if (rows == null || rows.isEmpty())
+            return 0;
 
-                FirebaseMessaging.getInstance().send(message);
-                isAnySuccess = true;
+        // 1. 같은 알림(제목/본문/링크/유형/스레드)끼리 묶고 수신 대상 확인
+        Map<PushPayloadDto, List<OutboxRow>> groups = new LinkedHashMap<>();
+        for (OutboxRow row : rows) {
+            groups.computeIfAbsent(row.payload, k -> new ArrayList<>()).add(row);
+        }
+        List<OutboxGroup> sendable = new ArrayList<>();
+        for (Map.Entry<PushPayloadDto, List<OutboxRow>> group : groups.entrySet()) {
+            OutboxGroup outboxGroup = prepareOutboxGroup(group.getKey(), group.getValue());
+            if (outboxGroup != null)
+                sendable.add(outboxGroup);
+        }
+
+        // 2. 첫 시도인 사용자만 로그 생성 (00:발송시도), 재시도는 기존 로그 재사용
+        try {
+            requiresNewTransaction.executeWithoutResult(status -> sendable.forEach(this::createPushLogs));
+        } catch (RuntimeException e) {
+            log.warn("푸시 발송 로그 생성 실패, 로그 없이 발송", e);
+            rows.forEach(row -> row.pushLogNo = row.savedPushLogNo);
+        }
+
+        // 3. 발송 (트랜잭션 밖)
+        List<Long> successLogNos = new ArrayList<>();
+        List<Long> failedLogNos = new ArrayList<>();
+        Map<String, String> deadTokens = new LinkedHashMap<>(); // token -> userId
+        for (OutboxGroup group : sendable) {
+            deliverOutboxGroup(group, successLogNos, failedLogNos, deadTokens);
+        }
+
+        // 4. 대기열/로그 상태 반영
+        String currentDateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        requiresNewTransaction.executeWithoutResult(status -> {
+            pruneTokens(deadTokens);
+            updateOutboxRows(rows, currentDateTime);
+            updatePushLogStat(successLogNos, "01");
+            updatePushLogStat(failedLogNos, "02");
+        });
+        return rows.size();
+    }
+
+    /**
+     * 발송할 대기 건을 P(발송중)로 바꾸며 가져온다.
+     * 발송 중 서버가 내려가 오래 P 로 남은 건은 먼저 대기(R)로 되돌린다.
+     */
+    private List<OutboxRow> claimOutbox(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+        String currentDateTime = now.format(formatter);
+
+        entityManager.createNativeQuery("""
+                UPDATE MM_PUSH_OUTBOX
+                SET STAT_CD = 'R',
+                    UPD_DTIME = :now
+                WHERE STAT_CD = 'P'
+                  AND UPD_DTIME < :staleBefore
+                """)
+                .setParameter("now", currentDateTime)
+                .setParameter("staleBefore", now.minusSeconds(OUTBOX_CLAIM_TIMEOUT_SECONDS).format(formatter))
+                .executeUpdate();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> claimed = entityManager.createNativeQuery("""
+                UPDATE MM_PUSH_OUTBOX O
+                SET STAT_CD = 'P',
+                    UPD_DTIME = :now
+                FROM (
+                    SELECT OUTBOX_NO
+                    FROM MM_PUSH_OUTBOX
+                    WHERE STAT_CD = 'R'
+                      AND NEXT_TRY_DTIME <= :now
+                    ORDER BY NEXT_TRY_DTIME, OUTBOX_NO
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                ) C
+                WHERE O.OUTBOX_NO = C.OUTBOX_NO
+                RETURNING O.OUTBOX_NO, O.USER_ID, O.PUSH_TITLE, O.PUSH_BODY, O.LINK_URL, O.PUSH_TYPE_CD, O.THREAD_ID,
+                          O.RETRY_CNT, O.PUSH_LOG_NO, O.MERGE_CNT
+                """)
+                .setParameter("now", currentDateTime)
+                .setParameter("limit", limit)
+                .getResultList();
+        List<OutboxRow> rows = new ArrayList<>(claimed.size());
+        for (Object[] row : claimed) {
+            rows.add(new OutboxRow(row));
+        }
+        return rows;
+    }
+
+    /**
+     * 같은 알림 묶음 1개의 발송 대상 정리
+     * 중복 적재/수신 거부/기기 없음 건은 N 처리하고, 보낼 사용자가 없으면 null
+     */
+    private OutboxGroup prepareOutboxGroup(PushPayloadDto payload, List<OutboxRow> rows) {
+        Map<String, OutboxRow> rowByUser = new LinkedHashMap<>();
+        for (OutboxRow row : rows) {
+            OutboxRow duplicate = rowByUser.putIfAbsent(row.userId, row);
+            if (duplicate != null) {
+                // 같은 사용자에게 동일 알림이 중복 적재된 경우 한 번만 발송
+                row.statCd = "N";
+            }
+        }
+
+        // 수신 설정/토큰 조회 (캐시 경유)
+        Map<String, List<String>> tokensByUser = new LinkedHashMap<>();
+        for (PushTargetDto target : findPushTargets(rowByUser.keySet(), payload.getPushType())) {
+            tokensByUser.computeIfAbsent(target.getUserId(), k -> new ArrayList<>()).add(target.getToken());
+        }
+        rowByUser.values().removeIf(row -> {
+            if (!tokensByUser.containsKey(row.userId)) {
+                row.statCd = "N"; // 수신 거부 또는 등록된 기기 없음
+                return true;
+            }
+            return false;
+        });
+        return rowByUser.isEmpty() ? null : new OutboxGroup(payload, rowByUser, tokensByUser);
+    }
+
+    private void createPushLogs(OutboxGroup group) {
+        List<String> needLog = new ArrayList<>();
+        for (OutboxRow row : group.rowByUser.values()) {
+            if (row.pushLogNo == null)
+                needLog.add(row.userId);
+        }
+        Map<String, Long> newLogNos = savePushLogs(needLog, group.payload);
+        for (OutboxRow row : group.rowByUser.values()) {
+            if (row.pushLogNo == null)
+                row.pushLogNo = newLogNos.get(row.userId);
+        }
+    }
+
+    private void deliverOutboxGroup(OutboxGroup group, List<Long> successLogNos, List<Long> failedLogNos,
+            Map<String, String> deadTokens) {
+        Set<String> retryableUsers = new HashSet<>();
+        Map<String, String> errors = deliver(group.tokensByUser, group.payload, group.rowByUser, retryableUsers,
+                deadTokens);
+        for (OutboxRow row : group.rowByUser.values()) {
+            if (!errors.containsKey(row.userId)) {
+                row.statCd = "S";
+                if (row.pushLogNo != null)
+                    successLogNos.add(row.pushLogNo);
+                continue;
+            }
+            row.retryCnt++;
+            row.lastErrMsg = errors.get(row.userId);
+            // 모든 토큰이 만료/무효로 삭제된 경우 재시도하지 않는다.
+            if (row.retryCnt >= OUTBOX_MAX_RETRY || !retryableUsers.contains(row.userId)) {
+                row.statCd = "F";
+                if (row.pushLogNo != null)
+                    failedLogNos.add(row.pushLogNo);
+            } else {
+                row.statCd = "R";
+                row.nextTryDtime = LocalDateTime.now()
+                        .plusSeconds(Math.min(OUTBOX_BACKOFF_BASE_SECONDS << (row.retryCnt - 1), OUTBOX_BACKOFF_MAX_SECONDS))
+                        .format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+            }
+        }
+    }
+
+    /**
+     * 사용자별 토큰을 sendEach 500건 단위로 발송
+     *
+     * 만료/무효 토큰(UNREGISTERED, INVALID_ARGUMENT)은 deadTokens 에 모아 결과 기록 시 MM_USER_DEVICE 에서 일괄 삭제한다.
+     *
+     * @param retryableUsers 재시도할 만한 실패(일시 오류)가 있었던 사용자가 담긴다.
+     * @param deadTokens     만료/무효 토큰 -> 사용자가 담긴다.
+     * @return 토큰이 하나도 성공하지 못한 사용자 -> 마지막 오류 메시지
+     */
+    private Map<String, String> deliver(Map<String, List<String>> tokensByUser, PushPayloadDto payload,
+            Map<String, OutboxRow> rowByUser, Set<String> retryableUsers, Map<String, String> deadTokens) {
+        List<Message> messages = new ArrayList<>();
+        List<String> messageUsers = new ArrayList<>();
+        List<String> messageTokens = new ArrayList<>();
+        for (OutboxRow row : rowByUser.values()) {
+            for (String token : tokensByUser.get(row.userId)) {
+                messages.add(buildMessage(token, payload.getTitle(), payload.getBody(), payload.getLink(),
+                        payload.getThreadId(), row.pushLogNo));
+                messageUsers.add(row.userId);
+                messageTokens.add(token);
+            }
+        }
+
+        Set<String> successUsers = new HashSet<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int from = 0; from < messages.size(); from += FCM_BATCH_SIZE) {
+            int to = Math.min(from + FCM_BATCH_SIZE, messages.size());
+            try {
+                List<PushSendResultDto> results = pushSender.sendEach(messages.subList(from, to));
+                for (int i = 0; i < results.size(); i++) {
+                    String userId = messageUsers.get(from + i);
+                    PushSendResultDto result = results.get(i);
+                    if (result.isSuccess()) {
+                        successUsers.add(userId);
+                        pushMetrics.recordSent();
+                        continue;
+                    }
+                    pushMetrics.recordFailed();
+                    errors.put(userId, result.getErrorCode() + ": " + result.getErrorMessage());
+                    if (isDeadToken(result)) {
+                        deadTokens.put(messageTokens.get(from + i), userId);
+                    } else {
+                        log.warn("FCM 발송 실패 (token={}): {}", messageTokens.get(from + i), result.getErrorMessage());
+                        retryableUsers.add(userId);
+                    }
+                }
             } catch (Exception e) {
-                System.err.println("ERROR: FCM send failed for token: " + token);
-                System.err.println("Cause: " + e.getMessage());
-                // 개별 토큰 실패는 로그에만 남기고 계속 진행
+                log.error("FCM 일괄 발송 실패 ({}건)", to - from, e);
+                for (int i = from; i < to; i++) {
+                    errors.put(messageUsers.get(i), e.getMessage());
+                    retryableUsers.add(messageUsers.get(i));
+                    pushMetrics.recordFailed();
+                }
             }
         }
 
-        // 4. 결과 업데이트 (하나라도 성공했다면 01, 모두 실패했다면 02)
-        if (isAnySuccess) {
-            updatePushLogStat(logNo, "01");
-        } else {
-            updatePushLogStat(logNo, "02");
+        // 토큰 중 하나라도 성공했다면 성공으로 본다.
+        errors.keySet().removeAll(successUsers);
+        return errors;
+    }
+
+    /**
+     * 더 이상 유효하지 않은 토큰 판별
+     * INVALID_ARGUMENT 는 메시지 자체 오류일 수도 있어 토큰 형식 오류인 경우만 해당
+     */
+    private static boolean isDeadToken(PushSendResultDto result) {
+        if ("UNREGISTERED".equals(result.getErrorCode())) {
+            return true;
+        }
+        return "INVALID_ARGUMENT".equals(result.getErrorCode())
+                && result.getErrorMessage() != null
+                && result.getErrorMessage().toLowerCase().contains("registration token");
+    }
+
+    private void pruneTokens(Map<String, String> deadTokens) {
+        if (deadTokens.isEmpty())
+            return;
+        List<String> tokens = new ArrayList<>(deadTokens.keySet());
+        int deleted = 0;
+        for (int from = 0; from < tokens.size(); from += FCM_BATCH_SIZE) {
+            deleted += entityManager.createNativeQuery("DELETE FROM MM_USER_DEVICE WHERE FCM_TOKEN IN (:tokens)")
+                    .setParameter("tokens", tokens.subList(from, Math.min(from + FCM_BATCH_SIZE, tokens.size())))
+                    .executeUpdate();
+        }
+        evictTargets(new HashSet<>(deadTokens.values()));
+        pushMetrics.recordPruned(deleted);
+        log.info("만료/무효 FCM 토큰 {}건 삭제", deleted);
+    }
+
+    /**
+     * 마지막 로그인 이후 idleDays 일 넘게 갱신되지 않은 토큰 삭제
+     *
+     * @return 삭제한 토큰 수
+     */
+    @Transactional
+    public int expireIdleTokens(int idleDays) {
+        String cutoff = LocalDateTime.now().minusDays(idleDays).format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        @SuppressWarnings("unchecked")
+        List<String> owners = entityManager.createNativeQuery(
+                "DELETE FROM MM_USER_DEVICE WHERE LAST_LOGIN_DTIME < :cutoff RETURNING USER_ID")
+                .setParameter("cutoff", cutoff)
+                .getResultList();
+        new HashSet<>(owners).forEach(pushTargetCache::evict);
+        pushMetrics.recordPruned(owners.size());
+        return owners.size();
+    }
+
+    /**
+     * 처리가 끝난(S/N/F) 대기 건 중 retentionDays 일이 지난 행 삭제
+     * 한 번에 batchSize 건씩 짧은 트랜잭션으로 나눠 지워 대기열 적재/발송과 잠금 경합을 줄인다.
+     *
+     * @return 삭제한 행 수
+     */
+    public int purgeOutbox(int retentionDays, int batchSize) {
+        String cutoff = LocalDateTime.now().minusDays(retentionDays)
+                .format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        int total = 0;
+        while (true) {
+            Integer deleted = requiresNewTransaction.execute(status -> entityManager.createNativeQuery("""
+                    DELETE FROM MM_PUSH_OUTBOX
+                    WHERE OUTBOX_NO IN (
+                        SELECT OUTBOX_NO
+                        FROM MM_PUSH_OUTBOX
+                        WHERE STAT_CD IN ('S', 'N', 'F')
+                          AND UPD_DTIME < :cutoff
+                        LIMIT :limit
+                    )
+                    """)
+                    .setParameter("cutoff", cutoff)
+                    .setParameter("limit", batchSize)
+                    .executeUpdate());
+            total += deleted;
+            if (deleted < batchSize)
+                return total;
+        }
+    }
+
+    /**
+     * 처리한 대기 건의 상태/재시도 정보를 VALUES 조인 UPDATE 1회로 반영
+     */
+    private void updateOutboxRows(List<OutboxRow> rows, String now) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0)
+                values.append(", ");
+            values.append("(CAST(:no").append(i).append(" AS BIGINT), CAST(:stat").append(i)
+                    .append(" AS VARCHAR), CAST(:retry").append(i).append(" AS INTEGER), CAST(:next").append(i)
+                    .append(" AS VARCHAR), CAST(:log").append(i).append(" AS BIGINT), CAST(:err").append(i)
+                    .append(" AS VARCHAR))");
+        }
+        String sql = """
+                UPDATE MM_PUSH_OUTBOX O
+                SET STAT_CD = V.STAT_CD,
+                    RETRY_CNT = V.RETRY_CNT,
+                    NEXT_TRY_DTIME = V.NEXT_TRY_DTIME,
+                    PUSH_LOG_NO = V.PUSH_LOG_NO,
+                    LAST_ERR_MSG = V.LAST_ERR_MSG,
+                    UPD_DTIME = :now
+                FROM (VALUES %s) AS V(OUTBOX_NO, STAT_CD, RETRY_CNT, NEXT_TRY_DTIME, PUSH_LOG_NO, LAST_ERR_MSG)
+                WHERE O.OUTBOX_NO = V.OUTBOX_NO
+                """.formatted(values);
+        Query query = entityManager.createNativeQuery(sql).setParameter("now", now);
+        for (int i = 0; i < rows.size(); i++) {
+            OutboxRow row = rows.get(i);
+            query.setParameter("no" + i, row.outboxNo)
+                    .setParameter("stat" + i, row.statCd)
+                    .setParameter("retry" + i, row.retryCnt)
+                    .setParameter("next" + i, row.nextTryDtime)
+                    .setParameter("log" + i, row.pushLogNo)
+                    .setParameter("err" + i, row.lastErrMsg != null && row.lastErrMsg.length() > 500
+                            ? row.lastErrMsg.substring(0, 500)
+                            : row.lastErrMsg);
+        }
+        query.executeUpdate();
+    }
+
+    private static String valuesPlaceholders(String prefix, int size) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                values.append(", ");
+            values.append("(:").append(prefix).append(i).append(")");
+        }
+        return values.toString();
+    }
+
+    /**
+     * MM_PUSH_OUTBOX 1행
+     */
+    private static class OutboxRow {
+        private final Long outboxNo;
+        private final String userId;
+        private final PushPayloadDto payload;
+        private int retryCnt;
+        private Long pushLogNo;
+        private final Long savedPushLogNo; // 선점 시점의 PUSH_LOG_NO (로그 생성 실패 시 되돌림)
+        private String statCd = "R";
+        private String nextTryDtime;
+        private String lastErrMsg;
+
+        OutboxRow(Object[] row) {
+            this.outboxNo = ((Number) row[0]).longValue();
+            this.userId = (String) row[1];
+            int mergeCnt = ((Number) row[9]).intValue();
+            this.payload = PushPayloadDto.builder()
+                    .title((String) row[2])
+                    // 묶인 알림은 "새 메시지 N개" 요약으로 발송
+                    .body(mergeCnt > 0 ? "새 메시지 " + (mergeCnt + 1) + "개" : (String) row[3])
+                    .link((String) row[4])
+                    .pushType((String) row[5])
+                    .threadId((String) row[6])
+                    .build();
+            this.retryCnt = ((Number) row[7]).intValue();
+            this.pushLogNo = row[8] != null ? ((Number) row[8]).longValue() : null;
+            this.savedPushLogNo = this.pushLogNo;
+            this.nextTryDtime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
         }
     }
 
+    /**
+     * 같은 알림 묶음 1개 (발송 대상 사용자와 토큰)
+     */
+    private record OutboxGroup(PushPayloadDto payload, Map<String, OutboxRow> rowByUser,
+            Map<String, List<String>> tokensByUser) {
+    }
+
+    private Message buildMessage(String token, String title, String body, String link, String threadId, Long logNo) {
+        return Message.builder()
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .setToken(token)
+                .putData("click_action", link)
+                .putData("logNo", String.valueOf(logNo))
+                .setAndroidConfig(com.google.firebase.messaging.AndroidConfig.builder()
+                        .setNotification(com.google.firebase.messaging.AndroidNotification.builder()
+                                .setTag(threadId) // Android 그룹화 (동일 태그 시 묶임)
+                                .build())
+                        .build())
+                .setApnsConfig(com.google.firebase.messaging.ApnsConfig.builder()
+                        .setAps(com.google.firebase.messaging.Aps.builder()
+                                .setThreadId(threadId) // iOS 그룹화
+                                .build())
+                        .build())
+                .setWebpushConfig(WebpushConfig.builder()
+                        .setFcmOptions(WebpushFcmOptions.withLink(link))
+                        .build())
+                .build();
+    }
+
     @Transactional
     public void updateReadStatus(Long pushLogNo) {
         String currentDateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
@@ -118,56 +731,66 @@ public class PushService {
                 .executeUpdate();
     }
 
-    private void updatePushLogStat(Long logNo, String stat) {
+    private void updatePushLogStat(Collection<Long> logNos, String stat) {
+        if (logNos.isEmpty())
+            return;
         try {
-            String sql = "UPDATE MM_PUSH_LOG SET SEND_STAT_CD = :stat WHERE PUSH_LOG_NO = :logNo";
+            String sql = "UPDATE MM_PUSH_LOG SET SEND_STAT_CD = :stat WHERE PUSH_LOG_NO IN (:logNos)";
             entityManager.createNativeQuery(sql)
                     .setParameter("stat", stat)
-                    .setParameter("logNo", logNo)
+                    .setParameter("logNos", logNos)
                     .executeUpdate();
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("푸시 발송 로그 상태 갱신 실패 (stat={}, {}건)", stat, logNos.size(), e);
         }
     }
 
-    private boolean isPushEnabled(String userId, String pushType) {
-        try {
-            String sql = "SELECT USE_YN FROM MM_USER_PUSH_SETTING WHERE USER_ID = :userId AND PUSH_TYPE_CD = :pushType";
-            Object result = entityManager.createNativeQuery(sql)
-                    .setParameter("userId", userId)
-                    .setParameter("pushType", pushType)
-                    .getSingleResult();
-            return "Y".equals(result);
-        } catch (Exception e) {
-            // 설정이 없으면 기본적으로 수신한다고 가정(Y)하거나 정책에 따라 변경 가능
-            return true;
-        }
+    /**
+     * 대상 사용자 중 수신 설정이 켜진 사용자의 FCM 토큰 조회 (캐시 경유)
+     * (설정이 없으면 기본적으로 수신한다고 가정(Y))
+     */
+    private List<PushTargetDto> findPushTargets(Collection<String> userIds, String pushType) {
+        if (userIds.isEmpty())
+            return List.of();
+        return pushTargetCache.getTargets(userIds, pushType);
     }
 
-    private Long savePushLog(String userId, String title, String body, String link, String stat) {
+    /**
+     * 사용자별 발송 로그를 다건 INSERT 1회로 생성하고 userId -> PUSH_LOG_NO 를 반환
+     */
+    private Map<String, Long> savePushLogs(Collection<String> userIds, PushPayloadDto payload) {
+        Map<String, Long> logNoByUser = new LinkedHashMap<>();
+        if (userIds.isEmpty())
+            return logNoByUser;
         try {
             String currentDateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
             // DDL 기준 컬럼명: USER_ID, PUSH_TITLE, PUSH_BODY, LINK_URL, READ_YN, SEND_STAT_CD,
             // INS_DTIME
-            // BIGSERIAL인 PUSH_LOG_NO를 사용하기 위해 NativeQuery로 ID를 가져옵니다.
+            // BIGSERIAL인 PUSH_LOG_NO를 사용하기 위해 RETURNING 으로 ID를 가져옵니다.
             String sql = """
                     INSERT INTO MM_PUSH_LOG (USER_ID, PUSH_TITLE, PUSH_BODY, LINK_URL, READ_YN, SEND_STAT_CD, INS_DTIME)
-                    VALUES (:userId, :title, :body, :link, 'N', :stat, :now)
-                    RETURNING PUSH_LOG_NO
-                    """;
-            Object result = entityManager.createNativeQuery(sql)
-                    .setParameter("userId", userId)
-                    .setParameter("title", title)
-                    .setParameter("body", body)
-                    .setParameter("link", link)
-                    .setParameter("stat", stat)
-                    .setParameter("now", currentDateTime)
-                    .getSingleResult();
-            return ((Number) result).longValue();
+                    SELECT U.USER_ID, :title, :body, :link, 'N', '00', :now
+                    FROM (VALUES %s) AS U(USER_ID)
+                    RETURNING PUSH_LOG_NO, USER_ID
+                    """.formatted(valuesPlaceholders("userId", userIds.size()));
+            Query query = entityManager.createNativeQuery(sql)
+                    .setParameter("title", payload.getTitle())
+                    .setParameter("body", payload.getBody())
+                    .setParameter("link", payload.getLink())
+                    .setParameter("now", currentDateTime);
+            int i = 0;
+            for (String userId : userIds) {
+                query.setParameter("userId" + i++, userId);
+            }
+
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = query.getResultList();
+            for (Object[] row : rows) {
+                logNoByUser.put((String) row[1], ((Number) row[0]).longValue());
+            }
         } catch (Exception e) {
-            System.err.println("WARNING: Failed to save push log to MM_PUSH_LOG. Check if table schema matches.");
-            e.printStackTrace();
-            return null;
+            log.error("푸시 발송 로그(MM_PUSH_LOG) 저장 실패 ({}명)", userIds.size(), e);
         }
+        return logNoByUser;
     }
 }
@@ -0,0 +1,162 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PushTargetDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 푸시 수신 설정 / FCM 토큰 메모리 캐시
+ * - 미적재 사용자는 IN 조회로 한 번에 적재 (설정/토큰 각 1회)
+ * - 토큰 저장, 수신 설정 변경 시 해당 사용자 무효화
+ * - TTL 경과 또는 최대 건수 초과 시 제거
+ */
+@Slf4j
+@Component
+public class PushTargetCache {
+
+    private static final long ENTRY_TTL_MILLIS = 10 * 60 * 1000L;
+
+    private static final int MAX_ENTRIES = 20_000;
+
+    // IN 조회 1회당 최대 사용자 수
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private static class Entry {
+        // 수신 거부(USE_YN = 'N')한 푸시 유형 (행이 없으면 수신으로 간주)
+        private final Set<String> disabledTypes;
+        private final List<String> tokens;
+        private final long loadedAt;
+
+        Entry(Set<String> disabledTypes, List<String> tokens) {
+            this.disabledTypes = disabledTypes;
+            this.tokens = tokens;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        boolean isExpired(long now) {
+            return now - loadedAt > ENTRY_TTL_MILLIS;
+        }
+    }
+
+    /**
+     * 대상 사용자 중 해당 유형 수신이 켜진 사용자의 토큰 목록
+     */
+    public List<PushTargetDto> getTargets(Collection<String> userIds, String pushType) {
+        long now = System.currentTimeMillis();
+        Map<String, Entry> found = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            Entry entry = entries.get(userId);
+            if (entry != null && !entry.isExpired(now)) {
+                found.put(userId, entry);
+            } else {
+                misses.add(userId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<String, Entry> loaded = load(misses);
+            found.putAll(loaded);
+            entries.putAll(loaded);
+            trimToSize();
+        }
+
+        List<PushTargetDto> targets = new ArrayList<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            Entry entry = found.get(userId);
+            if (entry == null || entry.disabledTypes.contains(pushType)) {
+                continue;
+            }
+            for (String token : entry.tokens) {
+                targets.add(new PushTargetDto(userId, token));
+            }
+        }
+        return targets;
+    }
+
+    public void evict(String userId) {
+        if (userId != null) {
+            entries.remove(userId);
+        }
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * 최대 건수 초과 시 만료 항목부터, 그래도 넘치면 오래 적재된 순으로 제거
+     */
+    private void trimToSize() {
+        if (entries.size() <= MAX_ENTRIES) {
+            return;
+        }
+        purgeExpired();
+        int overflow = entries.size() - MAX_ENTRIES;
+        if (overflow <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted((a, b) -> Long.compare(a.getValue().loadedAt, b.getValue().loadedAt))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    private Map<String, Entry> load(Set<String> userIds) {
+        Map<String, Set<String>> disabledByUser = new HashMap<>();
+        Map<String, List<String>> tokensByUser = new HashMap<>();
+
+        List<String> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size()));
+
+            @SuppressWarnings("unchecked")
+            List<Object[]> settings = entityManager.createNativeQuery(
+                    "SELECT USER_ID, PUSH_TYPE_CD FROM MM_USER_PUSH_SETTING WHERE USER_ID IN (:userIds) AND USE_YN = 'N'")
+                    .setParameter("userIds", chunk)
+                    .getResultList();
+            for (Object[] row : settings) {
+                disabledByUser.computeIfAbsent((String) row[0], k -> new HashSet<>()).add((String) row[1]);
+            }
+
+            @SuppressWarnings("unchecked")
+            List<Object[]> devices = entityManager.createNativeQuery(
+                    "SELECT USER_ID, FCM_TOKEN FROM MM_USER_DEVICE WHERE USER_ID IN (:userIds)")
+                    .setParameter("userIds", chunk)
+                    .getResultList();
+            for (Object[] row : devices) {
+                tokensByUser.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+
+        Map<String, Entry> loaded = new HashMap<>();
+        for (String userId : userIds) {
+            loaded.put(userId, new Entry(
+                    disabledByUser.getOrDefault(userId, Set.of()),
+                    List.copyOf(tokensByUser.getOrDefault(userId, List.of()))));
+        }
+        log.debug("푸시 대상 캐시 적재: users={}", loaded.size());
+        return loaded;
+    }
+}
@@ -0,0 +1,31 @@
+package com.bandi.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 장기간 로그인하지 않은 기기의 FCM 토큰 정리 (매일 새벽 4시)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PushTokenCleanupJob {
+
+    private final PushService pushService;
+
+    @Value("${push.token.idle-days:90}")
+    private int idleDays;
+
+    @Scheduled(cron = "0 0 4 * * *")
+    public void expireIdleTokens() {
+        try {
+            int deleted = pushService.expireIdleTokens(idleDays);
+            log.info("유휴 FCM 토큰 정리: {}건 (기준 {}일)", deleted, idleDays);
+        } catch (Exception e) {
+            log.error("유휴 FCM 토큰 정리 실패", e);
+        }
+    }
+}
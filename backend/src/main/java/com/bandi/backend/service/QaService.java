@@ -1,5 +1,6 @@
 package com.bandi.backend.service;
 
+import com.bandi.backend.dto.PushPayloadDto;
 import com.bandi.backend.dto.QaRequestDto;
 import com.bandi.backend.dto.QaResponseDto;
 import com.bandi.backend.entity.member.MmQa;
@@ -58,17 +59,16 @@ public class QaService {
                         .map(u -> (u.getUserNickNm() != null && !u.getUserNickNm().isEmpty()) ? u.getUserNickNm() : u.getUserNm())
                         .orElse(requestDto.getUserId());
 
-                java.util.List<com.bandi.backend.entity.member.User> admins = userRepository.findByAdminYn("Y");
-                for (com.bandi.backend.entity.member.User admin : admins) {
-                    pushService.sendPush(
-                            admin.getUserId(),
-                            userNickNm,
-                            "고객센터 문의 요청이 왔습니다.",
-                            "/main/admin/customer-center", // Assuming admin path
-                            "ADMIN_QA_REQUEST",
-                            "QA_ADMIN"
-                    );
-                }
+                java.util.List<String> adminIds = userRepository.findByAdminYn("Y").stream()
+                        .map(com.bandi.backend.entity.member.User::getUserId)
+                        .toList();
+                pushService.sendPushToUsers(adminIds, PushPayloadDto.builder()
+                        .title(userNickNm)
+                        .body("고객센터 문의 요청이 왔습니다.")
+                        .link("/main/admin/customer-center") // Assuming admin path
+                        .pushType("ADMIN_QA_REQUEST")
+                        .threadId("QA_ADMIN")
+                        .build());
             } catch (Exception e) {
                 log.error("Failed to send admin push notification for QA: {}", e.getMessage());
             }
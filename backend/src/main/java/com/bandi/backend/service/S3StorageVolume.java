@@ -0,0 +1,229 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.config.StorageProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+
+/**
+ * S3 호환 버킷 볼륨 (AWS S3, MinIO 등)
+ * SDK 없이 JDK HttpClient + Signature V4 로 PUT/GET/HEAD/DELETE 만 사용한다.
+ * 객체 키는 표준 상대 경로에서 앞의 "/" 를 뗀 값 (shorts/202608/shorts_...mp4), 요청은 path-style.
+ */
+@Slf4j
+public class S3StorageVolume implements StorageVolume {
+
+    private static final String EMPTY_PAYLOAD_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    private static final DateTimeFormatter AMZ_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final String id;
+    private final String endpoint;
+    private final String region;
+    private final String bucket;
+    private final String accessKey;
+    private final String secretKey;
+    private final String publicBaseUrl;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public S3StorageVolume(StorageProperties.Volume config) {
+        this.id = config.getId();
+        this.endpoint = trimSlash(config.getEndpoint());
+        this.region = config.getRegion();
+        this.bucket = config.getBucket();
+        this.accessKey = config.getAccessKey();
+        this.secretKey = config.getSecretKey();
+        this.publicBaseUrl = config.getPublicBaseUrl() != null && !config.getPublicBaseUrl().isBlank()
+                ? trimSlash(config.getPublicBaseUrl())
+                : this.endpoint + "/" + bucket;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void put(String relativePath, Path source) throws IOException {
+        HttpRequest request = signed("PUT", relativePath, UNSIGNED_PAYLOAD)
+                .header("Content-Type", contentType(source))
+                .PUT(HttpRequest.BodyPublishers.ofFile(source))
+                .timeout(Duration.ofMinutes(10))
+                .build();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("S3 업로드 실패 [" + id + "] " + relativePath + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public InputStream open(String relativePath) throws IOException {
+        HttpRequest request = signed("GET", relativePath, EMPTY_PAYLOAD_SHA256).GET().build();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("S3 조회 실패 [" + id + "] " + relativePath + ": HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Override
+    public boolean exists(String relativePath) throws IOException {
+        HttpRequest request = signed("HEAD", relativePath, EMPTY_PAYLOAD_SHA256)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        int status = send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 404) {
+            return false;
+        }
+        if (status / 100 != 2) {
+            throw new IOException("S3 확인 실패 [" + id + "] " + relativePath + ": HTTP " + status);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean delete(String relativePath) throws IOException {
+        HttpRequest request = signed("DELETE", relativePath, EMPTY_PAYLOAD_SHA256).DELETE().build();
+        int status = send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status / 100 != 2 && status != 404) {
+            throw new IOException("S3 삭제 실패 [" + id + "] " + relativePath + ": HTTP " + status);
+        }
+        return status != 404;
+    }
+
+    @Override
+    public Path localPath(String relativePath) {
+        return null;
+    }
+
+    @Override
+    public String publicUrl(String relativePath) {
+        return publicBaseUrl + "/" + encodeKey(objectKey(relativePath));
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 요청 중단 [" + id + "]", e);
+        }
+    }
+
+    /**
+     * AWS Signature Version 4 (헤더 서명, 쿼리 없음)
+     */
+    private HttpRequest.Builder signed(String method, String relativePath, String payloadHash) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        String amzDate = now.format(AMZ_DATE_FORMAT);
+        String date = now.format(DATE_FORMAT);
+
+        String canonicalUri = "/" + bucket + "/" + encodeKey(objectKey(relativePath));
+        URI uri = URI.create(endpoint + canonicalUri);
+        String host = uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+
+        String signedHeaders = "host;x-amz-content-sha256;x-amz-date";
+        String canonicalRequest = method + "\n"
+                + canonicalUri + "\n"
+                + "\n"
+                + "host:" + host + "\n"
+                + "x-amz-content-sha256:" + payloadHash + "\n"
+                + "x-amz-date:" + amzDate + "\n"
+                + "\n"
+                + signedHeaders + "\n"
+                + payloadHash;
+
+        String scope = date + "/" + region + "/s3/aws4_request";
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, "s3");
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+
+        return HttpRequest.newBuilder(uri)
+                .header("x-amz-date", amzDate)
+                .header("x-amz-content-sha256", payloadHash)
+                .header("Authorization", "AWS4-HMAC-SHA256 Credential=" + accessKey + "/" + scope
+                        + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature);
+    }
+
+    private static String objectKey(String relativePath) {
+        return relativePath.startsWith("/") ? relativePath.substring(1) : relativePath;
+    }
+
+    /**
+     * 경로 구분자(/)는 유지하고 각 구간만 RFC 3986 인코딩
+     */
+    private static String encodeKey(String key) {
+        StringBuilder encoded = new StringBuilder();
+        for (String segment : key.split("/", -1)) {
+            if (encoded.length() > 0) {
+                encoded.append('/');
+            }
+            encoded.append(URLEncoder.encode(segment, StandardCharsets.UTF_8)
+                    .replace("+", "%20")
+                    .replace("*", "%2A")
+                    .replace("%7E", "~"));
+        }
+        return encoded.toString();
+    }
+
+    private static String contentType(Path source) {
+        try {
+            String type = Files.probeContentType(source);
+            return type != null ? type : "application/octet-stream";
+        } catch (IOException e) {
+            return "application/octet-stream";
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256Hex(String data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String trimSlash(String url) {
+        return url != null && url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
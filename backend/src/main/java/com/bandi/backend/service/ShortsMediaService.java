@@ -0,0 +1,235 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.VideoMetadataDto;
+import com.bandi.backend.entity.common.CmAttachment;
+import com.bandi.backend.entity.sns.Shorts;
+import com.bandi.backend.enums.FileCategory;
+import com.bandi.backend.repository.CmAttachmentRepository;
+import com.bandi.backend.repository.ShortsRepository;
+import com.bandi.backend.utils.Mp4MetadataParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 쇼츠 영상 메타데이터(재생 시간/해상도/비트레이트)와 포스터 썸네일
+ * - 등록 시 MP4 컨테이너를 읽어 MM_SHORTS 에 저장 → 피드가 영상을 받지 않고 타일을 배치할 수 있다.
+ * - 썸네일을 올리지 않았으면 포스터를 만들어 THUMBNAIL_ATTACH_NO 에 연결한다.
+ *   (순수 Java 로는 H.264/HEVC 프레임을 디코딩할 수 없어, MP4 에 표지(covr)가 있으면 그것을,
+ *    없으면 영상 비율에 맞춘 포스터 이미지를 그려 쓴다. 같은 비율/길이의 포스터는 해시 중복 제거로 파일 하나를 공유)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortsMediaService {
+
+    private static final Set<String> MP4_EXTS = Set.of("mp4", "m4v", "mov");
+
+    private static final int POSTER_WIDTH = 540;
+    private static final double DEFAULT_ASPECT = 16.0 / 9.0; // 높이/폭 (세로 영상)
+
+    private final CmAttachmentRepository cmAttachmentRepository;
+    private final ShortsRepository shortsRepository;
+    private final StorageVolumeRegistry storageVolumeRegistry;
+    private final FileStorageService fileStorageService;
+
+    /**
+     * 영상 메타데이터 저장 및 포스터 연결 (호출 트랜잭션 안, 메타데이터를 읽지 못해도 등록은 계속)
+     */
+    public void applyMedia(Shorts shorts) {
+        VideoMetadataDto metadata = probe(shorts.getVideoAttachNo());
+        long durationMs = metadata != null && metadata.getDurationMs() != null ? metadata.getDurationMs() : 0L;
+        shorts.setVideoDurationMs(durationMs);
+        if (metadata != null) {
+            shorts.setVideoWidth(metadata.getWidth());
+            shorts.setVideoHeight(metadata.getHeight());
+            shorts.setVideoBitrate(metadata.getBitrate());
+        }
+        // 클라이언트가 보낸 재생 구간 길이(초)가 없을 때만 컨테이너 값 사용
+        if ((shorts.getDuration() == null || shorts.getDuration() == 0) && durationMs > 0) {
+            shorts.setDuration((int) Math.round(durationMs / 1000.0));
+        }
+        if (shorts.getThumbnailAttachNo() == null) {
+            shorts.setThumbnailAttachNo(createPoster(shorts.getUserId(), metadata));
+        }
+    }
+
+    /**
+     * 기존 쇼츠 메타데이터/포스터 채우기 (최근 등록 순, 호출마다 limit 건)
+     *
+     * @return 처리한 쇼츠 수
+     */
+    @Transactional
+    public int backfill(int limit) {
+        List<Shorts> targets = shortsRepository.findByVideoDurationMsIsNullAndShortsStatCdOrderByShortsNoDesc(
+                "A", PageRequest.of(0, limit));
+        for (Shorts shorts : targets) {
+            applyMedia(shorts);
+        }
+        shortsRepository.saveAll(targets);
+        log.info("쇼츠 영상 메타데이터 채우기: {}건", targets.size());
+        return targets.size();
+    }
+
+    /**
+     * @return MP4/MOV 메타데이터, 확인할 수 없으면 null
+     */
+    public VideoMetadataDto probe(Long videoAttachNo) {
+        CmAttachment video = videoAttachNo != null ? cmAttachmentRepository.findById(videoAttachNo).orElse(null) : null;
+        if (video == null || !isMp4(video.getFilePath())) {
+            return null;
+        }
+        String relativePath = video.getFilePath();
+        StorageVolume volume = storageVolumeRegistry.locate(relativePath);
+        Path file = volume.localPath(relativePath);
+        Path temp = null;
+        try {
+            if (file == null) {
+                // 원격(S3 호환) 볼륨: 임시 파일로 받아서 확인
+                temp = Files.createTempFile("probe-", ".mp4");
+                try (InputStream in = volume.open(relativePath)) {
+                    Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                file = temp;
+            }
+            return Mp4MetadataParser.parse(file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("쇼츠 영상 메타데이터 확인 실패 [{}]: {}", relativePath, e.getMessage());
+            return null;
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private Long createPoster(String userId, VideoMetadataDto metadata) {
+        Path temp = null;
+        try {
+            BufferedImage poster = null;
+            if (metadata != null && metadata.getCoverImage() != null) {
+                poster = ImageIO.read(new ByteArrayInputStream(metadata.getCoverImage()));
+            }
+            poster = poster != null ? toRgb(poster) : renderPoster(metadata);
+
+            temp = Files.createTempFile("poster-", ".jpg");
+            if (!ImageIO.write(poster, "jpg", temp.toFile())) {
+                return null;
+            }
+            // 저장소는 임시 파일을 복사해 가므로 아래에서 정리
+            return fileStorageService.storeLocalFile(temp, "poster.jpg", "image/jpeg", FileCategory.SHORTS, userId)
+                    .getAttachNo();
+        } catch (IOException e) {
+            log.warn("쇼츠 포스터 생성 실패 [{}]: {}", userId, e.getMessage());
+            return null;
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * 영상 비율의 포스터: 어두운 그라데이션 + 재생 아이콘 + 재생 시간
+     */
+    private BufferedImage renderPoster(VideoMetadataDto metadata) {
+        double aspect = DEFAULT_ASPECT;
+        if (metadata != null && metadata.getWidth() != null && metadata.getHeight() != null
+                && metadata.getWidth() > 0 && metadata.getHeight() > 0) {
+            aspect = Math.max(0.5, Math.min(2.0, (double) metadata.getHeight() / metadata.getWidth()));
+        }
+        int width = POSTER_WIDTH;
+        int height = (int) Math.round(width * aspect);
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setPaint(new GradientPaint(0, 0, new Color(0x2A, 0x2A, 0x3C), 0, height, new Color(0x0B, 0x0B, 0x12)));
+            g.fillRect(0, 0, width, height);
+
+            int radius = width / 8;
+            int cx = width / 2;
+            int cy = height / 2;
+            g.setColor(new Color(255, 255, 255, 60));
+            g.fillOval(cx - radius, cy - radius, radius * 2, radius * 2);
+            g.setColor(new Color(255, 255, 255, 200));
+            g.setStroke(new BasicStroke(3f));
+            g.drawOval(cx - radius, cy - radius, radius * 2, radius * 2);
+            int t = radius / 2;
+            g.fillPolygon(new Polygon(new int[] { cx - t / 2, cx - t / 2, cx + t },
+                    new int[] { cy - t, cy + t, cy }, 3));
+
+            Long durationMs = metadata != null ? metadata.getDurationMs() : null;
+            if (durationMs != null && durationMs > 0) {
+                long seconds = Math.round(durationMs / 1000.0);
+                String label = String.format("%d:%02d", seconds / 60, seconds % 60);
+                g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, width / 18));
+                FontMetrics fm = g.getFontMetrics();
+                int padding = width / 30;
+                int x = width - fm.stringWidth(label) - padding * 2;
+                int y = height - fm.getHeight() - padding * 2;
+                g.setColor(new Color(0, 0, 0, 140));
+                g.fillRoundRect(x - padding, y, fm.stringWidth(label) + padding * 2, fm.getHeight() + padding / 2, 12, 12);
+                g.setColor(Color.WHITE);
+                g.drawString(label, x, y + fm.getAscent() + padding / 4);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * JPEG 로 쓸 수 있도록 알파 채널 제거
+     */
+    private BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static boolean isMp4(String relativePath) {
+        int dot = relativePath != null ? relativePath.lastIndexOf('.') : -1;
+        return dot >= 0 && MP4_EXTS.contains(relativePath.substring(dot + 1).toLowerCase());
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", path);
+        }
+    }
+}
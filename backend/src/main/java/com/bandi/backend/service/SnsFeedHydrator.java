@@ -0,0 +1,236 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PostListDto;
+import com.bandi.backend.dto.ShortsListDto;
+import com.bandi.backend.entity.common.CmAttachment;
+import com.bandi.backend.entity.member.User;
+import com.bandi.backend.entity.sns.Post;
+import com.bandi.backend.entity.sns.PostAttachment;
+import com.bandi.backend.entity.sns.PostLike;
+import com.bandi.backend.entity.sns.Shorts;
+import com.bandi.backend.entity.sns.ShortsLike;
+import com.bandi.backend.repository.CmAttachmentRepository;
+import com.bandi.backend.repository.PostAttachmentRepository;
+import com.bandi.backend.repository.PostLikeRepository;
+import com.bandi.backend.repository.ShortsLikeRepository;
+import com.bandi.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.bandi.backend.service.EngagementCounterService.Metric.DISLIKE;
+import static com.bandi.backend.service.EngagementCounterService.Metric.LIKE;
+import static com.bandi.backend.service.EngagementCounterService.Metric.REPLY;
+import static com.bandi.backend.service.EngagementCounterService.Metric.VIEW;
+import static com.bandi.backend.service.EngagementCounterService.Target.POST;
+import static com.bandi.backend.service.EngagementCounterService.Target.SHORTS;
+
+/**
+ * SNS 피드(게시물/쇼츠 목록) 일괄 조립
+ * 한 페이지의 ID 를 모아 작성자, 첨부, 조회자 반응을 종류별 IN 조회 1회로 읽고 메모리에서 DTO 를 만든다.
+ * 집계(조회/좋아요/별루예요/댓글)는 목록 행의 집계 컬럼 + 반영 전 증분 (EngagementCounterService)
+ * (게시물 건별 조회 시 페이지당 수백 건이던 쿼리를 페이지 크기와 무관하게 4회로)
+ */
+@Component
+@RequiredArgsConstructor
+public class SnsFeedHydrator {
+
+    private final UserRepository userRepository;
+    private final CmAttachmentRepository cmAttachmentRepository;
+    private final PostAttachmentRepository postAttachmentRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final ShortsLikeRepository shortsLikeRepository;
+    private final ImageVariantService imageVariantService;
+    private final EngagementCounterService engagementCounterService;
+
+    public Page<PostListDto> hydratePosts(Page<Post> page, String currentUserId) {
+        return new PageImpl<>(hydratePosts(page.getContent(), currentUserId), page.getPageable(), page.getTotalElements());
+    }
+
+    public Page<ShortsListDto> hydrateShorts(Page<Shorts> page, String currentUserId) {
+        return new PageImpl<>(hydrateShorts(page.getContent(), currentUserId), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * @return 입력 순서 그대로의 게시물 목록 DTO
+     */
+    public List<PostListDto> hydratePosts(List<Post> posts, String currentUserId) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> postIds = posts.stream().map(Post::getPostId).toList();
+
+        Map<String, User> users = loadUsers(posts.stream().map(Post::getUserId).toList());
+        Map<Long, List<PostAttachment>> attachesByPost = new HashMap<>();
+        for (PostAttachment attach : postAttachmentRepository.findByPostIdInOrderByPostIdAscAttachNoAsc(postIds)) {
+            attachesByPost.computeIfAbsent(attach.getPostId(), key -> new ArrayList<>()).add(attach);
+        }
+
+        // 프로필 이미지와 게시물 이미지를 한 번에
+        Set<Long> attachNos = new LinkedHashSet<>();
+        users.values().forEach(user -> addIfPresent(attachNos, user.getAttachNo()));
+        attachesByPost.values().forEach(list -> list.forEach(attach -> attachNos.add(attach.getAttachNo())));
+        Map<Long, CmAttachment> attachments = loadAttachments(attachNos);
+
+        Map<Long, String> actions = new HashMap<>();
+        if (currentUserId != null && !currentUserId.isEmpty()) {
+            for (PostLike like : postLikeRepository.findByUserIdAndPostIdIn(currentUserId, postIds)) {
+                actions.put(like.getPostId(), like.getActionTypeFg());
+            }
+        }
+
+        List<PostListDto> result = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            User user = users.get(post.getUserId());
+            CmAttachment profileAttachment = user != null && user.getAttachNo() != null
+                    ? attachments.get(user.getAttachNo()) : null;
+
+            List<PostAttachment> attaches = attachesByPost.getOrDefault(post.getPostId(), List.of());
+            List<CmAttachment> images = new ArrayList<>();
+            List<String> editDataList = new ArrayList<>();
+            for (PostAttachment attach : attaches) {
+                CmAttachment image = attachments.get(attach.getAttachNo());
+                if (image != null) {
+                    images.add(image);
+                }
+                editDataList.add(attach.getEditData());
+            }
+            List<String> imagePaths = images.stream().map(CmAttachment::getFilePath).toList();
+            List<String> imageVariantPaths = images.stream().map(cm -> imageVariantService.resolve(cm, 1080)).toList();
+
+            result.add(PostListDto.builder()
+                    .postId(post.getPostId())
+                    .userId(post.getUserId())
+                    .userNickNm(user != null ? user.getUserNickNm() : post.getUserId())
+                    .userProfileImagePath(profileAttachment != null ? profileAttachment.getFilePath() : null)
+                    .userProfileThumbPath(imageVariantService.resolve(profileAttachment, 64))
+                    .contentPreview(post.getContent() != null && post.getContent().length() > 50
+                            ? post.getContent().substring(0, 50) + "..."
+                            : post.getContent())
+                    .thumbnailPath(imagePaths.isEmpty() ? null : imagePaths.get(0))
+                    .thumbnailVariantPath(images.isEmpty() ? null : imageVariantService.resolve(images.get(0), 360))
+                    .imagePaths(imagePaths)
+                    .imageVariantPaths(imageVariantPaths)
+                    .editDataList(editDataList)
+                    .publicTypeCd(post.getPublicTypeCd())
+                    .insDtime(post.getInsDtime())
+                    .viewCount(engagementCounterService.current(POST, post.getPostId(), VIEW, post.getViewCnt()))
+                    .likeCount(engagementCounterService.current(POST, post.getPostId(), LIKE, post.getLikeCnt()))
+                    .dislikeCount(engagementCounterService.current(POST, post.getPostId(), DISLIKE, post.getDislikeCnt()))
+                    .commentCount(engagementCounterService.current(POST, post.getPostId(), REPLY, post.getReplyCnt()))
+                    .userAction(actions.get(post.getPostId()))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * @return 입력 순서 그대로의 쇼츠 목록 DTO
+     */
+    public List<ShortsListDto> hydrateShorts(List<Shorts> shortsList, String currentUserId) {
+        if (shortsList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> shortsNos = shortsList.stream().map(Shorts::getShortsNo).toList();
+
+        Map<String, User> users = loadUsers(shortsList.stream().map(Shorts::getUserId).toList());
+
+        // 프로필 이미지, 동영상, 포스터를 한 번에
+        Set<Long> attachNos = new LinkedHashSet<>();
+        users.values().forEach(user -> addIfPresent(attachNos, user.getAttachNo()));
+        for (Shorts shorts : shortsList) {
+            addIfPresent(attachNos, shorts.getVideoAttachNo());
+            addIfPresent(attachNos, shorts.getThumbnailAttachNo());
+        }
+        Map<Long, CmAttachment> attachments = loadAttachments(attachNos);
+
+        Map<Long, String> actions = new HashMap<>();
+        if (currentUserId != null && !currentUserId.isEmpty()) {
+            for (ShortsLike like : shortsLikeRepository.findByUserIdAndShortsNoIn(currentUserId, shortsNos)) {
+                actions.put(like.getShortsNo(), like.getActionTypeFg());
+            }
+        }
+
+        List<ShortsListDto> result = new ArrayList<>(shortsList.size());
+        for (Shorts shorts : shortsList) {
+            User user = users.get(shorts.getUserId());
+            CmAttachment profileAttachment = user != null && user.getAttachNo() != null
+                    ? attachments.get(user.getAttachNo()) : null;
+            CmAttachment video = shorts.getVideoAttachNo() != null ? attachments.get(shorts.getVideoAttachNo()) : null;
+            CmAttachment thumbnail = shorts.getThumbnailAttachNo() != null
+                    ? attachments.get(shorts.getThumbnailAttachNo()) : null;
+            String videoPath = video != null ? video.getFilePath() : null;
+
+            result.add(ShortsListDto.builder()
+                    .shortsNo(shorts.getShortsNo())
+                    .userId(shorts.getUserId())
+                    .userNickNm(user != null ? user.getUserNickNm() : shorts.getUserId())
+                    .userProfileImagePath(profileAttachment != null ? profileAttachment.getFilePath() : null)
+                    .userProfileThumbPath(imageVariantService.resolve(profileAttachment, 64))
+                    .title(shorts.getTitle())
+                    .videoPath(videoPath)
+                    .videoStreamPath(toStreamPath(videoPath))
+                    .thumbnailPath(thumbnail != null ? thumbnail.getFilePath() : null)
+                    .thumbnailThumbPath(imageVariantService.resolve(thumbnail, 360))
+                    .videoDurationMs(shorts.getVideoDurationMs() != null && shorts.getVideoDurationMs() > 0
+                            ? shorts.getVideoDurationMs() : null)
+                    .videoWidth(shorts.getVideoWidth())
+                    .videoHeight(shorts.getVideoHeight())
+                    .publicTypeCd(shorts.getPublicTypeCd())
+                    .overlayData(shorts.getOverlayData())
+                    .insDtime(shorts.getInsDtime())
+                    .viewCount(engagementCounterService.current(SHORTS, shorts.getShortsNo(), VIEW, shorts.getViewCnt()))
+                    .likeCount(engagementCounterService.current(SHORTS, shorts.getShortsNo(), LIKE, shorts.getLikeCnt()))
+                    .dislikeCount(engagementCounterService.current(SHORTS, shorts.getShortsNo(), DISLIKE, shorts.getDislikeCnt()))
+                    .commentCount(engagementCounterService.current(SHORTS, shorts.getShortsNo(), REPLY, shorts.getReplyCnt()))
+                    .userAction(actions.get(shorts.getShortsNo()))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 표준 경로(/{domain}/{yyyyMM}/{file})를 스트리밍 API 경로로 변환
+     */
+    static String toStreamPath(String videoPath) {
+        if (videoPath == null || !videoPath.matches("^/[a-z]+/\\d{6}/[^/]+$")) {
+            return null;
+        }
+        return "/api/v1/media" + videoPath;
+    }
+
+    private Map<String, User> loadUsers(List<String> userIds) {
+        List<String> distinct = userIds.stream().distinct().toList();
+        return toMap(userRepository.findByUserIdIn(distinct), User::getUserId);
+    }
+
+    private Map<Long, CmAttachment> loadAttachments(Set<Long> attachNos) {
+        if (attachNos.isEmpty()) {
+            return new HashMap<>();
+        }
+        return toMap(cmAttachmentRepository.findAllById(attachNos), CmAttachment::getAttachNo);
+    }
+
+    private static <K, V> Map<K, V> toMap(Iterable<V> values, Function<V, K> key) {
+        Map<K, V> result = new HashMap<>();
+        for (V value : values) {
+            result.put(key.apply(value), value);
+        }
+        return result;
+    }
+
+    private static void addIfPresent(Set<Long> target, Long value) {
+        if (value != null) {
+            target.add(value);
+        }
+    }
+}
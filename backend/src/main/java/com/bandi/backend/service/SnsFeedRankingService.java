@@ -0,0 +1,655 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PostListDto;
+import com.bandi.backend.dto.ShortsListDto;
+import com.bandi.backend.dto.SnsFeedPageDto;
+import com.bandi.backend.entity.sns.Post;
+import com.bandi.backend.entity.sns.PostLike;
+import com.bandi.backend.entity.sns.Shorts;
+import com.bandi.backend.entity.sns.ShortsLike;
+import com.bandi.backend.event.EngagementChangedEvent;
+import com.bandi.backend.event.FeedItemChangedEvent;
+import com.bandi.backend.repository.PostLikeRepository;
+import com.bandi.backend.repository.PostRepository;
+import com.bandi.backend.repository.ShortsLikeRepository;
+import com.bandi.backend.repository.ShortsRepository;
+import com.bandi.backend.service.EngagementCounterService.Metric;
+import com.bandi.backend.service.EngagementCounterService.Target;
+import com.bandi.backend.utils.FeedCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SNS 피드(게시물/쇼츠) 최신순/인기순 메모리 스냅샷
+ * - 주기적으로(sns.feed.refresh-interval-ms) 대상별 인기순 상위 K 건과 최신순 상위 K 건을 읽어 정렬 구조(SkipList)로 보관
+ *   (인기순/최신순 목록은 각자 자기 상위 K 건만 담는다. 항목 자체는 둘이 공유)
+ * - 반응 증분(EngagementChangedEvent)은 해당 항목 점수만 다시 계산해 자리를 옮긴다. (전체 재정렬 없음)
+ * - 등록/삭제/공개 범위 변경(FeedItemChangedEvent)은 커밋 후 그 항목만 다시 읽어 넣거나 뺀다.
+ * - 페이지는 스냅샷에서 커서 다음 항목을 잘라 내고, 작성자/첨부 정보는 항목별로 한 번만 조립해 재사용한다.
+ * 점수 = log2(1 + 가중 반응 합) + 등록 시각(초) / 반감 주기(초)
+ * → 반응이 2배가 되는 것과 반감 주기만큼 늦게 올라온 것이 같은 점수. 현재 시각과 무관하므로 시간이 지나도 순서가 바뀌지 않는다.
+ * 스냅샷 범위(상위 K 건)를 넘으면 최신순은 DB 키셋 조회로 이어서 읽고, 인기순은 상위 K 건에서 끝난다. (다음 커서 없음)
+ */
+@Slf4j
+@Service
+public class SnsFeedRankingService {
+
+    public enum Mode {
+        LATEST, TRENDING;
+
+        public static Mode from(String value) {
+            if (value == null || value.isBlank()) {
+                return LATEST;
+            }
+            try {
+                return Mode.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 피드 정렬입니다: " + value);
+            }
+        }
+    }
+
+    private static final DateTimeFormatter DTIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final Target[] FEED_TARGETS = { Target.POST, Target.SHORTS };
+
+    private record Rank(double score, long id) {
+    }
+
+    private record LatestKey(String insDtime, long id) {
+    }
+
+    // 점수 높은 순, 같으면 ID 큰 순
+    private static final Comparator<Rank> RANK_ORDER = (a, b) -> {
+        int compare = Double.compare(b.score(), a.score());
+        return compare != 0 ? compare : Long.compare(b.id(), a.id());
+    };
+
+    // 등록 시각 최신 순, 같으면 ID 큰 순 (기존 목록 API 와 같은 순서)
+    private static final Comparator<LatestKey> LATEST_ORDER = (a, b) -> {
+        int compare = b.insDtime().compareTo(a.insDtime());
+        return compare != 0 ? compare : Long.compare(b.id(), a.id());
+    };
+
+    /**
+     * 스냅샷 항목 하나 (반응 수는 this 로 동기화)
+     */
+    private static final class Item {
+        private final long id;
+        private final String insDtime;
+        private final long createdEpochSec;
+        private final Object entity; // Post 또는 Shorts (분리된 엔티티)
+        private long views;
+        private long likes;
+        private long dislikes;
+        private long comments;
+        private volatile Rank rank;
+        private volatile Object base; // 조회자와 무관한 목록 DTO (작성자/첨부 조립 결과)
+
+        Item(long id, String insDtime, Object entity) {
+            this.id = id;
+            this.insDtime = insDtime;
+            this.createdEpochSec = toEpochSec(insDtime);
+            this.entity = entity;
+        }
+
+        synchronized long[] counts() {
+            return new long[] { views, likes, dislikes, comments };
+        }
+    }
+
+    private static final class Feed {
+        private final Map<Long, Item> items = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<Rank, Item> trending = new ConcurrentSkipListMap<>(RANK_ORDER);
+        private final ConcurrentSkipListMap<LatestKey, Item> latest = new ConcurrentSkipListMap<>(LATEST_ORDER);
+        // 상위 K 건에서 잘렸는지 (false 면 공개 항목 전체가 스냅샷에 있음)
+        private final boolean trendingTruncated;
+        private final boolean latestTruncated;
+        private final long builtAt = System.currentTimeMillis();
+
+        Feed(boolean trendingTruncated, boolean latestTruncated) {
+            this.trendingTruncated = trendingTruncated;
+            this.latestTruncated = latestTruncated;
+        }
+    }
+
+    private record Slice(List<Item> items, String nextCursor) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PostRepository postRepository;
+    private final ShortsRepository shortsRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final ShortsLikeRepository shortsLikeRepository;
+    private final SnsFeedHydrator snsFeedHydrator;
+    private final EngagementCounterService engagementCounterService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sns.feed.top-k:1000}")
+    private int topK;
+
+    @Value("${sns.feed.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${sns.feed.weight.view:1}")
+    private double viewWeight;
+
+    @Value("${sns.feed.weight.like:5}")
+    private double likeWeight;
+
+    @Value("${sns.feed.weight.dislike:3}")
+    private double dislikeWeight;
+
+    @Value("${sns.feed.weight.comment:8}")
+    private double commentWeight;
+
+    // 대상별 현재 스냅샷 (갱신 시 통째로 교체)
+    private final Map<Target, Feed> feeds = new ConcurrentHashMap<>();
+
+    private final LongAdder servedPages = new LongAdder();
+    private final LongAdder hydratedItems = new LongAdder();
+    private final LongAdder rankUpdates = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public SnsFeedRankingService(PostRepository postRepository, ShortsRepository shortsRepository,
+            PostLikeRepository postLikeRepository, ShortsLikeRepository shortsLikeRepository,
+            SnsFeedHydrator snsFeedHydrator, EngagementCounterService engagementCounterService,
+            PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.shortsRepository = shortsRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.shortsLikeRepository = shortsLikeRepository;
+        this.snsFeedHydrator = snsFeedHydrator;
+        this.engagementCounterService = engagementCounterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // ==========================================
+    // 조회
+    // ==========================================
+
+    public SnsFeedPageDto<PostListDto> getPostFeed(String mode, String cursor, int size, String currentUserId) {
+        Mode feedMode = Mode.from(mode);
+        Slice slice = slice(Target.POST, feedMode, cursor, size);
+
+        List<Item> missing = slice.items().stream().filter(item -> item.base == null).toList();
+        if (!missing.isEmpty()) {
+            List<PostListDto> built = snsFeedHydrator.hydratePosts(
+                    missing.stream().map(item -> (Post) item.entity).toList(), null);
+            for (int i = 0; i < built.size(); i++) {
+                missing.get(i).base = built.get(i);
+            }
+            hydratedItems.add(built.size());
+        }
+
+        Map<Long, String> actions = new HashMap<>();
+        if (currentUserId != null && !currentUserId.isEmpty() && !slice.items().isEmpty()) {
+            List<Long> postIds = slice.items().stream().map(item -> item.id).toList();
+            for (PostLike like : postLikeRepository.findByUserIdAndPostIdIn(currentUserId, postIds)) {
+                actions.put(like.getPostId(), like.getActionTypeFg());
+            }
+        }
+
+        List<PostListDto> result = new ArrayList<>(slice.items().size());
+        for (Item item : slice.items()) {
+            long[] counts = item.counts();
+            result.add(((PostListDto) item.base).toBuilder()
+                    .viewCount(counts[0])
+                    .likeCount(counts[1])
+                    .dislikeCount(counts[2])
+                    .commentCount(counts[3])
+                    .userAction(actions.get(item.id))
+                    .build());
+        }
+        servedPages.increment();
+        return SnsFeedPageDto.<PostListDto>builder()
+                .mode(feedMode.name().toLowerCase())
+                .items(result)
+                .nextCursor(slice.nextCursor())
+                .hasNext(slice.nextCursor() != null)
+                .build();
+    }
+
+    public SnsFeedPageDto<ShortsListDto> getShortsFeed(String mode, String cursor, int size, String currentUserId) {
+        Mode feedMode = Mode.from(mode);
+        Slice slice = slice(Target.SHORTS, feedMode, cursor, size);
+
+        List<Item> missing = slice.items().stream().filter(item -> item.base == null).toList();
+        if (!missing.isEmpty()) {
+            List<ShortsListDto> built = snsFeedHydrator.hydrateShorts(
+                    missing.stream().map(item -> (Shorts) item.entity).toList(), null);
+            for (int i = 0; i < built.size(); i++) {
+                missing.get(i).base = built.get(i);
+            }
+            hydratedItems.add(built.size());
+        }
+
+        Map<Long, String> actions = new HashMap<>();
+        if (currentUserId != null && !currentUserId.isEmpty() && !slice.items().isEmpty()) {
+            List<Long> shortsNos = slice.items().stream().map(item -> item.id).toList();
+            for (ShortsLike like : shortsLikeRepository.findByUserIdAndShortsNoIn(currentUserId, shortsNos)) {
+                actions.put(like.getShortsNo(), like.getActionTypeFg());
+            }
+        }
+
+        List<ShortsListDto> result = new ArrayList<>(slice.items().size());
+        for (Item item : slice.items()) {
+            long[] counts = item.counts();
+            result.add(((ShortsListDto) item.base).toBuilder()
+                    .viewCount(counts[0])
+                    .likeCount(counts[1])
+                    .dislikeCount(counts[2])
+                    .commentCount(counts[3])
+                    .userAction(actions.get(item.id))
+                    .build());
+        }
+        servedPages.increment();
+        return SnsFeedPageDto.<ShortsListDto>builder()
+                .mode(feedMode.name().toLowerCase())
+                .items(result)
+                .nextCursor(slice.nextCursor())
+                .hasNext(slice.nextCursor() != null)
+                .build();
+    }
+
+    /**
+     * 커서 다음부터 size 건 (한 건 더 읽어 다음 페이지 유무 판단)
+     * 인기순은 스냅샷(상위 K 건) 끝에서 멈추고, 최신순은 스냅샷이 K 건에서 잘렸으면 나머지를 DB 키셋 조회로 채운다.
+     */
+    private Slice slice(Target target, Mode mode, String cursor, int size) {
+        Feed feed = feed(target);
+        List<Item> items = new ArrayList<>(size + 1);
+        if (mode == Mode.TRENDING) {
+            Rank after = cursor != null && !cursor.isEmpty() ? decodeRank(cursor) : null;
+            take((after != null ? feed.trending.tailMap(after, false) : feed.trending).values(), items, size + 1);
+        } else {
+            FeedCursor decoded = cursor != null && !cursor.isEmpty() ? FeedCursor.decode(cursor, FeedCursor.LATEST) : null;
+            LatestKey after = decoded != null ? new LatestKey(decoded.key(), decoded.id()) : null;
+            take((after != null ? feed.latest.tailMap(after, false) : feed.latest).values(), items, size + 1);
+            if (items.size() <= size && feed.latestTruncated) {
+                Item lastTaken = items.isEmpty() ? null : items.get(items.size() - 1);
+                LatestKey from = lastTaken != null ? new LatestKey(lastTaken.insDtime, lastTaken.id) : after;
+                items.addAll(loadLatestAfter(target, feed, from, size + 1 - items.size()));
+            }
+        }
+
+        if (items.size() <= size) {
+            return new Slice(items, null);
+        }
+        items.remove(size);
+        Item last = items.get(size - 1);
+        String next = mode == Mode.TRENDING
+                ? FeedCursor.encode(FeedCursor.TRENDING, String.valueOf(last.rank.score()), last.id)
+                : FeedCursor.encode(FeedCursor.LATEST, last.insDtime, last.id);
+        return new Slice(items, next);
+    }
+
+    private static void take(Iterable<Item> source, List<Item> items, int limit) {
+        for (Item item : source) {
+            if (items.size() >= limit) {
+                break;
+            }
+            items.add(item);
+        }
+    }
+
+    /**
+     * 최신순 스냅샷 밖 구간 — (등록 시각, ID) 가 from 보다 작은 것부터 limit 건 (스냅샷에 있는 항목은 그대로 재사용)
+     */
+    private List<Item> loadLatestAfter(Target target, Feed feed, LatestKey from, int limit) {
+        String table = target == Target.POST ? "MM_POSTS" : "MM_SHORTS";
+        String idColumn = target == Target.POST ? "POST_ID" : "SHORTS_NO";
+        String statColumn = target == Target.POST ? "POST_STAT_CD" : "SHORTS_STAT_CD";
+        String keyset = from != null ? " AND (INS_DTIME, " + idColumn + ") < (:insDtime, :id)" : "";
+
+        return transactionTemplate.execute(status -> {
+            Query query = entityManager.createNativeQuery(
+                    "SELECT " + idColumn + " FROM " + table
+                            + " WHERE PUBLIC_TYPE_CD = 'A' AND " + statColumn + " = 'A'" + keyset
+                            + " ORDER BY INS_DTIME DESC, " + idColumn + " DESC LIMIT :limit")
+                    .setParameter("limit", limit);
+            if (from != null) {
+                query.setParameter("insDtime", from.insDtime()).setParameter("id", from.id());
+            }
+            @SuppressWarnings("unchecked")
+            List<Number> ids = query.getResultList();
+
+            Map<Long, Item> loaded = new HashMap<>();
+            List<Long> missing = new ArrayList<>();
+            for (Number number : ids) {
+                Item cached = feed.items.get(number.longValue());
+                if (cached != null) {
+                    loaded.put(cached.id, cached);
+                } else {
+                    missing.add(number.longValue());
+                }
+            }
+            if (!missing.isEmpty()) {
+                Iterable<?> entities = target == Target.POST
+                        ? postRepository.findAllById(missing) : shortsRepository.findAllById(missing);
+                for (Object entity : entities) {
+                    Item item = toItem(target, entity);
+                    loaded.put(item.id, item);
+                }
+            }
+
+            // findAllById 는 순서를 보장하지 않으므로 키셋 순서대로 다시 맞춘다
+            List<Item> result = new ArrayList<>(ids.size());
+            for (Number number : ids) {
+                Item item = loaded.get(number.longValue());
+                if (item != null) {
+                    result.add(item);
+                }
+            }
+            return result;
+        });
+    }
+
+    private Feed feed(Target target) {
+        Feed feed = feeds.get(target);
+        if (feed == null) {
+            // 첫 갱신 전 요청이면 그 자리에서 한 번 만든다
+            synchronized (feeds) {
+                feed = feeds.get(target);
+                if (feed == null) {
+                    feed = transactionTemplate.execute(status -> build(target));
+                    feeds.put(target, feed);
+                }
+            }
+        }
+        return feed;
+    }
+
+    // ==========================================
+    // 스냅샷 갱신
+    // ==========================================
+
+    @Scheduled(fixedDelayString = "${sns.feed.refresh-interval-ms:60000}")
+    public void refresh() {
+        for (Target target : FEED_TARGETS) {
+            try {
+                Feed feed = transactionTemplate.execute(status -> build(target));
+                feeds.put(target, feed);
+            } catch (RuntimeException e) {
+                // 이전 스냅샷을 계속 쓴다
+                refreshFailures.increment();
+                log.error("SNS 피드 스냅샷 갱신 실패: {}", target, e);
+            }
+        }
+    }
+
+    /**
+     * 인기순 상위 K + 최신순 상위 K 를 읽어 새 스냅샷 생성 (공개 + 정상 상태만)
+     */
+    private Feed build(Target target) {
+        String table = target == Target.POST ? "MM_POSTS" : "MM_SHORTS";
+        String idColumn = target == Target.POST ? "POST_ID" : "SHORTS_NO";
+        String statColumn = target == Target.POST ? "POST_STAT_CD" : "SHORTS_STAT_CD";
+        String where = " FROM " + table + " WHERE PUBLIC_TYPE_CD = 'A' AND " + statColumn + " = 'A'";
+
+        @SuppressWarnings("unchecked")
+        List<Number> trendingIds = entityManager.createNativeQuery(
+                "SELECT " + idColumn + where
+                        + " ORDER BY LN(1 + GREATEST(0, VIEW_CNT * :viewWeight + LIKE_CNT * :likeWeight"
+                        + " - DISLIKE_CNT * :dislikeWeight + REPLY_CNT * :commentWeight)) / LN(2)"
+                        + " + EXTRACT(EPOCH FROM TO_TIMESTAMP(INS_DTIME, 'YYYYMMDDHH24MISS')) / :halfLifeSec DESC, "
+                        + idColumn + " DESC LIMIT :limit")
+                .setParameter("viewWeight", viewWeight)
+                .setParameter("likeWeight", likeWeight)
+                .setParameter("dislikeWeight", dislikeWeight)
+                .setParameter("commentWeight", commentWeight)
+                .setParameter("halfLifeSec", halfLifeSec())
+                .setParameter("limit", topK)
+                .getResultList();
+
+        @SuppressWarnings("unchecked")
+        List<Number> latestIds = entityManager.createNativeQuery(
+                "SELECT " + idColumn + where + " ORDER BY INS_DTIME DESC, " + idColumn + " DESC LIMIT :limit")
+                .setParameter("limit", topK)
+                .getResultList();
+
+        Set<Long> ids = new LinkedHashSet<>();
+        trendingIds.forEach(id -> ids.add(id.longValue()));
+        latestIds.forEach(id -> ids.add(id.longValue()));
+
+        Feed feed = new Feed(trendingIds.size() >= topK, latestIds.size() >= topK);
+        if (ids.isEmpty()) {
+            return feed;
+        }
+        Iterable<?> entities = target == Target.POST ? postRepository.findAllById(ids) : shortsRepository.findAllById(ids);
+        for (Object entity : entities) {
+            Item item = toItem(target, entity);
+            feed.items.put(item.id, item);
+        }
+        // 각 정렬에는 자기 쿼리가 고른 항목만 넣는다 (합집합을 넣으면 다른 쪽 상위 K 가 섞여 K 이후 페이지가 틀어진다)
+        for (Number id : trendingIds) {
+            Item item = feed.items.get(id.longValue());
+            if (item != null) {
+                feed.trending.put(item.rank, item);
+            }
+        }
+        for (Number id : latestIds) {
+            Item item = feed.items.get(id.longValue());
+            if (item != null) {
+                feed.latest.put(new LatestKey(item.insDtime, item.id), item);
+            }
+        }
+        return feed;
+    }
+
+    private Item toItem(Target target, Object entity) {
+        Item item;
+        if (entity instanceof Post post) {
+            item = new Item(post.getPostId(), post.getInsDtime(), post);
+            item.views = engagementCounterService.current(target, post.getPostId(), Metric.VIEW, post.getViewCnt());
+            item.likes = engagementCounterService.current(target, post.getPostId(), Metric.LIKE, post.getLikeCnt());
+            item.dislikes = engagementCounterService.current(target, post.getPostId(), Metric.DISLIKE, post.getDislikeCnt());
+            item.comments = engagementCounterService.current(target, post.getPostId(), Metric.REPLY, post.getReplyCnt());
+        } else {
+            Shorts shorts = (Shorts) entity;
+            item = new Item(shorts.getShortsNo(), shorts.getInsDtime(), shorts);
+            item.views = engagementCounterService.current(target, shorts.getShortsNo(), Metric.VIEW, shorts.getViewCnt());
+            item.likes = engagementCounterService.current(target, shorts.getShortsNo(), Metric.LIKE, shorts.getLikeCnt());
+            item.dislikes = engagementCounterService.current(target, shorts.getShortsNo(), Metric.DISLIKE, shorts.getDislikeCnt());
+            item.comments = engagementCounterService.current(target, shorts.getShortsNo(), Metric.REPLY, shorts.getReplyCnt());
+        }
+        item.rank = new Rank(score(item), item.id);
+        return item;
+    }
+
+    /**
+     * 항목 추가/교체 — 이미 들어 있던 정렬에는 그대로, 새 항목은 그 정렬의 상위 K 범위 안일 때만 넣는다
+     */
+    private static void put(Feed feed, Item item) {
+        Item previous = feed.items.put(item.id, item);
+        boolean inTrending = false;
+        boolean inLatest = false;
+        if (previous != null) {
+            // 반응 증분 처리와 겹쳐도 이전 항목이 인기순에 다시 들어가지 않게 같은 잠금에서 제거
+            synchronized (previous) {
+                inTrending = feed.trending.remove(previous.rank, previous);
+            }
+            inLatest = feed.latest.remove(new LatestKey(previous.insDtime, previous.id), previous);
+        }
+
+        LatestKey key = new LatestKey(item.insDtime, item.id);
+        Map.Entry<LatestKey, Item> latestLast = feed.latest.lastEntry();
+        if (inLatest || !feed.latestTruncated || latestLast == null
+                || LATEST_ORDER.compare(key, latestLast.getKey()) < 0) {
+            feed.latest.put(key, item);
+            inLatest = true;
+        }
+        Map.Entry<Rank, Item> trendingLast = feed.trending.lastEntry();
+        if (inTrending || !feed.trendingTruncated || trendingLast == null
+                || RANK_ORDER.compare(item.rank, trendingLast.getKey()) < 0) {
+            feed.trending.put(item.rank, item);
+            inTrending = true;
+        }
+        if (!inTrending && !inLatest) {
+            feed.items.remove(item.id, item);
+        }
+    }
+
+    private static void remove(Feed feed, long id) {
+        Item previous = feed.items.remove(id);
+        if (previous != null) {
+            // 반응 증분 처리와 겹쳐도 이전 항목이 인기순에 다시 들어가지 않게 같은 잠금에서 제거
+            synchronized (previous) {
+                feed.trending.remove(previous.rank, previous);
+            }
+            feed.latest.remove(new LatestKey(previous.insDtime, previous.id), previous);
+        }
+    }
+
+    // ==========================================
+    // 증분 반영
+    // ==========================================
+
+    /**
+     * 반응 증분 → 해당 항목 점수만 다시 계산해 인기순 위치 이동
+     * 스냅샷에 없거나 최신순에만 있는 항목은 반응 수만 반영하고, 인기순 진입은 다음 갱신 때 판단한다.
+     */
+    @EventListener
+    public void onEngagementChanged(EngagementChangedEvent event) {
+        Feed feed = feeds.get(event.getTarget());
+        Item item = feed != null ? feed.items.get(event.getId()) : null;
+        if (item == null) {
+            return;
+        }
+        synchronized (item) {
+            switch (event.getMetric()) {
+                case VIEW -> item.views = Math.max(0, item.views + event.getDelta());
+                case LIKE -> item.likes = Math.max(0, item.likes + event.getDelta());
+                case DISLIKE -> item.dislikes = Math.max(0, item.dislikes + event.getDelta());
+                case REPLY -> item.comments = Math.max(0, item.comments + event.getDelta());
+            }
+            Rank previous = item.rank;
+            Rank next = new Rank(score(item), item.id);
+            if (next.equals(previous) || feed.items.get(item.id) != item) {
+                return;
+            }
+            if (feed.trending.get(previous) != item) {
+                item.rank = next;
+                return;
+            }
+            // 새 위치에 먼저 넣고 이전 위치를 지워 조회 중에 항목이 빠져 보이지 않게 한다
+            item.rank = next;
+            feed.trending.put(next, item);
+            feed.trending.remove(previous, item);
+        }
+        rankUpdates.increment();
+    }
+
+    /**
+     * 등록/삭제/공개 범위 변경 → 커밋 후 그 항목만 다시 읽어 스냅샷에 넣거나 뺀다
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFeedItemChanged(FeedItemChangedEvent event) {
+        Feed feed = feeds.get(event.getTarget());
+        if (feed == null || event.getId() == null) {
+            return;
+        }
+        try {
+            Object entity = event.getTarget() == Target.POST
+                    ? postRepository.findById(event.getId()).orElse(null)
+                    : shortsRepository.findById(event.getId()).orElse(null);
+            if (isVisible(entity)) {
+                put(feed, toItem(event.getTarget(), entity));
+            } else {
+                remove(feed, event.getId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("SNS 피드 항목 반영 실패 ({} {}): {}", event.getTarget(), event.getId(), e.getMessage());
+        }
+    }
+
+    private static boolean isVisible(Object entity) {
+        if (entity instanceof Post post) {
+            return "A".equals(post.getPublicTypeCd()) && "A".equals(post.getPostStatCd());
+        }
+        if (entity instanceof Shorts shorts) {
+            return "A".equals(shorts.getPublicTypeCd()) && "A".equals(shorts.getShortsStatCd());
+        }
+        return false;
+    }
+
+    // ==========================================
+    // 점수 / 커서
+    // ==========================================
+
+    private double score(Item item) {
+        double weighted = viewWeight * item.views + likeWeight * item.likes
+                - dislikeWeight * item.dislikes + commentWeight * item.comments;
+        return Math.log1p(Math.max(0, weighted)) / Math.log(2) + item.createdEpochSec / halfLifeSec();
+    }
+
+    private double halfLifeSec() {
+        return Math.max(1.0, halfLifeHours * 3600);
+    }
+
+    private static long toEpochSec(String insDtime) {
+        try {
+            return LocalDateTime.parse(insDtime, DTIME_FORMAT).atZone(ZoneId.systemDefault()).toEpochSecond();
+        } catch (DateTimeParseException | NullPointerException e) {
+            return 0L;
+        }
+    }
+
+    private static Rank decodeRank(String cursor) {
+        FeedCursor decoded = FeedCursor.decode(cursor, FeedCursor.TRENDING);
+        try {
+            return new Rank(Double.parseDouble(decoded.key()), decoded.id());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Target target : FEED_TARGETS) {
+            Feed feed = feeds.get(target);
+            Map<String, Object> feedStats = new LinkedHashMap<>();
+            feedStats.put("items", feed != null ? feed.items.size() : 0);
+            feedStats.put("trending", feed != null ? feed.trending.size() : 0);
+            feedStats.put("latest", feed != null ? feed.latest.size() : 0);
+            feedStats.put("hydratedItems", feed != null
+                    ? feed.items.values().stream().filter(item -> item.base != null).count() : 0);
+            feedStats.put("ageMillis", feed != null ? System.currentTimeMillis() - feed.builtAt : null);
+            result.put(target.name().toLowerCase(), feedStats);
+        }
+        result.put("servedPages", servedPages.sum());
+        result.put("hydratedItems", hydratedItems.sum());
+        result.put("rankUpdates", rankUpdates.sum());
+        result.put("refreshFailures", refreshFailures.sum());
+        return result;
+    }
+}
@@ -5,9 +5,14 @@ import com.bandi.backend.entity.common.CmAttachment;
 import com.bandi.backend.entity.member.User;
 import com.bandi.backend.entity.sns.*;
 import com.bandi.backend.enums.FileCategory;
+import com.bandi.backend.event.FeedItemChangedEvent;
 import com.bandi.backend.repository.*;
+import com.bandi.backend.service.EngagementCounterService.Metric;
+import com.bandi.backend.service.EngagementCounterService.Target;
+import com.bandi.backend.utils.FeedCursor;
 import com.bandi.backend.utils.FileStorageUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,9 +23,12 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -35,6 +43,12 @@ public class SnsService {
     private final ShortsRepository shortsRepository;
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final ImageVariantService imageVariantService;
+    private final ShortsMediaService shortsMediaService;
+    private final SnsFeedHydrator snsFeedHydrator;
+    private final EngagementCounterService engagementCounterService;
+    private final ViewTrackingService viewTrackingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final PostLikeRepository postLikeRepository;
     private final PostViewRepository postViewRepository;
@@ -68,11 +82,21 @@ public class SnsService {
             dir.mkdirs();
         }
 
+        // 파일은 동시에 기록하고 첨부 행은 한 번에 등록 (빈 파트는 건너뛰되 editData 순번은 원래 위치 기준)
+        List<MultipartFile> uploadFiles = new ArrayList<>();
+        List<Integer> fileIndexes = new ArrayList<>();
         for (int i = 0; i < files.size(); i++) {
-            MultipartFile file = files.get(i);
-            if (file.isEmpty()) continue;
+            if (!files.get(i).isEmpty()) {
+                uploadFiles.add(files.get(i));
+                fileIndexes.add(i);
+            }
+        }
+        List<com.bandi.backend.dto.UploadFileResultDto> fileResults = fileStorageService.storeFiles(uploadFiles, FileCategory.SNS, dto.getUserId());
 
-            com.bandi.backend.dto.UploadFileResultDto fileResult = fileStorageService.storeFile(file, FileCategory.SNS, dto.getUserId());
+        List<PostAttachment> postAttachments = new ArrayList<>();
+        for (int k = 0; k < fileResults.size(); k++) {
+            int i = fileIndexes.get(k);
+            com.bandi.backend.dto.UploadFileResultDto fileResult = fileResults.get(k);
 
             PostAttachment postAttachment = new PostAttachment();
             postAttachment.setPostId(savedPost.getPostId());
@@ -83,163 +107,140 @@ public class SnsService {
             if (dto.getEditDataList() != null && i < dto.getEditDataList().size()) {
                 postAttachment.setEditData(dto.getEditDataList().get(i));
             }
-
-            postAttachmentRepository.save(postAttachment);
+            postAttachments.add(postAttachment);
         }
+        postAttachmentRepository.saveAll(postAttachments);
+
+        eventPublisher.publishEvent(new FeedItemChangedEvent(Target.POST, savedPost.getPostId()));
     }
 
     @Transactional(readOnly = true)
     public Page<PostListDto> getPostsByUser(String userId, String currentUserId, Pageable pageable) {
         Page<Post> postsPage = postRepository.findByUserIdAndPostStatCdOrderByInsDtimeDesc(userId, "A", pageable);
-        User user = userRepository.findById(userId).orElse(null);
-        String userNickNm = user != null ? user.getUserNickNm() : userId;
-
-        return postsPage.map(post -> mapToPostListDto(post, userNickNm, currentUserId));
+        return snsFeedHydrator.hydratePosts(postsPage, currentUserId);
     }
 
     @Transactional(readOnly = true)
     public Page<ShortsListDto> getShortsByUser(String userId, String currentUserId, Pageable pageable) {
-        User user = userRepository.findById(userId).orElse(null);
-        String userNickNm = user != null ? user.getUserNickNm() : userId;
-
-        return shortsRepository.findByUserIdAndShortsStatCdOrderByInsDtimeDesc(userId, "A", pageable)
-                .map(shorts -> mapToShortsListDto(shorts, userNickNm, currentUserId));
+        Page<Shorts> shortsPage = shortsRepository.findByUserIdAndShortsStatCdOrderByInsDtimeDesc(userId, "A", pageable);
+        return snsFeedHydrator.hydrateShorts(shortsPage, currentUserId);
     }
 
     @Transactional(readOnly = true)
     public Page<PostListDto> getPublicPosts(String currentUserId, Pageable pageable) {
         Page<Post> postsPage = postRepository.findByPublicTypeCdAndPostStatCdOrderByInsDtimeDesc("A", "A", pageable);
-
-        return postsPage.map(post -> {
-            User user = userRepository.findById(post.getUserId()).orElse(null);
-            String userNickNm = user != null ? user.getUserNickNm() : post.getUserId();
-            return mapToPostListDto(post, userNickNm, currentUserId);
-        });
+        return snsFeedHydrator.hydratePosts(postsPage, currentUserId);
     }
 
     @Transactional(readOnly = true)
     public Page<ShortsListDto> getPublicShorts(String currentUserId, Pageable pageable) {
-        return shortsRepository.findByPublicTypeCdAndShortsStatCdOrderByInsDtimeDesc("A", "A", pageable)
-                .map(shorts -> {
-                    User user = userRepository.findById(shorts.getUserId()).orElse(null);
-                    String userNickNm = user != null ? user.getUserNickNm() : shorts.getUserId();
-                    return mapToShortsListDto(shorts, userNickNm, currentUserId);
-                });
+        Page<Shorts> shortsPage = shortsRepository.findByPublicTypeCdAndShortsStatCdOrderByInsDtimeDesc("A", "A", pageable);
+        return snsFeedHydrator.hydrateShorts(shortsPage, currentUserId);
     }
 
-    private String getUserProfileImagePath(User user) {
-        if (user != null && user.getAttachNo() != null) {
-            CmAttachment attachment = cmAttachmentRepository.findById(user.getAttachNo()).orElse(null);
-            if (attachment != null) {
-                return attachment.getFilePath();
-            }
-        }
-        return null;
-    }
-
-    private PostListDto mapToPostListDto(Post post, String userNickNm, String currentUserId) {
-        User user = userRepository.findById(post.getUserId()).orElse(null);
-        String userProfileImagePath = getUserProfileImagePath(user);
-
-        List<PostAttachment> attaches = postAttachmentRepository.findByPostId(post.getPostId());
-        List<String> imagePaths = attaches.stream()
-                .map(attach -> cmAttachmentRepository.findById(attach.getAttachNo()).orElse(null))
-                .filter(cm -> cm != null)
-                .map(CmAttachment::getFilePath)
-                .collect(Collectors.toList());
-
-        List<String> editDataList = attaches.stream()
-                .map(PostAttachment::getEditData)
-                .collect(Collectors.toList());
-
-        String thumbnailPath = imagePaths.isEmpty() ? null : imagePaths.get(0);
-
-        long viewCount = postViewRepository.countByPostId(post.getPostId());
-        long likeCount = postLikeRepository.countByPostIdAndActionTypeFg(post.getPostId(), "L");
-        long dislikeCount = postLikeRepository.countByPostIdAndActionTypeFg(post.getPostId(), "D");
-        long commentCount = postDetailRepository.countByPostIdAndReplyStatCd(post.getPostId(), "A");
-
-        String userAction = null;
-        if (currentUserId != null && !currentUserId.isEmpty()) {
-            Optional<PostLike> likeOpt = postLikeRepository.findByPostIdAndUserId(post.getPostId(), currentUserId);
-            if (likeOpt.isPresent()) {
-                userAction = likeOpt.get().getActionTypeFg();
-            }
+    /**
+     * 공개 쇼츠 키셋 스크롤 (등록 시각, 번호 역순) + 다음 재생 쇼츠 미리 받기 정보
+     * 페이지 뒤 prefetch 건까지 한 번에 읽어 미리 받기 목록과 다음 페이지 유무를 함께 판단한다.
+     */
+    @Transactional(readOnly = true)
+    public ShortsScrollDto getPublicShortsScroll(String cursor, int size, int prefetch, String currentUserId) {
+        int limit = size + Math.max(1, prefetch);
+        List<Long> shortsNos;
+        if (cursor == null || cursor.isEmpty()) {
+            shortsNos = shortsRepository.findPublicShortsNos(limit);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor, FeedCursor.LATEST);
+            shortsNos = shortsRepository.findPublicShortsNosBefore(after.key(), after.id(), limit);
         }
 
-        return PostListDto.builder()
-                .postId(post.getPostId())
-                .userId(post.getUserId())
-                .userNickNm(userNickNm)
-                .userProfileImagePath(userProfileImagePath)
-                .contentPreview(post.getContent() != null && post.getContent().length() > 50 
-                                ? post.getContent().substring(0, 50) + "..." 
-                                : post.getContent())
-                .thumbnailPath(thumbnailPath)
-                .imagePaths(imagePaths)
-                .editDataList(editDataList)
-                .publicTypeCd(post.getPublicTypeCd())
-                .insDtime(post.getInsDtime())
-                .viewCount(viewCount)
-                .likeCount(likeCount)
-                .dislikeCount(dislikeCount)
-                .commentCount(commentCount)
-                .userAction(userAction)
+        Map<Long, Shorts> loaded = new HashMap<>();
+        shortsRepository.findAllById(shortsNos).forEach(shorts -> loaded.put(shorts.getShortsNo(), shorts));
+        List<Shorts> ordered = shortsNos.stream().map(loaded::get).filter(Objects::nonNull).toList();
+
+        List<Shorts> pageShorts = ordered.subList(0, Math.min(size, ordered.size()));
+        List<Shorts> nextShorts = ordered.subList(pageShorts.size(), Math.min(ordered.size(), size + prefetch));
+        boolean hasNext = ordered.size() > size;
+        Shorts last = pageShorts.isEmpty() ? null : pageShorts.get(pageShorts.size() - 1);
+
+        return ShortsScrollDto.builder()
+                .items(snsFeedHydrator.hydrateShorts(pageShorts, currentUserId))
+                .nextCursor(hasNext && last != null
+                        ? FeedCursor.encode(FeedCursor.LATEST, last.getInsDtime(), last.getShortsNo()) : null)
+                .hasNext(hasNext)
+                .prefetch(toPrefetchHints(nextShorts))
                 .build();
     }
 
-    private ShortsListDto mapToShortsListDto(Shorts shorts, String userNickNm, String currentUserId) {
-        User user = userRepository.findById(shorts.getUserId()).orElse(null);
-        String userProfileImagePath = getUserProfileImagePath(user);
-
-        String videoPath = null;
-        if (shorts.getVideoAttachNo() != null) {
-            CmAttachment cmAttach = cmAttachmentRepository.findById(shorts.getVideoAttachNo()).orElse(null);
-            if (cmAttach != null) {
-                videoPath = cmAttach.getFilePath();
+    private List<ShortsPrefetchDto> toPrefetchHints(List<Shorts> shortsList) {
+        if (shortsList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> attachNos = new ArrayList<>();
+        for (Shorts shorts : shortsList) {
+            if (shorts.getVideoAttachNo() != null) {
+                attachNos.add(shorts.getVideoAttachNo());
+            }
+            if (shorts.getThumbnailAttachNo() != null) {
+                attachNos.add(shorts.getThumbnailAttachNo());
             }
         }
+        Map<Long, CmAttachment> attachments = new HashMap<>();
+        cmAttachmentRepository.findAllById(attachNos).forEach(attach -> attachments.put(attach.getAttachNo(), attach));
+
+        List<ShortsPrefetchDto> hints = new ArrayList<>(shortsList.size());
+        for (Shorts shorts : shortsList) {
+            CmAttachment video = shorts.getVideoAttachNo() != null ? attachments.get(shorts.getVideoAttachNo()) : null;
+            CmAttachment thumbnail = shorts.getThumbnailAttachNo() != null
+                    ? attachments.get(shorts.getThumbnailAttachNo()) : null;
+            String videoPath = video != null ? video.getFilePath() : null;
+            hints.add(ShortsPrefetchDto.builder()
+                    .shortsNo(shorts.getShortsNo())
+                    .videoPath(videoPath)
+                    .videoStreamPath(SnsFeedHydrator.toStreamPath(videoPath))
+                    .videoFileSize(video != null ? video.getFileSize() : null)
+                    .videoDurationMs(shorts.getVideoDurationMs() != null && shorts.getVideoDurationMs() > 0
+                            ? shorts.getVideoDurationMs() : null)
+                    .videoBitrate(shorts.getVideoBitrate())
+                    .thumbnailPath(thumbnail != null ? thumbnail.getFilePath() : null)
+                    .thumbnailThumbPath(imageVariantService.resolve(thumbnail, 360))
+                    .build());
+        }
+        return hints;
+    }
 
-        long viewCount = shortsViewRepository.countByShortsNo(shorts.getShortsNo());
-        long likeCount = shortsLikeRepository.countByShortsNoAndActionTypeFg(shorts.getShortsNo(), "L");
-        long dislikeCount = shortsLikeRepository.countByShortsNoAndActionTypeFg(shorts.getShortsNo(), "D");
-        long commentCount = shortsDetailRepository.countByShortsNoAndReplyStatCd(shorts.getShortsNo(), "A");
+    private String getUserProfileImagePath(User user) {
+        CmAttachment attachment = getUserProfileAttachment(user);
+        return attachment != null ? attachment.getFilePath() : null;
+    }
 
-        String userAction = null;
-        if (currentUserId != null && !currentUserId.isEmpty()) {
-            Optional<ShortsLike> likeOpt = shortsLikeRepository.findByShortsNoAndUserId(shorts.getShortsNo(), currentUserId);
-            if (likeOpt.isPresent()) {
-                userAction = likeOpt.get().getActionTypeFg();
-            }
+    private CmAttachment getUserProfileAttachment(User user) {
+        if (user != null && user.getAttachNo() != null) {
+            return cmAttachmentRepository.findById(user.getAttachNo()).orElse(null);
         }
-
-        return ShortsListDto.builder()
-                .shortsNo(shorts.getShortsNo())
-                .userId(shorts.getUserId())
-                .userNickNm(userNickNm)
-                .userProfileImagePath(userProfileImagePath)
-                .title(shorts.getTitle())
-                .videoPath(videoPath)
-                .publicTypeCd(shorts.getPublicTypeCd())
-                .overlayData(shorts.getOverlayData())
-                .insDtime(shorts.getInsDtime())
-                .viewCount(viewCount)
-                .likeCount(likeCount)
-                .dislikeCount(dislikeCount)
-                .commentCount(commentCount)
-                .userAction(userAction)
-                .build();
+        return null;
     }
 
     @Transactional
     public void createShorts(ShortsCreateDto dto, MultipartFile videoFile, MultipartFile thumbnailFile) {
-        if (videoFile == null || videoFile.isEmpty()) {
+        boolean hasVideoFile = videoFile != null && !videoFile.isEmpty();
+        if (!hasVideoFile && dto.getVideoAttachNo() == null) {
             throw new IllegalArgumentException("쇼츠 동영상 파일은 필수입니다.");
         }
 
         String currentDateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
 
-        com.bandi.backend.dto.UploadFileResultDto videoResult = fileStorageService.storeFile(videoFile, FileCategory.SHORTS, dto.getUserId());
+        Long videoAttachNo;
+        if (hasVideoFile) {
+            videoAttachNo = fileStorageService.storeFile(videoFile, FileCategory.SHORTS, dto.getUserId()).getAttachNo();
+        } else {
+            // 분할 업로드(/api/v1/files/chunked)로 먼저 올린 동영상
+            CmAttachment video = cmAttachmentRepository.findById(dto.getVideoAttachNo())
+                    .orElseThrow(() -> new IllegalArgumentException("업로드된 동영상을 찾을 수 없습니다."));
+            if (!video.getInsId().equals(dto.getUserId())) {
+                throw new IllegalArgumentException("본인이 업로드한 동영상만 등록할 수 있습니다.");
+            }
+            videoAttachNo = video.getAttachNo();
+        }
 
         com.bandi.backend.dto.UploadFileResultDto thumbResult = null;
         if (thumbnailFile != null && !thumbnailFile.isEmpty()) {
@@ -250,7 +251,7 @@ public class SnsService {
         shorts.setUserId(dto.getUserId());
         shorts.setTitle(dto.getTitle());
         shorts.setDuration(dto.getDuration() != null ? dto.getDuration() : 0);
-        shorts.setVideoAttachNo(videoResult.getAttachNo());
+        shorts.setVideoAttachNo(videoAttachNo);
         if (thumbResult != null) {
             shorts.setThumbnailAttachNo(thumbResult.getAttachNo());
         }
@@ -260,7 +261,12 @@ public class SnsService {
         shorts.setInsDtime(currentDateTime);
         shorts.setUpdDtime(currentDateTime);
 
-        shortsRepository.save(shorts);
+        // 영상 메타데이터(재생 시간/해상도/비트레이트) 저장, 썸네일이 없으면 포스터 생성
+        shortsMediaService.applyMedia(shorts);
+
+        Shorts savedShorts = shortsRepository.save(shorts);
+
+        eventPublisher.publishEvent(new FeedItemChangedEvent(Target.SHORTS, savedShorts.getShortsNo()));
     }
 
     @Transactional
@@ -274,6 +280,7 @@ public class SnsService {
         post.setPostStatCd("D");
         post.setUpdDtime(currentDateTime);
         postRepository.save(post);
+        eventPublisher.publishEvent(new FeedItemChangedEvent(Target.POST, postId));
     }
 
     @Transactional
@@ -287,6 +294,7 @@ public class SnsService {
         shorts.setShortsStatCd("D");
         shorts.setUpdDtime(currentDateTime);
         shortsRepository.save(shorts);
+        eventPublisher.publishEvent(new FeedItemChangedEvent(Target.SHORTS, shortsNo));
     }
 
     @Transactional
@@ -300,6 +308,7 @@ public class SnsService {
         post.setPublicTypeCd(publicTypeCd);
         post.setUpdDtime(currentDateTime);
         postRepository.save(post);
+        eventPublisher.publishEvent(new FeedItemChangedEvent(Target.POST, postId));
     }
 
     @Transactional
@@ -313,6 +322,7 @@ public class SnsService {
         shorts.setPublicTypeCd(publicTypeCd);
         shorts.setUpdDtime(currentDateTime);
         shortsRepository.save(shorts);
+        eventPublisher.publishEvent(new FeedItemChangedEvent(Target.SHORTS, shortsNo));
     }
 
     // ==========================================
@@ -320,8 +330,12 @@ public class SnsService {
     // ==========================================
     @Transactional
     public long recordPostView(Long postId, String userId) {
+        boolean counted = false;
         if (userId != null && !userId.trim().isEmpty()) {
-            if (!postViewRepository.existsByPostIdAndUserId(postId, userId)) {
+            if (viewTrackingService.isEnabled()) {
+                // 메모리 중복 판정 + 원본 행 일괄 저장
+                counted = viewTrackingService.record(Target.POST, postId, userId);
+            } else if (!postViewRepository.existsByPostIdAndUserId(postId, userId)) {
                 String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
                 PostView view = new PostView();
                 view.setPostId(postId);
@@ -331,15 +345,23 @@ public class SnsService {
                 view.setUpdDtime(now);
                 view.setUpdId(userId);
                 postViewRepository.save(view);
+                engagementCounterService.increment(Target.POST, postId, Metric.VIEW);
+                counted = true;
             }
         }
-        return postViewRepository.countByPostId(postId);
+        // 증분은 커밋 후 반영되므로 이번 조회분을 더해서 응답
+        long viewCount = engagementCounterService.read(Target.POST, postId).get(Metric.VIEW);
+        return counted ? viewCount + 1 : viewCount;
     }
 
     @Transactional
     public long recordShortsView(Long shortsNo, String userId) {
+        boolean counted = false;
         if (userId != null && !userId.trim().isEmpty()) {
-            if (!shortsViewRepository.existsByShortsNoAndUserId(shortsNo, userId)) {
+            if (viewTrackingService.isEnabled()) {
+                // 메모리 중복 판정 + 원본 행 일괄 저장
+                counted = viewTrackingService.record(Target.SHORTS, shortsNo, userId);
+            } else if (!shortsViewRepository.existsByShortsNoAndUserId(shortsNo, userId)) {
                 String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
                 ShortsView view = new ShortsView();
                 view.setShortsNo(shortsNo);
@@ -349,9 +371,13 @@ public class SnsService {
                 view.setUpdDtime(now);
                 view.setUpdId(userId);
                 shortsViewRepository.save(view);
+                engagementCounterService.increment(Target.SHORTS, shortsNo, Metric.VIEW);
+                counted = true;
             }
         }
-        return shortsViewRepository.countByShortsNo(shortsNo);
+        // 증분은 커밋 후 반영되므로 이번 조회분을 더해서 응답
+        long viewCount = engagementCounterService.read(Target.SHORTS, shortsNo).get(Metric.VIEW);
+        return counted ? viewCount + 1 : viewCount;
     }
 
     // ==========================================
@@ -370,14 +396,18 @@ public class SnsService {
         Optional<PostLike> existingOpt = postLikeRepository.findByPostIdAndUserId(postId, userId);
 
         String finalUserAction = actionTypeFg;
+        Map<Metric, Long> deltas = new EnumMap<>(Metric.class);
         if (existingOpt.isPresent()) {
             PostLike existing = existingOpt.get();
             if (existing.getActionTypeFg().equals(actionTypeFg)) {
                 // 동일 액션 클릭 시 토글 삭제 (취소)
                 postLikeRepository.delete(existing);
                 finalUserAction = null;
+                deltas.merge(toMetric(actionTypeFg), -1L, Long::sum);
             } else {
                 // 다른 액션으로 변경 (L -> D 또는 D -> L)
+                deltas.merge(toMetric(existing.getActionTypeFg()), -1L, Long::sum);
+                deltas.merge(toMetric(actionTypeFg), 1L, Long::sum);
                 existing.setActionTypeFg(actionTypeFg);
                 existing.setUpdDtime(now);
                 existing.setUpdId(userId);
@@ -393,10 +423,14 @@ public class SnsService {
             postLike.setUpdDtime(now);
             postLike.setUpdId(userId);
             postLikeRepository.save(postLike);
+            deltas.merge(toMetric(actionTypeFg), 1L, Long::sum);
         }
+        deltas.forEach((metric, delta) -> engagementCounterService.add(Target.POST, postId, metric, delta));
 
-        long likeCount = postLikeRepository.countByPostIdAndActionTypeFg(postId, "L");
-        long dislikeCount = postLikeRepository.countByPostIdAndActionTypeFg(postId, "D");
+        // 증분은 커밋 후 반영되므로 이번 변경분을 더해서 응답
+        Map<Metric, Long> counts = engagementCounterService.read(Target.POST, postId);
+        long likeCount = Math.max(0L, counts.get(Metric.LIKE) + deltas.getOrDefault(Metric.LIKE, 0L));
+        long dislikeCount = Math.max(0L, counts.get(Metric.DISLIKE) + deltas.getOrDefault(Metric.DISLIKE, 0L));
 
         Map<String, Object> result = new HashMap<>();
         result.put("likeCount", likeCount);
@@ -418,14 +452,18 @@ public class SnsService {
         Optional<ShortsLike> existingOpt = shortsLikeRepository.findByShortsNoAndUserId(shortsNo, userId);
 
         String finalUserAction = actionTypeFg;
+        Map<Metric, Long> deltas = new EnumMap<>(Metric.class);
         if (existingOpt.isPresent()) {
             ShortsLike existing = existingOpt.get();
             if (existing.getActionTypeFg().equals(actionTypeFg)) {
                 // 동일 액션 클릭 시 토글 삭제 (취소)
                 shortsLikeRepository.delete(existing);
                 finalUserAction = null;
+                deltas.merge(toMetric(actionTypeFg), -1L, Long::sum);
             } else {
                 // 다른 액션으로 변경
+                deltas.merge(toMetric(existing.getActionTypeFg()), -1L, Long::sum);
+                deltas.merge(toMetric(actionTypeFg), 1L, Long::sum);
                 existing.setActionTypeFg(actionTypeFg);
                 existing.setUpdDtime(now);
                 existing.setUpdId(userId);
@@ -441,10 +479,14 @@ public class SnsService {
             shortsLike.setUpdDtime(now);
             shortsLike.setUpdId(userId);
             shortsLikeRepository.save(shortsLike);
+            deltas.merge(toMetric(actionTypeFg), 1L, Long::sum);
         }
+        deltas.forEach((metric, delta) -> engagementCounterService.add(Target.SHORTS, shortsNo, metric, delta));
 
-        long likeCount = shortsLikeRepository.countByShortsNoAndActionTypeFg(shortsNo, "L");
-        long dislikeCount = shortsLikeRepository.countByShortsNoAndActionTypeFg(shortsNo, "D");
+        // 증분은 커밋 후 반영되므로 이번 변경분을 더해서 응답
+        Map<Metric, Long> counts = engagementCounterService.read(Target.SHORTS, shortsNo);
+        long likeCount = Math.max(0L, counts.get(Metric.LIKE) + deltas.getOrDefault(Metric.LIKE, 0L));
+        long dislikeCount = Math.max(0L, counts.get(Metric.DISLIKE) + deltas.getOrDefault(Metric.DISLIKE, 0L));
 
         Map<String, Object> result = new HashMap<>();
         result.put("likeCount", likeCount);
@@ -453,6 +495,10 @@ public class SnsService {
         return result;
     }
 
+    private static Metric toMetric(String actionTypeFg) {
+        return "L".equals(actionTypeFg) ? Metric.LIKE : Metric.DISLIKE;
+    }
+
     // ==========================================
     // 3. 댓글 (Detail) 기능 구현
     // ==========================================
@@ -497,6 +543,7 @@ public class SnsService {
         detail.setUpdId(dto.getUserId());
 
         PostDetail saved = postDetailRepository.save(detail);
+        engagementCounterService.increment(Target.POST, postId, Metric.REPLY);
 
         User user = userRepository.findById(saved.getReplyUserId()).orElse(null);
         String userNickNm = user != null ? user.getUserNickNm() : saved.getReplyUserId();
@@ -521,10 +568,14 @@ public class SnsService {
             throw new RuntimeException("댓글 삭제 권한이 없습니다.");
         }
         String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        boolean active = "A".equals(detail.getReplyStatCd());
         detail.setReplyStatCd("D");
         detail.setUpdDtime(now);
         detail.setUpdId(userId);
         postDetailRepository.save(detail);
+        if (active) {
+            engagementCounterService.decrement(Target.POST, detail.getPostId(), Metric.REPLY);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -568,6 +619,7 @@ public class SnsService {
         detail.setUpdId(dto.getUserId());
 
         ShortsDetail saved = shortsDetailRepository.save(detail);
+        engagementCounterService.increment(Target.SHORTS, shortsNo, Metric.REPLY);
 
         User user = userRepository.findById(saved.getReplyUserId()).orElse(null);
         String userNickNm = user != null ? user.getUserNickNm() : saved.getReplyUserId();
@@ -592,9 +644,13 @@ public class SnsService {
             throw new RuntimeException("댓글 삭제 권한이 없습니다.");
         }
         String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        boolean active = "A".equals(detail.getReplyStatCd());
         detail.setReplyStatCd("D");
         detail.setUpdDtime(now);
         detail.setUpdId(userId);
         shortsDetailRepository.save(detail);
+        if (active) {
+            engagementCounterService.decrement(Target.SHORTS, detail.getShortsNo(), Metric.REPLY);
+        }
     }
 }
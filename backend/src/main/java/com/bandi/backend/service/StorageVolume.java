@@ -0,0 +1,35 @@
+package com.bandi.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 업로드 파일 저장 볼륨 (로컬 디렉토리 또는 S3 호환 버킷)
+ * 모든 메서드는 표준 상대 경로(/{domain}/{yyyyMM}/{fileName})를 받는다.
+ */
+public interface StorageVolume {
+
+    String getId();
+
+    /**
+     * source 파일을 relativePath 로 저장한다. 성공하면 source 는 남지 않는다.
+     */
+    void put(String relativePath, Path source) throws IOException;
+
+    InputStream open(String relativePath) throws IOException;
+
+    boolean exists(String relativePath) throws IOException;
+
+    boolean delete(String relativePath) throws IOException;
+
+    /**
+     * 로컬 볼륨이면 실제 파일 경로, 원격 볼륨이면 null
+     */
+    Path localPath(String relativePath);
+
+    /**
+     * 원격 볼륨의 클라이언트 접근 URL (로컬 볼륨은 null → /uploads 경로로 서빙)
+     */
+    String publicUrl(String relativePath);
+}
@@ -0,0 +1,289 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.config.StorageProperties;
+import com.bandi.backend.enums.FileCategory;
+import com.bandi.backend.utils.FileStorageUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업로드 저장 볼륨 목록과 파일 위치 색인(CM_FILE_LOCATION)
+ * - 쓰기: shard-by 설정에 따라 카테고리별 또는 내용 해시로 볼륨 선택 후 위치 기록
+ * - 읽기/삭제: 상대 경로로 위치 색인을 조회 (행이 없으면 기본 볼륨 = 도입 이전 파일)
+ * 상대 경로는 볼륨과 무관하게 그대로이므로 볼륨 간 이동(relocate) 후에도 DB 의 FILE_PATH 는 바뀌지 않는다.
+ * 볼륨이 하나뿐이면 색인을 조회하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageVolumeRegistry {
+
+    private static final DateTimeFormatter DTIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final int MAX_CACHED_LOCATIONS = 50_000;
+
+    private final StorageProperties properties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<String, StorageVolume> volumes = new LinkedHashMap<>();
+
+    private StorageVolume defaultVolume;
+
+    // 원본 상대 경로 -> 볼륨 ID
+    private final Map<String, String> locationCache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        for (StorageProperties.Volume config : properties.getVolumes()) {
+            StorageVolume volume = "s3".equalsIgnoreCase(config.getType())
+                    ? new S3StorageVolume(config)
+                    : new LocalStorageVolume(config.getId(),
+                            config.getRoot() != null && !config.getRoot().isBlank() ? config.getRoot()
+                                    : FileStorageUtil.getBaseUploadDir());
+            volumes.put(volume.getId(), volume);
+        }
+        if (volumes.isEmpty()) {
+            volumes.put(properties.getDefaultVolume(),
+                    new LocalStorageVolume(properties.getDefaultVolume(), FileStorageUtil.getBaseUploadDir()));
+        }
+        defaultVolume = volumes.get(properties.getDefaultVolume());
+        if (defaultVolume == null) {
+            throw new IllegalStateException("storage.default-volume 에 해당하는 볼륨이 없습니다: " + properties.getDefaultVolume());
+        }
+        log.info("업로드 저장 볼륨: {} (기본 {}, shard-by={})", volumes.keySet(), defaultVolume.getId(), properties.getShardBy());
+    }
+
+    public StorageVolume getDefaultVolume() {
+        return defaultVolume;
+    }
+
+    public StorageVolume getVolume(String volumeId) {
+        StorageVolume volume = volumes.get(volumeId);
+        if (volume == null) {
+            throw new IllegalArgumentException("존재하지 않는 저장 볼륨입니다: " + volumeId);
+        }
+        return volume;
+    }
+
+    public List<LocalStorageVolume> getLocalVolumes() {
+        List<LocalStorageVolume> locals = new ArrayList<>();
+        for (StorageVolume volume : volumes.values()) {
+            if (volume instanceof LocalStorageVolume local) {
+                locals.add(local);
+            }
+        }
+        return locals;
+    }
+
+    /**
+     * 새 파일을 둘 볼륨
+     */
+    public StorageVolume selectForWrite(FileCategory category, String contentHash) {
+        switch (properties.getShardBy()) {
+            case "category" -> {
+                String volumeId = properties.getCategoryVolumes().get(category.getDomain());
+                return volumeId != null ? getVolume(volumeId) : defaultVolume;
+            }
+            case "hash" -> {
+                List<String> candidates = properties.getHashVolumes().isEmpty()
+                        ? new ArrayList<>(volumes.keySet())
+                        : properties.getHashVolumes();
+                int bucket = (int) (Long.parseLong(contentHash.substring(0, 8), 16) % candidates.size());
+                return getVolume(candidates.get(bucket));
+            }
+            default -> {
+                return defaultVolume;
+            }
+        }
+    }
+
+    /**
+     * 파일이 있는 볼륨 (리사이즈본은 원본과 같은 볼륨)
+     */
+    public StorageVolume locate(String relativePath) {
+        if (volumes.size() == 1) {
+            return defaultVolume;
+        }
+        String basePath = ImageVariantService.originalPath(relativePath);
+        String volumeId = locationCache.get(basePath);
+        if (volumeId == null) {
+            @SuppressWarnings("unchecked")
+            List<String> rows = entityManager.createNativeQuery(
+                    "SELECT VOLUME_ID FROM CM_FILE_LOCATION WHERE FILE_PATH = :filePath")
+                    .setParameter("filePath", basePath)
+                    .getResultList();
+            volumeId = rows.isEmpty() ? defaultVolume.getId() : rows.get(0);
+            cacheLocation(basePath, volumeId);
+        }
+        StorageVolume volume = volumes.get(volumeId);
+        return volume != null ? volume : defaultVolume;
+    }
+
+    /**
+     * 원본 경로 중 위치 색인상 volumeId 볼륨에 있는 경로 (배치 조회, 행이 없으면 기본 볼륨)
+     * 고아 파일 정리에서 재배치 후 남은 이전 볼륨 사본을 가려낼 때 쓴다.
+     */
+    public Set<String> filterLocatedOn(String volumeId, Collection<String> basePaths) {
+        if (volumes.size() == 1 || basePaths.isEmpty()) {
+            return new HashSet<>(basePaths);
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT FILE_PATH, VOLUME_ID FROM CM_FILE_LOCATION WHERE FILE_PATH IN (:paths)")
+                .setParameter("paths", basePaths)
+                .getResultList();
+        Map<String, String> located = new HashMap<>();
+        for (Object[] row : rows) {
+            located.put((String) row[0], (String) row[1]);
+        }
+        Set<String> result = new HashSet<>();
+        for (String path : basePaths) {
+            if (volumeId.equals(located.getOrDefault(path, defaultVolume.getId()))) {
+                result.add(path);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 새 파일 위치 기록 (호출 트랜잭션 안), 볼륨이 하나뿐이면 생략
+     */
+    public void recordLocation(String relativePath, String volumeId) {
+        if (volumes.size() == 1) {
+            return;
+        }
+        upsertLocation(relativePath, volumeId);
+        cacheLocation(relativePath, volumeId);
+    }
+
+    public void forgetLocation(String relativePath) {
+        if (volumes.size() == 1) {
+            return;
+        }
+        entityManager.createNativeQuery("DELETE FROM CM_FILE_LOCATION WHERE FILE_PATH = :filePath")
+                .setParameter("filePath", relativePath)
+                .executeUpdate();
+        locationCache.remove(relativePath);
+    }
+
+    /**
+     * 볼륨 재배치: 원본과 리사이즈본/압축 사본을 대상 볼륨에 복사하고 위치 색인을 바꾼 뒤, 커밋 후 이전 볼륨에서 지운다.
+     * 상대 경로(CM_ATTACHMENT.FILE_PATH)는 바뀌지 않는다.
+     *
+     * @return 옮긴 파일 수 (이미 대상 볼륨이면 0)
+     */
+    @Transactional
+    public int relocate(String relativePath, String targetVolumeId) throws IOException {
+        StorageVolume source = locate(relativePath);
+        StorageVolume target = getVolume(targetVolumeId);
+        if (source.getId().equals(target.getId())) {
+            return 0;
+        }
+        if (!source.exists(relativePath)) {
+            throw new IllegalArgumentException("원본 파일이 없습니다: " + relativePath);
+        }
+
+        List<String> paths = new ArrayList<>();
+        paths.add(relativePath);
+        for (int width : ImageVariantService.ALL_WIDTHS) {
+            String variant = ImageVariantService.variantPath(relativePath, width);
+            if (source.exists(variant)) {
+                paths.add(variant);
+            }
+        }
+        for (String suffix : UploadPrecompressService.ENCODED_SUFFIXES) {
+            if (source.exists(relativePath + suffix)) {
+                paths.add(relativePath + suffix);
+            }
+        }
+
+        List<String> copied = new ArrayList<>();
+        try {
+            for (String path : paths) {
+                Path temp = Files.createTempFile("relocate-", ".bin");
+                try (InputStream in = source.open(path)) {
+                    Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                    target.put(path, temp);
+                    copied.add(path);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            // 일부만 복사된 경우 대상 볼륨 사본 정리 (색인은 아직 바꾸지 않음)
+            for (String path : copied) {
+                target.delete(path);
+            }
+            throw e;
+        }
+
+        upsertLocation(relativePath, target.getId());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                locationCache.remove(relativePath);
+                // 커밋되면 이전 볼륨 사본을, 롤백되면 새 볼륨 사본을 지운다.
+                StorageVolume stale = status == STATUS_COMMITTED ? source : target;
+                for (String path : paths) {
+                    try {
+                        stale.delete(path);
+                    } catch (IOException e) {
+                        log.warn("볼륨 재배치 후 정리 실패 [{}] {}: {}", stale.getId(), path, e.getMessage());
+                    }
+                }
+            }
+        });
+
+        log.info("볼륨 재배치 [{} -> {}]: {} ({}개 파일)", source.getId(), target.getId(), relativePath, paths.size());
+        return paths.size();
+    }
+
+    private void upsertLocation(String relativePath, String volumeId) {
+        String now = LocalDateTime.now().format(DTIME_FORMAT);
+        entityManager.createNativeQuery("""
+                INSERT INTO CM_FILE_LOCATION (FILE_PATH, VOLUME_ID, INS_DTIME, UPD_DTIME)
+                VALUES (:filePath, :volumeId, :now, :now)
+                ON CONFLICT (FILE_PATH) DO UPDATE
+                   SET VOLUME_ID = EXCLUDED.VOLUME_ID,
+                       UPD_DTIME = EXCLUDED.UPD_DTIME
+                """)
+                .setParameter("filePath", relativePath)
+                .setParameter("volumeId", volumeId)
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+
+    private void cacheLocation(String basePath, String volumeId) {
+        if (locationCache.size() >= MAX_CACHED_LOCATIONS) {
+            locationCache.clear();
+        }
+        locationCache.put(basePath, volumeId);
+    }
+}
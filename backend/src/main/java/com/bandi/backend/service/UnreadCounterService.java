@@ -0,0 +1,403 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.event.ChatMessageSavedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 사용자별/채팅방별 안 읽은 메시지 수 메모리 카운터
+ * - 메시지 발송(커밋 후): 카운터가 적재된 방 참여자 카운터 +1 (메시지 번호로 중복/적재 시점 이전 메시지 제외)
+ * - 메시지 조회(최신 페이지, 커밋 후): 읽은 메시지 번호까지 카운터에서 제외
+ * - 미적재/만료: 읽음 커서 기준으로 DB에서 다시 계산 (방 가입/탈퇴 등은 만료 시 반영)
+ * 전체 배지 수는 기존과 같이 최근 30일 메시지만 센다. (방별 수는 기간 제한 없음)
+ */
+@Slf4j
+@Service
+public class UnreadCounterService {
+
+    private static final long ENTRY_TTL_MILLIS = 10 * 60 * 1000L;
+
+    private static final String[] ROOM_TYPES = { "CLAN", "BAND", "GROUP", "PRIVATE" };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // userId -> (roomKey -> 안 읽은 수)
+    private final Map<String, UserCounters> counters = new ConcurrentHashMap<>();
+
+    // roomKey -> 카운터가 적재된 참여자 (발송 시 증가 대상)
+    private final Map<Long, Set<String>> roomUsers = new ConcurrentHashMap<>();
+
+    // DB 적재 중인 사용자: 적재 중 커밋된 메시지를 모아 두었다가 적재 결과에 더한다
+    private final Set<LoadingUser> loading = ConcurrentHashMap.newKeySet();
+
+    private record LoadingUser(String userId, Queue<long[]> messages) {
+    }
+
+    /**
+     * 방 하나의 안 읽은 수 = 적재 시점 값(base) + 적재 이후 도착한 다른 사람 메시지 번호(newer)
+     */
+    static class RoomCounter {
+        private final long loadedLastMsgNo; // 적재 시점 방의 마지막 메시지 번호 (이하는 base 에 포함)
+        private int base;
+        private int recentBase; // base 중 최근 30일 메시지
+        private final NavigableSet<Long> newer = new ConcurrentSkipListSet<>();
+
+        RoomCounter(long loadedLastMsgNo, int base, int recentBase) {
+            this.loadedLastMsgNo = loadedLastMsgNo;
+            this.base = base;
+            this.recentBase = recentBase;
+        }
+
+        void increment(long msgNo) {
+            if (msgNo > loadedLastMsgNo) {
+                newer.add(msgNo);
+            }
+        }
+
+        /**
+         * @return 적재 시점 이후까지 읽었으면 true, 그보다 앞까지만 읽었으면 false (다시 적재 필요)
+         */
+        synchronized boolean markRead(long readMsgNo) {
+            if (readMsgNo < loadedLastMsgNo) {
+                return false;
+            }
+            base = 0;
+            recentBase = 0;
+            newer.headSet(readMsgNo, true).clear();
+            return true;
+        }
+
+        synchronized int total() {
+            return base + newer.size();
+        }
+
+        synchronized int recent() {
+            return recentBase + newer.size();
+        }
+    }
+
+    private static class UserCounters {
+        private final Map<Long, RoomCounter> rooms;
+        private final long loadedAt;
+
+        UserCounters(Map<Long, RoomCounter> rooms) {
+            this.rooms = rooms;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        boolean isExpired(long now) {
+            return now - loadedAt > ENTRY_TTL_MILLIS;
+        }
+    }
+
+    /**
+     * 방 종류(상위 8비트)와 방 번호를 하나의 long 키로 합친다.
+     */
+    static long roomKey(String roomType, Long roomNo) {
+        long typeCode = 0;
+        for (int i = 0; i < ROOM_TYPES.length; i++) {
+            if (ROOM_TYPES[i].equals(roomType)) {
+                typeCode = i;
+                break;
+            }
+        }
+        return (typeCode << 56) | roomNo;
+    }
+
+    /**
+     * 전체 안 읽은 수 (최근 30일 메시지, 기존 배지 기준과 동일)
+     */
+    @Transactional(readOnly = true)
+    public long getTotalUnreadCount(String userId) {
+        long total = 0;
+        for (RoomCounter room : getOrLoad(userId).rooms.values()) {
+            total += room.recent();
+        }
+        return total;
+    }
+
+    @Transactional(readOnly = true)
+    public int getRoomUnreadCount(String userId, String roomType, Long roomNo) {
+        RoomCounter room = getOrLoad(userId).rooms.get(roomKey(roomType, roomNo));
+        return room != null ? room.total() : 0;
+    }
+
+    /**
+     * 최신 메시지까지 읽은 경우 읽은 번호까지 카운터에서 제외
+     * 트랜잭션 안이면 읽음 커서가 커밋된 뒤 반영 (롤백되면 그대로 둔다)
+     */
+    public void markRead(String userId, String roomType, Long roomNo, Long readMsgNo) {
+        if (readMsgNo == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyRead(userId, roomKey(roomType, roomNo), readMsgNo);
+            return;
+        }
+        long key = roomKey(roomType, roomNo);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyRead(userId, key, readMsgNo);
+            }
+        });
+    }
+
+    private void applyRead(String userId, long key, long readMsgNo) {
+        UserCounters userCounters = counters.get(userId);
+        if (userCounters == null) {
+            return;
+        }
+        RoomCounter room = userCounters.rooms.get(key);
+        if (room == null || !room.markRead(readMsgNo)) {
+            // 적재 이후 새로 참여한 방이거나 적재 시점보다 앞까지만 읽었으면 다음 조회 시 다시 계산
+            evict(userId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChatMessageSaved(ChatMessageSavedEvent event) {
+        Long msgNo = event.getMessage().getCnMsgNo();
+        if (msgNo == null) {
+            return;
+        }
+        long key = roomKey(event.getRoomType(), event.getRoomNo());
+        String senderId = event.getMessage().getSndUserId();
+
+        // 적재 중인 사용자는 적재가 끝난 뒤 반영 (방 참여 여부는 적재 결과로 판단)
+        for (LoadingUser pending : loading) {
+            if (!pending.userId().equals(senderId)) {
+                pending.messages().add(new long[] { key, msgNo });
+            }
+        }
+
+        Set<String> users = roomUsers.get(key);
+        if (users == null) {
+            return;
+        }
+        for (String userId : users) {
+            if (userId.equals(senderId)) {
+                continue;
+            }
+            UserCounters userCounters = counters.get(userId);
+            if (userCounters != null) {
+                RoomCounter room = userCounters.rooms.get(key);
+                if (room != null) {
+                    room.increment(msgNo);
+                }
+            }
+        }
+    }
+
+    public void evict(String userId) {
+        UserCounters removed = counters.remove(userId);
+        if (removed != null) {
+            unregister(userId, removed);
+        }
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        counters.forEach((userId, userCounters) -> {
+            if (userCounters.isExpired(now) && counters.remove(userId, userCounters)) {
+                unregister(userId, userCounters);
+            }
+        });
+    }
+
+    private UserCounters getOrLoad(String userId) {
+        UserCounters current = counters.get(userId);
+        if (current != null && !current.isExpired(System.currentTimeMillis())) {
+            return current;
+        }
+
+        // 적재 전에 먼저 등록해 DB 조회와 방 등록 사이에 커밋된 메시지도 받는다.
+        // 적재 결과와 겹치는 메시지는 메시지 번호로 걸러진다. (적재 시점 마지막 번호 이하 / 같은 번호 중복)
+        LoadingUser pending = new LoadingUser(userId, new ConcurrentLinkedQueue<>());
+        loading.add(pending);
+        UserCounters loaded;
+        try {
+            loaded = new UserCounters(loadFromDb(userId));
+            UserCounters previous = counters.put(userId, loaded);
+            if (previous != null) {
+                unregister(userId, previous);
+            }
+            for (Long key : loaded.rooms.keySet()) {
+                roomUsers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(userId);
+            }
+        } finally {
+            loading.remove(pending);
+        }
+        for (long[] message : pending.messages()) {
+            RoomCounter room = loaded.rooms.get(message[0]);
+            if (room != null) {
+                room.increment(message[1]);
+            }
+        }
+        return loaded;
+    }
+
+    private void unregister(String userId, UserCounters userCounters) {
+        for (Long key : userCounters.rooms.keySet()) {
+            roomUsers.computeIfPresent(key, (k, users) -> {
+                users.remove(userId);
+                return users.isEmpty() ? null : users;
+            });
+        }
+    }
+
+    /**
+     * 사용자가 참여 중인 모든 방의 안 읽은 수 (읽음 커서 기준 범위 비교)
+     * 방별 전체 / 최근 30일 안 읽은 수와 적재 시점 마지막 메시지 번호를 함께 읽는다.
+     */
+    private Map<Long, RoomCounter> loadFromDb(String userId) {
+        String sql = """
+                SELECT
+                    'CLAN' AS ROOM_TYPE,
+                    CNR.CN_NO AS ROOM_NO,
+                    U.UNREAD_CNT,
+                    U.RECENT_UNREAD_CNT,
+                    (SELECT MAX(M.CN_MSG_NO) FROM CN_CHAT_MESSAGE M WHERE M.CN_NO = CNR.CN_NO) AS LAST_MSG_NO
+                FROM CN_USER CNU
+                INNER JOIN CN_GROUP CNG ON CNG.CN_NO = CNU.CN_NO
+                INNER JOIN CN_CHAT_ROOM CNR ON CNR.CN_NO = CNU.CN_NO
+                LEFT JOIN CM_CHAT_READ_CURSOR RC ON RC.ROOM_TYPE_CD = 'CLAN' AND RC.ROOM_NO = CNR.CN_NO AND RC.USER_ID = :userId
+                CROSS JOIN LATERAL (
+                    SELECT
+                        COUNT(1) AS UNREAD_CNT,
+                        COUNT(1) FILTER (WHERE MSG.SND_DTIME BETWEEN TO_CHAR(NOW() - INTERVAL '30 days', 'YYYYMMDD') || '000000'
+                                                             AND TO_CHAR(NOW(), 'YYYYMMDD') || '999999') AS RECENT_UNREAD_CNT
+                    FROM CN_CHAT_MESSAGE MSG
+                    WHERE MSG.CN_NO = CNR.CN_NO
+                      AND MSG.SND_USER_ID <> :userId
+                      AND MSG.CHAT_STAT_CD = 'A'
+                      AND MSG.CN_MSG_NO > COALESCE(RC.LAST_READ_MSG_NO, 0)
+                ) U
+                WHERE CNU.CN_USER_ID = :userId
+                  AND CNU.CN_USER_STAT_CD = 'A'
+                  AND CNU.CN_USER_APPR_STAT_CD = 'CN'
+                  AND CNG.CN_STAT_CD = 'A'
+                  AND CNG.CN_APPR_STAT_CD = 'CN'
+
+                UNION ALL
+
+                SELECT
+                    'BAND' AS ROOM_TYPE,
+                    CNR.BN_NO AS ROOM_NO,
+                    U.UNREAD_CNT,
+                    U.RECENT_UNREAD_CNT,
+                    (SELECT MAX(M.BN_CHAT_MSG_NO) FROM BN_CHAT_MESSAGE M WHERE M.BN_NO = CNR.BN_NO) AS LAST_MSG_NO
+                FROM BN_USER BNU
+                INNER JOIN BN_GROUP BNG ON BNG.BN_NO = BNU.BN_NO
+                INNER JOIN BN_CHAT_ROOM CNR ON CNR.BN_NO = BNU.BN_NO
+                LEFT JOIN CM_CHAT_READ_CURSOR RC ON RC.ROOM_TYPE_CD = 'BAND' AND RC.ROOM_NO = CNR.BN_NO AND RC.USER_ID = :userId
+                CROSS JOIN LATERAL (
+                    SELECT
+                        COUNT(1) AS UNREAD_CNT,
+                        COUNT(1) FILTER (WHERE MSG.BN_CHAT_SND_DTIME BETWEEN TO_CHAR(NOW() - INTERVAL '30 days', 'YYYYMMDD') || '000000'
+                                                             AND TO_CHAR(NOW(), 'YYYYMMDD') || '999999') AS RECENT_UNREAD_CNT
+                    FROM BN_CHAT_MESSAGE MSG
+                    WHERE MSG.BN_NO = CNR.BN_NO
+                      AND MSG.BN_CHAT_SND_USER_ID <> :userId
+                      AND MSG.BN_CHAT_STAT_CD = 'A'
+                      AND MSG.BN_CHAT_MSG_NO > COALESCE(RC.LAST_READ_MSG_NO, 0)
+                ) U
+                WHERE BNU.BN_USER_ID = :userId
+                  AND BNU.BN_USER_STAT_CD = 'A'
+                  AND BNG.BN_STAT_CD = 'A'
+                  AND BNG.BN_CONF_FG IN ('N', 'Y')
+                  AND (
+                      BNG.CN_NO IS NULL
+                      OR EXISTS (
+                          SELECT 1 FROM CN_USER CU
+                          INNER JOIN CN_GROUP CG ON CG.CN_NO = CU.CN_NO
+                          WHERE CU.CN_NO = BNG.CN_NO
+                            AND CU.CN_USER_ID = :userId
+                            AND CU.CN_USER_STAT_CD = 'A'
+                            AND CU.CN_USER_APPR_STAT_CD = 'CN'
+                            AND CG.CN_STAT_CD = 'A'
+                            AND CG.CN_APPR_STAT_CD = 'CN'
+                      )
+                  )
+
+                UNION ALL
+
+                SELECT
+                    'GROUP' AS ROOM_TYPE,
+                    CGU.GRP_CHAT_NO AS ROOM_NO,
+                    U.UNREAD_CNT,
+                    U.RECENT_UNREAD_CNT,
+                    (SELECT MAX(M.GRP_CHAT_MSG_NO) FROM CM_GRP_CHAT_MESSAGE M WHERE M.GRP_CHAT_NO = CGU.GRP_CHAT_NO) AS LAST_MSG_NO
+                FROM CM_GRP_CHAT_USER CGU
+                LEFT JOIN CM_CHAT_READ_CURSOR RC ON RC.ROOM_TYPE_CD = 'GROUP' AND RC.ROOM_NO = CGU.GRP_CHAT_NO AND RC.USER_ID = :userId
+                CROSS JOIN LATERAL (
+                    SELECT
+                        COUNT(1) AS UNREAD_CNT,
+                        COUNT(1) FILTER (WHERE MSG.GRP_CHAT_SND_DTIME BETWEEN TO_CHAR(NOW() - INTERVAL '30 days', 'YYYYMMDD') || '000000'
+                                                             AND TO_CHAR(NOW(), 'YYYYMMDD') || '999999') AS RECENT_UNREAD_CNT
+                    FROM CM_GRP_CHAT_MESSAGE MSG
+                    WHERE MSG.GRP_CHAT_NO = CGU.GRP_CHAT_NO
+                      AND MSG.GRP_CHAT_SND_USER_ID <> :userId
+                      AND MSG.GRP_CHAT_STAT_CD = 'A'
+                      AND MSG.GRP_CHAT_MSG_NO > COALESCE(RC.LAST_READ_MSG_NO, 0)
+                ) U
+                WHERE CGU.USER_ID = :userId
+
+                UNION ALL
+
+                SELECT
+                    'PRIVATE' AS ROOM_TYPE,
+                    CR.MM_ROOM_NO AS ROOM_NO,
+                    U.UNREAD_CNT,
+                    U.RECENT_UNREAD_CNT,
+                    (SELECT MAX(M.MM_MSG_NO) FROM MM_CHAT_MESSAGE M WHERE M.MM_ROOM_NO = CR.MM_ROOM_NO) AS LAST_MSG_NO
+                FROM MM_CHAT_ROOM CR
+                LEFT JOIN CM_CHAT_READ_CURSOR RC ON RC.ROOM_TYPE_CD = 'PRIVATE' AND RC.ROOM_NO = CR.MM_ROOM_NO AND RC.USER_ID = :userId
+                CROSS JOIN LATERAL (
+                    SELECT
+                        COUNT(1) AS UNREAD_CNT,
+                        COUNT(1) FILTER (WHERE MSG.SND_DTIME BETWEEN TO_CHAR(NOW() - INTERVAL '30 days', 'YYYYMMDD') || '000000'
+                                                             AND TO_CHAR(NOW(), 'YYYYMMDD') || '999999') AS RECENT_UNREAD_CNT
+                    FROM MM_CHAT_MESSAGE MSG
+                    WHERE MSG.MM_ROOM_NO = CR.MM_ROOM_NO
+                      AND MSG.SND_USER_ID <> :userId
+                      AND MSG.CHAT_STAT_CD = 'A'
+                      AND MSG.MM_MSG_NO > COALESCE(RC.LAST_READ_MSG_NO, 0)
+                ) U
+                WHERE CR.USER_ID = :userId OR CR.FRIEND_USER_ID = :userId
+                """;
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("userId", userId)
+                .getResultList();
+
+        Map<Long, RoomCounter> rooms = new ConcurrentHashMap<>();
+        for (Object[] row : rows) {
+            long key = roomKey((String) row[0], ((Number) row[1]).longValue());
+            long lastMsgNo = row[4] != null ? ((Number) row[4]).longValue() : 0L;
+            rooms.put(key, new RoomCounter(lastMsgNo, ((Number) row[2]).intValue(), ((Number) row[3]).intValue()));
+        }
+        log.debug("안 읽은 메시지 카운터 적재: userId={}, rooms={}", userId, rooms.size());
+        return rooms;
+    }
+}
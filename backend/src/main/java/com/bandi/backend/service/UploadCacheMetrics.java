@@ -0,0 +1,61 @@
+package com.bandi.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 업로드 파일 정적 서빙 캐시 누적 카운터 (애플리케이션 기동 이후)
+ * hitRate = 304 / (304 + 200) — 클라이언트 캐시 재검증으로 본문 전송을 아낀 비율
+ */
+@Component
+public class UploadCacheMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder fullBody = new LongAdder();
+    private final LongAdder partial = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder gzip = new LongAdder();
+    private final LongAdder brotli = new LongAdder();
+    private final LongAdder precompressed = new LongAdder();
+
+    public void recordResponse(int status, String contentEncoding) {
+        requests.increment();
+        switch (status) {
+            case 304 -> notModified.increment();
+            case 200 -> fullBody.increment();
+            case 206 -> partial.increment();
+            case 404 -> notFound.increment();
+            default -> {
+            }
+        }
+        if ("gzip".equals(contentEncoding)) {
+            gzip.increment();
+        } else if ("br".equals(contentEncoding)) {
+            brotli.increment();
+        }
+    }
+
+    public void recordPrecompressed() {
+        precompressed.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        long hits = notModified.sum();
+        long misses = fullBody.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", requests.sum());
+        result.put("notModified", hits);
+        result.put("fullBody", misses);
+        result.put("partial", partial.sum());
+        result.put("notFound", notFound.sum());
+        result.put("gzip", gzip.sum());
+        result.put("brotli", brotli.sum());
+        result.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        result.put("precompressedFiles", precompressed.sum());
+        return result;
+    }
+}
@@ -0,0 +1,147 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.event.FileStoredEvent;
+import com.bandi.backend.utils.FileStorageUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 압축 가능한 업로드 파일(svg, txt, json 등)의 미리 압축한 사본({file}.gz) 생성
+ * 정적 리소스 핸들러(EncodedResourceResolver)가 Accept-Encoding 에 따라 .br → .gz → 원본 순으로 골라 보낸다.
+ * JDK 에 brotli 인코더가 없어 .gz 만 만들며, .br 은 배포 시 외부 도구로 만들어 두면 그대로 서빙된다.
+ * 이미지/영상/PDF 등 이미 압축된 형식은 대상이 아니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadPrecompressService {
+
+    // 원본 옆에 두는 인코딩 사본 접미사 (삭제/재배치/고아 정리 시 원본과 함께 다룬다)
+    public static final List<String> ENCODED_SUFFIXES = List.of(".gz", ".br");
+
+    private static final Set<String> COMPRESSIBLE_EXTS =
+            Set.of("svg", "txt", "csv", "json", "xml", "html", "htm", "css", "js", "md", "rtf");
+
+    // 압축해도 원본의 90% 이상이면 사본을 두지 않는다.
+    private static final double MAX_RATIO = 0.9;
+
+    private final StorageVolumeRegistry storageVolumeRegistry;
+    private final UploadCacheMetrics uploadCacheMetrics;
+
+    @Value("${upload.cache.precompress.enabled:true}")
+    private boolean enabled;
+
+    @Value("${upload.cache.precompress.min-size-bytes:1024}")
+    private long minSizeBytes;
+
+    @Value("${upload.cache.precompress.legacy-scan:true}")
+    private boolean legacyScan;
+
+    public static boolean isCompressible(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSIBLE_EXTS.contains(fileName.substring(dot + 1).toLowerCase());
+    }
+
+    @Async("imageVariantExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFileStored(FileStoredEvent event) {
+        if (!enabled || !isCompressible(event.getRelativePath())) {
+            return;
+        }
+        // 원격(S3 호환) 볼륨은 CDN/버킷 쪽 압축에 맡긴다.
+        Path file = storageVolumeRegistry.locate(event.getRelativePath()).localPath(event.getRelativePath());
+        if (file != null) {
+            precompress(file);
+        }
+    }
+
+    /**
+     * 기동 시 레거시 common_images 중 압축 사본이 없거나 오래된 파일 처리
+     */
+    @Async("imageVariantExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompressLegacy() {
+        if (!enabled || !legacyScan) {
+            return;
+        }
+        Path dir = Paths.get(FileStorageUtil.getUploadDir());
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        int count = 0;
+        try (Stream<Path> files = Files.walk(dir, 3)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                if (precompress(file)) {
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("레거시 파일 압축 사본 생성 실패: {}", e.getMessage());
+        }
+        log.info("레거시 파일 압축 사본 생성 완료: {}건", count);
+    }
+
+    /**
+     * @return 새 .gz 사본을 만들었으면 true
+     */
+    public boolean precompress(Path file) {
+        String name = file.getFileName().toString();
+        if (!isCompressible(name)) {
+            return false;
+        }
+        Path gz = file.resolveSibling(name + ".gz");
+        Path temp = file.resolveSibling(name + ".gz.tmp");
+        try {
+            long size = Files.size(file);
+            if (size < minSizeBytes) {
+                return false;
+            }
+            if (Files.exists(gz) && Files.getLastModifiedTime(gz).compareTo(Files.getLastModifiedTime(file)) >= 0) {
+                return false;
+            }
+
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp)) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                Files.copy(file, out);
+            }
+            if (Files.size(temp) > size * MAX_RATIO) {
+                Files.deleteIfExists(temp);
+                return false;
+            }
+            Files.move(temp, gz, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            uploadCacheMetrics.recordPrecompressed();
+            log.debug("압축 사본 생성: {} ({} -> {} bytes)", gz, size, Files.size(gz));
+            return true;
+        } catch (IOException e) {
+            log.warn("압축 사본 생성 실패 [{}]: {}", file, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 고아 정리(.tmp)에서 지워진다
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.service.EngagementCounterService.Metric;
+import com.bandi.backend.service.EngagementCounterService.Target;
+import com.bandi.backend.utils.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게시물/쇼츠 조회 중복 제거 (sns.view.mode=sketch 일 때)
+ * - 항목별 Bloom 필터로 "이 사용자가 본 적 있는지"를 메모리에서 판정 → 조회마다 existsBy/INSERT 하지 않는다.
+ * - 처음 본 조회만 조회수 증분(EngagementCounterService)에 더하고, 원본 행(MM_*_VIEW)은 모아서 일괄 INSERT (persist-raw)
+ * - 필터는 일정 시간 안 쓰이거나 최대 항목 수를 넘으면 오래 안 쓰인 순(접근 순서 LinkedHashMap)으로 메모리에서 제거하고, 다시 쓰일 때 복원한다.
+ *   persist-raw=true : 원본 행으로 다시 채운다. 아직 반영 전 원본 행이 남은 항목은 제거하지 않는다.
+ *   persist-raw=false: 제거 직전(과 종료 시) 필터 상태를 MM_VIEW_FILTER 에 저장하고 그대로 복원한다.
+ * Bloom 필터 특성상 오탐(설정 비율 이하)만큼 처음 본 조회가 중복으로 판정되어 조회수가 약간 적게 셀 수 있다.
+ * 원본 행 저장에 실패해 버린 조회, 비정상 종료 전 마지막 저장 이후의 필터 변경은 복원되지 않아 다시 셀 수 있다.
+ */
+@Slf4j
+@Service
+public class ViewTrackingService {
+
+    private static final long ENTRY_TTL_MILLIS = 30 * 60 * 1000L;
+
+    // INSERT 1회당 최대 행 수
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    // 반영이 밀릴 때 메모리에 쌓아 둘 최대 원본 행 수 (넘으면 원본 행만 버리고 조회수는 유지)
+    private static final int MAX_BUFFERED_ROWS = 100_000;
+
+    private static final Map<Target, String[]> VIEW_TABLES = new EnumMap<>(Map.of(
+            Target.POST, new String[] { "MM_POSTS_VIEW", "POST_ID" },
+            Target.SHORTS, new String[] { "MM_SHORTS_VIEW", "SHORTS_NO" }));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final EngagementCounterService engagementCounterService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sns.view.mode:exact}")
+    private String mode;
+
+    @Value("${sns.view.persist-raw:true}")
+    private boolean persistRaw;
+
+    @Value("${sns.view.expected-viewers:256}")
+    private int expectedViewers;
+
+    @Value("${sns.view.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${sns.view.max-items:20000}")
+    private int maxItems;
+
+    private record ItemKey(Target target, long id) {
+    }
+
+    private record ViewRow(Target target, long id, String userId, String insDtime, Entry entry) {
+    }
+
+    /**
+     * 항목 하나의 필터 (필터 기록/반영 전 행 수/제거 표시는 this 로 동기화)
+     */
+    private static class Entry {
+        private final BloomFilter filter;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private volatile int unflushed; // 아직 DB 에 반영하지 않은 원본 행 수
+        private volatile boolean retired; // 맵에서 제거됨 → 기록하지 않고 다시 적재
+
+        Entry(BloomFilter filter) {
+            this.filter = filter;
+        }
+    }
+
+    // 접근 순서 LinkedHashMap (가장 오래 안 쓰인 항목이 맨 앞), entries 로 동기화
+    private final LinkedHashMap<ItemKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    // 제거(만료/크기 초과)는 한 번에 하나만
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private final ConcurrentLinkedQueue<ViewRow> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedRows = new AtomicInteger();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder uniqueViews = new LongAdder();
+    private final LongAdder duplicateViews = new LongAdder();
+    private final LongAdder filterLoads = new LongAdder();
+    private final LongAdder insertedRows = new LongAdder();
+    private final LongAdder droppedRows = new LongAdder();
+    private final LongAdder evictedItems = new LongAdder();
+
+    public ViewTrackingService(EngagementCounterService engagementCounterService,
+            PlatformTransactionManager transactionManager) {
+        this.engagementCounterService = engagementCounterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return "sketch".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 조회 기록 (처음 본 사용자면 조회수 증분 + 원본 행 적재)
+     *
+     * @return 이 사용자의 첫 조회로 판정되면 true
+     */
+    public boolean record(Target target, Long id, String userId) {
+        ItemKey key = new ItemKey(target, id);
+        while (true) {
+            Entry entry = getOrLoad(key);
+            synchronized (entry) {
+                if (entry.retired) {
+                    continue; // 방금 제거된 필터 → 저장된 상태로 다시 적재
+                }
+                entry.lastAccess = System.currentTimeMillis();
+                if (!entry.filter.putIfAbsent(userId)) {
+                    duplicateViews.increment();
+                    return false;
+                }
+                if (persistRaw) {
+                    if (bufferedRows.incrementAndGet() > MAX_BUFFERED_ROWS) {
+                        bufferedRows.decrementAndGet();
+                        droppedRows.increment();
+                    } else {
+                        // 반영 전 원본 행이 있는 동안은 제거 대상에서 빠진다
+                        entry.unflushed++;
+                        String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+                        buffer.add(new ViewRow(target, id, userId, now, entry));
+                    }
+                }
+            }
+            break;
+        }
+        uniqueViews.increment();
+        engagementCounterService.increment(target, id, Metric.VIEW);
+        return true;
+    }
+
+    private Entry getOrLoad(ItemKey key) {
+        synchronized (entries) {
+            Entry current = entries.get(key);
+            if (current != null && !current.retired) {
+                return current;
+            }
+        }
+        // 저장된 상태로 채운 뒤 등록 (동시에 적재되면 먼저 등록된 필터를 쓴다)
+        Entry loaded = load(key);
+        boolean overflow;
+        synchronized (entries) {
+            Entry previous = entries.get(key);
+            if (previous != null && !previous.retired) {
+                return previous;
+            }
+            entries.put(key, loaded);
+            overflow = entries.size() > maxItems;
+        }
+        if (overflow) {
+            trimToSize();
+        }
+        return loaded;
+    }
+
+    private Entry load(ItemKey key) {
+        filterLoads.increment();
+        if (!persistRaw) {
+            return new Entry(loadSnapshot(key));
+        }
+        String[] table = VIEW_TABLES.get(key.target());
+        @SuppressWarnings("unchecked")
+        List<String> viewers = entityManager.createNativeQuery(
+                "SELECT USER_ID FROM " + table[0] + " WHERE " + table[1] + " = :id")
+                .setParameter("id", key.id())
+                .getResultList();
+        BloomFilter filter = new BloomFilter(Math.max(expectedViewers, viewers.size() * 2), falsePositiveRate);
+        for (String viewer : viewers) {
+            filter.put(viewer);
+        }
+        return new Entry(filter);
+    }
+
+    private BloomFilter loadSnapshot(ItemKey key) {
+        @SuppressWarnings("unchecked")
+        List<byte[]> rows = entityManager.createNativeQuery(
+                "SELECT FILTER_DATA FROM MM_VIEW_FILTER WHERE TARGET_CD = :target AND TARGET_ID = :id")
+                .setParameter("target", key.target().name())
+                .setParameter("id", key.id())
+                .getResultList();
+        if (!rows.isEmpty() && rows.get(0) != null) {
+            try {
+                return BloomFilter.fromBytes(rows.get(0));
+            } catch (IllegalArgumentException e) {
+                log.warn("조회 필터 복원 실패 ({} {}): {}", key.target(), key.id(), e.getMessage());
+            }
+        }
+        return new BloomFilter(expectedViewers, falsePositiveRate);
+    }
+
+    /**
+     * 30분 넘게 안 쓰인 항목 제거 (접근 순서라 앞에서부터 보다가 최근 항목을 만나면 멈춘다)
+     */
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void purgeExpired() {
+        evictLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            List<Map.Entry<ItemKey, Entry>> victims = new ArrayList<>();
+            synchronized (entries) {
+                for (Map.Entry<ItemKey, Entry> entry : entries.entrySet()) {
+                    if (now - entry.getValue().lastAccess <= ENTRY_TTL_MILLIS) {
+                        break;
+                    }
+                    victims.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+            evict(victims);
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    /**
+     * 최대 항목 수 초과 시 가장 오래 안 쓰인 항목부터 제거 (정렬 없이 접근 순서 앞쪽만 본다)
+     * 이미 다른 스레드가 제거 중이면 건너뛴다.
+     */
+    private void trimToSize() {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Map.Entry<ItemKey, Entry>> victims = new ArrayList<>();
+            synchronized (entries) {
+                int overflow = entries.size() - maxItems;
+                Iterator<Map.Entry<ItemKey, Entry>> iterator = entries.entrySet().iterator();
+                while (victims.size() < overflow && iterator.hasNext()) {
+                    Map.Entry<ItemKey, Entry> entry = iterator.next();
+                    if (entry.getValue().unflushed == 0) {
+                        victims.add(Map.entry(entry.getKey(), entry.getValue()));
+                    }
+                }
+            }
+            evict(victims);
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    /**
+     * 제거: (persist-raw=false 면 상태를 먼저 저장한 뒤) 반영 전 행이 없고 저장 이후 바뀌지 않은 항목만 맵에서 뺀다
+     */
+    private void evict(List<Map.Entry<ItemKey, Entry>> victims) {
+        if (victims.isEmpty()) {
+            return;
+        }
+        Map<ItemKey, Long> savedCounts = null;
+        if (!persistRaw) {
+            try {
+                savedCounts = saveSnapshots(victims);
+            } catch (RuntimeException e) {
+                // 저장하지 못한 필터는 메모리에 남겨 두고 다음에 다시 시도
+                log.error("조회 필터 저장 실패 ({}건 제거 보류)", victims.size(), e);
+                return;
+            }
+        }
+        int evicted = 0;
+        for (Map.Entry<ItemKey, Entry> victim : victims) {
+            Entry entry = victim.getValue();
+            synchronized (entry) {
+                if (entry.unflushed > 0
+                        || (savedCounts != null && entry.filter.count() != savedCounts.get(victim.getKey()))) {
+                    continue;
+                }
+                entry.retired = true;
+            }
+            synchronized (entries) {
+                entries.remove(victim.getKey(), entry);
+            }
+            evicted++;
+        }
+        evictedItems.add(evicted);
+    }
+
+    /**
+     * 필터 상태를 MM_VIEW_FILTER 에 저장 (INSERT ... ON CONFLICT DO UPDATE, 여러 행씩)
+     *
+     * @return 항목 -> 저장 시점의 넣은 값 수 (이후 바뀌었는지 확인용)
+     */
+    private Map<ItemKey, Long> saveSnapshots(List<Map.Entry<ItemKey, Entry>> items) {
+        Map<ItemKey, Long> counts = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>(items.size());
+        for (Map.Entry<ItemKey, Entry> item : items) {
+            Entry entry = item.getValue();
+            synchronized (entry) {
+                rows.add(new Object[] { item.getKey(), entry.filter.toBytes() });
+                counts.put(item.getKey(), entry.filter.count());
+            }
+        }
+        String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rows.size(); from += FLUSH_CHUNK_SIZE) {
+                List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + FLUSH_CHUNK_SIZE));
+                StringBuilder sql = new StringBuilder(
+                        "INSERT INTO MM_VIEW_FILTER (TARGET_CD, TARGET_ID, FILTER_DATA, UPD_DTIME) VALUES ");
+                for (int i = 0; i < chunk.size(); i++) {
+                    sql.append(i == 0 ? "" : ", ")
+                            .append("(:target").append(i).append(", :id").append(i).append(", :data").append(i)
+                            .append(", :now)");
+                }
+                sql.append(" ON CONFLICT (TARGET_CD, TARGET_ID) DO UPDATE")
+                        .append(" SET FILTER_DATA = EXCLUDED.FILTER_DATA, UPD_DTIME = EXCLUDED.UPD_DTIME");
+
+                Query query = entityManager.createNativeQuery(sql.toString()).setParameter("now", now);
+                for (int i = 0; i < chunk.size(); i++) {
+                    ItemKey key = (ItemKey) chunk.get(i)[0];
+                    query.setParameter("target" + i, key.target().name());
+                    query.setParameter("id" + i, key.id());
+                    query.setParameter("data" + i, chunk.get(i)[1]);
+                }
+                query.executeUpdate();
+            }
+        });
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${sns.view.flush-interval-ms:3000}")
+    public void flush() {
+        if (buffer.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            while (!buffer.isEmpty()) {
+                List<ViewRow> chunk = new ArrayList<>(FLUSH_CHUNK_SIZE);
+                ViewRow row;
+                while (chunk.size() < FLUSH_CHUNK_SIZE && (row = buffer.poll()) != null) {
+                    chunk.add(row);
+                }
+                bufferedRows.addAndGet(-chunk.size());
+                try {
+                    Integer inserted = transactionTemplate.execute(status -> insert(chunk));
+                    insertedRows.add(inserted != null ? inserted : 0);
+                } catch (RuntimeException e) {
+                    // 원본 행은 분석용이라 재시도하지 않는다 (조회수는 이미 반영됨)
+                    droppedRows.add(chunk.size());
+                    log.error("조회 원본 행 저장 실패 ({}건 버림)", chunk.size(), e);
+                } finally {
+                    for (ViewRow viewRow : chunk) {
+                        synchronized (viewRow.entry()) {
+                            viewRow.entry().unflushed--;
+                        }
+                    }
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 종료 시 원본 행 반영, persist-raw=false 면 모든 필터 상태 저장 (재기동 후 복원)
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!persistRaw) {
+            List<Map.Entry<ItemKey, Entry>> items;
+            synchronized (entries) {
+                items = new ArrayList<>(entries.size());
+                entries.forEach((key, entry) -> items.add(Map.entry(key, entry)));
+            }
+            if (items.isEmpty()) {
+                return;
+            }
+            try {
+                saveSnapshots(items);
+            } catch (RuntimeException e) {
+                log.error("종료 시 조회 필터 저장 실패 ({}건)", items.size(), e);
+            }
+        }
+    }
+
+    /**
+     * 대상 테이블별 INSERT ... VALUES (...), (...) ON CONFLICT DO NOTHING
+     */
+    private int insert(List<ViewRow> rows) {
+        Map<Target, List<ViewRow>> byTarget = new EnumMap<>(Target.class);
+        for (ViewRow row : rows) {
+            byTarget.computeIfAbsent(row.target(), t -> new ArrayList<>()).add(row);
+        }
+        int inserted = 0;
+        for (Map.Entry<Target, List<ViewRow>> entry : byTarget.entrySet()) {
+            String[] table = VIEW_TABLES.get(entry.getKey());
+            List<ViewRow> targetRows = entry.getValue();
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table[0]).append(" (").append(table[1])
+                    .append(", USER_ID, INS_DTIME, INS_ID, UPD_DTIME, UPD_ID) VALUES ");
+            for (int i = 0; i < targetRows.size(); i++) {
+                sql.append(i == 0 ? "" : ", ")
+                        .append("(:id").append(i).append(", :user").append(i).append(", :dtime").append(i)
+                        .append(", :user").append(i).append(", :dtime").append(i).append(", :user").append(i).append(")");
+            }
+            sql.append(" ON CONFLICT DO NOTHING");
+
+            Query query = entityManager.createNativeQuery(sql.toString());
+            for (int i = 0; i < targetRows.size(); i++) {
+                ViewRow row = targetRows.get(i);
+                query.setParameter("id" + i, row.id());
+                query.setParameter("user" + i, row.userId());
+                query.setParameter("dtime" + i, row.insDtime());
+            }
+            inserted += query.executeUpdate();
+        }
+        return inserted;
+    }
+
+    public Map<String, Object> snapshot() {
+        long memoryBytes = 0;
+        int trackedItems;
+        synchronized (entries) {
+            trackedItems = entries.size();
+            for (Entry entry : entries.values()) {
+                memoryBytes += entry.filter.memoryBytes();
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", isEnabled() ? "sketch" : "exact");
+        result.put("persistRaw", persistRaw);
+        result.put("trackedItems", trackedItems);
+        result.put("filterMemoryBytes", memoryBytes);
+        result.put("filterLoads", filterLoads.sum());
+        result.put("uniqueViews", uniqueViews.sum());
+        result.put("duplicateViews", duplicateViews.sum());
+        result.put("bufferedRows", bufferedRows.get());
+        result.put("insertedRows", insertedRows.sum());
+        result.put("droppedRows", droppedRows.sum());
+        result.put("evictedItems", evictedItems.sum());
+        return result;
+    }
+}
@@ -0,0 +1,231 @@
+package com.bandi.backend.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 문자열 Bloom 필터 (확장형: 예상 건수를 넘으면 두 배 크기의 필터를 이어 붙여 오탐률 유지)
+ * - mightContain 이 false 면 확실히 처음, true 면 이미 넣었거나 오탐(설정한 확률 이하)
+ * - 스레드 안전 (putIfAbsent 는 확인과 기록을 한 번에 처리)
+ * - toBytes/fromBytes 로 확장 상태까지 그대로 저장/복원
+ */
+public class BloomFilter {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final double falsePositiveRate;
+
+    private Segment[] segments;
+
+    private long count;
+
+    /**
+     * 고정 크기 비트 배열 하나 (해시 k 개, 이중 해싱)
+     */
+    private static final class Segment {
+        private final long[] bits;
+        private final long bitSize;
+        private final int hashCount;
+        private final long capacity;
+        private long inserted;
+
+        Segment(long capacity, double falsePositiveRate) {
+            long bitSize = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitSize = Math.max(64, bitSize);
+            this.bits = new long[(int) ((this.bitSize + 63) / 64)];
+            this.hashCount = Math.max(1, (int) Math.round((double) this.bitSize / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        Segment(long capacity, long bitSize, int hashCount, long[] bits, long inserted) {
+            this.capacity = capacity;
+            this.bitSize = bitSize;
+            this.hashCount = hashCount;
+            this.bits = bits;
+            this.inserted = inserted;
+        }
+
+        boolean mightContain(long hash1, long hash2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash1, long hash2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            inserted++;
+        }
+
+        long memoryBytes() {
+            return bits.length * 8L;
+        }
+    }
+
+    /**
+     * @param expectedInsertions 첫 필터 크기 (넘으면 자동 확장)
+     * @param falsePositiveRate  필터 하나당 오탐률 (0~1)
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.segments = new Segment[] { new Segment(Math.max(16, expectedInsertions), falsePositiveRate) };
+    }
+
+    private BloomFilter(double falsePositiveRate, Segment[] segments, long count) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.segments = segments;
+        this.count = count;
+    }
+
+    /**
+     * 저장용 바이트 (형식 버전 + 오탐률 + 넣은 수 + 필터별 크기/해시 수/비트 배열)
+     */
+    public synchronized byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeDouble(falsePositiveRate);
+            out.writeLong(count);
+            out.writeInt(segments.length);
+            for (Segment segment : segments) {
+                out.writeLong(segment.capacity);
+                out.writeLong(segment.bitSize);
+                out.writeInt(segment.hashCount);
+                out.writeLong(segment.inserted);
+                out.writeInt(segment.bits.length);
+                for (long word : segment.bits) {
+                    out.writeLong(word);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException toBytes 형식이 아니거나 잘린 데이터
+     */
+    public static BloomFilter fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readUnsignedByte() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 Bloom 필터 형식입니다.");
+            }
+            double falsePositiveRate = in.readDouble();
+            long count = in.readLong();
+            int segmentCount = in.readInt();
+            if (segmentCount <= 0 || segmentCount > 64) {
+                throw new IllegalArgumentException("Bloom 필터 데이터가 올바르지 않습니다.");
+            }
+            Segment[] segments = new Segment[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long capacity = in.readLong();
+                long bitSize = in.readLong();
+                int hashCount = in.readInt();
+                long inserted = in.readLong();
+                int words = in.readInt();
+                if (capacity <= 0 || bitSize < 64 || hashCount <= 0 || words != (bitSize + 63) / 64 || words * 8L > data.length) {
+                    throw new IllegalArgumentException("Bloom 필터 데이터가 올바르지 않습니다.");
+                }
+                long[] bits = new long[words];
+                for (int w = 0; w < words; w++) {
+                    bits[w] = in.readLong();
+                }
+                segments[i] = new Segment(capacity, bitSize, hashCount, bits, inserted);
+            }
+            return new BloomFilter(falsePositiveRate, segments, count);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Bloom 필터 데이터가 올바르지 않습니다.", e);
+        }
+    }
+
+    public synchronized boolean mightContain(String value) {
+        long[] hash = hash(value);
+        for (Segment segment : segments) {
+            if (segment.mightContain(hash[0], hash[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void put(String value) {
+        long[] hash = hash(value);
+        writableSegment().put(hash[0], hash[1]);
+        count++;
+    }
+
+    /**
+     * @return 처음 본 값이면 기록하고 true, 이미 있으면(오탐 포함) false
+     */
+    public synchronized boolean putIfAbsent(String value) {
+        long[] hash = hash(value);
+        for (Segment segment : segments) {
+            if (segment.mightContain(hash[0], hash[1])) {
+                return false;
+            }
+        }
+        writableSegment().put(hash[0], hash[1]);
+        count++;
+        return true;
+    }
+
+    /**
+     * 넣은 값 수 (중복으로 판정된 값 제외)
+     */
+    public synchronized long count() {
+        return count;
+    }
+
+    public synchronized long memoryBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.memoryBytes();
+        }
+        return bytes;
+    }
+
+    private Segment writableSegment() {
+        Segment last = segments[segments.length - 1];
+        if (last.inserted < last.capacity) {
+            return last;
+        }
+        // 이어 붙인 필터마다 오탐률을 절반으로 줄여 전체 오탐률이 처음 설정의 2배를 넘지 않게 한다
+        Segment[] grown = new Segment[segments.length + 1];
+        System.arraycopy(segments, 0, grown, 0, segments.length);
+        grown[segments.length] = new Segment(last.capacity * 2, falsePositiveRate / (1L << segments.length));
+        segments = grown;
+        return grown[segments.length - 1];
+    }
+
+    /**
+     * FNV-1a 64 + 혼합(splitmix64) 으로 두 해시값 생성
+     */
+    private static long[] hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        long h1 = mix(h);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1L;
+        return new long[] { h1, h2 };
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
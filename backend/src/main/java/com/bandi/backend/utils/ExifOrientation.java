@@ -0,0 +1,147 @@
+package com.bandi.backend.utils;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JPEG EXIF 방향(Orientation, 0x0112) 읽기 및 적용
+ * - ImageIO 는 EXIF 를 무시하고 센서 방향 그대로 읽으므로, 휴대폰 세로 사진의 리사이즈본이 눕혀져 저장된다.
+ * - SOS 전까지 마커만 건너뛰며 APP1(Exif) 의 IFD0 만 읽는다 (픽셀 데이터는 읽지 않음)
+ */
+public final class ExifOrientation {
+
+    public static final int NORMAL = 1;
+
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TYPE_SHORT = 3;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * @return EXIF 방향 값 (1~8), JPEG 가 아니거나 태그가 없으면 1
+     */
+    public static int read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            if (data.readUnsignedShort() != 0xFFD8) {
+                return NORMAL;
+            }
+            while (true) {
+                int marker = data.readUnsignedByte();
+                if (marker != 0xFF) {
+                    return NORMAL; // 마커 위치가 어긋난 비정상 파일
+                }
+                marker = data.readUnsignedByte();
+                while (marker == 0xFF) {
+                    marker = data.readUnsignedByte(); // 채움 바이트
+                }
+                if (marker == 0xDA || marker == 0xD9) {
+                    return NORMAL; // 영상 데이터 시작(SOS)/끝까지 Exif 없음
+                }
+                if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                    continue; // 길이 없는 마커
+                }
+                int length = data.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return NORMAL;
+                }
+                if (marker == 0xE1) {
+                    byte[] segment = new byte[length];
+                    data.readFully(segment);
+                    int orientation = parseExif(segment);
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                } else {
+                    data.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return NORMAL;
+        }
+    }
+
+    /**
+     * APP1 세그먼트 "Exif\0\0" + TIFF 헤더 + IFD0 에서 방향 태그 찾기
+     *
+     * @return 방향 값, Exif 가 아니거나 태그가 없으면 0
+     */
+    private static int parseExif(byte[] segment) {
+        if (segment.length < 14 || !"Exif".equals(new String(segment, 0, 4, StandardCharsets.US_ASCII))
+                || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) == 'M' && tiff.get(1) == 'M') {
+            tiff.order(ByteOrder.BIG_ENDIAN);
+        } else {
+            return 0;
+        }
+        if (tiff.getShort(2) != 42) {
+            return 0;
+        }
+        long ifd = tiff.getInt(4) & 0xFFFFFFFFL;
+        if (ifd + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort((int) ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                return 0;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == TAG_ORIENTATION) {
+                if ((tiff.getShort(entry + 2) & 0xFFFF) != TYPE_SHORT) {
+                    return 0;
+                }
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 방향 값대로 회전/반전한 이미지 (1 이면 원본 그대로)
+     * 5~8 은 가로/세로가 바뀐다.
+     */
+    public static BufferedImage apply(BufferedImage source, int orientation) {
+        if (orientation <= NORMAL || orientation > 8) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // 원본 (x, y) -> 결과 좌표 (m00 x + m01 y + m02, m10 x + m11 y + m12)
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0); // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h); // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h); // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0); // 주대각선 기준 반전
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0); // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w); // 부대각선 기준 반전
+            default -> new AffineTransform(0, -1, 1, 0, 0, w); // 8: 반시계 방향 90도
+        };
+        boolean swap = orientation >= 5;
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage rotated = new BufferedImage(swap ? h : w, swap ? w : h, type);
+        Graphics2D g = rotated.createGraphics();
+        try {
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return rotated;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bandi.backend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 피드 커서 (정렬 키 + ID) — 클라이언트에는 base64url 문자열로만 노출
+ * 형식: "{종류}:{정렬 키}:{ID}" (종류 L = 등록 시각 순, T = 인기 점수 순)
+ * 최신순 커서(L)는 메모리 스냅샷 피드와 키셋 스크롤 API 가 같은 형식이라 서로 이어서 쓸 수 있다.
+ */
+public record FeedCursor(String key, long id) {
+
+    public static final String LATEST = "L";
+    public static final String TRENDING = "T";
+
+    public static String encode(String kind, String key, long id) {
+        String raw = kind + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 다르거나 종류가 맞지 않는 커서
+     */
+    public static FeedCursor decode(String cursor, String kind) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 3 && parts[0].equals(kind) && !parts[1].isEmpty()) {
+                return new FeedCursor(parts[1], Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 포함, 아래에서 처리
+        }
+        throw new IllegalArgumentException("잘못된 커서입니다.");
+    }
+}
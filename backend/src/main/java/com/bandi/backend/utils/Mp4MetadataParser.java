@@ -0,0 +1,249 @@
+package com.bandi.backend.utils;
+
+import com.bandi.backend.dto.VideoMetadataDto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MP4/MOV 컨테이너 메타데이터 파서 (디코더 없이 박스 구조만 읽음)
+ * - 최상위 박스를 건너뛰며 moov 만 메모리로 읽는다 (mdat 은 읽지 않으므로 moov 가 파일 끝에 있어도 빠름)
+ * - moov/mvhd: 재생 시간, moov/trak(hdlr=vide)/tkhd: 폭/높이/회전, stsd: 코덱, udta/meta/ilst/covr: 표지 이미지
+ */
+public final class Mp4MetadataParser {
+
+    // moov 가 이보다 크면 비정상 파일로 본다 (일반적인 쇼츠는 수십~수백 KB)
+    private static final int MAX_MOOV_SIZE = 32 * 1024 * 1024;
+
+    private Mp4MetadataParser() {
+    }
+
+    /**
+     * 박스 위치 (payloadStart ~ end)
+     */
+    private record Box(String type, long payloadStart, long end) {
+    }
+
+    /**
+     * @return 메타데이터, moov 가 없거나 MP4 형식이 아니면 null
+     */
+    public static VideoMetadataDto parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer moov = null;
+            long position = 0;
+            while (position + 8 <= fileSize) {
+                Box box = readHeader(channel, position, fileSize);
+                if (box == null) {
+                    break;
+                }
+                if ("moov".equals(box.type())) {
+                    long size = box.end() - box.payloadStart();
+                    if (size > MAX_MOOV_SIZE) {
+                        throw new IOException("moov 박스가 너무 큽니다: " + size);
+                    }
+                    moov = ByteBuffer.allocate((int) size);
+                    while (moov.hasRemaining()) {
+                        if (channel.read(moov, box.payloadStart() + moov.position()) < 0) {
+                            throw new IOException("moov 박스를 끝까지 읽을 수 없습니다.");
+                        }
+                    }
+                    moov.flip();
+                    break;
+                }
+                position = box.end();
+            }
+            if (moov == null) {
+                return null;
+            }
+
+            VideoMetadataDto.VideoMetadataDtoBuilder builder = VideoMetadataDto.builder();
+            long durationMs = parseMoov(moov, builder);
+            if (durationMs > 0) {
+                builder.durationMs(durationMs);
+                builder.bitrate(fileSize * 8 * 1000 / durationMs);
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * @return mvhd 재생 시간(ms), 없으면 0
+     */
+    private static long parseMoov(ByteBuffer moov, VideoMetadataDto.VideoMetadataDtoBuilder builder) {
+        long durationMs = 0;
+        boolean videoFound = false;
+        int position = 0;
+        while (position + 8 <= moov.limit()) {
+            Box box = readHeader(moov, position);
+            if (box == null) {
+                break;
+            }
+            switch (box.type()) {
+                case "mvhd" -> durationMs = parseMvhd(moov, (int) box.payloadStart());
+                case "trak" -> {
+                    if (!videoFound) {
+                        videoFound = parseTrak(moov, (int) box.payloadStart(), (int) box.end(), builder);
+                    }
+                }
+                case "udta" -> builder.coverImage(findCover(moov, (int) box.payloadStart(), (int) box.end()));
+                default -> {
+                }
+            }
+            position = (int) box.end();
+        }
+        return durationMs;
+    }
+
+    private static long parseMvhd(ByteBuffer buf, int start) {
+        int version = buf.get(start) & 0xFF;
+        long timescale;
+        long duration;
+        if (version == 1) {
+            timescale = Integer.toUnsignedLong(buf.getInt(start + 4 + 16));
+            duration = buf.getLong(start + 4 + 20);
+        } else {
+            timescale = Integer.toUnsignedLong(buf.getInt(start + 4 + 8));
+            duration = Integer.toUnsignedLong(buf.getInt(start + 4 + 12));
+        }
+        return timescale > 0 && duration > 0 ? duration * 1000 / timescale : 0;
+    }
+
+    /**
+     * 영상 트랙(hdlr=vide)이면 폭/높이/회전/코덱을 채우고 true
+     */
+    private static boolean parseTrak(ByteBuffer buf, int start, int end, VideoMetadataDto.VideoMetadataDtoBuilder builder) {
+        Box tkhd = findChild(buf, start, end, "tkhd");
+        Box mdia = findChild(buf, start, end, "mdia");
+        if (tkhd == null || mdia == null) {
+            return false;
+        }
+        Box hdlr = findChild(buf, (int) mdia.payloadStart(), (int) mdia.end(), "hdlr");
+        if (hdlr == null || !"vide".equals(fourCc(buf, (int) hdlr.payloadStart() + 8))) {
+            return false;
+        }
+
+        // tkhd: version/flags 다음 시간 필드(v0 20, v1 32) + 예약/레이어/볼륨 16 + 행렬 36 + 폭/높이(16.16 고정소수)
+        int tkhdStart = (int) tkhd.payloadStart();
+        int matrixStart = tkhdStart + 4 + ((buf.get(tkhdStart) & 0xFF) == 1 ? 32 : 20) + 16;
+        int a = buf.getInt(matrixStart);
+        int b = buf.getInt(matrixStart + 4);
+        int width = buf.getInt(matrixStart + 36) >>> 16;
+        int height = buf.getInt(matrixStart + 40) >>> 16;
+        int rotation = (int) ((Math.round(Math.toDegrees(Math.atan2(b, a))) + 360) % 360);
+        if (rotation == 90 || rotation == 270) {
+            int swap = width;
+            width = height;
+            height = swap;
+        }
+        builder.width(width).height(height).rotation(rotation);
+
+        Box minf = findChild(buf, (int) mdia.payloadStart(), (int) mdia.end(), "minf");
+        Box stbl = minf != null ? findChild(buf, (int) minf.payloadStart(), (int) minf.end(), "stbl") : null;
+        Box stsd = stbl != null ? findChild(buf, (int) stbl.payloadStart(), (int) stbl.end(), "stsd") : null;
+        if (stsd != null && stsd.end() - stsd.payloadStart() >= 16) {
+            // version/flags 4 + entry_count 4 + 첫 항목 size 4 + format 4
+            builder.codec(fourCc(buf, (int) stsd.payloadStart() + 12));
+        }
+        return true;
+    }
+
+    /**
+     * udta/meta/ilst/covr/data 표지 이미지
+     */
+    private static byte[] findCover(ByteBuffer buf, int start, int end) {
+        Box meta = findChild(buf, start, end, "meta");
+        if (meta == null) {
+            return null;
+        }
+        // ISO 형식은 meta 가 FullBox(version/flags 4바이트), QuickTime 형식은 바로 하위 박스
+        int metaStart = (int) meta.payloadStart();
+        if (meta.end() - metaStart >= 4 && buf.getInt(metaStart) == 0) {
+            metaStart += 4;
+        }
+        Box ilst = findChild(buf, metaStart, (int) meta.end(), "ilst");
+        Box covr = ilst != null ? findChild(buf, (int) ilst.payloadStart(), (int) ilst.end(), "covr") : null;
+        Box data = covr != null ? findChild(buf, (int) covr.payloadStart(), (int) covr.end(), "data") : null;
+        if (data == null || data.end() - data.payloadStart() <= 8) {
+            return null;
+        }
+        // data: type 4 + locale 4 + 이미지 바이트
+        int imageStart = (int) data.payloadStart() + 8;
+        byte[] image = new byte[(int) data.end() - imageStart];
+        buf.get(imageStart, image);
+        return image;
+    }
+
+    private static Box findChild(ByteBuffer buf, int start, int end, String type) {
+        int position = start;
+        while (position + 8 <= end) {
+            Box box = readHeader(buf, position);
+            if (box == null || box.end() > end) {
+                return null;
+            }
+            if (type.equals(box.type())) {
+                return box;
+            }
+            position = (int) box.end();
+        }
+        return null;
+    }
+
+    private static Box readHeader(ByteBuffer buf, int position) {
+        long size = Integer.toUnsignedLong(buf.getInt(position));
+        String type = fourCc(buf, position + 4);
+        long payloadStart = position + 8;
+        if (size == 1) {
+            if (position + 16 > buf.limit()) {
+                return null;
+            }
+            size = buf.getLong(position + 8);
+            payloadStart = position + 16;
+        } else if (size == 0) {
+            size = buf.limit() - position;
+        }
+        if (size < payloadStart - position || position + size > buf.limit()) {
+            return null;
+        }
+        return new Box(type, payloadStart, position + size);
+    }
+
+    private static Box readHeader(FileChannel channel, long position, long fileSize) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(16);
+        header.limit((int) Math.min(16, fileSize - position));
+        while (header.hasRemaining()) {
+            if (channel.read(header, position + header.position()) < 0) {
+                break;
+            }
+        }
+        if (header.position() < 8) {
+            return null;
+        }
+        long size = Integer.toUnsignedLong(header.getInt(0));
+        String type = fourCc(header, 4);
+        long payloadStart = position + 8;
+        if (size == 1) {
+            if (header.position() < 16) {
+                return null;
+            }
+            size = header.getLong(8);
+            payloadStart = position + 16;
+        } else if (size == 0) {
+            size = fileSize - position;
+        }
+        if (size < payloadStart - position || position + size > fileSize) {
+            return null;
+        }
+        return new Box(type, payloadStart, position + size);
+    }
+
+    private static String fourCc(ByteBuffer buf, int position) {
+        byte[] bytes = new byte[4];
+        buf.get(position, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,7 @@
+-- =====================================================================
+-- CM_ATTACHMENT.VARIANT_WIDTHS : 업로드 이미지 리사이즈본 생성 결과
+-- 원본과 같은 폴더에 {원본파일명}_w{폭}.{확장자} 로 저장되며, 생성이 끝난 폭만 기록된다.
+-- (값이 없거나 해당 폭이 없으면 원본 경로 사용)
+-- =====================================================================
+
+ALTER TABLE CM_ATTACHMENT ADD COLUMN IF NOT EXISTS VARIANT_WIDTHS VARCHAR(50);
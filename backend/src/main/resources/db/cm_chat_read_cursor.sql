@@ -0,0 +1,57 @@
+-- =====================================================================
+-- CM_CHAT_READ_CURSOR : 채팅방별 사용자 읽음 커서
+-- 기존 메시지별 읽음 테이블(CN/BN/CM_GRP/MM_CHAT_MESSAGE_READ)을 대체한다.
+-- 안 읽은 메시지 = 방의 메시지 번호 > LAST_READ_MSG_NO
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS CM_CHAT_READ_CURSOR (
+    ROOM_TYPE_CD      VARCHAR(20) NOT NULL, -- CLAN, BAND, GROUP, PRIVATE
+    ROOM_NO           BIGINT      NOT NULL,
+    USER_ID           VARCHAR(20) NOT NULL,
+    LAST_READ_MSG_NO  BIGINT      NOT NULL,
+    UPD_DTIME         VARCHAR(14) NOT NULL,
+    CONSTRAINT CM_CHAT_READ_CURSOR_PKEY PRIMARY KEY (ROOM_TYPE_CD, ROOM_NO, USER_ID)
+);
+
+CREATE INDEX IF NOT EXISTS IX_CM_CHAT_READ_CURSOR_USER ON CM_CHAT_READ_CURSOR (USER_ID);
+
+-- 범위 비교(MSG_NO > 커서)용 방별 메시지 번호 인덱스
+CREATE INDEX IF NOT EXISTS IX_CN_CHAT_MESSAGE_ROOM_MSG ON CN_CHAT_MESSAGE (CN_NO, CN_MSG_NO);
+CREATE INDEX IF NOT EXISTS IX_BN_CHAT_MESSAGE_ROOM_MSG ON BN_CHAT_MESSAGE (BN_NO, BN_CHAT_MSG_NO);
+CREATE INDEX IF NOT EXISTS IX_CM_GRP_CHAT_MESSAGE_ROOM_MSG ON CM_GRP_CHAT_MESSAGE (GRP_CHAT_NO, GRP_CHAT_MSG_NO);
+CREATE INDEX IF NOT EXISTS IX_MM_CHAT_MESSAGE_ROOM_MSG ON MM_CHAT_MESSAGE (MM_ROOM_NO, MM_MSG_NO);
+
+-- ---------------------------------------------------------------------
+-- 기존 읽음 테이블로부터 커서 백필 (사용자별 방에서 읽은 가장 큰 메시지 번호)
+-- ---------------------------------------------------------------------
+INSERT INTO CM_CHAT_READ_CURSOR (ROOM_TYPE_CD, ROOM_NO, USER_ID, LAST_READ_MSG_NO, UPD_DTIME)
+SELECT 'CLAN', MSG.CN_NO, MSR.READ_USER_ID, MAX(MSR.CN_MSG_NO), TO_CHAR(NOW(), 'YYYYMMDDHH24MISS')
+FROM CN_CHAT_MESSAGE_READ MSR
+INNER JOIN CN_CHAT_MESSAGE MSG ON MSG.CN_MSG_NO = MSR.CN_MSG_NO
+GROUP BY MSG.CN_NO, MSR.READ_USER_ID
+ON CONFLICT (ROOM_TYPE_CD, ROOM_NO, USER_ID) DO UPDATE
+SET LAST_READ_MSG_NO = GREATEST(CM_CHAT_READ_CURSOR.LAST_READ_MSG_NO, EXCLUDED.LAST_READ_MSG_NO);
+
+INSERT INTO CM_CHAT_READ_CURSOR (ROOM_TYPE_CD, ROOM_NO, USER_ID, LAST_READ_MSG_NO, UPD_DTIME)
+SELECT 'BAND', MSG.BN_NO, MSR.BN_CHAT_READ_USER_ID, MAX(MSR.BN_CHAT_MSG_NO), TO_CHAR(NOW(), 'YYYYMMDDHH24MISS')
+FROM BN_CHAT_MESSAGE_READ MSR
+INNER JOIN BN_CHAT_MESSAGE MSG ON MSG.BN_CHAT_MSG_NO = MSR.BN_CHAT_MSG_NO
+GROUP BY MSG.BN_NO, MSR.BN_CHAT_READ_USER_ID
+ON CONFLICT (ROOM_TYPE_CD, ROOM_NO, USER_ID) DO UPDATE
+SET LAST_READ_MSG_NO = GREATEST(CM_CHAT_READ_CURSOR.LAST_READ_MSG_NO, EXCLUDED.LAST_READ_MSG_NO);
+
+INSERT INTO CM_CHAT_READ_CURSOR (ROOM_TYPE_CD, ROOM_NO, USER_ID, LAST_READ_MSG_NO, UPD_DTIME)
+SELECT 'GROUP', MSG.GRP_CHAT_NO, MSR.GRP_CHAT_READ_USER_ID, MAX(MSR.GRP_CHAT_MSG_NO), TO_CHAR(NOW(), 'YYYYMMDDHH24MISS')
+FROM CM_GRP_CHAT_MESSAGE_READ MSR
+INNER JOIN CM_GRP_CHAT_MESSAGE MSG ON MSG.GRP_CHAT_MSG_NO = MSR.GRP_CHAT_MSG_NO
+GROUP BY MSG.GRP_CHAT_NO, MSR.GRP_CHAT_READ_USER_ID
+ON CONFLICT (ROOM_TYPE_CD, ROOM_NO, USER_ID) DO UPDATE
+SET LAST_READ_MSG_NO = GREATEST(CM_CHAT_READ_CURSOR.LAST_READ_MSG_NO, EXCLUDED.LAST_READ_MSG_NO);
+
+INSERT INTO CM_CHAT_READ_CURSOR (ROOM_TYPE_CD, ROOM_NO, USER_ID, LAST_READ_MSG_NO, UPD_DTIME)
+SELECT 'PRIVATE', MSG.MM_ROOM_NO, MSR.READ_USER_ID, MAX(MSR.MM_MSG_NO), TO_CHAR(NOW(), 'YYYYMMDDHH24MISS')
+FROM MM_CHAT_MESSAGE_READ MSR
+INNER JOIN MM_CHAT_MESSAGE MSG ON MSG.MM_MSG_NO = MSR.MM_MSG_NO
+GROUP BY MSG.MM_ROOM_NO, MSR.READ_USER_ID
+ON CONFLICT (ROOM_TYPE_CD, ROOM_NO, USER_ID) DO UPDATE
+SET LAST_READ_MSG_NO = GREATEST(CM_CHAT_READ_CURSOR.LAST_READ_MSG_NO, EXCLUDED.LAST_READ_MSG_NO);
@@ -0,0 +1,78 @@
+-- =====================================================================
+-- CM_CHAT_ROOM_SUMMARY : 채팅방 요약 (채팅 목록 조회용 비정규화)
+-- 메시지 저장 시(ChatService.saveMessage / savePrivateMessage) 함께 갱신된다.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS CM_CHAT_ROOM_SUMMARY (
+    ROOM_TYPE_CD      VARCHAR(20)  NOT NULL, -- CLAN, BAND, GROUP, PRIVATE
+    ROOM_NO           BIGINT       NOT NULL,
+    LAST_MSG_NO       BIGINT       NOT NULL,
+    LAST_MSG_PREVIEW  VARCHAR(200),
+    LAST_MSG_TYPE_CD  VARCHAR(20),
+    LAST_SND_USER_ID  VARCHAR(20),
+    LAST_MSG_DTIME    VARCHAR(14)  NOT NULL,
+    MSG_CNT           BIGINT       NOT NULL DEFAULT 0,
+    UPD_DTIME         VARCHAR(14)  NOT NULL,
+    CONSTRAINT CM_CHAT_ROOM_SUMMARY_PKEY PRIMARY KEY (ROOM_TYPE_CD, ROOM_NO)
+);
+
+CREATE INDEX IF NOT EXISTS IX_CM_CHAT_ROOM_SUMMARY_DTIME ON CM_CHAT_ROOM_SUMMARY (LAST_MSG_DTIME DESC);
+
+-- ---------------------------------------------------------------------
+-- 기존 메시지로부터 백필 (활성 메시지 기준)
+-- ---------------------------------------------------------------------
+INSERT INTO CM_CHAT_ROOM_SUMMARY (ROOM_TYPE_CD, ROOM_NO, LAST_MSG_NO, LAST_MSG_PREVIEW, LAST_MSG_TYPE_CD,
+                                  LAST_SND_USER_ID, LAST_MSG_DTIME, MSG_CNT, UPD_DTIME)
+SELECT 'CLAN', L.CN_NO, L.CN_MSG_NO,
+       LEFT(CASE WHEN L.MSG_TYPE_CD = 'IMAGE' THEN '[사진]' WHEN L.MSG_TYPE_CD = 'FILE' THEN '[파일]'
+                 WHEN L.MSG_TYPE_CD = 'VOTE' THEN '[투표]' ELSE L.MSG END, 200),
+       L.MSG_TYPE_CD, L.SND_USER_ID, L.SND_DTIME, C.CNT, TO_CHAR(NOW(), 'YYYYMMDDHH24MISS')
+FROM (
+    SELECT DISTINCT ON (CN_NO) CN_NO, CN_MSG_NO, MSG, MSG_TYPE_CD, SND_USER_ID, SND_DTIME
+    FROM CN_CHAT_MESSAGE WHERE CHAT_STAT_CD = 'A'
+    ORDER BY CN_NO, CN_MSG_NO DESC
+) L
+INNER JOIN (SELECT CN_NO, COUNT(1) AS CNT FROM CN_CHAT_MESSAGE WHERE CHAT_STAT_CD = 'A' GROUP BY CN_NO) C ON C.CN_NO = L.CN_NO
+ON CONFLICT (ROOM_TYPE_CD, ROOM_NO) DO NOTHING;
+
+INSERT INTO CM_CHAT_ROOM_SUMMARY (ROOM_TYPE_CD, ROOM_NO, LAST_MSG_NO, LAST_MSG_PREVIEW, LAST_MSG_TYPE_CD,
+                                  LAST_SND_USER_ID, LAST_MSG_DTIME, MSG_CNT, UPD_DTIME)
+SELECT 'BAND', L.BN_NO, L.BN_CHAT_MSG_NO,
+       LEFT(CASE WHEN L.BN_CHAT_MSG_TYPE_CD = 'IMAGE' THEN '[사진]' WHEN L.BN_CHAT_MSG_TYPE_CD = 'FILE' THEN '[파일]'
+                 ELSE L.BN_CHAT_MSG END, 200),
+       L.BN_CHAT_MSG_TYPE_CD, L.BN_CHAT_SND_USER_ID, L.BN_CHAT_SND_DTIME, C.CNT, TO_CHAR(NOW(), 'YYYYMMDDHH24MISS')
+FROM (
+    SELECT DISTINCT ON (BN_NO) BN_NO, BN_CHAT_MSG_NO, BN_CHAT_MSG, BN_CHAT_MSG_TYPE_CD, BN_CHAT_SND_USER_ID, BN_CHAT_SND_DTIME
+    FROM BN_CHAT_MESSAGE WHERE BN_CHAT_STAT_CD = 'A'
+    ORDER BY BN_NO, BN_CHAT_MSG_NO DESC
+) L
+INNER JOIN (SELECT BN_NO, COUNT(1) AS CNT FROM BN_CHAT_MESSAGE WHERE BN_CHAT_STAT_CD = 'A' GROUP BY BN_NO) C ON C.BN_NO = L.BN_NO
+ON CONFLICT (ROOM_TYPE_CD, ROOM_NO) DO NOTHING;
+
+INSERT INTO CM_CHAT_ROOM_SUMMARY (ROOM_TYPE_CD, ROOM_NO, LAST_MSG_NO, LAST_MSG_PREVIEW, LAST_MSG_TYPE_CD,
+                                  LAST_SND_USER_ID, LAST_MSG_DTIME, MSG_CNT, UPD_DTIME)
+SELECT 'GROUP', L.GRP_CHAT_NO, L.GRP_CHAT_MSG_NO,
+       LEFT(CASE WHEN L.GRP_CHAT_MSG_TYPE_CD = 'IMAGE' THEN '[사진]' WHEN L.GRP_CHAT_MSG_TYPE_CD = 'FILE' THEN '[파일]'
+                 ELSE L.GRP_CHAT_MSG END, 200),
+       L.GRP_CHAT_MSG_TYPE_CD, L.GRP_CHAT_SND_USER_ID, L.GRP_CHAT_SND_DTIME, C.CNT, TO_CHAR(NOW(), 'YYYYMMDDHH24MISS')
+FROM (
+    SELECT DISTINCT ON (GRP_CHAT_NO) GRP_CHAT_NO, GRP_CHAT_MSG_NO, GRP_CHAT_MSG, GRP_CHAT_MSG_TYPE_CD, GRP_CHAT_SND_USER_ID, GRP_CHAT_SND_DTIME
+    FROM CM_GRP_CHAT_MESSAGE WHERE GRP_CHAT_STAT_CD = 'A'
+    ORDER BY GRP_CHAT_NO, GRP_CHAT_MSG_NO DESC
+) L
+INNER JOIN (SELECT GRP_CHAT_NO, COUNT(1) AS CNT FROM CM_GRP_CHAT_MESSAGE WHERE GRP_CHAT_STAT_CD = 'A' GROUP BY GRP_CHAT_NO) C ON C.GRP_CHAT_NO = L.GRP_CHAT_NO
+ON CONFLICT (ROOM_TYPE_CD, ROOM_NO) DO NOTHING;
+
+INSERT INTO CM_CHAT_ROOM_SUMMARY (ROOM_TYPE_CD, ROOM_NO, LAST_MSG_NO, LAST_MSG_PREVIEW, LAST_MSG_TYPE_CD,
+                                  LAST_SND_USER_ID, LAST_MSG_DTIME, MSG_CNT, UPD_DTIME)
+SELECT 'PRIVATE', L.MM_ROOM_NO, L.MM_MSG_NO,
+       LEFT(CASE WHEN L.MSG_TYPE_CD = 'IMAGE' THEN '[사진]' WHEN L.MSG_TYPE_CD = 'FILE' THEN '[파일]'
+                 ELSE L.MSG END, 200),
+       L.MSG_TYPE_CD, L.SND_USER_ID, L.SND_DTIME, C.CNT, TO_CHAR(NOW(), 'YYYYMMDDHH24MISS')
+FROM (
+    SELECT DISTINCT ON (MM_ROOM_NO) MM_ROOM_NO, MM_MSG_NO, MSG, MSG_TYPE_CD, SND_USER_ID, SND_DTIME
+    FROM MM_CHAT_MESSAGE WHERE CHAT_STAT_CD = 'A'
+    ORDER BY MM_ROOM_NO, MM_MSG_NO DESC
+) L
+INNER JOIN (SELECT MM_ROOM_NO, COUNT(1) AS CNT FROM MM_CHAT_MESSAGE WHERE CHAT_STAT_CD = 'A' GROUP BY MM_ROOM_NO) C ON C.MM_ROOM_NO = L.MM_ROOM_NO
+ON CONFLICT (ROOM_TYPE_CD, ROOM_NO) DO NOTHING;
@@ -0,0 +1,24 @@
+-- =====================================================================
+-- CM_FILE_BLOB : 업로드 파일 내용 해시(SHA-256) 색인
+-- 같은 내용의 파일은 물리 파일 하나를 공유하고 REF_CNT 로 참조 수를 관리한다.
+-- 업로드 시 해시가 있으면 REF_CNT + 1 후 기존 FILE_PATH 를 CM_ATTACHMENT 에 기록하고,
+-- 첨부 삭제 시 CM_ATTACHMENT 행을 지운 뒤 같은 FILE_PATH 를 쓰는 첨부 수로 REF_CNT 를 다시 맞추고,
+-- 0 이 되면 색인 행과 물리 파일(리사이즈본 포함)을 함께 정리한다. (경로 기준 감소가 아니라 재시도해도 안전)
+-- 경로로 삭제하는 API 는 첨부가 하나라도 참조 중이면 지우지 않는다.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS CM_FILE_BLOB (
+    CONTENT_HASH    CHAR(64)     NOT NULL,
+    FILE_PATH       VARCHAR(500) NOT NULL,
+    FILE_SIZE       BIGINT       NOT NULL,
+    REF_CNT         INTEGER      NOT NULL DEFAULT 1,
+    INS_DTIME       VARCHAR(14)  NOT NULL,
+    UPD_DTIME       VARCHAR(14)  NOT NULL,
+    CONSTRAINT PK_CM_FILE_BLOB PRIMARY KEY (CONTENT_HASH)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS UX_CM_FILE_BLOB_PATH ON CM_FILE_BLOB (FILE_PATH);
+
+ALTER TABLE CM_ATTACHMENT ADD COLUMN IF NOT EXISTS CONTENT_HASH CHAR(64);
+
+CREATE INDEX IF NOT EXISTS IX_CM_ATTACHMENT_FILE_PATH ON CM_ATTACHMENT (FILE_PATH);
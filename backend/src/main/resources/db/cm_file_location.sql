@@ -0,0 +1,17 @@
+-- =====================================================================
+-- CM_FILE_LOCATION : 업로드 파일 저장 볼륨 위치 색인
+-- storage.volumes 에 볼륨이 둘 이상일 때만 사용한다 (하나뿐이면 조회/기록하지 않음).
+-- FILE_PATH 는 CM_ATTACHMENT.FILE_PATH 와 같은 원본 상대 경로이며, 리사이즈본은 원본과 같은 볼륨에 둔다.
+-- 행이 없는 경로는 기본 볼륨(storage.default-volume)에 있는 것으로 본다 (도입 이전 파일).
+-- 볼륨 재배치 시 이 행의 VOLUME_ID 만 바뀌고 FILE_PATH/URL 은 그대로 유지된다.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS CM_FILE_LOCATION (
+    FILE_PATH       VARCHAR(500) NOT NULL,
+    VOLUME_ID       VARCHAR(50)  NOT NULL,
+    INS_DTIME       VARCHAR(14)  NOT NULL,
+    UPD_DTIME       VARCHAR(14)  NOT NULL,
+    CONSTRAINT PK_CM_FILE_LOCATION PRIMARY KEY (FILE_PATH)
+);
+
+CREATE INDEX IF NOT EXISTS IX_CM_FILE_LOCATION_VOLUME ON CM_FILE_LOCATION (VOLUME_ID);
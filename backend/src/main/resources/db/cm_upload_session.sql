@@ -0,0 +1,37 @@
+-- =====================================================================
+-- CM_UPLOAD_SESSION / CM_UPLOAD_CHUNK : 대용량 미디어 분할(재개 가능) 업로드
+-- init 으로 세션을 만들고, 조각(CHUNK_NO)별로 PUT 하면 임시 파일의
+-- CHUNK_NO * CHUNK_SIZE 위치에 기록한 뒤 CM_UPLOAD_CHUNK 에 확인(ack) 행을 남긴다.
+-- 연결이 끊기면 상태 조회로 받은 조각 목록을 확인하고 나머지만 다시 보낸다.
+-- complete 시 전체 조각이 모이면 FileStorageService 표준 경로로 이동하고 ATTACH_NO 를 기록한다.
+-- STAT_CD : U(업로드 중) / C(완료)
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS CM_UPLOAD_SESSION (
+    UPLOAD_ID       VARCHAR(32)   NOT NULL,
+    USER_ID         VARCHAR(20),
+    CATEGORY_CD     VARCHAR(20)   NOT NULL,   -- FileCategory 도메인 (shorts, sns ...)
+    FILE_NAME       VARCHAR(255)  NOT NULL,
+    MIME_TYPE       VARCHAR(100),
+    TOTAL_SIZE      BIGINT        NOT NULL,
+    CHUNK_SIZE      INTEGER       NOT NULL,
+    TOTAL_CHUNKS    INTEGER       NOT NULL,
+    FILE_SHA256     CHAR(64),                 -- 클라이언트가 알려준 전체 파일 해시 (선택, 완료 시 검증)
+    STAT_CD         VARCHAR(1)    NOT NULL DEFAULT 'U',
+    ATTACH_NO       BIGINT,
+    INS_DTIME       VARCHAR(14)   NOT NULL,
+    UPD_DTIME       VARCHAR(14)   NOT NULL,
+    CONSTRAINT PK_CM_UPLOAD_SESSION PRIMARY KEY (UPLOAD_ID)
+);
+
+-- 만료 세션 정리용
+CREATE INDEX IF NOT EXISTS IX_CM_UPLOAD_SESSION_UPD ON CM_UPLOAD_SESSION (UPD_DTIME);
+
+CREATE TABLE IF NOT EXISTS CM_UPLOAD_CHUNK (
+    UPLOAD_ID       VARCHAR(32)   NOT NULL,
+    CHUNK_NO        INTEGER       NOT NULL,
+    CHUNK_SIZE      INTEGER       NOT NULL,
+    CHUNK_SHA256    CHAR(64)      NOT NULL,
+    INS_DTIME       VARCHAR(14)   NOT NULL,
+    CONSTRAINT PK_CM_UPLOAD_CHUNK PRIMARY KEY (UPLOAD_ID, CHUNK_NO)
+);
@@ -0,0 +1,38 @@
+-- =====================================================================
+-- 게시물/쇼츠/게시판 반응 집계 컬럼 : 목록 조회 시 조회/좋아요/별루예요/댓글 COUNT(*) 대신 읽는다.
+-- 애플리케이션은 반응 저장 커밋 후 메모리(LongAdder)에 증분을 모으고,
+-- EngagementCounterService 가 주기적으로(engagement.counter.flush-interval-ms) 증분만 더한다.
+-- 아래 UPDATE 는 최초 적용 시 기존 데이터 채우기 (값이 어긋났을 때 재집계용으로도 사용, 트래픽 적은 시간에 실행)
+-- =====================================================================
+
+ALTER TABLE MM_POSTS ADD COLUMN IF NOT EXISTS VIEW_CNT BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE MM_POSTS ADD COLUMN IF NOT EXISTS LIKE_CNT BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE MM_POSTS ADD COLUMN IF NOT EXISTS DISLIKE_CNT BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE MM_POSTS ADD COLUMN IF NOT EXISTS REPLY_CNT BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE MM_SHORTS ADD COLUMN IF NOT EXISTS VIEW_CNT BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE MM_SHORTS ADD COLUMN IF NOT EXISTS LIKE_CNT BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE MM_SHORTS ADD COLUMN IF NOT EXISTS DISLIKE_CNT BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE MM_SHORTS ADD COLUMN IF NOT EXISTS REPLY_CNT BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE CM_BOARD ADD COLUMN IF NOT EXISTS LIKE_CNT BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE CM_BOARD ADD COLUMN IF NOT EXISTS REPLY_CNT BIGINT NOT NULL DEFAULT 0;
+
+-- 인기글(좋아요 순) 정렬용
+CREATE INDEX IF NOT EXISTS IX_CM_BOARD_LIKE_CNT ON CM_BOARD (LIKE_CNT DESC) WHERE BOARD_STAT_CD = 'A';
+
+UPDATE MM_POSTS P SET
+    VIEW_CNT = (SELECT COUNT(*) FROM MM_POSTS_VIEW V WHERE V.POST_ID = P.POST_ID),
+    LIKE_CNT = (SELECT COUNT(*) FROM MM_POSTS_LIKE L WHERE L.POST_ID = P.POST_ID AND L.ACTION_TYPE_FG = 'L'),
+    DISLIKE_CNT = (SELECT COUNT(*) FROM MM_POSTS_LIKE L WHERE L.POST_ID = P.POST_ID AND L.ACTION_TYPE_FG = 'D'),
+    REPLY_CNT = (SELECT COUNT(*) FROM MM_POSTS_DETAIL D WHERE D.POST_ID = P.POST_ID AND D.REPLY_STAT_CD = 'A');
+
+UPDATE MM_SHORTS S SET
+    VIEW_CNT = (SELECT COUNT(*) FROM MM_SHORTS_VIEW V WHERE V.SHORTS_NO = S.SHORTS_NO),
+    LIKE_CNT = (SELECT COUNT(*) FROM MM_SHORTS_LIKE L WHERE L.SHORTS_NO = S.SHORTS_NO AND L.ACTION_TYPE_FG = 'L'),
+    DISLIKE_CNT = (SELECT COUNT(*) FROM MM_SHORTS_LIKE L WHERE L.SHORTS_NO = S.SHORTS_NO AND L.ACTION_TYPE_FG = 'D'),
+    REPLY_CNT = (SELECT COUNT(*) FROM MM_SHORTS_DETAIL D WHERE D.SHORTS_NO = S.SHORTS_NO AND D.REPLY_STAT_CD = 'A');
+
+UPDATE CM_BOARD B SET
+    LIKE_CNT = (SELECT COUNT(*) FROM CM_BOARD_LIKE L WHERE L.BOARD_NO = B.BOARD_NO),
+    REPLY_CNT = (SELECT COUNT(*) FROM CM_BOARD_DETAIL D WHERE D.BOARD_NO = B.BOARD_NO);
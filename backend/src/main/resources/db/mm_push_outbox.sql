@@ -0,0 +1,45 @@
+-- =====================================================================
+-- MM_PUSH_OUTBOX : 푸시 발송 대기열 (수신자 1명당 1행)
+-- 알림을 만든 업무 트랜잭션이 커밋된 뒤 별도 트랜잭션으로 적재하고, PushOutboxWorker 가
+-- FOR UPDATE SKIP LOCKED 로 나눠 가져가(P 로 선점) 트랜잭션 밖에서 발송/재시도한다.
+-- STAT_CD : R(대기) / P(발송중) / S(발송완료) / N(수신거부·토큰없음) / F(재시도 초과)
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS MM_PUSH_OUTBOX (
+    OUTBOX_NO       BIGSERIAL     PRIMARY KEY,
+    USER_ID         VARCHAR(20)   NOT NULL,
+    PUSH_TITLE      VARCHAR(200),
+    PUSH_BODY       TEXT,
+    LINK_URL        VARCHAR(500),
+    PUSH_TYPE_CD    VARCHAR(50)   NOT NULL,
+    THREAD_ID       VARCHAR(100),
+    STAT_CD         VARCHAR(1)    NOT NULL DEFAULT 'R',
+    RETRY_CNT       INTEGER       NOT NULL DEFAULT 0,
+    NEXT_TRY_DTIME  VARCHAR(14)   NOT NULL,
+    PUSH_LOG_NO     BIGINT,                -- 첫 시도 시 생성된 MM_PUSH_LOG 번호 (재시도 시 재사용)
+    LAST_ERR_MSG    VARCHAR(500),
+    INS_DTIME       VARCHAR(14)   NOT NULL,
+    UPD_DTIME       VARCHAR(14)   NOT NULL
+);
+
+-- 대기 건 조회용 (STAT_CD = 'R' 인 행만)
+CREATE INDEX IF NOT EXISTS IX_MM_PUSH_OUTBOX_READY ON MM_PUSH_OUTBOX (NEXT_TRY_DTIME, OUTBOX_NO) WHERE STAT_CD = 'R';
+
+-- ---------------------------------------------------------------------
+-- 사용자+스레드 단위 알림 묶기 (채팅 폭주 시 "새 메시지 N개" 요약)
+-- MERGE_CNT : 이 행에 합쳐진 추가 메시지 수
+-- ---------------------------------------------------------------------
+ALTER TABLE MM_PUSH_OUTBOX ADD COLUMN IF NOT EXISTS MERGE_CNT INTEGER NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS IX_MM_PUSH_OUTBOX_THREAD ON MM_PUSH_OUTBOX (THREAD_ID, USER_ID, NEXT_TRY_DTIME);
+
+-- ---------------------------------------------------------------------
+-- 처리 끝난 대기 건 정리 (PushOutboxWorker.purge, 매일 04:30)
+-- push.outbox.retention-days 가 지난 S/N/F 행을 5000건씩 나눠 삭제한다.
+-- ---------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS IX_MM_PUSH_OUTBOX_DONE ON MM_PUSH_OUTBOX (UPD_DTIME) WHERE STAT_CD IN ('S', 'N', 'F');
+
+-- ---------------------------------------------------------------------
+-- 발송 중(P) 선점 건 회수 (발송 도중 서버가 내려간 경우, UPD_DTIME = 선점 시각)
+-- ---------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS IX_MM_PUSH_OUTBOX_CLAIMED ON MM_PUSH_OUTBOX (UPD_DTIME) WHERE STAT_CD = 'P';
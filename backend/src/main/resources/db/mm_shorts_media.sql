@@ -0,0 +1,11 @@
+-- =====================================================================
+-- MM_SHORTS 영상 메타데이터 : 업로드 시 MP4 컨테이너(moov/mvhd, tkhd)에서 읽은 값
+-- 피드가 영상을 받지 않고도 타일 비율/재생 시간을 배치할 수 있도록 저장한다.
+-- VIDEO_DURATION_MS 가 NULL 이면 아직 확인 전(기존 데이터), 0 이면 MP4 가 아니어서 확인 불가.
+-- 썸네일이 없던 쇼츠는 포스터 이미지를 만들어 THUMBNAIL_ATTACH_NO 에 연결한다.
+-- =====================================================================
+
+ALTER TABLE MM_SHORTS ADD COLUMN IF NOT EXISTS VIDEO_DURATION_MS BIGINT;
+ALTER TABLE MM_SHORTS ADD COLUMN IF NOT EXISTS VIDEO_WIDTH INTEGER;
+ALTER TABLE MM_SHORTS ADD COLUMN IF NOT EXISTS VIDEO_HEIGHT INTEGER;
+ALTER TABLE MM_SHORTS ADD COLUMN IF NOT EXISTS VIDEO_BITRATE BIGINT;
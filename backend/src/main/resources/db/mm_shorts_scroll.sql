@@ -0,0 +1,11 @@
+-- =====================================================================
+-- 공개 쇼츠 키셋 스크롤 (/api/sns/shorts/scroll) 용 부분 인덱스
+-- WHERE (INS_DTIME, SHORTS_NO) < (커서) ORDER BY INS_DTIME DESC, SHORTS_NO DESC LIMIT n 이
+-- 정렬 없이 인덱스 범위 탐색 1회 + 앞에서 n 건으로 끝난다. (OFFSET 처럼 앞 페이지 행을 건너뛰며 읽지 않음)
+-- 조회 컬럼(SHORTS_NO)과 조건 컬럼이 모두 인덱스에 있어 테이블을 읽지 않는다. (Index Only Scan, VACUUM 후 가시성 맵 기준)
+-- 최신순 피드 스냅샷(SnsFeedRankingService) 재구성 쿼리도 같은 인덱스를 쓴다.
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS IX_MM_SHORTS_PUBLIC_SCROLL
+    ON MM_SHORTS (INS_DTIME DESC, SHORTS_NO DESC)
+    WHERE PUBLIC_TYPE_CD = 'A' AND SHORTS_STAT_CD = 'A';
@@ -0,0 +1,14 @@
+-- =====================================================================
+-- MM_VIEW_FILTER : 조회 중복 제거(sns.view.mode=sketch, persist-raw=false) 항목별 Bloom 필터 상태
+-- 원본 조회 행(MM_*_VIEW)을 저장하지 않을 때, ViewTrackingService 가 메모리에서 필터를 제거하기 직전과
+-- 종료 시 상태를 저장하고 다시 쓰일 때 복원한다. (제거 후 돌아온 조회자를 다시 세지 않도록)
+-- TARGET_CD : POST / SHORTS, FILTER_DATA : BloomFilter.toBytes()
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS MM_VIEW_FILTER (
+    TARGET_CD       VARCHAR(10)   NOT NULL,
+    TARGET_ID       BIGINT        NOT NULL,
+    FILTER_DATA     BYTEA         NOT NULL,
+    UPD_DTIME       VARCHAR(14)   NOT NULL,
+    CONSTRAINT PK_MM_VIEW_FILTER PRIMARY KEY (TARGET_CD, TARGET_ID)
+);
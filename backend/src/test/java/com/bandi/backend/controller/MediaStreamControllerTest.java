@@ -0,0 +1,61 @@
+package com.bandi.backend.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 미디어 Range 헤더 해석 (MediaStreamController.parseRange)
+ * - bytes=start-end / start- / -suffix 단일 구간, 끝은 파일 길이로 자른다
+ * - 만족할 수 없는 구간(시작이 길이 이상, 역순, 빈 접미사, 빈 파일)은 null → 416
+ * - 다중 구간은 첫 구간만 사용
+ */
+class MediaStreamControllerTest {
+
+    private static final long LENGTH = 1000;
+
+    @Test
+    void closedRange() {
+        assertArrayEquals(new long[] { 0, 499 }, MediaStreamController.parseRange("bytes=0-499", LENGTH));
+        assertArrayEquals(new long[] { 500, 500 }, MediaStreamController.parseRange("bytes=500-500", LENGTH));
+    }
+
+    @Test
+    void openEndedRangeRunsToEndOfFile() {
+        assertArrayEquals(new long[] { 200, 999 }, MediaStreamController.parseRange("bytes=200-", LENGTH));
+    }
+
+    @Test
+    void endPastLengthIsClamped() {
+        assertArrayEquals(new long[] { 900, 999 }, MediaStreamController.parseRange("bytes=900-5000", LENGTH));
+    }
+
+    @Test
+    void suffixRangeTakesLastBytes() {
+        assertArrayEquals(new long[] { 900, 999 }, MediaStreamController.parseRange("bytes=-100", LENGTH));
+        // 파일보다 긴 접미사는 파일 전체
+        assertArrayEquals(new long[] { 0, 999 }, MediaStreamController.parseRange("bytes=-5000", LENGTH));
+    }
+
+    @Test
+    void multipleRangesUseFirstOnly() {
+        assertArrayEquals(new long[] { 0, 99 }, MediaStreamController.parseRange("bytes=0-99, 200-299", LENGTH));
+    }
+
+    @Test
+    void unsatisfiableRangesReturnNull() {
+        assertNull(MediaStreamController.parseRange("bytes=1000-", LENGTH));
+        assertNull(MediaStreamController.parseRange("bytes=500-100", LENGTH));
+        assertNull(MediaStreamController.parseRange("bytes=-0", LENGTH));
+        assertNull(MediaStreamController.parseRange("bytes=-", LENGTH));
+        assertNull(MediaStreamController.parseRange("bytes=0-", 0));
+    }
+
+    @Test
+    void malformedHeadersReturnNull() {
+        assertNull(MediaStreamController.parseRange("items=0-99", LENGTH));
+        assertNull(MediaStreamController.parseRange("bytes=a-b", LENGTH));
+        assertNull(MediaStreamController.parseRange("bytes=99999999999999999999-", LENGTH));
+    }
+}
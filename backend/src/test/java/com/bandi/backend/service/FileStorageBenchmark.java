@@ -0,0 +1,165 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.BackendApplication;
+import com.bandi.backend.dto.UploadFileResultDto;
+import com.bandi.backend.enums.FileCategory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * FileStorageService.storeFile 처리율 측정 (단독 실행, PostgreSQL 필요)
+ * 애플리케이션 컨텍스트를 웹 서버 없이 띄워 주입되는 빈(InstrumentedFileStorageService → LocalStorageServiceImpl)을 그대로 호출한다.
+ * 업로드 1건 = 기록 단계(임시 .part 에 쓰면서 SHA-256) + 해시 색인(CM_FILE_BLOB) + 볼륨 저장 + CM_ATTACHMENT INSERT + 커밋
+ * - unique    : 매번 다른 내용 (새 파일 → 볼륨으로 이동)
+ * - duplicate : 매번 같은 내용 (색인 적중 → 기존 경로 공유, 임시 파일 삭제)
+ * 각각 순차 실행과 fileIoExecutor 와 같은 크기의 풀(기본 4)로 동시 실행한 결과를 비교한다.
+ *
+ * 저장 볼륨은 임시 디렉토리(bench) 하나로 바꿔 띄우지만, 임시 .part 파일은 기본 uploads 루트에 기록된다.
+ * 측정이 끝난 업로드는 바로 deleteAttachment 로 지우므로(측정 시간 제외) CM_ATTACHMENT / CM_FILE_BLOB 에 남지 않는다.
+ *
+ * 실행: IDE 에서 main 실행 (인자: [파일수=200] [스레드수=4] [크기KB... = 64 1024 10240])
+ * 접속 정보: BENCH_DB_URL / BENCH_DB_USER / BENCH_DB_PASSWORD (없으면 로컬 기본값)
+ */
+public class FileStorageBenchmark {
+
+    private static final FileCategory CATEGORY = FileCategory.BOARD;
+    private static final String USER_ID = "BENCH";
+
+    public static void main(String[] args) throws Exception {
+        int filesPerRun = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        List<Integer> sizesKb = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            sizesKb.add(Integer.parseInt(args[i]));
+        }
+        if (sizesKb.isEmpty()) {
+            sizesKb = List.of(64, 1024, 10 * 1024); // 아바타 / 게시물 이미지 / 쇼츠
+        }
+
+        Path root = Files.createTempDirectory("bandi-storage-bench-");
+        try (ConfigurableApplicationContext context = start(root)) {
+            FileStorageService service = context.getBean(FileStorageService.class);
+            System.out.printf("service=%s, root=%s, files/run=%d, threads=%d%n",
+                    service.getClass().getSimpleName(), root, filesPerRun, threads);
+            System.out.printf("%-8s %-10s %-12s %10s %10s %8s %8s %8s%n",
+                    "sizeKB", "content", "mode", "MB/s", "files/s", "p50ms", "p95ms", "p99ms");
+
+            for (int sizeKb : sizesKb) {
+                byte[] content = new byte[sizeKb * 1024];
+                new Random(sizeKb).nextBytes(content);
+
+                run(service, content, true, Math.max(10, filesPerRun / 10), 1); // 워밍업 (JIT, 커넥션 풀, 디렉토리 생성)
+                for (boolean unique : new boolean[] { true, false }) {
+                    String label = unique ? "unique" : "duplicate";
+                    print(sizeKb, label, "sequential", content.length, run(service, content, unique, filesPerRun, 1));
+                    print(sizeKb, label, "parallel-" + threads, content.length,
+                            run(service, content, unique, filesPerRun, threads));
+                }
+            }
+        } finally {
+            try (Stream<Path> walk = Files.walk(root)) {
+                for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * 웹 서버 없이 컨텍스트 기동, 저장 볼륨은 root 하나 (로그는 경고 이상만 — 업로드마다 찍는 INFO/SQL 로그가 측정에 섞이지 않도록)
+     */
+    private static ConfigurableApplicationContext start(Path root) {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + env("BENCH_DB_URL", "jdbc:postgresql://127.0.0.1:5432/bandi?sslmode=disable"),
+                        "spring.datasource.username=" + env("BENCH_DB_USER", "postgres"),
+                        "spring.datasource.password=" + env("BENCH_DB_PASSWORD", "admin0325"),
+                        "storage.shard-by=none",
+                        "storage.default-volume=bench",
+                        "storage.volumes[0].id=bench",
+                        "storage.volumes[0].type=local",
+                        "storage.volumes[0].root=" + root,
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.bandi.backend=WARN")
+                .run();
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+
+    private record Result(long elapsedNanos, int files, FileStorageMetrics.LatencyHistogram histogram) {
+    }
+
+    private static Result run(FileStorageService service, byte[] content, boolean unique, int files, int threads)
+            throws Exception {
+        FileStorageMetrics.LatencyHistogram histogram = new FileStorageMetrics.LatencyHistogram();
+        List<Long> attachNos = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < files; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    attachNos.add(storeOne(service, content, unique, index, histogram));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return new Result(System.nanoTime() - start, files, histogram);
+        } finally {
+            pool.shutdown();
+            // 측정 후 정리 (마지막 참조가 지워지면 색인 행과 물리 파일도 삭제)
+            for (Long attachNo : attachNos) {
+                service.deleteAttachment(attachNo);
+            }
+        }
+    }
+
+    private static Long storeOne(FileStorageService service, byte[] content, boolean unique, int index,
+            FileStorageMetrics.LatencyHistogram histogram) {
+        byte[] body = content;
+        if (unique) {
+            // 앞 16바이트만 바꿔 해시가 겹치지 않게 한다 (복사 비용은 측정 전)
+            body = content.clone();
+            ByteBuffer.wrap(body).putLong(System.nanoTime()).putLong(index);
+        }
+        MockMultipartFile file = new MockMultipartFile("file", String.format("bench_%08x.bin", index),
+                "application/octet-stream", body);
+
+        long start = System.nanoTime();
+        UploadFileResultDto result = service.storeFile(file, CATEGORY, USER_ID);
+        histogram.record(System.nanoTime() - start);
+        return result.getAttachNo();
+    }
+
+    private static void print(int sizeKb, String content, String mode, int bytesPerFile, Result result) {
+        double seconds = result.elapsedNanos() / 1_000_000_000.0;
+        double mbPerSec = (double) bytesPerFile * result.files() / seconds / (1024 * 1024);
+        System.out.printf("%-8d %-10s %-12s %10.1f %10.1f %8.0f %8.0f %8.0f%n", sizeKb, content, mode, mbPerSec,
+                result.files() / seconds, result.histogram().percentileMs(0.50),
+                result.histogram().percentileMs(0.95), result.histogram().percentileMs(0.99));
+    }
+}
@@ -0,0 +1,90 @@
+package com.bandi.backend.service;
+
+import com.bandi.backend.dto.PushPayloadDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 알림 묶기 판단 (PushCoalescing)
+ * - 묶음 대상 여부: 채팅 유형 + 스레드 + 창이 켜진 경우만
+ * - 발송 예정 시각: 창 안 발송 이력이 있으면 그 시각 + 창, 없으면 즉시
+ * 합치기(UPDATE ... RETURNING)와 발송 이력 조회의 유형/재시도 조건은 PushService.applyCoalescing 의 SQL 에 있다.
+ */
+class PushCoalescingTest {
+
+    private static final Set<String> CHAT_TYPES = Set.of("CN", "BN", "GP", "SN");
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0, 0);
+
+    private static PushPayloadDto payload(String pushType, String threadId) {
+        return PushPayloadDto.builder()
+                .title("title")
+                .body("body")
+                .pushType(pushType)
+                .threadId(threadId)
+                .build();
+    }
+
+    @Test
+    void chatPushWithThreadIsCoalesced() {
+        assertTrue(PushCoalescing.isCoalesced(payload("BN", "BN_1"), 30, CHAT_TYPES));
+    }
+
+    @Test
+    void otherPushTypesAreSentImmediately() {
+        // 관리자 공지는 합주 채팅과 번호가 같아도 묶지 않는다
+        assertFalse(PushCoalescing.isCoalesced(payload("ADMIN_JAM", "ADMIN_BN_1"), 30, CHAT_TYPES));
+        assertFalse(PushCoalescing.isCoalesced(payload("PARTNER_REQ", "PARTNER"), 30, CHAT_TYPES));
+    }
+
+    @Test
+    void noThreadOrZeroWindowDisablesCoalescing() {
+        assertFalse(PushCoalescing.isCoalesced(payload("CN", null), 30, CHAT_TYPES));
+        assertFalse(PushCoalescing.isCoalesced(payload("CN", "CN_1"), 0, CHAT_TYPES));
+    }
+
+    @Test
+    void userWithoutRecentPushIsSentImmediately() {
+        Map<String, String> next = PushCoalescing.schedule(List.of("u1"), Map.of(), NOW, 30);
+
+        assertEquals("20261018120000", next.get("u1"));
+    }
+
+    @Test
+    void userNotifiedInWindowIsDeferredToWindowEnd() {
+        Map<String, String> next = PushCoalescing.schedule(List.of("u1"), Map.of("u1", "20261018115950"), NOW, 30);
+
+        assertEquals("20261018120020", next.get("u1"));
+    }
+
+    @Test
+    void windowAlreadyClosedIsSentImmediately() {
+        // 창 시작 경계에 걸친 이력은 창이 이미 끝났으므로 미루지 않는다
+        Map<String, String> next = PushCoalescing.schedule(List.of("u1"), Map.of("u1", "20261018115930"), NOW, 30);
+
+        assertEquals("20261018120000", next.get("u1"));
+    }
+
+    @Test
+    void mixedUsersAreScheduledIndependentlyInOrder() {
+        Map<String, String> next = PushCoalescing.schedule(List.of("u1", "u2", "u3"),
+                Map.of("u2", "20261018120000"), NOW, 30);
+
+        assertEquals(List.of("u1", "u2", "u3"), List.copyOf(next.keySet()));
+        assertEquals("20261018120000", next.get("u1"));
+        assertEquals("20261018120030", next.get("u2"));
+        assertEquals("20261018120000", next.get("u3"));
+    }
+
+    @Test
+    void emptyInputProducesNoRows() {
+        assertTrue(PushCoalescing.schedule(List.of(), Map.of("u1", "20261018115950"), NOW, 30).isEmpty());
+    }
+}
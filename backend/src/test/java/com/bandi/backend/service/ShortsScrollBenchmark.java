@@ -0,0 +1,197 @@
+package com.bandi.backend.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 공개 쇼츠 목록 깊이별 응답 시간 비교 (단독 실행, PostgreSQL 필요)
+ * - offset : 기존 Pageable 방식 (SELECT * ... ORDER BY INS_DTIME DESC OFFSET n LIMIT size)
+ * - keyset : /api/sns/shorts/scroll 방식 ((INS_DTIME, SHORTS_NO) < 커서, IX_MM_SHORTS_PUBLIC_SCROLL 과 같은 부분 인덱스)
+ * 세션 임시 테이블(MM_SHORTS_BENCH)에 데이터를 만들어 측정하므로 실제 MM_SHORTS 는 건드리지 않는다.
+ * offset 은 깊이에 비례해 느려지고 keyset 은 깊이와 무관하게 거의 일정해야 한다.
+ *
+ * 실행: IDE 에서 main 실행 (인자: [행수=500000] [페이지크기=10] [반복=30])
+ * 접속 정보: BENCH_DB_URL / BENCH_DB_USER / BENCH_DB_PASSWORD (없으면 로컬 기본값)
+ */
+public class ShortsScrollBenchmark {
+
+    private static final String WHERE = " WHERE PUBLIC_TYPE_CD = 'A' AND SHORTS_STAT_CD = 'A'";
+    private static final String ORDER = " ORDER BY INS_DTIME DESC, SHORTS_NO DESC";
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int pageSize = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        String url = env("BENCH_DB_URL", "jdbc:postgresql://127.0.0.1:5432/bandi?sslmode=disable");
+        String user = env("BENCH_DB_USER", "postgres");
+        String password = env("BENCH_DB_PASSWORD", "admin0325");
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            seed(connection, rows);
+            int visible = count(connection);
+            System.out.printf("rows=%d (public+active %d), pageSize=%d, iterations=%d%n", rows, visible, pageSize, iterations);
+            System.out.printf("%-10s %12s %12s %12s %12s%n", "depth", "offset p50", "offset p95", "keyset p50", "keyset p95");
+
+            for (int depth : depths(visible, pageSize)) {
+                Object[] cursor = cursorAt(connection, depth);
+                long[] offset = measure(iterations, () -> offsetPage(connection, depth, pageSize));
+                long[] keyset = measure(iterations, () -> keysetPage(connection, cursor, pageSize));
+                System.out.printf("%-10d %10.3fms %10.3fms %10.3fms %10.3fms%n", depth,
+                        millis(offset, 50), millis(offset, 95), millis(keyset, 50), millis(keyset, 95));
+            }
+
+            // 가장 깊은 위치의 keyset 실행 계획 (Index Only Scan + Limit 이어야 한다)
+            Object[] deepest = cursorAt(connection, Math.max(0, visible - pageSize - 1));
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + keysetSql())) {
+                bindKeyset(statement, deepest, pageSize);
+                try (ResultSet rs = statement.executeQuery()) {
+                    System.out.println();
+                    while (rs.next()) {
+                        System.out.println(rs.getString(1));
+                    }
+                }
+            }
+        }
+    }
+
+    private interface Query {
+        int run() throws SQLException;
+    }
+
+    /**
+     * 서비스와 같은 컬럼 구성의 임시 테이블 (같은 초에 여러 건이 올라온 경우도 포함)
+     */
+    private static void seed(Connection connection, int rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS MM_SHORTS_BENCH");
+            statement.execute("CREATE TEMP TABLE MM_SHORTS_BENCH ("
+                    + " SHORTS_NO BIGINT PRIMARY KEY, USER_ID VARCHAR(20) NOT NULL, TITLE VARCHAR(200),"
+                    + " VIDEO_ATTACH_NO BIGINT, THUMBNAIL_ATTACH_NO BIGINT, PUBLIC_TYPE_CD VARCHAR(1),"
+                    + " OVERLAY_DATA TEXT, SHORTS_STAT_CD VARCHAR(1), INS_DTIME VARCHAR(14) NOT NULL)");
+            statement.execute("INSERT INTO MM_SHORTS_BENCH"
+                    + " SELECT G, 'user' || (G % 5000), 'shorts title ' || G, G * 2, G * 2 + 1,"
+                    + " CASE WHEN G % 10 = 0 THEN 'F' ELSE 'A' END, REPEAT('{\"x\":1}', 20),"
+                    + " CASE WHEN G % 20 = 0 THEN 'D' ELSE 'A' END,"
+                    + " TO_CHAR(TIMESTAMP '2024-01-01' + (G / 3) * INTERVAL '7 seconds', 'YYYYMMDDHH24MISS')"
+                    + " FROM GENERATE_SERIES(1, " + rows + ") G");
+            statement.execute("CREATE INDEX IX_MM_SHORTS_BENCH_SCROLL ON MM_SHORTS_BENCH (INS_DTIME DESC, SHORTS_NO DESC)"
+                    + WHERE);
+            statement.execute("VACUUM ANALYZE MM_SHORTS_BENCH");
+        }
+    }
+
+    private static int count(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM MM_SHORTS_BENCH" + WHERE)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static List<Integer> depths(int visible, int pageSize) {
+        List<Integer> result = new ArrayList<>();
+        for (int depth = 0; depth < visible - pageSize; depth = depth == 0 ? 1000 : depth * 4) {
+            result.add(depth);
+        }
+        result.add(Math.max(0, visible - pageSize - 1));
+        return result;
+    }
+
+    /**
+     * depth 번째 행 바로 앞 행의 (INS_DTIME, SHORTS_NO) = 그 위치에서 클라이언트가 들고 있을 커서 (측정 제외)
+     */
+    private static Object[] cursorAt(Connection connection, int depth) throws SQLException {
+        if (depth == 0) {
+            return null;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT INS_DTIME, SHORTS_NO FROM MM_SHORTS_BENCH" + WHERE + ORDER + " OFFSET ? LIMIT 1")) {
+            statement.setInt(1, depth - 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return new Object[] { rs.getString(1), rs.getLong(2) };
+            }
+        }
+    }
+
+    private static int offsetPage(Connection connection, int depth, int pageSize) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT * FROM MM_SHORTS_BENCH" + WHERE + ORDER + " OFFSET ? LIMIT ?")) {
+            statement.setInt(1, depth);
+            statement.setInt(2, pageSize);
+            return drain(statement);
+        }
+    }
+
+    private static int keysetPage(Connection connection, Object[] cursor, int pageSize) throws SQLException {
+        List<Long> ids = new ArrayList<>(pageSize);
+        try (PreparedStatement statement = connection.prepareStatement(keysetSql())) {
+            bindKeyset(statement, cursor, pageSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        // 서비스는 번호로 엔티티를 다시 읽는다 (findAllById) — 같은 비용을 포함
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT * FROM MM_SHORTS_BENCH WHERE SHORTS_NO = ANY (?)")) {
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return drain(statement);
+        }
+    }
+
+    private static String keysetSql() {
+        return "SELECT SHORTS_NO FROM MM_SHORTS_BENCH" + WHERE
+                + " AND (INS_DTIME, SHORTS_NO) < (?, ?)" + ORDER + " LIMIT ?";
+    }
+
+    private static void bindKeyset(PreparedStatement statement, Object[] cursor, int pageSize) throws SQLException {
+        // 첫 페이지는 어떤 행보다 큰 커서로 대신한다
+        statement.setString(1, cursor != null ? (String) cursor[0] : "99999999999999");
+        statement.setLong(2, cursor != null ? (Long) cursor[1] : Long.MAX_VALUE);
+        statement.setInt(3, pageSize);
+    }
+
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long[] measure(int iterations, Query query) throws SQLException {
+        for (int i = 0; i < Math.max(3, iterations / 5); i++) {
+            query.run(); // 워밍업 (플랜 캐시, 버퍼)
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double millis(long[] sorted, int percentile) {
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * percentile / 100.0) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+}
@@ -0,0 +1,118 @@
+package com.bandi.backend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 확장형 Bloom 필터 (BloomFilter)
+ * - 예상 건수를 넘겨 넣어도 넣은 값은 모두 true (거짓 음성 없음)
+ * - 전체 오탐률은 설정값의 2배 이하
+ * - putIfAbsent: 처음 본 값만 기록하고 true
+ * - toBytes/fromBytes: 확장된 상태까지 그대로 복원, 깨진 데이터는 IllegalArgumentException
+ */
+class BloomFilterTest {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void growsPastCapacityWithoutFalseNegatives() {
+        BloomFilter filter = new BloomFilter(100, FALSE_POSITIVE_RATE);
+        long initialBytes = filter.memoryBytes();
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("inserted-" + i);
+        }
+
+        assertEquals(10_000, filter.count());
+        assertTrue(filter.memoryBytes() > initialBytes);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("inserted-" + i), "inserted-" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysWithinTwiceConfiguredRate() {
+        // 첫 필터의 100 배를 넣어 이어 붙인 필터가 여러 개 생긴 상태에서 측정
+        BloomFilter filter = new BloomFilter(1_000, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("inserted-" + i);
+        }
+
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate <= FALSE_POSITIVE_RATE * 2, "false positive rate " + rate);
+    }
+
+    @Test
+    void putIfAbsentRecordsOnlyFirstOccurrence() {
+        BloomFilter filter = new BloomFilter(100, FALSE_POSITIVE_RATE);
+
+        assertTrue(filter.putIfAbsent("user1"));
+        assertFalse(filter.putIfAbsent("user1"));
+        assertTrue(filter.mightContain("user1"));
+        assertEquals(1, filter.count());
+    }
+
+    @Test
+    void putIfAbsentKeepsWorkingAcrossGrowth() {
+        BloomFilter filter = new BloomFilter(100, FALSE_POSITIVE_RATE);
+        int added = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (filter.putIfAbsent("value-" + i)) {
+                added++;
+            }
+        }
+
+        // 처음 보는 값이 오탐으로 빠질 수는 있어도, 같은 값을 다시 넣으면 항상 false
+        assertEquals(added, filter.count());
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(filter.putIfAbsent("value-" + i), "value-" + i);
+        }
+        assertEquals(added, filter.count());
+    }
+
+    @Test
+    void bytesRoundTripKeepsGrownState() {
+        BloomFilter filter = new BloomFilter(100, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("inserted-" + i);
+        }
+
+        BloomFilter restored = BloomFilter.fromBytes(filter.toBytes());
+
+        assertEquals(filter.count(), restored.count());
+        assertEquals(filter.memoryBytes(), restored.memoryBytes());
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(restored.putIfAbsent("inserted-" + i), "inserted-" + i);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(filter.mightContain("absent-" + i), restored.mightContain("absent-" + i));
+        }
+        // 복원 후에도 이어서 확장된다
+        for (int i = 0; i < 5_000; i++) {
+            restored.put("more-" + i);
+        }
+        assertTrue(restored.mightContain("more-4999"));
+    }
+
+    @Test
+    void corruptBytesAreRejected() {
+        byte[] bytes = new BloomFilter(100, FALSE_POSITIVE_RATE).toBytes();
+
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.fromBytes(new byte[] { 9 }));
+        assertThrows(IllegalArgumentException.class,
+                () -> BloomFilter.fromBytes(Arrays.copyOf(bytes, bytes.length - 8)));
+    }
+}
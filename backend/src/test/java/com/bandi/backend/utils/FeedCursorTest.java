@@ -0,0 +1,66 @@
+package com.bandi.backend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 피드 커서 (FeedCursor)
+ * - encode → decode 왕복 시 정렬 키/ID 보존, 문자열은 base64url (패딩 없음)
+ * - 종류가 다르거나 형식이 깨진 커서는 IllegalArgumentException
+ */
+class FeedCursorTest {
+
+    @Test
+    void latestCursorRoundTrips() {
+        String cursor = FeedCursor.encode(FeedCursor.LATEST, "20261018120000", 42L);
+
+        FeedCursor decoded = FeedCursor.decode(cursor, FeedCursor.LATEST);
+
+        assertEquals("20261018120000", decoded.key());
+        assertEquals(42L, decoded.id());
+    }
+
+    @Test
+    void trendingCursorKeepsScoreText() {
+        String cursor = FeedCursor.encode(FeedCursor.TRENDING, String.valueOf(19_876.123456789), 7L);
+
+        FeedCursor decoded = FeedCursor.decode(cursor, FeedCursor.TRENDING);
+
+        assertEquals(19_876.123456789, Double.parseDouble(decoded.key()));
+        assertEquals(7L, decoded.id());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafeWithoutPadding() {
+        String cursor = FeedCursor.encode(FeedCursor.LATEST, "20261018120000", Long.MAX_VALUE);
+
+        assertFalse(cursor.contains("=") || cursor.contains("+") || cursor.contains("/"), cursor);
+    }
+
+    @Test
+    void cursorOfOtherKindIsRejected() {
+        String cursor = FeedCursor.encode(FeedCursor.TRENDING, "1.5", 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(cursor, FeedCursor.LATEST));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("!!not-base64!!", FeedCursor.LATEST));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(raw("L:20261018120000"), FeedCursor.LATEST));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(raw("L::42"), FeedCursor.LATEST));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(raw("L:20261018120000:abc"), FeedCursor.LATEST));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(raw("L:2026:10:42"), FeedCursor.LATEST));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("", FeedCursor.LATEST));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,157 @@
+package com.bandi.backend.utils;
+
+import com.bandi.backend.dto.VideoMetadataDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * MP4 박스 메타데이터 파서 (Mp4MetadataParser)
+ * 박스 구조만 맞춘 합성 파일로 확인한다 (영상 데이터 없음)
+ * - mvhd 재생 시간(v0/v1), 평균 비트레이트
+ * - 첫 영상 트랙(hdlr=vide)의 tkhd 폭/높이/회전, stsd 코덱 (음성 트랙은 건너뜀)
+ * - udta/meta/ilst/covr 표지 이미지
+ */
+class Mp4MetadataParserTest {
+
+    private static final int FIXED_ONE = 0x10000; // 16.16 고정소수 1.0
+
+    @Test
+    void readsVideoTrackAfterMdat() throws IOException {
+        byte[] mdat = box("mdat", new byte[4000]);
+        byte[] moov = box("moov", mvhd(0, 1000, 15_000),
+                trak("soun", 0, 0, identity(), "mp4a"),
+                trak("vide", 1080, 1920, identity(), "avc1"));
+
+        VideoMetadataDto metadata = parse(concat(ftyp(), mdat, moov));
+
+        long fileSize = ftyp().length + mdat.length + moov.length;
+        assertEquals(15_000L, metadata.getDurationMs());
+        assertEquals(fileSize * 8 * 1000 / 15_000, metadata.getBitrate());
+        assertEquals(1080, metadata.getWidth());
+        assertEquals(1920, metadata.getHeight());
+        assertEquals(0, metadata.getRotation());
+        assertEquals("avc1", metadata.getCodec());
+        assertNull(metadata.getCoverImage());
+    }
+
+    @Test
+    void rotatedTrackSwapsDisplaySize() throws IOException {
+        // 시계 방향 90도 행렬 (a=0, b=1, c=-1, d=0) — 가로로 저장된 세로 영상
+        int[] rotate90 = { 0, FIXED_ONE, 0, -FIXED_ONE, 0, 0, 0, 0, 0x40000000 };
+        byte[] moov = box("moov", mvhd(0, 600, 6_000), trak("vide", 1920, 1080, rotate90, "hvc1"));
+
+        VideoMetadataDto metadata = parse(concat(ftyp(), moov));
+
+        assertEquals(90, metadata.getRotation());
+        assertEquals(1080, metadata.getWidth());
+        assertEquals(1920, metadata.getHeight());
+        assertEquals("hvc1", metadata.getCodec());
+        assertEquals(10_000L, metadata.getDurationMs());
+    }
+
+    @Test
+    void readsVersion1MovieHeader() throws IOException {
+        byte[] moov = box("moov", mvhd(1, 90_000, 90_000L * 42), trak("vide", 720, 1280, identity(), "avc1"));
+
+        VideoMetadataDto metadata = parse(concat(ftyp(), moov));
+
+        assertEquals(42_000L, metadata.getDurationMs());
+    }
+
+    @Test
+    void readsCoverImage() throws IOException {
+        byte[] image = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 1, 2, 3, 4 };
+        // data: type(13 = JPEG) 4 + locale 4 + 이미지
+        byte[] data = box("data", ByteBuffer.allocate(8 + image.length).putInt(13).putInt(0).put(image).array());
+        byte[] meta = box("meta", new byte[4], box("ilst", box("covr", data)));
+        byte[] moov = box("moov", mvhd(0, 1000, 1000), trak("vide", 640, 360, identity(), "avc1"), box("udta", meta));
+
+        VideoMetadataDto metadata = parse(concat(ftyp(), moov));
+
+        assertArrayEquals(image, metadata.getCoverImage());
+    }
+
+    @Test
+    void fileWithoutMoovReturnsNull() throws IOException {
+        assertNull(parse(concat(ftyp(), box("mdat", new byte[100]))));
+        assertNull(parse("not an mp4 file".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    // ==========================================
+    // 합성 박스
+    // ==========================================
+
+    private static VideoMetadataDto parse(byte[] content) throws IOException {
+        Path file = Files.createTempFile("mp4-metadata", ".mp4");
+        try {
+            Files.write(file, content);
+            return Mp4MetadataParser.parse(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static byte[] ftyp() {
+        return box("ftyp", "isom".getBytes(StandardCharsets.US_ASCII), new byte[4], "isomavc1".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] mvhd(int version, int timescale, long duration) {
+        ByteBuffer buf = ByteBuffer.allocate(version == 1 ? 112 : 100);
+        buf.putInt(version << 24);
+        if (version == 1) {
+            buf.putLong(0).putLong(0).putInt(timescale).putLong(duration);
+        } else {
+            buf.putInt(0).putInt(0).putInt(timescale).putInt((int) duration);
+        }
+        return box("mvhd", buf.array());
+    }
+
+    private static byte[] trak(String handler, int width, int height, int[] matrix, String codec) {
+        ByteBuffer tkhd = ByteBuffer.allocate(84);
+        tkhd.putInt(0x00000003); // version 0, flags enabled|in_movie
+        tkhd.putInt(0).putInt(0).putInt(1).putInt(0).putInt(0); // 생성/수정 시각, 트랙 ID, 예약, 길이
+        tkhd.putLong(0).putShort((short) 0).putShort((short) 0).putShort((short) 0).putShort((short) 0);
+        for (int value : matrix) {
+            tkhd.putInt(value);
+        }
+        tkhd.putInt(width << 16).putInt(height << 16);
+
+        byte[] hdlr = box("hdlr", ByteBuffer.allocate(24).putInt(0).putInt(0)
+                .put(handler.getBytes(StandardCharsets.US_ASCII)).array());
+        byte[] stsd = box("stsd", ByteBuffer.allocate(16).putInt(0).putInt(1).putInt(8)
+                .put(codec.getBytes(StandardCharsets.US_ASCII)).array());
+        byte[] minf = box("minf", box("stbl", stsd));
+        return box("trak", box("tkhd", tkhd.array()), box("mdia", hdlr, minf));
+    }
+
+    private static int[] identity() {
+        return new int[] { FIXED_ONE, 0, 0, 0, FIXED_ONE, 0, 0, 0, 0x40000000 };
+    }
+
+    private static byte[] box(String type, byte[]... payloads) {
+        byte[] payload = concat(payloads);
+        return ByteBuffer.allocate(8 + payload.length)
+                .putInt(8 + payload.length)
+                .put(type.getBytes(StandardCharsets.US_ASCII))
+                .put(payload)
+                .array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}